@@ -0,0 +1,17 @@
+-- refresh_tokens: 토큰 원문(token) -> SHA-256 해시(token_hash) + 회전 family(family_id)
+--
+-- 새 버전을 배포하기 전에 한 번 실행합니다 (MySQL 8).
+-- ddl-auto=update 는 컬럼을 지우지 않으므로, 이 스크립트 없이 배포하면 NOT NULL인 옛 token 컬럼 때문에
+-- 새 토큰 INSERT가 실패합니다.
+-- 기존 행은 해시와 family를 알 수 없으므로 모두 지웁니다. 로그인 중이던 사용자는 다시 로그인해야 합니다.
+
+DELETE FROM refresh_tokens;
+
+ALTER TABLE refresh_tokens DROP COLUMN token;
+
+-- ddl-auto=update 로 이미 한 번 기동해서 아래 컬럼/인덱스가 생겼다면 이 문장은 건너뜁니다.
+ALTER TABLE refresh_tokens
+    ADD COLUMN token_hash CHAR(64) NOT NULL,
+    ADD COLUMN family_id VARCHAR(36) NOT NULL,
+    ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    ADD INDEX idx_refresh_tokens_family (family_id);
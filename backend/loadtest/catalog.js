@@ -0,0 +1,135 @@
+// k6 부하 테스트: 상품 목록 / 상품 상세 / 이미지 업로드
+//
+//   cd loadtest && k6 run -e BASE_URL=http://localhost:8080/api -e MODE=platform catalog.js
+//   (두 모드 비교는 run.sh)
+//
+// 환경 변수
+//   BASE_URL        서버 주소 (context-path 포함, 기본 http://localhost:8080/api)
+//   MODE            결과 파일 이름에 붙일 라벨 (platform | virtual)
+//   VUS, DURATION   읽기 시나리오의 동시 사용자 수와 시간 (기본 200, 60s)
+//   PRODUCT_IDS     상세 조회에 쓸 상품 id 목록 (쉼표 구분, 비우면 목록 응답에서 수집)
+//   ADMIN_EMAIL, ADMIN_PASSWORD, SKU_ID, IMAGE
+//                   모두 있을 때만 업로드 시나리오 실행 (MANAGER 권한 계정, 이미지를 붙일 SKU, 업로드할 jpg 절대 경로)
+//   UPLOAD_VUS      업로드 동시 사용자 수 (기본 10)
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const MODE = __ENV.MODE || 'platform';
+const VUS = parseInt(__ENV.VUS || '200', 10);
+const DURATION = __ENV.DURATION || '60s';
+const UPLOAD_ENABLED = !!(__ENV.ADMIN_EMAIL && __ENV.ADMIN_PASSWORD && __ENV.SKU_ID && __ENV.IMAGE);
+
+// 업로드 파일은 init 단계에서만 읽을 수 있다
+const IMAGE = UPLOAD_ENABLED ? open(__ENV.IMAGE, 'b') : null;
+
+const scenarios = {
+  list: {
+    executor: 'constant-vus',
+    exec: 'listProducts',
+    vus: VUS,
+    duration: DURATION,
+  },
+  detail: {
+    executor: 'constant-vus',
+    exec: 'productDetail',
+    vus: VUS,
+    duration: DURATION,
+  },
+};
+if (UPLOAD_ENABLED) {
+  scenarios.upload = {
+    executor: 'constant-vus',
+    exec: 'uploadImage',
+    vus: parseInt(__ENV.UPLOAD_VUS || '10', 10),
+    duration: DURATION,
+  };
+}
+
+// 엔드포인트별 p99가 요약에 나오도록 태그 단위 threshold를 건다 (값 자체는 느슨하게)
+export const options = {
+  scenarios,
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    'http_req_duration{endpoint:list}': ['p(99)<5000'],
+    'http_req_duration{endpoint:detail}': ['p(99)<5000'],
+    'http_reqs{endpoint:list}': ['count>0'],
+    'http_reqs{endpoint:detail}': ['count>0'],
+    'http_req_failed{endpoint:list}': ['rate<0.01'],
+    'http_req_failed{endpoint:detail}': ['rate<0.01'],
+    ...(UPLOAD_ENABLED ? {
+      'http_req_duration{endpoint:upload}': ['p(99)<30000'],
+      'http_reqs{endpoint:upload}': ['count>0'],
+      'http_req_failed{endpoint:upload}': ['rate<0.05'],
+    } : {}),
+  },
+};
+
+export function setup() {
+  let productIds = (__ENV.PRODUCT_IDS || '').split(',').filter((id) => id).map(Number);
+  if (productIds.length === 0) {
+    const res = http.get(`${BASE_URL}/product?size=100`);
+    check(res, { 'seed list 200': (r) => r.status === 200 });
+    productIds = res.json().map((p) => p.id);
+  }
+  if (productIds.length === 0) {
+    throw new Error('상세 조회에 쓸 상품이 없습니다. PRODUCT_IDS를 지정하거나 상품을 먼저 등록하세요.');
+  }
+  return { productIds };
+}
+
+export function listProducts() {
+  const res = http.get(`${BASE_URL}/product?size=20`, { tags: { endpoint: 'list' } });
+  check(res, { 'list 200': (r) => r.status === 200 });
+}
+
+export function productDetail(data) {
+  const id = data.productIds[Math.floor(Math.random() * data.productIds.length)];
+  const res = http.get(`${BASE_URL}/product/${id}/detail`, {
+    tags: { endpoint: 'detail', name: `${BASE_URL}/product/{id}/detail` },
+  });
+  check(res, { 'detail 200': (r) => r.status === 200 });
+}
+
+// VU마다 한 번 로그인하고 쿠키(access/refresh)를 재사용한다
+let loggedIn = false;
+
+export function uploadImage() {
+  if (!loggedIn) {
+    const login = http.post(`${BASE_URL}/login`,
+      JSON.stringify({ email: __ENV.ADMIN_EMAIL, password: __ENV.ADMIN_PASSWORD }),
+      { headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'login' } });
+    loggedIn = check(login, { 'login 200': (r) => r.status === 200 });
+    if (!loggedIn) {
+      return;
+    }
+  }
+  const res = http.post(`${BASE_URL}/admin/sku/addImage`, {
+    skuId: __ENV.SKU_ID,
+    isThumbnail: 'false',
+    displayOrder: '0',
+    file: http.file(IMAGE, 'loadtest.jpg', 'image/jpeg'),
+  }, { tags: { endpoint: 'upload' } });
+  check(res, { 'upload 201': (r) => r.status === 201 });
+}
+
+export function handleSummary(data) {
+  return {
+    [`results/${MODE}.json`]: JSON.stringify(data, null, 2),
+    stdout: summaryLine(data),
+  };
+}
+
+function summaryLine(data) {
+  const endpoints = ['list', 'detail'].concat(UPLOAD_ENABLED ? ['upload'] : []);
+  const seconds = data.state.testRunDurationMs / 1000;
+  const lines = endpoints.map((endpoint) => {
+    const reqs = data.metrics[`http_reqs{endpoint:${endpoint}}`];
+    const duration = data.metrics[`http_req_duration{endpoint:${endpoint}}`];
+    const rps = reqs ? (reqs.values.count / seconds).toFixed(1) : '-';
+    const p99 = duration ? duration.values['p(99)'].toFixed(1) : '-';
+    return `${MODE}\t${endpoint}\t${rps} req/s\tp99 ${p99} ms`;
+  });
+  return lines.join('\n') + '\n';
+}
@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+# 플랫폼 스레드 / 가상 스레드 모드를 번갈아 띄워 같은 k6 시나리오(catalog.js)를 돌리고
+# 엔드포인트별 처리량(req/s)과 p99를 나란히 출력한다.
+#
+#   cd backend && ./loadtest/run.sh
+#
+# DB, Cloudinary 등 서버 설정은 평소처럼 환경 변수로 넘긴다 (SPRING_DATASOURCE_URL, SPRING_PROFILES_ACTIVE ...).
+# k6 옵션(VUS, DURATION, PRODUCT_IDS, ADMIN_EMAIL, ADMIN_PASSWORD, SKU_ID ...)은 catalog.js 상단 참고.
+# MODES="virtual" 처럼 한 모드만 돌릴 수도 있다.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}/api"
+MODES="${MODES:-platform virtual}"
+JAVA_OPTS="${JAVA_OPTS:--Xms1g -Xmx1g}"
+
+command -v k6 >/dev/null || { echo "k6가 필요합니다: https://k6.io/docs/get-started/installation/" >&2; exit 1; }
+command -v jq >/dev/null || { echo "jq가 필요합니다" >&2; exit 1; }
+
+./gradlew -q bootJar -x test 2>/dev/null || gradle -q bootJar -x test
+JAR="$(ls build/libs/*.jar | grep -v plain | head -n 1)"
+mkdir -p loadtest/results
+
+SERVER_PID=""
+stop_server() {
+  if [[ -n "$SERVER_PID" ]]; then
+    kill "$SERVER_PID" 2>/dev/null || true
+    wait "$SERVER_PID" 2>/dev/null || true
+    SERVER_PID=""
+  fi
+}
+trap stop_server EXIT
+
+for mode in $MODES; do
+  virtual=false
+  [[ "$mode" == "virtual" ]] && virtual=true
+
+  echo "== ${mode} (spring.threads.virtual.enabled=${virtual})"
+  # shellcheck disable=SC2086
+  VIRTUAL_THREADS="$virtual" java $JAVA_OPTS -jar "$JAR" --server.port="$PORT" \
+    > "loadtest/results/${mode}-server.log" 2>&1 &
+  SERVER_PID=$!
+
+  for _ in $(seq 1 120); do
+    curl -fs "${BASE_URL}/actuator/health" >/dev/null 2>&1 && break
+    sleep 1
+  done
+  curl -fs "${BASE_URL}/actuator/health" >/dev/null || { echo "서버가 뜨지 않았습니다: loadtest/results/${mode}-server.log" >&2; exit 1; }
+
+  (cd loadtest && k6 run --quiet -e BASE_URL="$BASE_URL" -e MODE="$mode" catalog.js) || true
+
+  # 가상 스레드 모드에서 pinning이 있었는지 함께 남긴다
+  curl -fs "${BASE_URL}/actuator/metrics/jvm.threads.virtual.pinned" > "loadtest/results/${mode}-pinned.json" 2>/dev/null || true
+
+  stop_server
+done
+
+echo
+printf "%-10s %-8s %12s %12s\n" mode endpoint "req/s" "p99(ms)"
+for mode in $MODES; do
+  result="loadtest/results/${mode}.json"
+  [[ -f "$result" ]] || continue
+  jq -r --arg mode "$mode" '
+    (.state.testRunDurationMs / 1000) as $secs
+    | ["list", "detail", "upload"][] as $ep
+    | select(.metrics["http_reqs{endpoint:" + $ep + "}"] != null)
+    | [$mode, $ep,
+       (.metrics["http_reqs{endpoint:" + $ep + "}"].values.count / $secs),
+       .metrics["http_req_duration{endpoint:" + $ep + "}"].values["p(99)"]]
+    | @tsv' "$result" \
+    | while IFS=$'\t' read -r m ep rps p99; do
+        printf "%-10s %-8s %12.1f %12.1f\n" "$m" "$ep" "$rps" "$p99"
+      done
+done
@@ -0,0 +1,55 @@
+package teo.springjwt.common.jwt;
+
+import io.jsonwebtoken.Jwts;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JWTFilter가 요청 하나를 인증할 때 드는 비용.
+ * - perRequestLegacy: 예전 방식 (validateToken + getEmail + getRole, 매번 parser 생성 후 서명 검증)
+ * - perRequestSingleParse: 공유 parser로 한 번만 파싱
+ * - perRequestCached: 검증된 클레임 캐시 적중
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+  private JWTUtil jwtUtil;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    JWTProperties properties = new JWTProperties();
+    properties.setSecret("c2RmYmFzZGtnamJzYWRuZndscXB6bWduYmVs");
+    properties.setAccessTokenExpirationMs(3_600_000L);
+    properties.setRefreshTokenExpirationMs(604_800_000L);
+    jwtUtil = new JWTUtil(properties);
+    token = jwtUtil.createAccessToken("bench@example.com", "ROLE_USER");
+    jwtUtil.verify(token); // 캐시 채우기
+  }
+
+  @Benchmark
+  public void perRequestLegacy(Blackhole blackhole) {
+    for (int i = 0; i < 3; i++) {
+      blackhole.consume(Jwts.parser().verifyWith(jwtUtil.getSecretKey()).build().parseSignedClaims(token).getPayload());
+    }
+  }
+
+  @Benchmark
+  public VerifiedToken perRequestSingleParse() {
+    return jwtUtil.parse(token);
+  }
+
+  @Benchmark
+  public VerifiedToken perRequestCached() {
+    return jwtUtil.verify(token);
+  }
+}
@@ -0,0 +1,12 @@
+package teo.springjwt.cart;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CartRepository extends JpaRepository<CartEntity, Long> {
+
+  @Query("SELECT c.id FROM CartEntity c WHERE c.user.id = :userId")
+  Optional<Long> findIdByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,14 @@
+package teo.springjwt.cartitem;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CartItemRepository extends JpaRepository<CartItemEntity, Long> {
+
+  // 장바구니의 SKU별 수량 합계 (같은 SKU가 여러 줄이어도 한 줄로)
+  @Query("SELECT new teo.springjwt.cartitem.CartSkuQuantity(ci.sku.id, SUM(ci.quantity)) FROM CartItemEntity ci "
+      + "WHERE ci.cart.id = :cartId GROUP BY ci.sku.id")
+  List<CartSkuQuantity> sumQuantitiesBySku(@Param("cartId") Long cartId);
+}
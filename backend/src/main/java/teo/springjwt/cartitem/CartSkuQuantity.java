@@ -0,0 +1,5 @@
+package teo.springjwt.cartitem;
+
+public record CartSkuQuantity(Long skuId, Long quantity) {
+
+}
@@ -0,0 +1,49 @@
+package teo.springjwt.category;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 카테고리 트리의 closure table.
+ * (조상, 자손, 깊이) 쌍을 모두 저장하므로 "X와 그 하위 카테고리" 조회가 재귀 없이
+ * ancestor_id 인덱스 한 번으로 끝납니다. 자기 자신도 depth 0 행으로 포함합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+    name = "category_closure",
+    uniqueConstraints = @UniqueConstraint(name = "uk_category_closure", columnNames = {"ancestor_id", "descendant_id"}),
+    indexes = @Index(name = "idx_category_closure_descendant", columnList = "descendant_id")
+)
+public class CategoryClosureEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "category_closure_id")
+  private Long id;
+
+  @Column(name = "ancestor_id", nullable = false)
+  private Long ancestorId;
+
+  @Column(name = "descendant_id", nullable = false)
+  private Long descendantId;
+
+  @Column(name = "depth", nullable = false)
+  private int depth;
+
+  public CategoryClosureEntity(Long ancestorId, Long descendantId, int depth) {
+    this.ancestorId = ancestorId;
+    this.descendantId = descendantId;
+    this.depth = depth;
+  }
+}
@@ -0,0 +1,14 @@
+package teo.springjwt.category.dao;
+
+import java.time.LocalDateTime;
+
+// 트리 스냅샷을 만들기 위한 카테고리 한 행 (연관관계 없이 parentId만 가진다)
+public record CategoryTreeRow(
+    Long id,
+    Long parentId,
+    String name,
+    int displayOrder,
+    LocalDateTime createdDate,
+    LocalDateTime lastModifiedDate) {
+
+}
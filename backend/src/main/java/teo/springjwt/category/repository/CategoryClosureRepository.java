@@ -0,0 +1,24 @@
+package teo.springjwt.category.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import teo.springjwt.category.CategoryClosureEntity;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosureEntity, Long> {
+
+  // 주어진 카테고리의 모든 조상 (자기 자신 포함)
+  List<CategoryClosureEntity> findAllByDescendantId(Long descendantId);
+
+  // 주어진 카테고리와 그 하위 카테고리 ID
+  @Query("SELECT c.descendantId FROM CategoryClosureEntity c WHERE c.ancestorId = :ancestorId")
+  List<Long> findDescendantIds(Long ancestorId);
+
+  long countByDepth(int depth);
+
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM CategoryClosureEntity c WHERE c.descendantId IN :descendantIds")
+  int deleteAllByDescendantIdIn(Collection<Long> descendantIds);
+}
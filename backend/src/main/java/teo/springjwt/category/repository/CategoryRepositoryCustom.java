@@ -1,5 +1,10 @@
 package teo.springjwt.category.repository;
 
+import java.util.List;
+import teo.springjwt.category.dao.CategoryTreeRow;
+
 public interface CategoryRepositoryCustom {
 
+  // 전체 카테고리를 한 번의 쿼리로 읽는다. parent_id 컬럼만 읽으므로 부모 조인은 일어나지 않는다.
+  List<CategoryTreeRow> findAllTreeRows();
 }
@@ -1,7 +1,12 @@
 package teo.springjwt.category.repository;
 
+import static teo.springjwt.category.QCategoryEntity.categoryEntity;
+
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import java.util.List;
+import teo.springjwt.category.dao.CategoryTreeRow;
 
 public class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom{
   private final JPAQueryFactory queryFactory;
@@ -10,4 +15,17 @@ public class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom{
     this.queryFactory = new JPAQueryFactory(entityManager);
   }
 
+  @Override
+  public List<CategoryTreeRow> findAllTreeRows() {
+    return queryFactory
+        .select(Projections.constructor(CategoryTreeRow.class,
+            categoryEntity.id,
+            categoryEntity.parentCategory.id,
+            categoryEntity.name,
+            categoryEntity.displayOrder,
+            categoryEntity.createdDate,
+            categoryEntity.lastModifiedDate))
+        .from(categoryEntity)
+        .fetch();
+  }
 }
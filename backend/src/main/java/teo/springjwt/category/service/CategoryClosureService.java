@@ -0,0 +1,79 @@
+package teo.springjwt.category.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import teo.springjwt.category.CategoryClosureEntity;
+import teo.springjwt.category.repository.CategoryClosureRepository;
+
+/**
+ * category_closure 테이블을 카테고리 생성/삭제와 같은 트랜잭션에서 유지합니다.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class CategoryClosureService {
+
+  private final CategoryClosureRepository categoryClosureRepository;
+  private final CategoryTreeCache categoryTreeCache;
+
+  /**
+   * 새 카테고리의 closure 행을 추가합니다.
+   * 부모의 조상 행마다 깊이를 1 늘린 행을 만들고, 자기 자신(depth 0) 행을 더합니다.
+   */
+  public void addCategory(Long categoryId, Long parentId) {
+    List<CategoryClosureEntity> rows = new ArrayList<>();
+    rows.add(new CategoryClosureEntity(categoryId, categoryId, 0));
+    if (parentId != null) {
+      for (CategoryClosureEntity ancestor : categoryClosureRepository.findAllByDescendantId(parentId)) {
+        rows.add(new CategoryClosureEntity(ancestor.getAncestorId(), categoryId, ancestor.getDepth() + 1));
+      }
+    }
+    categoryClosureRepository.saveAll(rows);
+  }
+
+  /**
+   * 카테고리와 그 하위 카테고리의 closure 행을 모두 지웁니다.
+   * 하위 카테고리를 조상으로 가진 행은 자손도 하위 트리 안에 있으므로 descendant 기준 삭제만으로 충분합니다.
+   *
+   * @return 삭제된 카테고리 ID (자기 자신 포함)
+   */
+  public List<Long> removeSubtree(Long categoryId) {
+    List<Long> subtreeIds = categoryClosureRepository.findDescendantIds(categoryId);
+    if (!subtreeIds.isEmpty()) {
+      categoryClosureRepository.deleteAllByDescendantIdIn(subtreeIds);
+    }
+    return subtreeIds;
+  }
+
+  /**
+   * closure 테이블이 도입되기 전부터 있던 카테고리를 위해, 기동 시 자기 자신 행 수가
+   * 카테고리 수와 다르면 스냅샷의 트리로 closure 테이블을 다시 만듭니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIfStale() {
+    CategoryTreeSnapshot snapshot = categoryTreeCache.reload();
+    if (categoryClosureRepository.countByDepth(0) == snapshot.size()) {
+      return;
+    }
+
+    categoryClosureRepository.deleteAllInBatch();
+    List<CategoryClosureEntity> rows = new ArrayList<>();
+    for (Long rootId : snapshot.getRootIds()) {
+      for (Long categoryId : snapshot.getDescendantIds(rootId)) {
+        List<Long> path = snapshot.getAncestorPath(categoryId);
+        for (int i = 0; i < path.size(); i++) {
+          rows.add(new CategoryClosureEntity(path.get(i), categoryId, path.size() - 1 - i));
+        }
+      }
+    }
+    categoryClosureRepository.saveAll(rows);
+    log.info("Rebuilt category closure table: {} categories, {} rows", snapshot.size(), rows.size());
+  }
+}
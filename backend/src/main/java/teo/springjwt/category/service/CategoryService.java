@@ -1,8 +1,9 @@
 package teo.springjwt.category.service;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import teo.springjwt.category.CategoryEntity;
 import teo.springjwt.category.dao.CategoryCreateDTO;
@@ -10,54 +11,46 @@ import teo.springjwt.category.dao.CategoryResponseDTO;
 import teo.springjwt.category.repository.CategoryRepository;
 
 @Service
-@Transactional
+@Transactional(isolation = Isolation.READ_COMMITTED)
 public class CategoryService {
 
   private final CategoryRepository categoryRepository;
+  private final CategoryClosureService categoryClosureService;
+  private final CategoryTreeCache categoryTreeCache;
 
-  public CategoryService(CategoryRepository categoryRepository) {
+  public CategoryService(CategoryRepository categoryRepository, CategoryClosureService categoryClosureService,
+      CategoryTreeCache categoryTreeCache) {
     this.categoryRepository = categoryRepository;
+    this.categoryClosureService = categoryClosureService;
+    this.categoryTreeCache = categoryTreeCache;
   }
 
   /**
    * 계층 구조 (Tree) 형태의 카테고리 목록을 반환합니다.
-   * - 최상위 카테고리만 조회하여 시작하고, DTO 변환 시 재귀적으로 자식들을 포함합니다.
+   * - 메모리에 있는 트리 스냅샷에서 만들므로 카테고리 수와 관계없이 DB 조회가 없습니다.
    * - 프론트엔드에서 트리 뷰를 렌더링하는 데 적합합니다.
    *
-   * @return 계층 구조의 CategoryResponseDTO 리스트
+   * @return 계층 구조의 CategoryResponseDTO 리스트 (형제끼리는 displayOrder 순)
    */
   @Transactional(readOnly = true)
   public List<CategoryResponseDTO> getHierarchicalCategories() {
-    // 1. 데이터베이스에서 parentCategory가 null인 최상위 카테고리만 가져옵니다.
-    List<CategoryEntity> rootCategories = categoryRepository.findByParentCategoryIsNull();
-
-    // 2. 각 최상위 CategoryEntity를 CategoryResponseDTO.fromEntityTree()를 사용하여 계층 구조 DTO로 변환합니다.
-    return rootCategories.stream()
-                         .map(CategoryResponseDTO::fromEntityTree) // 계층 DTO 팩토리 메서드 호출 (이 안에서 재귀 발생)
-                         .sorted(Comparator.comparingInt(CategoryResponseDTO::getDisplayOrder)) // 필요한 경우 정렬
-                         .toList();
+    return categoryTreeCache.current().toTree();
   }
 
   /**
-   * @return 평면 리스트 형태의 CategoryResponseDTO 리스트
+   * @return 평면 리스트 형태의 CategoryResponseDTO 리스트 (부모 ID, ID 순)
    */
   @Transactional(readOnly = true)
   public List<CategoryResponseDTO> getFlatListOfAllCategories() {
-    // 1. 데이터베이스의 모든 CategoryEntity를 가져옵니다.
-    //    이 시점에서 모든 카테고리는 이미 "평면적인" 리스트 형태로 로드됩니다.
-    List<CategoryEntity> allCategories = categoryRepository.findAll();
-
-    // ⭐⭐⭐ 중요 수정: flattenCategoryTree 호출 제거 ⭐⭐⭐
-    // findAll()로 가져온 리스트는 이미 평면 리스트이므로, 추가적인 평면화 로직은 필요 없습니다.
-    // Set<CategoryEntity> uniqueCategories = new HashSet<>(); // findAll()은 중복을 반환하지 않으므로 필요 없음
+    return categoryTreeCache.current().toFlatList();
+  }
 
-    // 2. 가져온 CategoryEntity들을 CategoryResponseDTO.fromEntityFlat()을 사용하여 DTO로 변환합니다.
-    //    이때 fromEntityFlat 메서드가 childCategories를 빈 리스트로 설정합니다.
-    return allCategories.stream() // Stream<CategoryEntity>
-                        .map(CategoryResponseDTO::fromEntityFlat) // Stream<CategoryResponseDTO>
-                        .sorted(Comparator.comparing(CategoryResponseDTO::getParentId, Comparator.nullsFirst(Comparator.naturalOrder()))
-                                          .thenComparing(CategoryResponseDTO::getId)) // 예시: ID 순으로 정렬
-                        .toList(); // Java 16+ .toList()
+  /**
+   * 카테고리와 모든 하위 카테고리의 ID를 반환합니다 (스냅샷 기준).
+   */
+  @Transactional(readOnly = true)
+  public Set<Long> getDescendantCategoryIds(Long categoryId) {
+    return categoryTreeCache.current().getDescendantIds(categoryId);
   }
 
   //create
@@ -89,9 +82,10 @@ public class CategoryService {
     }
 
 
-    System.out.println("newCategory = " + newCategory);
-
-    return categoryRepository.save(newCategory);
+    CategoryEntity saved = categoryRepository.save(newCategory);
+    categoryClosureService.addCategory(saved.getId(), request.getParentId());
+    categoryTreeCache.reloadAfterCommit();
+    return saved;
   }
 
   //todo
@@ -107,7 +101,9 @@ public class CategoryService {
       // 해당 트랜잭션 범위 내에서 parentCategory가 이미 로딩되어 있어야 합니다.
       category.getParentCategory().removeChildCategory(category);
     }
+    categoryClosureService.removeSubtree(id);
     categoryRepository.delete(category);
+    categoryTreeCache.reloadAfterCommit();
     return category;
   }
 }
\ No newline at end of file
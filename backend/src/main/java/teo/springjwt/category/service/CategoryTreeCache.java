@@ -0,0 +1,67 @@
+package teo.springjwt.category.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import teo.springjwt.category.dao.CategoryTreeRow;
+import teo.springjwt.category.repository.CategoryRepository;
+
+/**
+ * 현재 카테고리 트리 스냅샷을 들고 있는 컴포넌트.
+ * 읽기는 AtomicReference에서 꺼내기만 하고, 쓰기 트랜잭션이 커밋된 뒤에
+ * 전체 트리를 한 번의 쿼리로 다시 읽어 새 스냅샷으로 교체합니다.
+ */
+@Slf4j
+@Component
+public class CategoryTreeCache {
+
+  private final CategoryRepository categoryRepository;
+  private final TransactionTemplate readOnlyTransaction;
+
+  private final AtomicReference<CategoryTreeSnapshot> snapshot = new AtomicReference<>();
+  private final AtomicLong versionSequence = new AtomicLong();
+
+  public CategoryTreeCache(CategoryRepository categoryRepository, TransactionTemplate transactionTemplate) {
+    this.categoryRepository = categoryRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.readOnlyTransaction.setReadOnly(true);
+    // afterCommit에서 불리면 이미 커밋된 트랜잭션이 아직 묶여 있으므로, 참여하지 않고 새 트랜잭션에서 읽는다
+    this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  public CategoryTreeSnapshot current() {
+    CategoryTreeSnapshot current = snapshot.get();
+    return current != null ? current : reload();
+  }
+
+  public CategoryTreeSnapshot reload() {
+    // 버전은 조회 전에 받아야 먼저 시작한(더 오래된) 조회가 나중 스냅샷을 덮어쓰지 않는다
+    long version = versionSequence.incrementAndGet();
+    List<CategoryTreeRow> rows = readOnlyTransaction.execute(status -> categoryRepository.findAllTreeRows());
+    CategoryTreeSnapshot next = CategoryTreeSnapshot.of(version, rows);
+    CategoryTreeSnapshot installed = snapshot.accumulateAndGet(next,
+        (prev, candidate) -> prev == null || candidate.getVersion() > prev.getVersion() ? candidate : prev);
+    log.debug("Category tree snapshot v{} loaded ({} categories)", next.getVersion(), next.size());
+    return installed;
+  }
+
+  // 현재 트랜잭션이 커밋된 뒤에 스냅샷을 다시 만든다. 롤백되면 기존 스냅샷을 그대로 둔다.
+  public void reloadAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      reload();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        reload();
+      }
+    });
+  }
+}
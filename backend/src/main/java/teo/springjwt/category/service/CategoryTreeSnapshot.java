@@ -0,0 +1,176 @@
+package teo.springjwt.category.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import teo.springjwt.category.dao.CategoryResponseDTO;
+import teo.springjwt.category.dao.CategoryTreeRow;
+
+/**
+ * 카테고리 트리 전체를 담은 불변 스냅샷.
+ * 한 번 만들어지면 바뀌지 않으므로 여러 요청이 락 없이 동시에 읽을 수 있고,
+ * 카테고리가 생성/삭제되면 CategoryTreeCache가 새 스냅샷으로 통째로 교체합니다.
+ */
+public final class CategoryTreeSnapshot {
+
+  private static final Comparator<CategoryTreeRow> SIBLING_ORDER =
+      Comparator.comparingInt(CategoryTreeRow::displayOrder).thenComparing(CategoryTreeRow::id);
+
+  private final long version;
+  private final Map<Long, CategoryTreeRow> rows;
+  private final Map<Long, List<Long>> childIds; // 정렬된 자식 ID (자식이 없으면 키 없음)
+  private final List<Long> rootIds;
+  private final Map<Long, List<Long>> ancestorPaths; // 최상위부터 자기 자신까지
+  private final Map<Long, Set<Long>> descendantIds; // 자기 자신 포함, 전위 순회 순서
+
+  private CategoryTreeSnapshot(long version, Map<Long, CategoryTreeRow> rows, Map<Long, List<Long>> childIds,
+      List<Long> rootIds) {
+    this.version = version;
+    this.rows = rows;
+    this.childIds = childIds;
+    this.rootIds = rootIds;
+
+    // 트리를 한 번 순회하면서 경로와 하위 목록을 함께 만들어 둔다 (메모리상의 closure table)
+    Map<Long, List<Long>> paths = new HashMap<>();
+    Map<Long, Set<Long>> descendants = new HashMap<>();
+    Deque<List<Long>> stack = new ArrayDeque<>();
+    for (int i = rootIds.size() - 1; i >= 0; i--) {
+      stack.push(List.of(rootIds.get(i)));
+    }
+    while (!stack.isEmpty()) {
+      List<Long> path = stack.pop();
+      Long id = path.get(path.size() - 1);
+      if (paths.putIfAbsent(id, path) != null) {
+        continue;
+      }
+      for (Long ancestorId : path) {
+        descendants.computeIfAbsent(ancestorId, key -> new LinkedHashSet<>()).add(id);
+      }
+      List<Long> children = childIds.getOrDefault(id, List.of());
+      for (int i = children.size() - 1; i >= 0; i--) {
+        List<Long> childPath = new ArrayList<>(path);
+        childPath.add(children.get(i));
+        stack.push(List.copyOf(childPath));
+      }
+    }
+    this.ancestorPaths = Map.copyOf(paths);
+    Map<Long, Set<Long>> frozen = new HashMap<>();
+    descendants.forEach((id, set) -> frozen.put(id, Collections.unmodifiableSet(set)));
+    this.descendantIds = Map.copyOf(frozen);
+  }
+
+  public static CategoryTreeSnapshot of(long version, Collection<CategoryTreeRow> categoryRows) {
+    Map<Long, CategoryTreeRow> rows = new HashMap<>();
+    for (CategoryTreeRow row : categoryRows) {
+      rows.put(row.id(), row);
+    }
+
+    Map<Long, List<CategoryTreeRow>> children = new HashMap<>();
+    List<CategoryTreeRow> roots = new ArrayList<>();
+    for (CategoryTreeRow row : categoryRows) {
+      // 부모가 스냅샷에 없으면(삭제 도중 등) 최상위로 취급
+      if (row.parentId() == null || !rows.containsKey(row.parentId())) {
+        roots.add(row);
+      } else {
+        children.computeIfAbsent(row.parentId(), key -> new ArrayList<>()).add(row);
+      }
+    }
+
+    Map<Long, List<Long>> childIds = new HashMap<>();
+    children.forEach((parentId, list) -> childIds.put(parentId, sortedIds(list)));
+
+    return new CategoryTreeSnapshot(version, Map.copyOf(rows), Map.copyOf(childIds), sortedIds(roots));
+  }
+
+  private static List<Long> sortedIds(List<CategoryTreeRow> list) {
+    return list.stream().sorted(SIBLING_ORDER).map(CategoryTreeRow::id).toList();
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public int size() {
+    return rows.size();
+  }
+
+  public boolean contains(Long categoryId) {
+    return categoryId != null && rows.containsKey(categoryId);
+  }
+
+  public String getName(Long categoryId) {
+    CategoryTreeRow row = categoryId == null ? null : rows.get(categoryId);
+    return row == null ? null : row.name();
+  }
+
+  // 최상위 카테고리 ID (displayOrder 순)
+  public List<Long> getRootIds() {
+    return rootIds;
+  }
+
+  public List<Long> getChildIds(Long categoryId) {
+    if (categoryId == null) {
+      return rootIds;
+    }
+    return childIds.getOrDefault(categoryId, List.of());
+  }
+
+  /**
+   * 카테고리 자신과 모든 하위 카테고리 ID (전위 순회 순서).
+   * 존재하지 않는 카테고리면 빈 집합을 돌려줍니다.
+   */
+  public Set<Long> getDescendantIds(Long categoryId) {
+    return categoryId == null ? Set.of() : descendantIds.getOrDefault(categoryId, Set.of());
+  }
+
+  /**
+   * 최상위부터 주어진 카테고리까지의 경로 (자기 자신 포함).
+   */
+  public List<Long> getAncestorPath(Long categoryId) {
+    return categoryId == null ? List.of() : ancestorPaths.getOrDefault(categoryId, List.of());
+  }
+
+  // 계층 구조 DTO. 호출할 때마다 새 DTO를 만들므로 호출한 쪽에서 수정해도 스냅샷에는 영향이 없다.
+  public List<CategoryResponseDTO> toTree() {
+    return rootIds.stream().map(this::toTreeNode).toList();
+  }
+
+  private CategoryResponseDTO toTreeNode(Long categoryId) {
+    CategoryResponseDTO dto = toFlatNode(rows.get(categoryId));
+    dto.setChildCategories(getChildIds(categoryId).stream()
+                                                  .map(this::toTreeNode)
+                                                  .collect(ArrayList::new, ArrayList::add, ArrayList::addAll));
+    return dto;
+  }
+
+  // 평면 리스트 DTO (부모 ID 순, 같은 부모 안에서는 ID 순)
+  public List<CategoryResponseDTO> toFlatList() {
+    return rows.values().stream()
+               .sorted(Comparator.comparing(CategoryTreeRow::parentId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                                 .thenComparing(CategoryTreeRow::id))
+               .map(this::toFlatNode)
+               .toList();
+  }
+
+  private CategoryResponseDTO toFlatNode(CategoryTreeRow row) {
+    CategoryTreeRow parent = row.parentId() == null ? null : rows.get(row.parentId());
+    return CategoryResponseDTO.builder()
+                              .id(row.id())
+                              .name(row.name())
+                              .parentId(row.parentId())
+                              .parentName(parent == null ? null : parent.name())
+                              .displayOrder(row.displayOrder())
+                              .childCategories(new ArrayList<>())
+                              .createdDate(row.createdDate())
+                              .lastModifiedDate(row.lastModifiedDate())
+                              .build();
+  }
+}
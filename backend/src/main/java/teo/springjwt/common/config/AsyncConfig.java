@@ -0,0 +1,68 @@
+package teo.springjwt.common.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+  // 상품 대량 등록 작업용. DB 쓰기가 몰리지 않도록 동시에 2개까지만 실행하고 나머지는 대기열에 둔다.
+  // 가상 스레드 모드에서도 동시 실행 수/대기열 제한은 그대로 두고 스레드만 가상 스레드로 만든다.
+  @Bean(name = "productImportExecutor")
+  public Executor productImportExecutor(
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    if (virtualThreads) {
+      executor.setThreadFactory(Thread.ofVirtual().name("product-import-", 1).factory());
+    }
+    executor.setCorePoolSize(2);
+    executor.setMaxPoolSize(2);
+    executor.setQueueCapacity(20);
+    executor.setThreadNamePrefix("product-import-");
+    executor.initialize();
+    return executor;
+  }
+
+  // 이미지 동시 업로드용. 원격 스토리지 호출이 몰리지 않도록 동시 업로드 수를 제한하고, 대기열이 차면 거절한다.
+  @Bean(name = "imageUploadExecutor")
+  public ThreadPoolTaskExecutor imageUploadExecutor(
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+      @Value("${storage.upload.parallelism:4}") int parallelism,
+      @Value("${storage.upload.queue-capacity:50}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    if (virtualThreads) {
+      executor.setThreadFactory(Thread.ofVirtual().name("image-upload-", 1).factory());
+    }
+    executor.setCorePoolSize(parallelism);
+    executor.setMaxPoolSize(parallelism);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("image-upload-");
+    executor.initialize();
+    return executor;
+  }
+
+  // 스토리지 파일 삭제(outbox) 작업용. 배치 안의 삭제를 parallelism 개까지 동시에 보내고,
+  // 대기열이 차면 스케줄러 스레드가 직접 실행해서 자연스럽게 속도를 늦춘다.
+  @Bean(name = "storageDeleteExecutor")
+  public ThreadPoolTaskExecutor storageDeleteExecutor(
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+      @Value("${storage.delete.parallelism:4}") int parallelism) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    if (virtualThreads) {
+      executor.setThreadFactory(Thread.ofVirtual().name("storage-delete-", 1).factory());
+    }
+    executor.setCorePoolSize(parallelism);
+    executor.setMaxPoolSize(parallelism);
+    executor.setQueueCapacity(parallelism * 4);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setThreadNamePrefix("storage-delete-");
+    executor.initialize();
+    return executor;
+  }
+}
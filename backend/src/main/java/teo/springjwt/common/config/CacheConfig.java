@@ -0,0 +1,44 @@
+package teo.springjwt.common.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 로컬(Caffeine) 캐시 설정.
+ * 캐시를 시작 시점에 모두 등록해 두어야 actuator가 cache.gets(hit/miss) 등의 메트릭을 붙여 줍니다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String PRODUCT_LIST = "productList";
+  public static final String PRODUCT_DETAIL = "productDetail";
+  public static final String PRODUCT_SKUS = "productSkus";
+
+  @Bean
+  public CacheManager cacheManager() {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    // 목록 페이지는 키가 많고 가벼우므로 TTL을 짧게
+    cacheManager.registerCustomCache(PRODUCT_LIST, Caffeine.newBuilder()
+                                                           .maximumSize(2_000)
+                                                           .expireAfterWrite(Duration.ofMinutes(5))
+                                                           .recordStats()
+                                                           .build());
+    cacheManager.registerCustomCache(PRODUCT_DETAIL, Caffeine.newBuilder()
+                                                             .maximumSize(10_000)
+                                                             .expireAfterWrite(Duration.ofMinutes(30))
+                                                             .recordStats()
+                                                             .build());
+    cacheManager.registerCustomCache(PRODUCT_SKUS, Caffeine.newBuilder()
+                                                           .maximumSize(10_000)
+                                                           .expireAfterWrite(Duration.ofMinutes(30))
+                                                           .recordStats()
+                                                           .build());
+    return cacheManager;
+  }
+}
@@ -5,8 +5,11 @@ import com.cloudinary.utils.ObjectUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
+// local 프로필에서는 Cloudinary 설정 없이 기동한다
 @Configuration
+@Profile("!local")
 public class CloudinaryConfig {
 
   // application.properties에서 정의된 속성 값들을 @Value 어노테이션으로 주입받습니다.
@@ -0,0 +1,60 @@
+package teo.springjwt.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import teo.springjwt.common.security.BoundedPasswordEncoder;
+
+/**
+ * 비밀번호 인코더 설정.
+ * - 새 해시는 security.password.encoder(bcrypt | argon2)와 bcrypt-strength로 만든다. 저장값에는 {bcrypt} 같은 접두사가 붙는다.
+ * - 접두사 없는 기존 해시는 BCrypt로 검증하고, 로그인에 성공하면 현재 설정으로 다시 해싱해서 저장한다
+ *   (CustomUserDetailsService.updatePassword). 그래서 비용을 바꿔도 사용자가 잠기지 않는다.
+ * - 검증은 크기가 제한된 전용 스레드 풀에서 돈다 (BoundedPasswordEncoder).
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+  @Bean(destroyMethod = "shutdown")
+  public ThreadPoolExecutor passwordHashingExecutor(
+      @Value("${security.password.hashing-threads:0}") int threads,
+      @Value("${security.password.queue-capacity:50}") int queueCapacity) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    // AbortPolicy: 대기열이 가득 차면 RejectedExecutionException -> 429
+    return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                                  new ArrayBlockingQueue<>(queueCapacity),
+                                  new CustomizableThreadFactory("password-hash-"),
+                                  new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  // security 5.0부터는 명시적으로 passwordEncoder를 빈으로 등록하지 않으면 예외 발생.
+  @Bean
+  public PasswordEncoder passwordEncoder(
+      ThreadPoolExecutor passwordHashingExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${security.password.encoder:bcrypt}") String encoderId,
+      @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+      @Value("${security.password.wait-timeout:PT5S}") Duration waitTimeout) {
+    Map<String, PasswordEncoder> encoders = Map.of(
+        "bcrypt", new BCryptPasswordEncoder(bcryptStrength),
+        "argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+    if (!encoders.containsKey(encoderId)) {
+      throw new IllegalArgumentException("Unsupported security.password.encoder: " + encoderId);
+    }
+    DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+    // 접두사 없이 저장된 기존 BCrypt 해시 (비용과 무관하게 검증 가능)
+    delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+    return new BoundedPasswordEncoder(delegating, passwordHashingExecutor, waitTimeout, meterRegistry);
+  }
+}
@@ -0,0 +1,11 @@
+package teo.springjwt.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 작업 활성화 (리프레시 토큰 정리 등)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -1,6 +1,7 @@
 package teo.springjwt.common.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,13 +13,13 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 import teo.springjwt.common.jwt.JWTFilter;
 import teo.springjwt.common.jwt.JWTUtil;
 import teo.springjwt.common.jwt.LoginFilter;
+import teo.springjwt.common.jwt.PublicRoutes;
 import teo.springjwt.common.jwt.RefreshTokenService;
 import teo.springjwt.common.utils.JwtCookieUtil;
 
@@ -34,13 +35,8 @@ public class SecurityConfig {
   private final CorsConfigurationSource corsConfigurationSource;
   private final RefreshTokenService refreshTokenService;
   private final JwtCookieUtil jwtCookieUtil;
-
-  // 명시적으로 등록해야 한다.
-  // security 5.0부터는 명시적으로 passwordEncoder를 빈으로 등록하지 않으면 예외 발생.
-  @Bean
-  public BCryptPasswordEncoder bCryptPasswordEncoder() {
-    return new BCryptPasswordEncoder();
-  }
+  private final PublicRoutes publicRoutes;
+  private final MeterRegistry meterRegistry;
 
   // AuthenticationManager Bean 등록
   @Bean
@@ -65,18 +61,19 @@ public class SecurityConfig {
         .cors(cors -> cors.configurationSource(corsConfigurationSource));
 
     // 경로별 인가 작업
-    http.authorizeHttpRequests((auth) -> auth
-        .requestMatchers("/actuator/health").permitAll()
-        .requestMatchers(HttpMethod.POST, "/user").permitAll()
-        .requestMatchers("/auth/refresh", "/auth/logout").permitAll() // 토큰 갱신, 로그아웃 허용
-        .requestMatchers(HttpMethod.GET, "/user").hasRole("USER")
-        .requestMatchers("/user", "/", "/product/**", "/find-password", "/reset-password","/login" ).permitAll()
-        .requestMatchers("/admin/**").hasRole("MANAGER")
-        .requestMatchers("/user/**").hasRole("USER")
-        .anyRequest().authenticated());
-        
-    http.addFilterBefore(new JWTFilter(jwtUtil), LoginFilter.class);
-    http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwtUtil, objectMapper, refreshTokenService, jwtCookieUtil), UsernamePasswordAuthenticationFilter.class);
+    // 공개 경로 (회원가입, 토큰 갱신/로그아웃, 상품 조회 등)는 PublicRoutes 한 곳에서 관리한다.
+    // JWTFilter도 같은 목록으로 토큰 검사를 건너뛴다.
+    http.authorizeHttpRequests((auth) -> {
+      publicRoutes.permitAll(auth);
+      auth
+          .requestMatchers(HttpMethod.GET, "/user").hasRole("USER")
+          .requestMatchers("/admin/**").hasRole("MANAGER")
+          .requestMatchers("/user/**").hasRole("USER")
+          .anyRequest().authenticated();
+    });
+
+    http.addFilterBefore(new JWTFilter(jwtUtil, publicRoutes, meterRegistry), LoginFilter.class);
+    http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwtUtil, objectMapper, refreshTokenService, jwtCookieUtil, meterRegistry), UsernamePasswordAuthenticationFilter.class);
 
     // 세션 설정
     http.sessionManagement((session) -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
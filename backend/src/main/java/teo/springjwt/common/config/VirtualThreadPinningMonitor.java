@@ -0,0 +1,135 @@
+package teo.springjwt.common.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가상 스레드가 캐리어 스레드에 고정(pinning)되는 것을 JFR 이벤트(jdk.VirtualThreadPinned)로 감시합니다.
+ * - spring.threads.virtual.enabled=true 일 때만 동작합니다.
+ * - 고정 위치(우리 코드에서 가장 가까운 프레임)별로 jvm.threads.virtual.pinned 카운터/타이머를 올립니다.
+ * - 위치마다 처음 한 번만 전체 스택을 WARN으로 남겨서 로그가 넘치지 않게 합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+  private static final String APP_PACKAGE = "teo.springjwt.";
+  private static final int MAX_LOGGED_SITES = 1_000;
+  private static final int MAX_LOGGED_FRAMES = 30;
+
+  private final MeterRegistry meterRegistry;
+  private final Duration threshold;
+  private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+  // 위치별 미터는 처음 본 위치에서 한 번만 등록해 두고 재사용
+  private final Map<String, SiteMeters> siteMeters = new ConcurrentHashMap<>();
+
+  private volatile RecordingStream recordingStream;
+
+  public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+      @Value("${app.virtual-threads.pinning-monitor.threshold:PT0.02S}") Duration threshold) {
+    this.meterRegistry = meterRegistry;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public void start() {
+    RecordingStream stream = new RecordingStream();
+    stream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+    stream.onEvent(EVENT_NAME, this::onPinned);
+    stream.startAsync();
+    recordingStream = stream;
+    log.info("가상 스레드 pinning 감시 시작 (threshold={})", threshold);
+  }
+
+  @Override
+  public void stop() {
+    RecordingStream stream = recordingStream;
+    recordingStream = null;
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return recordingStream != null;
+  }
+
+  void onPinned(RecordedEvent event) {
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    String site = site(stackTrace);
+
+    SiteMeters meters = siteMeters.computeIfAbsent(site, this::registerMeters);
+    meters.pinned().increment();
+    meters.duration().record(event.getDuration());
+
+    if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+      log.warn("가상 스레드 pinning {}ms at {}\n{}", event.getDuration().toMillis(), site, format(stackTrace));
+    }
+  }
+
+  private SiteMeters registerMeters(String site) {
+    return new SiteMeters(
+        Counter.builder("jvm.threads.virtual.pinned")
+               .description("Virtual thread pinned to its carrier longer than the threshold")
+               .tag("site", site)
+               .register(meterRegistry),
+        Timer.builder("jvm.threads.virtual.pinned.duration")
+             .tag("site", site)
+             .register(meterRegistry));
+  }
+
+  private record SiteMeters(Counter pinned, Timer duration) {
+  }
+
+  // 우리 패키지의 가장 안쪽 프레임, 없으면 최상단 프레임
+  private static String site(RecordedStackTrace stackTrace) {
+    if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+      return "unknown";
+    }
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    for (RecordedFrame frame : frames) {
+      if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+        return describe(frame);
+      }
+    }
+    return describe(frames.get(0));
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+  }
+
+  private static String format(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "\t(no stack trace)";
+    }
+    StringBuilder sb = new StringBuilder();
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    for (int i = 0; i < Math.min(frames.size(), MAX_LOGGED_FRAMES); i++) {
+      RecordedFrame frame = frames.get(i);
+      sb.append("\tat ").append(describe(frame)).append(':').append(frame.getLineNumber()).append('\n');
+    }
+    return sb.toString();
+  }
+}
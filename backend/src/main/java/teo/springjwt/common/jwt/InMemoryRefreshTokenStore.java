@@ -0,0 +1,155 @@
+package teo.springjwt.common.jwt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드 배포용 인메모리 저장소 (jwt.refresh-store=memory).
+ * 재발급 경로가 DB를 전혀 타지 않습니다. 대신 재시작하면 모든 리프레시 토큰이 사라져 다시 로그인해야 합니다.
+ *
+ * 토큰 해시 앞부분으로 샤드를 고르고 샤드마다 락을 따로 두어, 서로 다른 토큰의 재발급이 서로를 막지 않습니다.
+ * 폐기 확인과 폐기는 같은 샤드 락 안에서 일어나므로 같은 토큰의 동시 재발급은 한 번만 성공합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh-store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+  private static final int SHARD_COUNT = 16; // 2의 거듭제곱
+
+  private final Shard[] shards = new Shard[SHARD_COUNT];
+  // family / 사용자 단위 폐기를 위한 보조 색인 (값은 토큰 해시)
+  private final Map<String, Set<String>> hashesByFamily = new ConcurrentHashMap<>();
+  private final Map<Long, Set<String>> hashesByUser = new ConcurrentHashMap<>();
+
+  public InMemoryRefreshTokenStore() {
+    for (int i = 0; i < SHARD_COUNT; i++) {
+      shards[i] = new Shard();
+    }
+  }
+
+  @Override
+  public void save(RefreshTokenRecord token) {
+    Shard shard = shardOf(token.tokenHash());
+    shard.lock.lock();
+    try {
+      shard.tokens.put(token.tokenHash(), token);
+    } finally {
+      shard.lock.unlock();
+    }
+    hashesByFamily.computeIfAbsent(token.familyId(), key -> ConcurrentHashMap.newKeySet()).add(token.tokenHash());
+    hashesByUser.computeIfAbsent(token.userId(), key -> ConcurrentHashMap.newKeySet()).add(token.tokenHash());
+  }
+
+  @Override
+  public Optional<RefreshTokenRecord> findByHash(String tokenHash) {
+    Shard shard = shardOf(tokenHash);
+    shard.lock.lock();
+    try {
+      return Optional.ofNullable(shard.tokens.get(tokenHash));
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean revoke(String tokenHash) {
+    Shard shard = shardOf(tokenHash);
+    shard.lock.lock();
+    try {
+      RefreshTokenRecord token = shard.tokens.get(tokenHash);
+      if (token == null || token.revoked()) {
+        return false;
+      }
+      shard.tokens.put(tokenHash, token.asRevoked(Instant.now()));
+      return true;
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  @Override
+  public void revokeFamily(String familyId) {
+    revokeAll(hashesByFamily.get(familyId));
+  }
+
+  @Override
+  public void revokeAllByUser(Long userId) {
+    revokeAll(hashesByUser.get(userId));
+  }
+
+  private void revokeAll(Set<String> tokenHashes) {
+    if (tokenHashes == null) {
+      return;
+    }
+    for (String tokenHash : tokenHashes) {
+      revoke(tokenHash);
+    }
+  }
+
+  @Override
+  public int deleteExpired(Instant now, int limit) {
+    return deleteMatching(token -> token.isExpired(now), limit);
+  }
+
+  @Override
+  public int deleteRevoked(Instant revokedBefore, int limit) {
+    return deleteMatching(token -> token.revoked() && token.revokedAt().isBefore(revokedBefore), limit);
+  }
+
+  // 샤드 락은 한 샤드를 훑는 동안만 잡는다
+  private int deleteMatching(Predicate<RefreshTokenRecord> condition, int limit) {
+    List<RefreshTokenRecord> removed = new ArrayList<>();
+    for (Shard shard : shards) {
+      if (removed.size() >= limit) {
+        break;
+      }
+      shard.lock.lock();
+      try {
+        Iterator<RefreshTokenRecord> iterator = shard.tokens.values().iterator();
+        while (iterator.hasNext() && removed.size() < limit) {
+          RefreshTokenRecord token = iterator.next();
+          if (condition.test(token)) {
+            iterator.remove();
+            removed.add(token);
+          }
+        }
+      } finally {
+        shard.lock.unlock();
+      }
+    }
+    for (RefreshTokenRecord token : removed) {
+      removeFromIndex(hashesByFamily, token.familyId(), token.tokenHash());
+      removeFromIndex(hashesByUser, token.userId(), token.tokenHash());
+    }
+    return removed.size();
+  }
+
+  private static <K> void removeFromIndex(Map<K, Set<String>> index, K key, String tokenHash) {
+    index.computeIfPresent(key, (k, hashes) -> {
+      hashes.remove(tokenHash);
+      return hashes.isEmpty() ? null : hashes;
+    });
+  }
+
+  private Shard shardOf(String tokenHash) {
+    // 해시는 hex 문자열이라 앞 글자 분포가 고르다
+    return shards[Character.digit(tokenHash.charAt(0), 16) & (SHARD_COUNT - 1)];
+  }
+
+  private static class Shard {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, RefreshTokenRecord> tokens = new HashMap<>();
+  }
+}
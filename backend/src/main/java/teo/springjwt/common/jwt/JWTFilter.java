@@ -2,11 +2,16 @@ package teo.springjwt.common.jwt;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -20,29 +25,36 @@ import teo.springjwt.user.enumerated.UserRole;
 @Slf4j
 public class JWTFilter extends OncePerRequestFilter {
 
+  private static final String METRIC_NAME = "auth.filter.requests";
+  // 보호 경로 메트릭의 route 태그로 쓰는 첫 세그먼트 (컨트롤러 매핑 기준)
+  private static final Set<String> PROTECTED_PREFIXES = Set.of(
+      "/admin", "/user", "/manager", "/cart", "/auth", "/product", "/files", "/images", "/actuator");
+  private static final String OTHER_ROUTE = "other";
+
   private final JWTUtil jwtUtil;
+  private final PublicRoutes publicRoutes;
+  private final MeterRegistry meterRegistry;
+  // (route, outcome) -> counter. 요청마다 태그로 미터를 찾지 않도록 재사용
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
 
-  public JWTFilter(JWTUtil jwtUtil) {
+  public JWTFilter(JWTUtil jwtUtil, PublicRoutes publicRoutes, MeterRegistry meterRegistry) {
     this.jwtUtil = jwtUtil;
+    this.publicRoutes = publicRoutes;
+    this.meterRegistry = meterRegistry;
   }
 
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException, IOException {
 
-    //todo
-    // it should be added to security configuration, not here
-
-    // 특정 경로 (예: /actuator/health, /login 등 permitAll 경로)에 대해서는 필터링을 건너뛰기
-    String requestUri = request.getRequestURI();
-    if (requestUri.startsWith("/api/actuator/health") ||
-        requestUri.startsWith("/api/login") ||
-        requestUri.startsWith("/api/product") ||
-        requestUri.startsWith("/api/auth/refresh") ||  // 토큰 갱신 경로 추가
-        requestUri.startsWith("/api/auth/logout")) {   // 로그아웃 경로 추가
+    // 공개 경로는 쿠키를 읽거나 SecurityContext를 만들지 않고 바로 넘긴다 (SecurityConfig와 같은 목록)
+    String publicRoute = publicRoutes.match(request);
+    if (publicRoute != null) {
+      count(publicRoute, "skipped");
       filterChain.doFilter(request, response);
       return;
     }
+    String route = protectedRoute(request);
 
     // 1. 쿠키에서 JWT토큰 가져오기
     String accessToken = JwtCookieUtil.extractAccessTokenFromCookies(request);
@@ -50,6 +62,7 @@ public class JWTFilter extends OncePerRequestFilter {
 
     // 2. JWT가 없으면 다음 필터로 진행
     if (accessToken == null) {
+      count(route, "missing");
       // Refresh Token이 있으면 토큰 갱신을 위한 응답
       if (refreshToken != null) {
         log.debug("No access token but refresh token exists. Requesting token refresh.");
@@ -67,30 +80,26 @@ public class JWTFilter extends OncePerRequestFilter {
     }
 
 
-    // --- JWT 자체 유효성 검증 로직 추가 ---
+    // --- JWT 검증: 한 번의 파싱으로 서명/만료 확인과 email, role 추출 (같은 토큰은 캐시) ---
+    VerifiedToken verifiedToken;
     try {
-      if (!jwtUtil.validateToken(accessToken)) {
-        System.out.println("accessToken = " + accessToken);
-        sendTokenRefreshResponse(response, refreshToken);
-        return;
-      }
+      verifiedToken = jwtUtil.verify(accessToken);
     } catch (ExpiredJwtException e) {
-      // 만료된 토큰에 대한 특별 처리
-      System.out.println("token expired (caught in filter): " + e.getMessage());
+      count(route, "expired");
+      log.debug("Expired JWT token: {}", e.getMessage());
       sendTokenRefreshResponse(response, refreshToken);
       return;
     } catch (JwtException e) {
-      System.out.println("invalid JWT token (caught in filter): " + e.getMessage());
-      response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-      response.setContentType("application/json;charset=UTF-8");
-      response.getWriter().write("{\"error\":\"Invalid token\",\"code\":\"TOKEN_INVALID\"}");
+      count(route, "invalid");
+      // 서명 오류, 형식 오류 등도 기존과 같이 재발급/재로그인 응답으로 처리
+      log.debug("Invalid JWT token: {}", e.getMessage());
+      sendTokenRefreshResponse(response, refreshToken);
       return;
     }
 
-
-    //토큰에서 username과 role 획득
-    String email = jwtUtil.getEmail(accessToken);
-    String roleString = jwtUtil.getRole(accessToken);
+    count(route, "verified");
+    String email = verifiedToken.email();
+    String roleString = verifiedToken.role();
 
 
     //userEntity를 생성하여 값 set
@@ -107,6 +116,25 @@ public class JWTFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  // 보호 경로는 카디널리티를 제한하기 위해 알려진 첫 경로 세그먼트 단위로 집계 (예: /admin/**)
+  // 목록에 없는 경로는 클라이언트가 아무 값이나 보낼 수 있으므로 모두 "other"로 묶는다
+  private static String protectedRoute(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    int end = path.indexOf('/', 1);
+    String segment = end < 0 ? path : path.substring(0, end);
+    return PROTECTED_PREFIXES.contains(segment) ? segment + "/**" : OTHER_ROUTE;
+  }
+
+  private void count(String route, String outcome) {
+    counters.computeIfAbsent(route + ' ' + outcome,
+                             key -> Counter.builder(METRIC_NAME)
+                                           .description("JWTFilter requests by route and outcome")
+                                           .tag("route", route)
+                                           .tag("outcome", outcome)
+                                           .register(meterRegistry))
+            .increment();
+  }
+
   /**
    * 토큰 갱신이 필요한 경우의 응답을 보내는 메서드
    */
@@ -17,4 +17,6 @@ public class JWTProperties {
   private long refreshTokenExpirationMs;
   private String tokenPrefix;
   private String headerString;
+  // 검증된 access token 클레임 캐시 최대 개수 (0이면 캐시 사용 안 함)
+  private long claimsCacheSize = 10_000;
 }
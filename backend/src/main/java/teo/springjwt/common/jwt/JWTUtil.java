@@ -1,16 +1,22 @@
 
 package teo.springjwt.common.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.UUID;
 import javax.crypto.SecretKey;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +29,10 @@ public class JWTUtil {
 
   private final JWTProperties jwtProperties;
   private final SecretKey secretKey;
+  // 빌드된 JwtParser는 불변이라 여러 스레드가 공유해도 안전하다. 요청마다 다시 만들 필요가 없다.
+  private final JwtParser jwtParser;
+  // SHA-256(token) -> 검증 결과. 항목은 토큰의 exp 시각에 만료된다.
+  private final Cache<String, VerifiedToken> verifiedTokens;
 
   // 생성자: JWTProperties를 주입받아 SecretKey를 초기화
   public JWTUtil(JWTProperties jwtProperties) {
@@ -30,6 +40,66 @@ public class JWTUtil {
     // JWTProperties에서 Base64 인코딩된 비밀 키를 가져와 SecretKey로 변환
     // Keys.hmacShaKeyFor()는 Base64 디코딩을 자동으로 처리
     this.secretKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)); // Use UTF-8 for consistency
+    this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+    this.verifiedTokens = Caffeine.newBuilder()
+                                  .maximumSize(Math.max(0, jwtProperties.getClaimsCacheSize()))
+                                  .expireAfter(new TokenExpiry())
+                                  .build();
+  }
+
+  /**
+   * access token을 한 번만 파싱해서 서명/만료를 검증하고 email, role을 꺼냅니다.
+   * 같은 토큰이 다시 오면 서명 검증 없이 캐시된 결과를 돌려줍니다.
+   *
+   * @throws ExpiredJwtException 만료된 토큰
+   * @throws JwtException        서명 오류, 형식 오류, 필수 클레임 누락
+   */
+  public VerifiedToken verify(String token) {
+    if (jwtProperties.getClaimsCacheSize() <= 0) {
+      return parse(token);
+    }
+    String key = TokenHashes.sha256(token);
+    VerifiedToken cached = verifiedTokens.getIfPresent(key);
+    if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+      return cached;
+    }
+    VerifiedToken verified = parse(token);
+    verifiedTokens.put(key, verified);
+    return verified;
+  }
+
+  // 캐시를 거치지 않는 검증 (한 번의 파싱)
+  public VerifiedToken parse(String token) {
+    if (token == null || token.isBlank()) {
+      throw new MalformedJwtException("JWT token is empty");
+    }
+    Claims claims = extractClaim(token);
+    String email = claims.get("email", String.class);
+    String role = claims.get("role", String.class);
+    if (email == null || role == null || claims.getExpiration() == null) {
+      throw new MalformedJwtException("JWT token is missing email, role or exp claim");
+    }
+    return new VerifiedToken(email, role, claims.getExpiration().toInstant());
+  }
+
+  // 캐시 항목을 토큰의 exp 시각까지만 유지
+  private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      long remainingMillis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+      return Math.max(0, remainingMillis) * 1_000_000;
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 
   // 토큰에서 사용자 이름을 추출
@@ -73,6 +143,20 @@ public class JWTUtil {
     return createJwt(email, role, jwtProperties.getAccessTokenExpirationMs());
   }
 
+  // JWT 생성 - Refresh Token
+  // 같은 초에 두 번 발급돼도 해시가 겹치지 않도록 jti를 넣는다.
+  public String createRefreshToken(String email, String role) {
+    long currentTime = System.currentTimeMillis();
+    return Jwts.builder()
+               .id(UUID.randomUUID().toString())
+               .claim("email", email)
+               .claim("role", role)
+               .issuedAt(new Date(currentTime))
+               .expiration(new Date(currentTime + jwtProperties.getRefreshTokenExpirationMs()))
+               .signWith(secretKey)
+               .compact();
+  }
+
   // JWT 생성 - 기존 메서드 (호환성 유지)
   public String createJwt(String email, String role, Long expirationMs) {
     long currentTime = System.currentTimeMillis();
@@ -90,17 +174,13 @@ public class JWTUtil {
 
   // JWT 파싱 및 클레임 추출을 위한 내부 헬퍼 메서드
   private Claims extractClaim(String token) {
-    return Jwts.parser()
-               .verifyWith(secretKey)
-               .build()
-               .parseSignedClaims(token)
-               .getPayload();
+    return jwtParser.parseSignedClaims(token).getPayload();
   }
 
   // JWT 검증 (추가)
   public boolean validateToken(String token) {
     try {
-      Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+      jwtParser.parseSignedClaims(token);
       return true; // 토큰이 유효하면 true 반환
     } catch (ExpiredJwtException e) {
       // 만료된 토큰: 특정 로직이 필요할 수 있으므로 별도 처리
@@ -116,11 +196,7 @@ public class JWTUtil {
   // 만료된 토큰에서도 클레임 추출 (리프레시 토큰 검증용)
   public Claims getClaimsFromExpiredToken(String token) {
     try {
-      return Jwts.parser()
-                 .verifyWith(secretKey)
-                 .build()
-                 .parseSignedClaims(token)
-                 .getPayload();
+      return jwtParser.parseSignedClaims(token).getPayload();
     } catch (ExpiredJwtException e) {
       return e.getClaims(); // 만료된 토큰의 클레임 반환
     } catch (Exception e) {
@@ -0,0 +1,91 @@
+package teo.springjwt.common.jwt;
+
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import teo.springjwt.user.entity.UserEntity;
+
+// DB(refresh_tokens) 기반 저장소. 여러 노드가 토큰을 공유해야 할 때 사용 (기본값)
+@Component
+@Transactional
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.refresh-store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final EntityManager entityManager;
+
+  @Override
+  public void save(RefreshTokenRecord token) {
+    RefreshTokenEntity entity = RefreshTokenEntity.builder()
+                                                  .tokenHash(token.tokenHash())
+                                                  .familyId(token.familyId())
+                                                  .user(entityManager.getReference(UserEntity.class, token.userId()))
+                                                  .expiresAt(toLocal(token.expiresAt()))
+                                                  .isRevoked(token.revoked())
+                                                  .revokedAt(toLocal(token.revokedAt()))
+                                                  .build();
+    refreshTokenRepository.save(entity);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<RefreshTokenRecord> findByHash(String tokenHash) {
+    return refreshTokenRepository.findByTokenHash(tokenHash).map(JpaRefreshTokenStore::toRecord);
+  }
+
+  @Override
+  public boolean revoke(String tokenHash) {
+    return refreshTokenRepository.revokeByTokenHash(tokenHash, LocalDateTime.now()) > 0;
+  }
+
+  @Override
+  public void revokeFamily(String familyId) {
+    refreshTokenRepository.revokeAllByFamilyId(familyId, LocalDateTime.now());
+  }
+
+  @Override
+  public void revokeAllByUser(Long userId) {
+    refreshTokenRepository.revokeAllByUserQuerydsl(userId, LocalDateTime.now());
+  }
+
+  @Override
+  public int deleteExpired(Instant now, int limit) {
+    return (int) refreshTokenRepository.deleteExpiredTokensQuerydsl(toLocal(now), limit);
+  }
+
+  @Override
+  public int deleteRevoked(Instant revokedBefore, int limit) {
+    return (int) refreshTokenRepository.deleteRevokedTokensQuerydsl(toLocal(revokedBefore), limit);
+  }
+
+  private static LocalDateTime toLocal(Instant instant) {
+    return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+  }
+
+  private static Instant toInstant(LocalDateTime dateTime) {
+    return dateTime == null ? null : dateTime.atZone(ZoneId.systemDefault()).toInstant();
+  }
+
+  private static RefreshTokenRecord toRecord(RefreshTokenEntity entity) {
+    UserEntity user = entity.getUser();
+    return new RefreshTokenRecord(
+        entity.getTokenHash(),
+        entity.getFamilyId(),
+        user.getId(),
+        user.getEmail(),
+        user.getRole().name(),
+        user.getUsername(),
+        user.getPhoneNumber(),
+        toInstant(entity.getExpiresAt()),
+        Boolean.TRUE.equals(entity.getIsRevoked()) && entity.getRevokedAt() == null
+            ? toInstant(entity.getCreatedDate()) // revoked_at 도입 전에 폐기된 행
+            : toInstant(entity.getRevokedAt()));
+  }
+}
@@ -1,6 +1,8 @@
 package teo.springjwt.common.jwt;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -9,8 +11,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,6 +23,8 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import teo.springjwt.common.jwt.JWTUtil.TokenType;
+import teo.springjwt.common.jwt.RefreshTokenService.IssuedRefreshToken;
+import teo.springjwt.common.security.PasswordHashingRejectedException;
 import teo.springjwt.common.utils.JwtCookieUtil;
 import teo.springjwt.user.dto.CustomUserDetails;
 import teo.springjwt.user.dto.RequestLogin;
@@ -27,7 +33,6 @@ import teo.springjwt.user.dto.UserDto;
 import teo.springjwt.user.entity.UserEntity;
 
 @Slf4j
-@RequiredArgsConstructor
 public class LoginFilter extends UsernamePasswordAuthenticationFilter {
 
   private final AuthenticationManager authenticationManager;
@@ -35,6 +40,27 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
   private final ObjectMapper objectMapper;
   private final RefreshTokenService refreshTokenService;
   private final JwtCookieUtil jwtCookieUtil;
+  private final Timer loginSucceeded;
+  private final Timer loginFailed;
+  private final Timer loginRejected;
+
+  public LoginFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil, ObjectMapper objectMapper,
+      RefreshTokenService refreshTokenService, JwtCookieUtil jwtCookieUtil, MeterRegistry meterRegistry) {
+    this.authenticationManager = authenticationManager;
+    this.jwtUtil = jwtUtil;
+    this.objectMapper = objectMapper;
+    this.refreshTokenService = refreshTokenService;
+    this.jwtCookieUtil = jwtCookieUtil;
+    this.loginSucceeded = loginTimer(meterRegistry, "success");
+    this.loginFailed = loginTimer(meterRegistry, "failure");
+    this.loginRejected = loginTimer(meterRegistry, "rejected");
+  }
+
+  private static Timer loginTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder("auth.login.latency")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+  }
 
 
   @Override
@@ -75,9 +101,23 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
     }
 
 
-    log.info("LoginFilter attemptAuthentication email: {}, password: {}", email, password);
+    log.info("LoginFilter attemptAuthentication email: {}", email);
     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(email, password);
-    return authenticationManager.authenticate(authToken);
+
+    // 로그인 한 건의 지연 시간 (사용자 조회 + 비밀번호 검증 대기/해싱 + 재해싱)
+    long start = System.nanoTime();
+    Timer timer = loginSucceeded;
+    try {
+      return authenticationManager.authenticate(authToken);
+    } catch (PasswordHashingRejectedException e) {
+      timer = loginRejected;
+      throw e;
+    } catch (AuthenticationException e) {
+      timer = loginFailed;
+      throw e;
+    } finally {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
   }
 
   // 로그인 성공시 실행하는 메소드 (여기서 JWT를 발급하면 됨)
@@ -104,10 +144,10 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
     String accessToken = jwtUtil.createAccessToken(user.getEmail(), role);
     
     // Refresh Token 생성 (긴 만료 시간)
-    RefreshTokenEntity refreshToken = refreshTokenService.createRefreshToken(user);
+    IssuedRefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
 
     JwtCookieUtil jwtCookieUtil1 = new JwtCookieUtil(jwtUtil);
-    jwtCookieUtil1.addAuthCookies(response, accessToken, refreshToken.getToken());
+    jwtCookieUtil1.addAuthCookies(response, accessToken, refreshToken.token());
 
     // ResponseLogin 객체를 JSON으로 응답 본문에 추가
     UserDto userDto = UserDto.builder()
@@ -137,6 +177,12 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
   @Override
   protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
       AuthenticationException failed) {
+    // 해싱 대기열이 가득 찬 경우는 자격 증명 문제가 아니므로 429로 재시도를 유도한다
+    if (failed instanceof PasswordHashingRejectedException) {
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+      return;
+    }
     // 실패시 401 응답 코드
     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
   }
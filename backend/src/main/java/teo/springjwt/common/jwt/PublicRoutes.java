@@ -0,0 +1,80 @@
+package teo.springjwt.common.jwt;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * 인증 없이 열어 두는 경로 목록.
+ * SecurityConfig의 permitAll 규칙과 JWTFilter의 건너뛰기 판단이 이 한 곳을 같이 쓰므로 둘이 어긋나지 않습니다.
+ * 패턴은 context path(/api)를 뺀 경로 기준이고, 기동 시 한 번만 PathPattern으로 컴파일합니다.
+ */
+@Component
+public class PublicRoutes {
+
+  private static final List<Route> ROUTES = List.of(
+      new Route(null, "/actuator/health"),
+      new Route(HttpMethod.POST, "/user"), // 회원가입
+      new Route(null, "/auth/refresh"), // 토큰 갱신
+      new Route(null, "/auth/logout"), // 로그아웃
+      new Route(null, "/login"),
+      new Route(null, "/"),
+      new Route(null, "/find-password"),
+      new Route(null, "/reset-password"),
+      new Route(null, "/product/**"), // 사용자 상품 조회
+      new Route(HttpMethod.GET, "/files/**"), // 로컬 저장소 이미지 (local 프로필)
+      new Route(HttpMethod.GET, "/images/**") // 이미지 파생본 (썸네일 등)
+  );
+
+  private final List<CompiledRoute> compiledRoutes;
+
+  public PublicRoutes() {
+    PathPatternParser parser = PathPatternParser.defaultInstance;
+    this.compiledRoutes = ROUTES.stream()
+                                .map(route -> new CompiledRoute(route, parser.parse(route.pattern())))
+                                .toList();
+  }
+
+  /**
+   * 요청이 공개 경로면 해당 패턴 문자열, 아니면 null.
+   */
+  public String match(HttpServletRequest request) {
+    PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+    for (CompiledRoute route : compiledRoutes) {
+      if (route.matches(request.getMethod(), path)) {
+        return route.route().pattern();
+      }
+    }
+    return null;
+  }
+
+  // SecurityConfig에서 같은 목록을 permitAll로 등록
+  public void permitAll(
+      AuthorizeHttpRequestsConfigurer<?>.AuthorizationManagerRequestMatcherRegistry registry) {
+    for (Route route : ROUTES) {
+      if (route.method() == null) {
+        registry.requestMatchers(route.pattern()).permitAll();
+      } else {
+        registry.requestMatchers(route.method(), route.pattern()).permitAll();
+      }
+    }
+  }
+
+  // method가 null이면 모든 HTTP 메서드
+  public record Route(HttpMethod method, String pattern) {
+
+  }
+
+  private record CompiledRoute(Route route, PathPattern pattern) {
+
+    boolean matches(String method, PathContainer path) {
+      return (route.method() == null || route.method().matches(method)) && pattern.matches(path);
+    }
+  }
+}
@@ -15,10 +15,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import teo.springjwt.common.jwt.JWTUtil.TokenType;
+import teo.springjwt.common.jwt.RefreshTokenService.IssuedRefreshToken;
 import teo.springjwt.common.utils.JwtCookieUtil;
 import teo.springjwt.user.dto.CustomUserDetails;
 import teo.springjwt.user.dto.UserDto;
-import teo.springjwt.user.entity.UserEntity;
+import teo.springjwt.user.dto.UserSnapshot;
+import teo.springjwt.user.repository.UserRepository;
 
 @RestController
 @RequestMapping("/auth")
@@ -30,7 +32,7 @@ public class RefreshController {
   private final JWTUtil jwtUtil;
   private final JwtCookieUtil jwtCookieUtil;
   private final ApplicationEventPublisher applicationEventPublisher;
-  private final JWTUtil jWTUtil;
+  private final UserRepository userRepository;
 
   @PostMapping("/refresh")
   public ResponseEntity<?> refreshToken(HttpServletRequest request, HttpServletResponse response) {
@@ -38,42 +40,34 @@ public class RefreshController {
       // 쿠키에서 리프레시 토큰 추출 (JwtCookieUtil 사용)
       String refreshToken = JwtCookieUtil.extractRefreshTokenFromCookies(request);
 
-      log.info("Refreshing token: {}", refreshToken);
       if (refreshToken == null) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                              .body(Map.of("error", "Refresh token not found"));
       }
 
-      // 리프레시 토큰 검증
-      RefreshTokenEntity tokenEntity = refreshTokenService.findByToken(refreshToken)
-                                                          .orElse(null);
-
-      if (tokenEntity == null || !tokenEntity.isValid()) {
+      // 리프레시 토큰 검증 + 회전: 현재 토큰은 폐기되고 같은 family의 새 토큰이 발급된다
+      IssuedRefreshToken rotated = refreshTokenService.rotate(refreshToken).orElse(null);
+      if (rotated == null) {
         JwtCookieUtil.clearAuthCookies(response);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                              .body(Map.of("error", "Invalid refresh token"));
       }
 
-      // 새로운 액세스 토큰 생성
-      UserEntity user = tokenEntity.getUser();
-      String newAccessToken = jwtUtil.createAccessToken(user.getEmail(), user.getRole().name());
-
-      // 현재 refresh 토큰 삭제하고, 새로운 refresh 토큰 발급
-      RefreshTokenEntity newRefreshTokenEntity = refreshTokenService.createRefreshToken(user);
-      String newRefreshToken = newRefreshTokenEntity.getToken();
+      // 새로운 액세스 토큰 생성. 역할 변경이나 탈퇴가 바로 반영되도록 사용자는 캐시가 아니라 DB에서 읽는다
+      UserSnapshot user = userRepository.findById(rotated.record().userId()).map(UserSnapshot::from).orElse(null);
+      if (user == null) {
+        refreshTokenService.revokeRefreshToken(rotated.token());
+        JwtCookieUtil.clearAuthCookies(response);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                             .body(Map.of("error", "Invalid refresh token"));
+      }
+      String newAccessToken = jwtUtil.createAccessToken(user.email(), user.role().name());
 
       // JwtCookieUtil을 사용하여 새로운 토큰들을 쿠키에 설정
-      JwtCookieUtil jwtCookieUtil1 = new JwtCookieUtil(jWTUtil);
-      jwtCookieUtil1.addAuthCookies(response, newAccessToken, newRefreshToken);
+      jwtCookieUtil.addAuthCookies(response, newAccessToken, rotated.token());
 
       // UserDto 생성
-      UserDto userDTO = UserDto.builder()
-                       .id( user.getId())
-                       .email(user.getEmail())
-                       .role(user.getRole().name())
-                       .username(user.getUsername())
-                       .phoneNumber(user.getPhoneNumber())
-                       .build();
+      UserDto userDTO = user.toUserDto();
 
       Map<String, Object> responseBody = new HashMap<>();
       responseBody.put("success", true);
@@ -1,12 +1,12 @@
 package teo.springjwt.common.jwt;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -19,7 +19,11 @@ import teo.springjwt.common.entity.BaseTimeEntity;
 import teo.springjwt.user.entity.UserEntity;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+    @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_refresh_tokens_revoked_at", columnList = "revoked_at")
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,11 +33,16 @@ public class RefreshTokenEntity extends BaseTimeEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    
-    @Column(name = "token", nullable = false, unique = true, length = 191)
-    private String token;
 
-    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
+    // 토큰 원문 대신 SHA-256 해시(hex 64자)만 저장하고 이 값으로 조회한다.
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64, columnDefinition = "char(64)")
+    private String tokenHash;
+
+    // 로그인 한 번에서 이어지는 회전(rotation) 토큰들이 같은 family를 공유한다.
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
@@ -43,9 +52,14 @@ public class RefreshTokenEntity extends BaseTimeEntity {
     @Column(name = "is_revoked", nullable = false)
     @Builder.Default
     private Boolean isRevoked = false;
+
+    // 폐기 시각. 재사용 감지를 위해 폐기 후 일정 기간 보관했다가 RefreshTokenPurger가 지운다.
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
     
     public void revoke() {
         this.isRevoked = true;
+        this.revokedAt = LocalDateTime.now();
     }
     
     public boolean isExpired() {
@@ -55,4 +69,4 @@ public class RefreshTokenEntity extends BaseTimeEntity {
   public boolean isValid() {
     return !Boolean.TRUE.equals(isRevoked) && expiresAt != null && !isExpired();
   }
-}
\ No newline at end of file
+}
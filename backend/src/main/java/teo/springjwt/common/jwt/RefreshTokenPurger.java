@@ -0,0 +1,104 @@
+package teo.springjwt.common.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.IntSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import teo.springjwt.common.scheduling.SchedulerLock;
+
+/**
+ * 만료되었거나 폐기된 지 오래된 리프레시 토큰을 주기적으로 지웁니다.
+ * - 한 번에 batch-size 건씩만 지우고 배치 사이에 pause 만큼 쉬어서 긴 락/복제 지연을 피합니다.
+ * - 한 번의 실행은 max-batches 배치까지만 돌고 나머지는 다음 주기로 넘깁니다.
+ * - 여러 인스턴스가 떠 있어도 scheduler_lock 임대를 가진 한 곳에서만 실행합니다.
+ */
+@Slf4j
+@Component
+public class RefreshTokenPurger {
+
+  private static final String LOCK_NAME = "refresh-token-purge";
+  private static final String METRIC_PREFIX = "refresh_token.purge";
+
+  private final RefreshTokenService refreshTokenService;
+  private final SchedulerLock schedulerLock;
+  private final int batchSize;
+  private final int maxBatches;
+  private final Duration pause;
+  private final Duration revokedRetention;
+  private final Duration lease;
+
+  private final DistributionSummary batchSizeSummary;
+  private final Counter expiredPurged;
+  private final Counter revokedPurged;
+
+  public RefreshTokenPurger(RefreshTokenService refreshTokenService, SchedulerLock schedulerLock,
+      MeterRegistry meterRegistry,
+      @Value("${jwt.purge.batch-size:500}") int batchSize,
+      @Value("${jwt.purge.max-batches:100}") int maxBatches,
+      @Value("${jwt.purge.pause:PT0.2S}") Duration pause,
+      @Value("${jwt.purge.revoked-retention:P1D}") Duration revokedRetention,
+      @Value("${jwt.purge.lease:PT5M}") Duration lease) {
+    this.refreshTokenService = refreshTokenService;
+    this.schedulerLock = schedulerLock;
+    this.batchSize = batchSize;
+    this.maxBatches = maxBatches;
+    this.pause = pause;
+    this.revokedRetention = revokedRetention;
+    this.lease = lease;
+    this.batchSizeSummary = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+                                               .description("Rows deleted per purge batch")
+                                               .register(meterRegistry);
+    this.expiredPurged = purgedCounter(meterRegistry, "expired");
+    this.revokedPurged = purgedCounter(meterRegistry, "revoked");
+  }
+
+  private static Counter purgedCounter(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder(METRIC_PREFIX + ".rows")
+                  .description("Refresh tokens purged")
+                  .tag("reason", reason)
+                  .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.purge.interval:PT10M}", initialDelayString = "${jwt.purge.initial-delay:PT1M}")
+  public void purge() {
+    if (!schedulerLock.tryAcquire(LOCK_NAME, lease)) {
+      log.debug("Refresh token purge skipped: another instance holds the lock");
+      return;
+    }
+    try {
+      long start = System.nanoTime();
+      int expired = purgeInBatches(() -> refreshTokenService.deleteExpiredTokens(batchSize), expiredPurged);
+      int revoked = purgeInBatches(() -> refreshTokenService.deleteRevokedTokens(revokedRetention, batchSize),
+                                   revokedPurged);
+      if (expired + revoked > 0) {
+        log.info("Purged refresh tokens: {} expired, {} revoked in {} ms", expired, revoked,
+                 (System.nanoTime() - start) / 1_000_000);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      schedulerLock.release(LOCK_NAME);
+    }
+  }
+
+  // 배치가 가득 차지 않을 때까지 (또는 max-batches 까지) 반복
+  private int purgeInBatches(IntSupplier batch, Counter purged) throws InterruptedException {
+    int total = 0;
+    for (int i = 0; i < maxBatches; i++) {
+      int deleted = batch.getAsInt();
+      batchSizeSummary.record(deleted);
+      purged.increment(deleted);
+      total += deleted;
+      if (deleted < batchSize) {
+        break;
+      }
+      Thread.sleep(pause.toMillis());
+    }
+    return total;
+  }
+}
@@ -0,0 +1,32 @@
+package teo.springjwt.common.jwt;
+
+import java.time.Instant;
+
+/**
+ * 저장소에 보관되는 리프레시 토큰 한 건.
+ * 재발급 응답에 필요한 사용자 정보를 함께 들고 있어서, 재발급 경로에서 사용자 테이블을 다시 읽지 않습니다.
+ */
+public record RefreshTokenRecord(
+    String tokenHash,
+    String familyId,
+    Long userId,
+    String email,
+    String role,
+    String username,
+    String phoneNumber,
+    Instant expiresAt,
+    Instant revokedAt) { // 폐기되지 않았으면 null
+
+  public boolean revoked() {
+    return revokedAt != null;
+  }
+
+  public boolean isExpired(Instant now) {
+    return !now.isBefore(expiresAt);
+  }
+
+  public RefreshTokenRecord asRevoked(Instant now) {
+    return revoked() ? this : new RefreshTokenRecord(tokenHash, familyId, userId, email, role, username, phoneNumber,
+                                                     expiresAt, now);
+  }
+}
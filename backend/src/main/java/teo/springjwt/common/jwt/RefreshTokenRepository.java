@@ -2,24 +2,26 @@ package teo.springjwt.common.jwt;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import teo.springjwt.user.entity.UserEntity;
 
-public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long>, RefreshTokenRepositoryCustom {
 
-  Optional<RefreshTokenEntity> findByTokenAndIsRevokedFalse(String token);
-
-  Optional<RefreshTokenEntity> findByUserAndIsRevokedFalse(UserEntity user);
+  // 재발급 응답에 사용자 정보가 필요하므로 함께 읽는다.
+  @EntityGraph(attributePaths = "user")
+  Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
 
+  // 동시에 같은 토큰으로 재발급을 요청하면 한 쪽만 1을 받는다.
   @Modifying
-  @Query("UPDATE RefreshTokenEntity r SET r.isRevoked = true WHERE r.user = :user")
-  void revokeAllByUser(@Param("user") UserEntity user);
+  @Query("UPDATE RefreshTokenEntity r SET r.isRevoked = true, r.revokedAt = :now "
+      + "WHERE r.tokenHash = :tokenHash AND r.isRevoked = false")
+  int revokeByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
 
   @Modifying
-  @Query("DELETE FROM RefreshTokenEntity r WHERE r.expiresAt < :now")
-  void deleteExpiredTokens(@Param("now")
-  LocalDateTime now);
+  @Query("UPDATE RefreshTokenEntity r SET r.isRevoked = true, r.revokedAt = :now "
+      + "WHERE r.familyId = :familyId AND r.isRevoked = false")
+  int revokeAllByFamilyId(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
 }
@@ -1,18 +1,28 @@
 package teo.springjwt.common.jwt;
 
 import java.time.LocalDateTime;
-import teo.springjwt.user.entity.UserEntity;
 
 public interface RefreshTokenRepositoryCustom {
   /**
-   * 특정 사용자의 모든 리프레시 토큰을 무효화(revoked)합니다.
-   * @param user 무효화할 토큰의 사용자 엔티티
+   * 특정 사용자의 아직 유효한 리프레시 토큰을 모두 무효화(revoked)합니다.
+   * @param userId 무효화할 토큰의 사용자 ID
+   * @param now    폐기 시각으로 기록할 시간
+   * @return 무효화된 건수
    */
-  void revokeAllByUserQuerydsl(UserEntity user);
+  long revokeAllByUserQuerydsl(Long userId, LocalDateTime now);
 
   /**
-   * 만료된 모든 리프레시 토큰을 삭제합니다.
-   * @param now 현재 시간 (이 시간보다 이전인 토큰이 삭제됨)
+   * 만료된 리프레시 토큰을 최대 limit 건 삭제합니다.
+   * 한 번에 지우는 행 수를 제한해서 삭제가 테이블 락을 오래 잡지 않게 합니다.
+   * @param now   현재 시간 (이 시간보다 이전에 만료된 토큰이 삭제됨)
+   * @param limit 한 번에 삭제할 최대 건수
+   * @return 삭제된 건수
    */
-  void deleteExpiredTokensQuerydsl(LocalDateTime now);
+  long deleteExpiredTokensQuerydsl(LocalDateTime now, int limit);
+
+  /**
+   * revokedBefore 이전에 폐기된 리프레시 토큰을 최대 limit 건 삭제합니다.
+   * @return 삭제된 건수
+   */
+  long deleteRevokedTokensQuerydsl(LocalDateTime revokedBefore, int limit);
 }
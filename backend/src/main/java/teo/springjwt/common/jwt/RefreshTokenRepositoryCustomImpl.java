@@ -1,28 +1,58 @@
 package teo.springjwt.common.jwt;
 
+import static teo.springjwt.common.jwt.QRefreshTokenEntity.refreshTokenEntity;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import java.time.LocalDateTime;
-import teo.springjwt.user.entity.UserEntity;
+import java.util.List;
 
 public class RefreshTokenRepositoryCustomImpl implements RefreshTokenRepositoryCustom {
 
   private final JPAQueryFactory queryFactory;
-  private final EntityManager entityManager;
 
-  public RefreshTokenRepositoryCustomImpl(JPAQueryFactory queryFactory, EntityManager entityManager) {
-    this.queryFactory = queryFactory;
-    this.entityManager = entityManager;
+  public RefreshTokenRepositoryCustomImpl(EntityManager entityManager) {
+    this.queryFactory = new JPAQueryFactory(entityManager);
   }
 
 
   @Override
-  public void revokeAllByUserQuerydsl(UserEntity user) {
+  public long revokeAllByUserQuerydsl(Long userId, LocalDateTime now) {
+    return queryFactory
+        .update(refreshTokenEntity)
+        .set(refreshTokenEntity.isRevoked, true)
+        .set(refreshTokenEntity.revokedAt, now)
+        .where(refreshTokenEntity.user.id.eq(userId),
+               refreshTokenEntity.isRevoked.isFalse())
+        .execute();
+  }
 
+  @Override
+  public long deleteExpiredTokensQuerydsl(LocalDateTime now, int limit) {
+    return deleteBatch(refreshTokenEntity.expiresAt.lt(now), limit);
   }
 
   @Override
-  public void deleteExpiredTokensQuerydsl(LocalDateTime now) {
+  public long deleteRevokedTokensQuerydsl(LocalDateTime revokedBefore, int limit) {
+    return deleteBatch(refreshTokenEntity.revokedAt.lt(revokedBefore), limit);
+  }
 
+  // DELETE ... LIMIT 은 JPQL에 없으므로 PK를 limit 개 먼저 고른 뒤 PK로 지운다.
+  private long deleteBatch(BooleanExpression condition, int limit) {
+    List<Long> ids = queryFactory
+        .select(refreshTokenEntity.id)
+        .from(refreshTokenEntity)
+        .where(condition)
+        .orderBy(refreshTokenEntity.id.asc())
+        .limit(limit)
+        .fetch();
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return queryFactory
+        .delete(refreshTokenEntity)
+        .where(refreshTokenEntity.id.in(ids))
+        .execute();
   }
 }
@@ -1,67 +1,93 @@
 package teo.springjwt.common.jwt;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import teo.springjwt.user.entity.UserEntity;
 
+/**
+ * 리프레시 토큰 발급 / 회전(rotation) / 폐기.
+ * 트랜잭션은 저장소 구현이 관리합니다 (인메모리 저장소를 쓰면 DB 연결을 잡지 않도록).
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class RefreshTokenService {
 
-  private final RefreshTokenRepository refreshTokenRepository;
+  private final RefreshTokenStore refreshTokenStore;
   private final JWTUtil jwtUtil;
 
-  public RefreshTokenEntity createRefreshToken(UserEntity user) {
+  /**
+   * 로그인 시 새 family로 리프레시 토큰을 발급합니다. 사용자의 기존 토큰은 모두 무효화합니다.
+   */
+  public IssuedRefreshToken createRefreshToken(UserEntity user) {
     // 기존 리프레시 토큰이 있다면 무효화
-    revokeAllRefreshTokensByUser(user);
-
-    // 새로운 리프레시 토큰 생성
-    String token = jwtUtil.createJwt(
-        user.getEmail(),
-        user.getRole().name(),
-        jwtUtil.getJwtProperties().getRefreshTokenExpirationMs()
-    );
-
-    LocalDateTime expiresAt = LocalDateTime.now()
-                                           .plusSeconds(jwtUtil.getJwtProperties().getRefreshTokenExpirationMs() / 1000);
-
-    RefreshTokenEntity refreshToken = RefreshTokenEntity.builder()
-                                                        .token(token)
-                                                        .user(user)
-                                                        .expiresAt(expiresAt)
-                                                        .build();
-
-    return refreshTokenRepository.save(refreshToken);
+    refreshTokenStore.revokeAllByUser(user.getId());
+    return issue(user.getId(), user.getEmail(), user.getRole().name(), user.getUsername(), user.getPhoneNumber(),
+                 UUID.randomUUID().toString());
   }
 
-  @Transactional(readOnly = true)
-  public Optional<RefreshTokenEntity> findByToken(String token) {
-    return refreshTokenRepository.findByTokenAndIsRevokedFalse(token);
+  /**
+   * 리프레시 토큰을 폐기하고 같은 family로 새 토큰을 발급합니다.
+   * 이미 폐기된 토큰이 다시 들어오면 탈취된 것으로 보고 family 전체를 폐기합니다.
+   *
+   * @return 새 토큰. 토큰이 없거나 만료/폐기됐으면 빈 값
+   */
+  public Optional<IssuedRefreshToken> rotate(String token) {
+    String tokenHash = TokenHashes.sha256(token);
+    RefreshTokenRecord current = refreshTokenStore.findByHash(tokenHash).orElse(null);
+    if (current == null) {
+      return Optional.empty();
+    }
+    if (current.isExpired(Instant.now())) {
+      return Optional.empty();
+    }
+    // 동시에 같은 토큰으로 들어온 요청 중 하나만 폐기에 성공한다
+    if (current.revoked() || !refreshTokenStore.revoke(tokenHash)) {
+      log.warn("Refresh token reuse detected for user {} (family {}); revoking family", current.userId(),
+               current.familyId());
+      refreshTokenStore.revokeFamily(current.familyId());
+      return Optional.empty();
+    }
+    return Optional.of(issue(current.userId(), current.email(), current.role(), current.username(),
+                             current.phoneNumber(), current.familyId()));
   }
 
   public void revokeRefreshToken(String token) {
-    findByToken(token).ifPresent(RefreshTokenEntity::revoke);
+    refreshTokenStore.revoke(TokenHashes.sha256(token));
   }
 
   public void revokeAllRefreshTokensByUser(UserEntity user) {
-    refreshTokenRepository.revokeAllByUser(user);
+    refreshTokenStore.revokeAllByUser(user.getId());
   }
 
-  public void deleteExpiredTokens() {
-    refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+  // 만료된 토큰을 최대 limit 건 삭제 (RefreshTokenPurger가 반복 호출)
+  public int deleteExpiredTokens(int limit) {
+    return refreshTokenStore.deleteExpired(Instant.now(), limit);
   }
 
-  public boolean verifyExpiration(RefreshTokenEntity token) {
-    if (token.isExpired()) {
-      refreshTokenRepository.delete(token);
-      return false;
-    }
-    return true;
+  // retention 보다 오래전에 폐기된 토큰을 최대 limit 건 삭제.
+  // retention 동안은 폐기된 토큰도 남겨 두어야 재사용을 감지할 수 있다.
+  public int deleteRevokedTokens(Duration retention, int limit) {
+    return refreshTokenStore.deleteRevoked(Instant.now().minus(retention), limit);
+  }
+
+  private IssuedRefreshToken issue(Long userId, String email, String role, String username, String phoneNumber,
+      String familyId) {
+    String token = jwtUtil.createRefreshToken(email, role);
+    Instant expiresAt = Instant.now().plusMillis(jwtUtil.getJwtProperties().getRefreshTokenExpirationMs());
+    RefreshTokenRecord record = new RefreshTokenRecord(TokenHashes.sha256(token), familyId, userId, email, role,
+                                                       username, phoneNumber, expiresAt, null);
+    refreshTokenStore.save(record);
+    return new IssuedRefreshToken(token, record);
+  }
+
+  // 발급된 토큰 원문(쿠키로 내려줄 값)과 저장된 기록
+  public record IssuedRefreshToken(String token, RefreshTokenRecord record) {
+
   }
 }
@@ -0,0 +1,33 @@
+package teo.springjwt.common.jwt;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 리프레시 토큰 저장소. 모든 조회는 토큰 원문이 아니라 SHA-256 해시로 합니다.
+ * jwt.refresh-store=jpa(기본) 이면 DB, memory 이면 단일 노드용 인메모리 구현을 사용합니다.
+ */
+public interface RefreshTokenStore {
+
+  void save(RefreshTokenRecord token);
+
+  // 폐기 여부와 관계없이 조회 (재사용 감지에 폐기된 토큰도 필요)
+  Optional<RefreshTokenRecord> findByHash(String tokenHash);
+
+  /**
+   * 아직 폐기되지 않은 토큰을 폐기합니다.
+   *
+   * @return 이 호출이 폐기했으면 true, 이미 폐기됐거나 없으면 false
+   */
+  boolean revoke(String tokenHash);
+
+  void revokeFamily(String familyId);
+
+  void revokeAllByUser(Long userId);
+
+  // 만료 시각이 now 이전인 토큰을 최대 limit 건 삭제하고 삭제 건수를 돌려준다.
+  int deleteExpired(Instant now, int limit);
+
+  // revokedBefore 이전에 폐기된 토큰을 최대 limit 건 삭제하고 삭제 건수를 돌려준다.
+  int deleteRevoked(Instant revokedBefore, int limit);
+}
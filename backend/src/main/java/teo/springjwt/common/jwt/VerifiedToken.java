@@ -0,0 +1,8 @@
+package teo.springjwt.common.jwt;
+
+import java.time.Instant;
+
+// 서명과 만료 검증을 통과한 access token의 클레임
+public record VerifiedToken(String email, String role, Instant expiresAt) {
+
+}
@@ -0,0 +1,70 @@
+package teo.springjwt.common.scheduling;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 여러 인스턴스 중 한 곳에서만 스케줄 작업을 돌리기 위한 DB 임대 락.
+ * 인스턴스가 죽어도 임대 시간이 지나면 다른 인스턴스가 이어받습니다.
+ */
+@Slf4j
+@Component
+public class SchedulerLock {
+
+  private final SchedulerLockRepository schedulerLockRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final String instanceId;
+
+  public SchedulerLock(SchedulerLockRepository schedulerLockRepository, TransactionTemplate transactionTemplate) {
+    this.schedulerLockRepository = schedulerLockRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.instanceId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  /**
+   * 임대를 얻거나 연장합니다.
+   *
+   * @param lease 임대 시간. 작업이 이보다 오래 걸리면 다른 인스턴스가 동시에 실행할 수 있으므로 넉넉히 잡는다.
+   * @return 이 인스턴스가 리더면 true
+   */
+  public boolean tryAcquire(String name, Duration lease) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime until = now.plus(lease);
+    Integer updated = transactionTemplate.execute(
+        status -> schedulerLockRepository.tryExtend(name, instanceId, now, until));
+    if (updated != null && updated > 0) {
+      return true;
+    }
+    // 처음 실행되는 작업이면 행이 없다. 동시에 insert 하면 한 쪽만 성공한다.
+    try {
+      transactionTemplate.executeWithoutResult(status -> schedulerLockRepository.insert(name, instanceId, until));
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+
+  public void release(String name) {
+    transactionTemplate.executeWithoutResult(
+        status -> schedulerLockRepository.release(name, instanceId, LocalDateTime.now()));
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  private static String hostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      return "unknown";
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package teo.springjwt.common.scheduling;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 스케줄 작업 리더 선출용 임대(lease) 행.
+ * locked_until 이 지나기 전까지는 locked_by 인스턴스만 해당 작업을 실행합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "scheduler_lock")
+public class SchedulerLockEntity {
+
+  @Id
+  @Column(name = "lock_name", length = 64)
+  private String name;
+
+  @Column(name = "locked_by", nullable = false, length = 128)
+  private String lockedBy;
+
+  @Column(name = "locked_until", nullable = false)
+  private LocalDateTime lockedUntil;
+
+  public SchedulerLockEntity(String name, String lockedBy, LocalDateTime lockedUntil) {
+    this.name = name;
+    this.lockedBy = lockedBy;
+    this.lockedUntil = lockedUntil;
+  }
+}
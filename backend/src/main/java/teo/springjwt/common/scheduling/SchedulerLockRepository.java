@@ -0,0 +1,27 @@
+package teo.springjwt.common.scheduling;
+
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLockEntity, String> {
+
+  // 임대가 끝났거나 내가 가진 임대면 연장한다. 갱신된 행이 없으면 다른 인스턴스가 리더.
+  @Modifying
+  @Query("UPDATE SchedulerLockEntity l SET l.lockedBy = :owner, l.lockedUntil = :until "
+      + "WHERE l.name = :name AND (l.lockedUntil < :now OR l.lockedBy = :owner)")
+  int tryExtend(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+      @Param("until") LocalDateTime until);
+
+  // 행이 이미 있으면 PK 충돌로 실패한다 (merge로 남의 임대를 덮어쓰지 않도록 직접 insert)
+  @Modifying
+  @Query(value = "INSERT INTO scheduler_lock (lock_name, locked_by, locked_until) VALUES (:name, :owner, :until)",
+      nativeQuery = true)
+  int insert(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+
+  @Modifying
+  @Query("UPDATE SchedulerLockEntity l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+  int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,87 @@
+package teo.springjwt.common.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 비밀번호 해싱(matches / encode)을 전용 스레드 풀에서 실행하는 PasswordEncoder.
+ * 로그인이 몰려도 동시에 도는 해싱은 풀 크기로 제한되고, 대기열이 가득 차면 즉시 PasswordHashingRejectedException을 던져
+ * Tomcat 스레드가 CPU를 기다리며 쌓이지 않게 합니다.
+ * 로그인 성공 후 재해싱(encode)도 같은 풀을 쓰며, 대기열에 일이 밀려 있으면 upgradeEncoding이 false를 돌려 다음 로그인으로 미룹니다.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final Duration waitTimeout;
+  private final Timer verifyTimer;
+  private final Timer encodeTimer;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolExecutor executor, Duration waitTimeout,
+      MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.executor = executor;
+    this.waitTimeout = waitTimeout;
+    // 대기열에서 기다린 시간 + 해싱 시간
+    this.verifyTimer = Timer.builder("auth.password.verify")
+                            .description("Password verification latency including hashing queue wait")
+                            .register(meterRegistry);
+    this.encodeTimer = Timer.builder("auth.password.encode")
+                            .description("Password encoding latency (sign-up, rehash on login) including queue wait")
+                            .register(meterRegistry);
+    meterRegistry.gauge("auth.password.queue.depth", executor, pool -> pool.getQueue().size());
+    meterRegistry.gauge("auth.password.active", executor, ThreadPoolExecutor::getActiveCount);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return runBounded(() -> delegate.encode(rawPassword), "encoding", encodeTimer);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return runBounded(() -> delegate.matches(rawPassword, encodedPassword), "verification", verifyTimer);
+  }
+
+  // 재해싱은 로그인 한 번에 해싱을 두 번 하게 만든다. 이미 대기 중인 검증이 있으면 이번에는 건너뛴다.
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword) && executor.getQueue().isEmpty();
+  }
+
+  private <T> T runBounded(Callable<T> task, String action, Timer timer) {
+    long start = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      throw new PasswordHashingRejectedException("Password hashing queue is full", e);
+    }
+    try {
+      return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new PasswordHashingRejectedException("Password " + action + " timed out", e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingRejectedException("Password " + action + " interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+}
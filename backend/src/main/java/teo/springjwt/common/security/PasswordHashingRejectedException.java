@@ -0,0 +1,19 @@
+package teo.springjwt.common.security;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * 비밀번호 해싱 대기열이 가득 차서 로그인을 처리하지 못했을 때.
+ * InternalAuthenticationServiceException 이라 ProviderManager가 다른 Provider로 재시도하지 않고 바로 올려 보내며,
+ * LoginFilter는 401 대신 429로 응답합니다.
+ */
+public class PasswordHashingRejectedException extends InternalAuthenticationServiceException {
+
+  public PasswordHashingRejectedException(String message) {
+    super(message);
+  }
+
+  public PasswordHashingRejectedException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
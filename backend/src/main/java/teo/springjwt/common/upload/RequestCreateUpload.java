@@ -0,0 +1,21 @@
+package teo.springjwt.common.upload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RequestCreateUpload {
+
+  @NotBlank(message = "파일 이름은 필수입니다.")
+  private String filename;
+
+  private String contentType;
+
+  @Positive(message = "파일 크기는 0보다 커야 합니다.")
+  private long totalSize; // 전체 파일 크기 (바이트)
+}
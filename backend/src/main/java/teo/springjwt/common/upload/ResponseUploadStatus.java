@@ -0,0 +1,16 @@
+package teo.springjwt.common.upload;
+
+// 이어받기 업로드 상태. offset == totalSize 이면 complete 호출 가능
+public record ResponseUploadStatus(
+    String uploadId,
+    String originalFilename,
+    long offset,
+    long totalSize,
+    boolean complete
+) {
+
+  static ResponseUploadStatus of(UploadSession session) {
+    return new ResponseUploadStatus(session.getId(), session.getOriginalFilename(), session.getOffset(),
+                                    session.getTotalSize(), session.isComplete());
+  }
+}
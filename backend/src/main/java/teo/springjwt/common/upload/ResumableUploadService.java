@@ -0,0 +1,215 @@
+package teo.springjwt.common.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 큰 파일을 여러 요청에 나눠 받는 이어받기 업로드.
+ * - 각 요청 본문은 64KB 버퍼로 디스크 파일에 바로 쓴다 (업로드 크기와 상관없이 힙 사용량 고정).
+ * - 연결이 끊기면 그때까지 쓴 위치가 offset이 되고, 클라이언트는 상태 조회 후 그 위치부터 이어서 보낸다.
+ * - 세션은 이 인스턴스의 메모리/디스크에만 있으므로 여러 인스턴스라면 같은 인스턴스로 라우팅해야 한다.
+ * - session-ttl 동안 요청이 없으면 세션과 파일을 지운다.
+ */
+@Slf4j
+@Service
+public class ResumableUploadService {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+  // 열린(또는 만드는 중인) 세션 수. 확인과 증가를 한 번에 해서 동시에 만들어도 max-sessions를 넘지 않게 한다
+  private final AtomicInteger openSessions = new AtomicInteger();
+  private final Path directory;
+  private final long maxSize;
+  private final int maxSessions;
+  private final Duration sessionTtl;
+  private final Clock clock = Clock.systemUTC();
+
+  public ResumableUploadService(
+      @Value("${storage.upload.dir:${java.io.tmpdir}/hc-uploads}") Path directory,
+      @Value("${storage.upload.max-size:200MB}") DataSize maxSize,
+      @Value("${storage.upload.max-sessions:100}") int maxSessions,
+      @Value("${storage.upload.session-ttl:PT1H}") Duration sessionTtl) throws IOException {
+    this.directory = Files.createDirectories(directory);
+    this.maxSize = maxSize.toBytes();
+    this.maxSessions = maxSessions;
+    this.sessionTtl = sessionTtl;
+    // 재시작 전 세션 파일은 메모리 상태가 없어 이어받을 수 없으므로 정리
+    try (var stale = Files.list(this.directory)) {
+      stale.filter(path -> path.getFileName().toString().endsWith(".part")).forEach(this::deleteQuietly);
+    }
+  }
+
+  /**
+   * 업로드 세션을 만든다.
+   * @throws IllegalArgumentException 크기가 0 이하이거나 max-size를 넘는 경우
+   * @throws IllegalStateException 동시에 열린 세션이 max-sessions 개인 경우
+   */
+  public ResponseUploadStatus create(String originalFilename, String contentType, long totalSize) throws IOException {
+    if (totalSize <= 0 || totalSize > maxSize) {
+      throw new IllegalArgumentException("Upload size must be between 1 and " + maxSize + " bytes: " + totalSize);
+    }
+    if (openSessions.getAndUpdate(open -> open < maxSessions ? open + 1 : open) >= maxSessions) {
+      throw new IllegalStateException("Too many uploads in progress");
+    }
+    String id = UUID.randomUUID().toString();
+    Path path;
+    try {
+      path = Files.createFile(directory.resolve(id + ".part"));
+    } catch (IOException | RuntimeException e) {
+      openSessions.decrementAndGet();
+      throw e;
+    }
+    UploadSession session = new UploadSession(id, originalFilename, contentType, totalSize, path, clock.millis());
+    sessions.put(id, session);
+    return ResponseUploadStatus.of(session);
+  }
+
+  public Optional<ResponseUploadStatus> status(String uploadId) {
+    return Optional.ofNullable(sessions.get(uploadId)).map(ResponseUploadStatus::of);
+  }
+
+  /**
+   * offset 위치부터 body를 이어 쓴다. 중간에 끊겨도 쓴 만큼은 남는다.
+   * @return 쓴 뒤의 상태, 세션이 없으면 empty
+   * @throws UploadOffsetMismatchException offset이 현재 위치와 다르거나 같은 세션에 다른 요청이 쓰는 중인 경우
+   * @throws IllegalArgumentException 선언한 전체 크기를 넘겨 보낸 경우 (넘기 전까지는 저장됨)
+   */
+  public Optional<ResponseUploadStatus> append(String uploadId, long offset, InputStream body) throws IOException {
+    UploadSession session = sessions.get(uploadId);
+    if (session == null) {
+      return Optional.empty();
+    }
+    if (!session.getLock().tryLock()) {
+      throw new UploadOffsetMismatchException(uploadId, offset, session.getOffset());
+    }
+    try {
+      if (offset != session.getOffset()) {
+        throw new UploadOffsetMismatchException(uploadId, offset, session.getOffset());
+      }
+      long remaining = session.getTotalSize() - offset;
+      long written = 0;
+      try (FileChannel channel = FileChannel.open(session.getPath(), StandardOpenOption.WRITE)) {
+        channel.position(offset);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+          int accepted = (int) Math.min(read, remaining - written);
+          channel.write(ByteBuffer.wrap(buffer, 0, accepted));
+          written += accepted;
+          if (accepted < read) {
+            throw new IllegalArgumentException("Upload " + uploadId + " exceeds declared size " + session.getTotalSize());
+          }
+        }
+      } finally {
+        session.advance(offset + written, clock.millis());
+      }
+      return Optional.of(ResponseUploadStatus.of(session));
+    } finally {
+      session.getLock().unlock();
+    }
+  }
+
+  /**
+   * 다 받은 파일을 handler에 넘기고, 성공하면 세션과 파일을 지운다.
+   * handler가 실패하면 세션을 남겨 두어 다시 complete 할 수 있다.
+   * @return handler 결과, 세션이 없으면 empty
+   * @throws IllegalStateException 아직 다 받지 못했거나 다른 요청이 쓰는 중인 경우
+   */
+  public <T> Optional<T> complete(String uploadId, CompletedUploadHandler<T> handler) throws IOException {
+    UploadSession session = sessions.get(uploadId);
+    if (session == null) {
+      return Optional.empty();
+    }
+    if (!session.getLock().tryLock()) {
+      throw new IllegalStateException("Upload " + uploadId + " is busy");
+    }
+    try {
+      if (!session.isComplete()) {
+        throw new IllegalStateException(
+            "Upload " + uploadId + " is incomplete: " + session.getOffset() + "/" + session.getTotalSize());
+      }
+      session.touch(clock.millis());
+      T result = handler.handle(session.getPath(), session.getOriginalFilename(), session.getContentType());
+      remove(session);
+      return Optional.of(result);
+    } finally {
+      session.getLock().unlock();
+    }
+  }
+
+  public boolean discard(String uploadId) {
+    UploadSession session = sessions.get(uploadId);
+    if (session == null) {
+      return false;
+    }
+    session.getLock().lock();
+    try {
+      remove(session);
+      return true;
+    } finally {
+      session.getLock().unlock();
+    }
+  }
+
+  // 오래 방치된 세션 정리. 쓰는 중인 세션은 건너뛴다.
+  @Scheduled(fixedDelayString = "${storage.upload.purge-interval:PT5M}")
+  public void purgeExpired() {
+    long cutoff = clock.millis() - sessionTtl.toMillis();
+    int purged = 0;
+    for (UploadSession session : sessions.values()) {
+      if (session.getLastAccessAt() >= cutoff || !session.getLock().tryLock()) {
+        continue;
+      }
+      try {
+        if (session.getLastAccessAt() < cutoff) {
+          remove(session);
+          purged++;
+        }
+      } finally {
+        session.getLock().unlock();
+      }
+    }
+    if (purged > 0) {
+      log.info("Purged {} expired upload sessions", purged);
+    }
+  }
+
+  private void remove(UploadSession session) {
+    if (sessions.remove(session.getId(), session)) {
+      openSessions.decrementAndGet();
+    }
+    deleteQuietly(session.getPath());
+  }
+
+  private void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Failed to delete upload file {}", path, e);
+    }
+  }
+
+  @FunctionalInterface
+  public interface CompletedUploadHandler<T> {
+
+    T handle(Path file, String originalFilename, String contentType) throws IOException;
+  }
+}
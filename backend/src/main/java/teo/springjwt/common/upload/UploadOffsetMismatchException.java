@@ -0,0 +1,15 @@
+package teo.springjwt.common.upload;
+
+import lombok.Getter;
+
+// 클라이언트가 보낸 offset이 서버가 받은 위치와 다를 때. 클라이언트는 currentOffset부터 다시 보내면 된다.
+@Getter
+public class UploadOffsetMismatchException extends IllegalStateException {
+
+  private final long currentOffset;
+
+  public UploadOffsetMismatchException(String uploadId, long requestedOffset, long currentOffset) {
+    super("Upload " + uploadId + " is at offset " + currentOffset + ", not " + requestedOffset);
+    this.currentOffset = currentOffset;
+  }
+}
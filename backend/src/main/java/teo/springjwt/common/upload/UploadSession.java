@@ -0,0 +1,45 @@
+package teo.springjwt.common.upload;
+
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.Getter;
+
+/**
+ * 이어받기 업로드 한 건. 받은 바이트는 path 파일에 offset 위치까지 쌓인다.
+ * offset/lastAccessAt 변경은 lock을 잡은 상태에서만 한다.
+ */
+@Getter
+class UploadSession {
+
+  private final String id;
+  private final String originalFilename;
+  private final String contentType;
+  private final long totalSize;
+  private final Path path;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile long offset;
+  private volatile long lastAccessAt;
+
+  UploadSession(String id, String originalFilename, String contentType, long totalSize, Path path, long now) {
+    this.id = id;
+    this.originalFilename = originalFilename;
+    this.contentType = contentType;
+    this.totalSize = totalSize;
+    this.path = path;
+    this.lastAccessAt = now;
+  }
+
+  boolean isComplete() {
+    return offset == totalSize;
+  }
+
+  void advance(long newOffset, long now) {
+    this.offset = newOffset;
+    this.lastAccessAt = now;
+  }
+
+  void touch(long now) {
+    this.lastAccessAt = now;
+  }
+}
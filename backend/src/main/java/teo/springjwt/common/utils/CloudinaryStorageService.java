@@ -1,35 +1,72 @@
 package teo.springjwt.common.utils;
 
 import com.cloudinary.Cloudinary;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 
+// local 프로필이 아니면 Cloudinary에 저장 (local은 LocalFileStorageService)
 @Service
-@RequiredArgsConstructor
-@Transactional
+@Profile("!local")
 public class CloudinaryStorageService implements FileStorageService {
 
+  // 상품 이미지를 올리는 폴더 (고아 파일 점검도 이 폴더만 본다)
+  private static final String FOLDER = "product_sku_images";
+  // Admin API resources 한 페이지 최대 건수
+  private static final int MAX_LIST_RESULTS = 500;
+  // Cloudinary 분할 업로드의 최소 청크 크기
+  private static final int MIN_CHUNK_SIZE = 5 * 1024 * 1024;
+
   private final Cloudinary cloudinary;
+  private final int chunkSize;
+  // 원본 다운로드용 (이미지 파생본 생성)
+  private final HttpClient httpClient = HttpClient.newBuilder()
+                                                  .connectTimeout(Duration.ofSeconds(5))
+                                                  .followRedirects(HttpClient.Redirect.NORMAL)
+                                                  .build();
 
+  public CloudinaryStorageService(Cloudinary cloudinary,
+      @Value("${cloudinary.upload.chunk-size:6MB}") DataSize chunkSize) {
+    this.cloudinary = cloudinary;
+    this.chunkSize = (int) Math.max(chunkSize.toBytes(), MIN_CHUNK_SIZE);
+  }
 
   @Override
-  public String saveFile(MultipartFile file, String originalFilename) throws IOException {
+  public String saveFile(Path file, String originalFilename) throws IOException {
     try {
       // Cloudinary에 업로드할 때 사용할 옵션 (선택 사항)
       // public_id: Cloudinary에서 이미지의 고유 식별자. 지정하지 않으면 Cloudinary가 자동으로 생성
       // folder: Cloudinary 내의 폴더 경로 지정
       // resource_type: "auto" 또는 "image", "video", "raw"
       // transformation: 업로드 시 이미지 변환 (예: 크기 조정, 워터마크 등)
+      Map<String, Object> options = Map.of(
+          "resource_type", "auto",
+          "folder", FOLDER // Cloudinary 내 'product_sku_images' 폴더에 저장
+      );
 
-      Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                                                      Map.of(
-                                                          "resource_type", "auto",
-                                                          "folder", "product_sku_images" // Cloudinary 내 'product_sku_images' 폴더에 저장
-                                                      ));
+      // 파일을 통째로 읽지 않는다.
+      // - 청크 크기 이하: 파일 본문을 디스크에서 바로 스트리밍
+      // - 그보다 크면: chunkSize 버퍼 하나로 나눠 올리는 분할 업로드 (업로드당 힙 사용량 고정)
+      File source = file.toFile();
+      Map uploadResult = source.length() <= chunkSize
+          ? cloudinary.uploader().upload(source, options)
+          : cloudinary.uploader().uploadLarge(source, options, chunkSize);
 
       // 업로드 결과에서 URL을 추출
       return (String) uploadResult.get("secure_url"); // HTTPS URL 반환
@@ -38,6 +75,26 @@ public class CloudinaryStorageService implements FileStorageService {
     }
   }
 
+  @Override
+  public InputStream openFile(String fileUrl) throws IOException {
+    // 우리 클라우드 계정의 URL만 받는다 (임의 주소로 요청을 보내지 않도록)
+    if (!isOwnUrl(fileUrl)) {
+      throw new IllegalArgumentException("Not a Cloudinary URL of this account: " + fileUrl);
+    }
+    HttpRequest request = HttpRequest.newBuilder(URI.create(fileUrl)).timeout(Duration.ofSeconds(20)).GET().build();
+    try {
+      HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+      if (response.statusCode() != 200) {
+        response.body().close();
+        throw new FileNotFoundException("Cloudinary returned " + response.statusCode() + " for " + fileUrl);
+      }
+      return response.body();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while downloading " + fileUrl, e);
+    }
+  }
+
   @Override
   public void deleteFile(String fileUrl) throws IOException {
     try {
@@ -52,8 +109,9 @@ public class CloudinaryStorageService implements FileStorageService {
       }
 
       Map deleteResult = cloudinary.uploader().destroy(publicId, Map.of("resource_type", "image"));
-      // 삭제 결과 확인 (예: {"result":"ok"})
-      if (!"ok".equals(deleteResult.get("result"))) {
+      // 삭제 결과 확인 (예: {"result":"ok"}). 이미 없으면 "not found" - 재시도 시 이미 지워진 경우라 성공으로 본다.
+      Object result = deleteResult.get("result");
+      if (!"ok".equals(result) && !"not found".equals(result)) {
         throw new IOException("Failed to delete image from Cloudinary: " + deleteResult.get("result"));
       }
     } catch (Exception e) {
@@ -61,6 +119,40 @@ public class CloudinaryStorageService implements FileStorageService {
     }
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public StoredFilePage listFiles(String cursor, int limit) throws IOException {
+    Map<String, Object> options = new HashMap<>();
+    options.put("type", "upload");
+    options.put("prefix", FOLDER + "/");
+    options.put("max_results", Math.min(limit, MAX_LIST_RESULTS));
+    if (cursor != null) {
+      options.put("next_cursor", cursor);
+    }
+    try {
+      Map response = cloudinary.api().resources(options);
+      List<Map> resources = (List<Map>) response.get("resources");
+      List<StoredFile> files = new ArrayList<>(resources.size());
+      for (Map resource : resources) {
+        files.add(new StoredFile((String) resource.get("public_id"), (String) resource.get("secure_url"),
+                                 Instant.parse((String) resource.get("created_at"))));
+      }
+      return new StoredFilePage(files, (String) response.get("next_cursor"));
+    } catch (Exception e) {
+      throw new IOException("Failed to list Cloudinary resources: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String objectKey(String fileUrl) {
+    return isOwnUrl(fileUrl) ? extractPublicIdFromCloudinaryUrl(fileUrl) : null;
+  }
+
+  // 우리 클라우드 계정의 URL인지
+  private boolean isOwnUrl(String fileUrl) {
+    return fileUrl != null && fileUrl.startsWith("https://res.cloudinary.com/" + cloudinary.config.cloudName + "/");
+  }
+
   /**
    * Cloudinary URL에서 public_id를 추출하는 헬퍼 메서드.
    * 이 메서드는 Cloudinary URL 구조에 따라 달라질 수 있으므로, 실제 사용 시 테스트 필요.
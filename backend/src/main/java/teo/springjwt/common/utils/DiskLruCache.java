@@ -0,0 +1,190 @@
+package teo.springjwt.common.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 전체 크기가 제한된 디스크 LRU 캐시. 키 하나가 디렉터리 안의 파일 하나다.
+ * - 인덱스(키 -> 크기, 접근 순서)는 메모리에 두고, 기동 시 디렉터리를 훑어 수정 시각 순으로 다시 만든다.
+ * - 넣을 때 전체 크기가 maxBytes를 넘으면 가장 오래 안 쓴 파일부터 지운다.
+ * - 지워진 파일을 이미 열어 둔 쪽은 그대로 읽을 수 있다. 경로만 받아 둔 쪽은 다시 get 해야 한다.
+ * 키는 파일 이름으로 그대로 쓰므로 [0-9A-Za-z._-] 만 허용한다.
+ */
+@Slf4j
+public class DiskLruCache {
+
+  private static final String TEMP_PREFIX = "tmp-";
+
+  private final Path directory;
+  private final long maxBytes;
+  private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+  // 가상 스레드에서 불려도 캐리어 스레드를 붙잡지 않도록 synchronized 대신 ReentrantLock
+  private final ReentrantLock lock = new ReentrantLock();
+  private long totalBytes;
+
+  public DiskLruCache(Path directory, long maxBytes) throws IOException {
+    this.directory = Files.createDirectories(directory).toAbsolutePath().normalize();
+    this.maxBytes = maxBytes;
+    load();
+  }
+
+  private void load() throws IOException {
+    List<Path> files;
+    try (var stream = Files.list(directory)) {
+      files = stream.filter(Files::isRegularFile).toList();
+    }
+    List<CachedFile> cached = new ArrayList<>(files.size());
+    for (Path path : files) {
+      if (path.getFileName().toString().startsWith(TEMP_PREFIX)) { // 쓰다 만 파일
+        deleteQuietly(path);
+        continue;
+      }
+      cached.add(new CachedFile(path.getFileName().toString(), Files.size(path),
+                                Files.getLastModifiedTime(path).toMillis()));
+    }
+    cached.sort(Comparator.comparingLong(CachedFile::modifiedAt));
+    for (CachedFile file : cached) {
+      index.put(file.key(), file.size());
+      totalBytes += file.size();
+    }
+    evictOverflow(null);
+    log.info("Disk cache {}: {} files, {} bytes (max {})", directory, index.size(), totalBytes, maxBytes);
+  }
+
+  public Path directory() {
+    return directory;
+  }
+
+  // 새 항목을 쓸 임시 파일. put으로 넘기거나 직접 지워야 한다.
+  public Path createTempFile() throws IOException {
+    return Files.createTempFile(directory, TEMP_PREFIX, ".tmp");
+  }
+
+  public Optional<Path> get(String key) {
+    lock.lock();
+    try {
+      if (index.get(key) == null) {
+        return Optional.empty();
+      }
+    } finally {
+      lock.unlock();
+    }
+    Path path = directory.resolve(key);
+    if (Files.isRegularFile(path)) {
+      return Optional.of(path);
+    }
+    remove(key); // 밖에서 지워진 경우
+    return Optional.empty();
+  }
+
+  /**
+   * 임시 파일을 key 이름으로 옮겨 넣는다. 같은 디렉터리 안 이동이라 원자적이다.
+   */
+  public Path put(String key, Path tempFile) throws IOException {
+    validateKey(key);
+    long size = Files.size(tempFile);
+    Path target = directory.resolve(key);
+    lock.lock();
+    try {
+      Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      Long previous = index.put(key, size);
+      totalBytes += size - (previous == null ? 0 : previous);
+      evictOverflow(key);
+    } finally {
+      lock.unlock();
+    }
+    return target;
+  }
+
+  public void remove(String key) {
+    lock.lock();
+    try {
+      Long size = index.remove(key);
+      if (size != null) {
+        totalBytes -= size;
+      }
+      deleteQuietly(directory.resolve(key));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void removeIf(Predicate<String> keyFilter) {
+    lock.lock();
+    try {
+      Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<String, Long> entry = it.next();
+        if (keyFilter.test(entry.getKey())) {
+          it.remove();
+          totalBytes -= entry.getValue();
+          deleteQuietly(directory.resolve(entry.getKey()));
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long totalBytes() {
+    lock.lock();
+    try {
+      return totalBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int size() {
+    lock.lock();
+    try {
+      return index.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // lock을 잡은 상태에서 호출. keep은 방금 넣은 항목이라 지우지 않는다.
+  private void evictOverflow(String keep) {
+    Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+    while (totalBytes > maxBytes && it.hasNext()) {
+      Map.Entry<String, Long> eldest = it.next();
+      if (eldest.getKey().equals(keep)) {
+        continue;
+      }
+      it.remove();
+      totalBytes -= eldest.getValue();
+      deleteQuietly(directory.resolve(eldest.getKey()));
+    }
+  }
+
+  private static void validateKey(String key) {
+    if (key.isEmpty() || key.startsWith(TEMP_PREFIX) || !key.matches("[0-9A-Za-z._-]+") || key.startsWith(".")) {
+      throw new IllegalArgumentException("Invalid cache key: " + key);
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Failed to delete cache file {}", path, e);
+    }
+  }
+
+  private record CachedFile(String key, long size, long modifiedAt) {
+
+  }
+}
@@ -1,17 +1,52 @@
 package teo.springjwt.common.utils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileStorageService {
   /**
    * 파일을 저장하고 저장된 파일의 접근 가능한 URL을 반환합니다.
+   * 업로드 내용을 힙에 올리지 않도록 임시 파일로 옮긴 뒤 {@link #saveFile(Path, String)}로 보냅니다.
    * @param file 업로드할 MultipartFile 객체
    * @param originalFilename 원본 파일 이름 (확장자 추출 등에 활용)
    * @return 저장된 파일의 URL
    * @throws IOException 파일 저장 중 발생할 수 있는 예외
    */
-  String saveFile(MultipartFile file, String originalFilename) throws IOException;
+  default String saveFile(MultipartFile file, String originalFilename) throws IOException {
+    Path spooled = Files.createTempFile("upload-", ".part");
+    try {
+      // File로 넘겨야 Part.write가 호출된다. Tomcat은 디스크에 있는 multipart 임시 파일을 이름만 바꿔 옮기고
+      // (같은 파일시스템일 때), 안 되면 복사한다. transferTo(Path)는 항상 스트림으로 복사한다.
+      file.transferTo(spooled.toFile());
+      return saveFile(spooled, originalFilename);
+    } finally {
+      Files.deleteIfExists(spooled);
+    }
+  }
+
+  /**
+   * 디스크에 있는 파일을 스트리밍으로 저장하고 저장된 파일의 접근 가능한 URL을 반환합니다.
+   * 호출한 쪽이 파일을 소유하며, 이 메서드는 파일을 지우지 않습니다.
+   * @param file 업로드할 파일 경로
+   * @param originalFilename 원본 파일 이름 (확장자 추출 등에 활용)
+   * @return 저장된 파일의 URL
+   * @throws IOException 파일 저장 중 발생할 수 있는 예외
+   */
+  String saveFile(Path file, String originalFilename) throws IOException;
+
+  /**
+   * 저장된 파일의 내용을 스트림으로 엽니다 (이미지 파생본 생성 등). 호출한 쪽이 닫아야 합니다.
+   * @param fileUrl 이 스토리지의 saveFile이 돌려준 URL
+   * @return 파일 내용 스트림
+   * @throws IllegalArgumentException 이 스토리지가 만든 URL이 아닌 경우
+   * @throws IOException 파일이 없거나 읽을 수 없는 경우
+   */
+  InputStream openFile(String fileUrl) throws IOException;
 
   /**
    * 주어진 URL에 해당하는 파일을 스토리지에서 삭제합니다.
@@ -19,4 +54,43 @@ public interface FileStorageService {
    * @throws IOException 파일 삭제 중 발생할 수 있는 예외
    */
   void deleteFile(String fileUrl) throws IOException;
-}
\ No newline at end of file
+
+  /**
+   * since 이후에 다시 쓰이지 않은 경우에만 파일을 삭제합니다. 확인과 삭제는 같은 파일의 저장과 엇갈리지 않습니다.
+   * 같은 내용을 올리면 같은 파일을 돌려주는 저장소(로컬)에서, 참조 확인 뒤에 새로 등록되는 파일을 지우지 않기 위해 씁니다.
+   * 업로드마다 새 객체를 만드는 저장소는 그냥 삭제합니다.
+   * @param fileUrl 삭제할 파일의 URL
+   * @param since 이 시각 이후에 쓰였으면 지우지 않음
+   * @return 삭제했으면(또는 이미 없으면) true, 최근에 쓰여서 남겨 두었으면 false
+   * @throws IOException 파일 삭제 중 발생할 수 있는 예외
+   */
+  default boolean deleteFileIfUnmodifiedSince(String fileUrl, Instant since) throws IOException {
+    deleteFile(fileUrl);
+    return true;
+  }
+
+  /**
+   * 저장된 파일 목록을 조금씩 읽습니다 (DB에 없는 고아 파일 점검용).
+   * @param cursor 이전 페이지의 nextCursor (처음이면 null)
+   * @param limit 한 페이지 최대 건수
+   * @return 파일 목록과 다음 커서 (마지막 페이지면 nextCursor가 null)
+   * @throws IOException 목록을 읽을 수 없는 경우
+   */
+  StoredFilePage listFiles(String cursor, int limit) throws IOException;
+
+  /**
+   * URL이 가리키는 스토리지 객체의 식별자. listFiles의 StoredFile.key와 같은 값이다.
+   * 서로 다른 URL이 같은 객체를 가리킬 수 있으므로 (로컬 저장소는 확장자만 다른 URL) 비교는 이 값으로 한다.
+   * @return 이 스토리지가 만든 URL이 아니면 null
+   */
+  String objectKey(String fileUrl);
+
+  // 스토리지에 있는 파일 하나. url은 deleteFile에 그대로 넘길 수 있다.
+  record StoredFile(String key, String url, Instant createdAt) {
+
+  }
+
+  record StoredFilePage(List<StoredFile> files, String nextCursor) {
+
+  }
+}
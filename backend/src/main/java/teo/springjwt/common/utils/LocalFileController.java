@@ -0,0 +1,145 @@
+package teo.springjwt.common.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * LocalFileStorageService에 저장된 파일 제공 (local 프로필).
+ * - 주소가 내용 해시라 내용이 바뀌지 않으므로 1년 immutable 캐시 + ETag(해시).
+ * - Range 요청은 단일 구간만 206으로 응답하고, 여러 구간이면 전체(200)를 보낸다.
+ * - 본문은 힙에 올리지 않는다. Tomcat sendfile을 쓸 수 있으면 커널이 바로 보내고(zero-copy),
+ *   아니면 FileChannel.transferTo로 응답 스트림에 보낸다.
+ * - 확장자는 업로드한 쪽이 정하므로 믿지 않는다. 래스터 이미지 형식만 inline으로 보내고(SVG 제외),
+ *   나머지는 application/octet-stream + attachment로 내려서 같은 출처에서 HTML/스크립트로 열리지 않게 한다.
+ *   모든 응답에 nosniff를 붙여 브라우저가 내용을 보고 형식을 바꾸지 못하게 한다.
+ */
+@RestController
+@RequiredArgsConstructor
+@Profile("local")
+public class LocalFileController {
+
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+  // 이보다 작은 응답은 sendfile 준비 비용이 더 크다 (Tomcat DefaultServlet 기본값과 같음)
+  private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+  private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                                                      .getHeaderValue();
+
+  private static final Set<MediaType> INLINE_TYPES = Set.of(
+      MediaType.IMAGE_JPEG, MediaType.IMAGE_PNG, MediaType.IMAGE_GIF,
+      MediaType.parseMediaType("image/webp"), MediaType.parseMediaType("image/avif"));
+
+  private final LocalFileStorageService localFileStorageService;
+
+  @GetMapping("/files/{name}")
+  public void serve(@PathVariable String name, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    response.setHeader("X-Content-Type-Options", "nosniff");
+    Path file = localFileStorageService.resolve(name).orElse(null);
+    if (file == null) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    String etag = "\"" + file.getFileName() + "\"";
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    long length = Files.size(file);
+    long start = 0;
+    long end = length - 1;
+    List<HttpRange> ranges = parseRanges(request.getHeader(HttpHeaders.RANGE));
+    if (ranges == null) {
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+      response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+      return;
+    }
+    if (ranges.size() == 1) {
+      HttpRange range = ranges.get(0);
+      try {
+        start = range.getRangeStart(length);
+        end = range.getRangeEnd(length);
+      } catch (IllegalArgumentException e) {
+        start = length;
+      }
+      if (start >= length || start > end) { // 시작 위치가 파일 크기 이상
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+      response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+    }
+
+    long count = end - start + 1;
+    MediaType mediaType = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    if (INLINE_TYPES.contains(mediaType)) {
+      response.setContentType(mediaType.toString());
+    } else {
+      response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+      response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().build().toString());
+    }
+    response.setContentLengthLong(count);
+    if ("HEAD".equals(request.getMethod())) {
+      return;
+    }
+
+    if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, file.toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end + 1);
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      long remaining = count;
+      while (remaining > 0) {
+        long sent = channel.transferTo(position, remaining, out);
+        position += sent;
+        remaining -= sent;
+      }
+    }
+  }
+
+  // 헤더가 없으면 빈 목록(전체), 형식이 잘못되면 null(416)
+  private static List<HttpRange> parseRanges(String header) {
+    if (header == null || header.isBlank()) {
+      return List.of();
+    }
+    try {
+      return HttpRange.parseRanges(header);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
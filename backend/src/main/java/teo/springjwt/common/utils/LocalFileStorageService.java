@@ -0,0 +1,255 @@
+package teo.springjwt.common.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * 로컬 디스크 저장소 (local 프로필). 네트워크 없이 개발/테스트/벤치마크할 때 쓴다.
+ * - 파일은 내용의 SHA-256으로 저장한다: {dir}/{해시 앞 2자리}/{해시}
+ * - 같은 내용을 다시 올리면 파일을 새로 쓰지 않고 같은 URL을 돌려준다.
+ *   그래서 한 URL을 여러 이미지 행이 가질 수 있으므로, 참조하는 행이 없을 때만 deleteFile을 불러야 한다.
+ * - URL은 {public-base-url}/{해시}.{확장자}. 확장자는 Content-Type 판단에만 쓰고 저장 위치와는 무관하다.
+ * - 제공은 LocalFileController (Range 요청, sendfile/transferTo).
+ */
+@Slf4j
+@Service
+@Profile("local")
+public class LocalFileStorageService implements FileStorageService {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int LOCK_STRIPES = 64;
+  private static final Pattern NAME_PATTERN = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,10})?");
+  private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+  private static final Pattern PREFIX_PATTERN = Pattern.compile("[0-9a-f]{2}");
+  private static final Pattern EXTENSION_PATTERN = Pattern.compile("[a-z0-9]{1,10}");
+
+  private final Path root;
+  private final String publicBaseUrl;
+  // 같은 해시의 저장(존재 확인 + 이동)과 삭제가 엇갈리지 않도록 해시별 잠금
+  private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+  private final Counter stored;
+  private final Counter deduplicated;
+
+  public LocalFileStorageService(
+      @Value("${storage.local.dir:./data/files}") Path root,
+      @Value("${storage.local.public-base-url:http://localhost:8080/api/files}") String publicBaseUrl,
+      MeterRegistry meterRegistry) throws IOException {
+    this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+    this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new ReentrantLock();
+    }
+    this.stored = savesCounter(meterRegistry, "stored");
+    this.deduplicated = savesCounter(meterRegistry, "deduplicated");
+    log.info("Local file storage at {}", this.root);
+  }
+
+  private static Counter savesCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("storage.local.saves")
+                  .description("Files saved to local storage, by whether identical content already existed")
+                  .tag("result", result)
+                  .register(meterRegistry);
+  }
+
+  @Override
+  public String saveFile(Path file, String originalFilename) throws IOException {
+    // 한 번 읽으면서 해시 계산과 임시 파일 복사를 같이 한다 (64KB 버퍼)
+    Path temp = Files.createTempFile(root, "incoming-", ".tmp");
+    try {
+      String hash = copyAndHash(file, temp);
+      Path target = blobPath(hash);
+      ReentrantLock lock = lockFor(hash);
+      lock.lock();
+      try {
+        if (Files.exists(target)) {
+          // 고아 파일 점검이 '방금 다시 쓰인 파일'을 오래된 고아로 보지 않도록 수정 시각을 갱신
+          Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+          deduplicated.increment();
+        } else {
+          Files.createDirectories(target.getParent());
+          Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+          stored.increment();
+        }
+      } finally {
+        lock.unlock();
+      }
+      return publicBaseUrl + "/" + hash + extension(originalFilename);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  @Override
+  public InputStream openFile(String fileUrl) throws IOException {
+    String hash = hashFromUrl(fileUrl)
+        .orElseThrow(() -> new IllegalArgumentException("Invalid local file URL: " + fileUrl));
+    return Files.newInputStream(blobPath(hash));
+  }
+
+  @Override
+  public void deleteFile(String fileUrl) throws IOException {
+    String hash = hashFromUrl(fileUrl)
+        .orElseThrow(() -> new IllegalArgumentException("Invalid local file URL: " + fileUrl));
+    ReentrantLock lock = lockFor(hash);
+    lock.lock();
+    try {
+      Files.deleteIfExists(blobPath(hash));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // 같은 내용 저장은 잠금 안에서 수정 시각을 갱신하므로, 같은 잠금 안에서 시각을 보고 지우면 둘이 엇갈리지 않는다
+  @Override
+  public boolean deleteFileIfUnmodifiedSince(String fileUrl, Instant since) throws IOException {
+    String hash = hashFromUrl(fileUrl)
+        .orElseThrow(() -> new IllegalArgumentException("Invalid local file URL: " + fileUrl));
+    Path blob = blobPath(hash);
+    ReentrantLock lock = lockFor(hash);
+    lock.lock();
+    try {
+      try {
+        if (Files.getLastModifiedTime(blob).toInstant().isAfter(since)) {
+          return false;
+        }
+      } catch (NoSuchFileException e) { // 이미 지워짐
+        return true;
+      }
+      Files.deleteIfExists(blob);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // 커서는 마지막으로 돌려준 해시. 해시 앞 2자리 디렉터리 -> 해시 순으로 훑는다.
+  @Override
+  public StoredFilePage listFiles(String cursor, int limit) throws IOException {
+    String after = cursor == null ? "" : cursor;
+    List<Path> prefixes;
+    try (Stream<Path> dirs = Files.list(root)) {
+      prefixes = dirs.filter(Files::isDirectory)
+                     .filter(dir -> PREFIX_PATTERN.matcher(dir.getFileName().toString()).matches())
+                     .filter(dir -> after.isEmpty() || dir.getFileName().toString().compareTo(after.substring(0, 2)) >= 0)
+                     .sorted()
+                     .toList();
+    }
+    List<StoredFile> files = new ArrayList<>(limit);
+    for (Path prefix : prefixes) {
+      List<Path> blobs;
+      try (Stream<Path> entries = Files.list(prefix)) {
+        blobs = entries.filter(path -> HASH_PATTERN.matcher(path.getFileName().toString()).matches())
+                       .filter(path -> path.getFileName().toString().compareTo(after) > 0)
+                       .sorted()
+                       .toList();
+      }
+      for (Path blob : blobs) {
+        String hash = blob.getFileName().toString();
+        Instant modifiedAt;
+        try {
+          modifiedAt = Files.getLastModifiedTime(blob).toInstant();
+        } catch (NoSuchFileException e) { // 훑는 사이에 지워짐
+          continue;
+        }
+        files.add(new StoredFile(hash, publicBaseUrl + "/" + hash, modifiedAt));
+        if (files.size() == limit) {
+          return new StoredFilePage(files, hash);
+        }
+      }
+    }
+    return new StoredFilePage(files, null);
+  }
+
+  @Override
+  public String objectKey(String fileUrl) {
+    return hashFromUrl(fileUrl).orElse(null);
+  }
+
+  /**
+   * URL 마지막 부분({해시}.{확장자})으로 디스크 파일을 찾는다. 형식이 맞지 않거나 없으면 empty.
+   */
+  public Optional<Path> resolve(String name) {
+    Matcher matcher = NAME_PATTERN.matcher(name);
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+    Path blob = blobPath(matcher.group(1));
+    return Files.isRegularFile(blob) ? Optional.of(blob) : Optional.empty();
+  }
+
+  private Optional<String> hashFromUrl(String fileUrl) {
+    if (fileUrl == null) {
+      return Optional.empty();
+    }
+    Matcher matcher = NAME_PATTERN.matcher(fileUrl.substring(fileUrl.lastIndexOf('/') + 1));
+    return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+  }
+
+  private Path blobPath(String hash) {
+    return root.resolve(hash.substring(0, 2)).resolve(hash);
+  }
+
+  private ReentrantLock lockFor(String hash) {
+    return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+  }
+
+  private static String copyAndHash(Path source, Path target) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+        FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (in.read(buffer) != -1) {
+        buffer.flip();
+        digest.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+          out.write(buffer);
+        }
+        buffer.clear();
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static String extension(String originalFilename) {
+    if (originalFilename == null) {
+      return "";
+    }
+    int dot = originalFilename.lastIndexOf('.');
+    if (dot < 0) {
+      return "";
+    }
+    String extension = originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT);
+    return EXTENSION_PATTERN.matcher(extension).matches() ? "." + extension : "";
+  }
+}
@@ -0,0 +1,70 @@
+package teo.springjwt.product.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.security.Principal;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import teo.springjwt.cart.CartRepository;
+import teo.springjwt.product.dto.ResponseStockReservation;
+import teo.springjwt.product.service.InsufficientStockException;
+import teo.springjwt.product.service.InventoryService;
+import teo.springjwt.user.dto.CustomUserDetails;
+import teo.springjwt.user.dto.UserSnapshot;
+import teo.springjwt.user.service.UserProfileCache;
+
+/**
+ * 결제 시작/취소 시 로그인한 사용자의 장바구니 재고를 예약/해제한다.
+ * 판매 확정(InventoryService.confirm)은 결제 완료를 처리하는 서버 쪽에서 호출한다.
+ */
+@RestController
+@RequestMapping("/cart/reservation")
+@RequiredArgsConstructor
+public class CheckoutReservationController {
+
+  private final InventoryService inventoryService;
+  private final CartRepository cartRepository;
+  private final UserProfileCache userProfileCache;
+
+  @PostMapping
+  public ResponseEntity<?> reserve(Principal principal) {
+    Long cartId = currentCartId(principal);
+    if (cartId == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Cart not found"));
+    }
+    try {
+      ResponseStockReservation reservation = inventoryService.reserveCart(cartId);
+      return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    } catch (InsufficientStockException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT)
+                           .body(Map.of("error", e.getMessage(), "skuId", e.getSkuId(), "available", e.getAvailable()));
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+  }
+
+  @DeleteMapping
+  public ResponseEntity<Void> release(Principal principal) {
+    Long cartId = currentCartId(principal);
+    if (cartId != null) {
+      inventoryService.release(cartId);
+    }
+    return ResponseEntity.noContent().build();
+  }
+
+  private Long currentCartId(Principal principal) {
+    CustomUserDetails userDetails = (CustomUserDetails) ((Authentication) principal).getPrincipal();
+    return userProfileCache.findByEmail(userDetails.getUser().getEmail())
+                           .map(UserSnapshot::id)
+                           .flatMap(cartRepository::findIdByUserId)
+                           .orElse(null);
+  }
+}
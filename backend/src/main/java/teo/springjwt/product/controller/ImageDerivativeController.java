@@ -0,0 +1,95 @@
+package teo.springjwt.product.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import teo.springjwt.product.enumerated.ImageDerivative;
+import teo.springjwt.product.service.ImageDerivativeService;
+import teo.springjwt.product.service.ImageDerivativeService.DerivativeFile;
+import teo.springjwt.product.service.ImageDerivativeService.ImageDerivativeBusyException;
+
+/**
+ * 이미지 파생본 제공: GET /images/{thumb|card|zoom}?src={원본 URL}
+ * src는 이미지 행에 저장된 URL만 받는다 (ImageDerivativeService.cacheKey에서 검사).
+ * 원본 URL과 파생본 규격이 같으면 결과도 같으므로 1년 immutable 캐시, 형식은 Accept에 따라 달라지므로 Vary: Accept.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ImageDerivativeController {
+
+  private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                                                      .getHeaderValue();
+
+  private final ImageDerivativeService imageDerivativeService;
+
+  @GetMapping("/images/{derivative}")
+  public void derivative(
+      @PathVariable String derivative,
+      @RequestParam String src,
+      HttpServletRequest request,
+      HttpServletResponse response
+  ) throws IOException {
+    ImageDerivative spec = ImageDerivative.fromKey(derivative).orElse(null);
+    if (spec == null) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    boolean acceptWebp = accept != null && accept.contains("image/webp");
+
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    String etag;
+    try {
+      etag = "\"" + imageDerivativeService.cacheKey(src, spec, acceptWebp) + "\"";
+    } catch (IllegalArgumentException e) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+    if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+      response.setHeader(HttpHeaders.ETAG, etag);
+      response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    DerivativeFile file;
+    try {
+      file = imageDerivativeService.open(src, spec, acceptWebp);
+    } catch (IllegalArgumentException | NoSuchFileException | FileNotFoundException e) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    } catch (ImageDerivativeBusyException e) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+      response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      return;
+    }
+
+    // 파일을 연 채로 보내므로 그 사이 LRU에서 지워져도 끝까지 보낼 수 있다
+    try (file) {
+      response.setHeader(HttpHeaders.ETAG, etag);
+      response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+      response.setContentType(file.mediaType().toString());
+      response.setContentLengthLong(file.size());
+      if ("HEAD".equals(request.getMethod())) {
+        return;
+      }
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = 0;
+      while (position < file.size()) {
+        position += file.channel().transferTo(position, file.size() - position, out);
+      }
+    }
+  }
+}
@@ -1,14 +1,27 @@
 package teo.springjwt.product.controller;
 
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import teo.springjwt.product.dto.CatalogVersion;
+import teo.springjwt.product.dto.ResponseCategoryProducts;
+import teo.springjwt.product.dto.ResponseProductPage;
+import teo.springjwt.product.dto.ResponseProductDetailDTO;
 import teo.springjwt.product.dto.ResponseProductEntity;
+import teo.springjwt.product.dto.ResponseProductFacetSearch;
 import teo.springjwt.product.dto.ResponseSkuDTO;
+import teo.springjwt.product.dto.request.RequestProductFacetSearch;
+import teo.springjwt.product.service.CategoryProductBrowseService;
 import teo.springjwt.product.service.ProductService;
 
 @RestController
@@ -17,15 +30,97 @@ import teo.springjwt.product.service.ProductService;
 public class ProductController {
 
   private final ProductService productService;
+  private final CategoryProductBrowseService categoryProductBrowseService;
+
+  // 클라이언트가 매번 ETag로 재검증하도록 (변경이 없으면 304)
+  private static final CacheControl REVALIDATE = CacheControl.noCache();
 
   @GetMapping
-  public ResponseEntity<List<ResponseProductEntity>> getProducts(){
-    return productService.getAllProducts();
+  public ResponseEntity<ResponseProductPage> getProducts(
+      // 다음 페이지는 이전 응답의 nextLastId를 lastId로 넘긴다 (null이면 마지막 페이지).
+      @RequestParam(required = false) Long lastId,
+      @RequestParam(defaultValue = "20") int size,
+      WebRequest webRequest){
+    CatalogVersion version = productService.getStorefrontPageVersion(lastId, size);
+    if (isNotModified(webRequest, version)) {
+      return null; // checkNotModified가 304와 헤더를 이미 설정함
+    }
+    return withVersion(productService.getAllProducts(lastId, size), version);
+  }
+
+  // 상품 검색 (관련도 순)
+  @GetMapping("/search")
+  public ResponseEntity<List<ResponseProductEntity>> searchProducts(
+      @RequestParam("q") String query,
+      @RequestParam(defaultValue = "20") int size){
+    return productService.searchProducts(query, size);
+  }
+
+  // 상품명 자동완성
+  @GetMapping("/search/suggest")
+  public ResponseEntity<List<String>> suggestProductNames(
+      @RequestParam String prefix,
+      @RequestParam(defaultValue = "10") int size){
+    return productService.suggestProductNames(prefix, size);
+  }
+
+  // 카테고리 / 색상 / 옵션 값 / 가격대 필터 + 항목별 개수
+  @GetMapping("/facets")
+  public ResponseEntity<ResponseProductFacetSearch> searchByFacets(
+      @Valid @ModelAttribute RequestProductFacetSearch request){
+    return ResponseEntity.ok(productService.searchByFacets(request));
+  }
+
+  // 카테고리와 하위 카테고리의 상품 + 자식 카테고리별 상품 수
+  @GetMapping("/category/{categoryId}/products")
+  public ResponseEntity<ResponseCategoryProducts> getCategoryProducts(
+      @PathVariable Long categoryId,
+      @RequestParam(required = false) Long lastId,
+      @RequestParam(defaultValue = "20") int size){
+    try {
+      return ResponseEntity.ok(categoryProductBrowseService.browse(categoryId, lastId, size));
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.notFound().build();
+    }
   }
 
   @GetMapping("/{productId}")
   public ResponseEntity<List<ResponseSkuDTO>> getProductById(
-      @PathVariable Long productId){
-    return productService.getProductById(productId);
+      @PathVariable Long productId,
+      WebRequest webRequest){
+    CatalogVersion version = productService.getProductVersion(productId);
+    if (isNotModified(webRequest, version)) {
+      return null;
+    }
+    return withVersion(productService.getProductById(productId), version);
+  }
+
+  // 상품 상세: 색상별 SKU와 이미지
+  @GetMapping("/{productId}/detail")
+  public ResponseEntity<ResponseProductDetailDTO> getProductDetail(
+      @PathVariable Long productId,
+      WebRequest webRequest){
+    CatalogVersion version = productService.getProductVersion(productId);
+    if (isNotModified(webRequest, version)) {
+      return null;
+    }
+    return withVersion(productService.getProductDetail(productId), version);
+  }
+
+  private boolean isNotModified(WebRequest webRequest, CatalogVersion version) {
+    return version != null && webRequest.checkNotModified(version.getEtag(), version.getLastModifiedMillis());
+  }
+
+  private <T> ResponseEntity<T> withVersion(ResponseEntity<T> response, CatalogVersion version) {
+    if (version == null || !response.getStatusCode().is2xxSuccessful()) {
+      return response;
+    }
+    ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode())
+                                                       .eTag(version.getEtag())
+                                                       .cacheControl(REVALIDATE);
+    if (version.getLastModified() != null) {
+      builder.lastModified(version.getLastModifiedMillis());
+    }
+    return builder.body(response.getBody());
   }
 }
@@ -1,18 +1,30 @@
 package teo.springjwt.product.controller.admin;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import teo.springjwt.product.dto.CursorPage;
 import teo.springjwt.product.dto.ResponseProductEntity;
+import teo.springjwt.product.dto.ResponseProductImportJob;
 import teo.springjwt.product.dto.request.RequestProductCreate;
+import teo.springjwt.product.dto.request.RequestProductScroll;
+import teo.springjwt.product.service.ProductImportJob;
+import teo.springjwt.product.service.ProductImportService;
 import teo.springjwt.product.service.ProductService;
 
 @RestController
@@ -21,6 +33,7 @@ import teo.springjwt.product.service.ProductService;
 public class AdminProductController {
 
   private final ProductService productService;
+  private final ProductImportService productImportService;
 
   @GetMapping
   public ResponseEntity<Page<ResponseProductEntity>> getProduct(
@@ -33,12 +46,58 @@ public class AdminProductController {
     return ResponseEntity.ok(allProducts);
   }
 
+  // 커서 기반 목록: 깊은 페이지도 offset 없이 일정한 비용으로 조회
+  @GetMapping("/scroll")
+  public ResponseEntity<CursorPage<ResponseProductEntity>> scrollProducts(
+      @Valid @ModelAttribute RequestProductScroll request) {
+    try {
+      return ResponseEntity.ok(productService.getAllProductsWithMinPriceAndMaxPriceByCursor(request));
+    } catch (IllegalArgumentException e) {
+      // 잘못되었거나 다른 정렬로 만든 커서, 지원하지 않는 정렬 키 -> 클라이언트 입력 오류
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
   @PostMapping
   public ResponseEntity<String> createProduct(
       @Valid
       @RequestBody
       RequestProductCreate dto) {
-    productService.createProduct(dto);
-    return ResponseEntity.ok("Product created successfully");
+    try {
+      productService.createProduct(dto);
+      return ResponseEntity.ok("Product created successfully");
+    } catch (IllegalArgumentException e) {
+      // SKU 조합 수 상한 초과 -> 클라이언트 입력 오류
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * 상품 대량 등록 (CSV / JSONL). 파일을 받아 두고 바로 202를 돌려주며, 진행 상황은 jobId로 조회합니다.
+   *
+   * @param format csv 또는 jsonl (생략하면 파일 확장자로 판단)
+   */
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<?> importProducts(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(required = false) String format
+  ) {
+    try {
+      ProductImportJob job = productImportService.submit(file, format);
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(ResponseProductImportJob.from(job));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    } catch (IOException e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("업로드 파일을 저장하지 못했습니다.");
+    }
+  }
+
+  @GetMapping("/import/{jobId}")
+  public ResponseEntity<ResponseProductImportJob> getImportJob(@PathVariable String jobId) {
+    return productImportService.getJob(jobId)
+                               .map(job -> ResponseEntity.ok(ResponseProductImportJob.from(job)))
+                               .orElse(ResponseEntity.notFound().build());
   }
 }
@@ -1,20 +1,34 @@
 package teo.springjwt.product.controller.admin;
 
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import teo.springjwt.common.upload.RequestCreateUpload;
+import teo.springjwt.common.upload.ResponseUploadStatus;
+import teo.springjwt.common.upload.ResumableUploadService;
+import teo.springjwt.common.upload.UploadOffsetMismatchException;
 import teo.springjwt.product.dto.ResponseImageDto;
+import teo.springjwt.product.dto.ResponseMultiImageUpload;
+import teo.springjwt.product.service.ImageUploadService;
 import teo.springjwt.product.service.ImageService;
 
 @RestController
@@ -23,6 +37,8 @@ import teo.springjwt.product.service.ImageService;
 public class ImageController {
 
   private final ImageService imageService;
+  private final ImageUploadService imageUploadService;
+  private final ResumableUploadService resumableUploadService;
 
   @PostMapping("/addImage")
   public ResponseEntity<?> uploadSingleFile(
@@ -35,7 +51,7 @@ public class ImageController {
       return ResponseEntity.badRequest().body("이미지 파일을 선택해주세요.");
     }
     try {
-      ResponseImageDto uploadedImage = imageService.addImageToColorVariant(skuId, imageFile, isThumbnail, displayOrder);
+      ResponseImageDto uploadedImage = imageUploadService.uploadImage(skuId, imageFile, isThumbnail, displayOrder);
       return new ResponseEntity<ResponseImageDto>(uploadedImage, HttpStatus.CREATED); // 201 Created
     } catch (IllegalArgumentException e) {
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST); // 유효성 검사 실패 시
@@ -45,6 +61,27 @@ public class ImageController {
     }
   }
 
+  // 같은 색상 변형의 이미지 여러 장을 동시에 업로드. 성공한 파일만 등록되고 파일별 결과/소요 시간을 돌려준다.
+  @PostMapping(value = "/addImages", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<?> uploadMultipleFiles(
+      @RequestParam Long skuId,
+      @RequestParam("files") List<MultipartFile> imageFiles,
+      @RequestParam(required = false) Integer thumbnailIndex, // 썸네일로 지정할 파일 위치 (0부터)
+      @RequestParam(defaultValue = "0") int startDisplayOrder
+  ) {
+    try {
+      ResponseMultiImageUpload result = imageUploadService.uploadImages(skuId, imageFiles, thumbnailIndex,
+                                                                        startDisplayOrder);
+      // 일부만 성공해도 201, 전부 실패하면 502
+      HttpStatus status = result.getUploadedCount() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_GATEWAY;
+      return ResponseEntity.status(status).body(result);
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
   @PutMapping("/{skuId}/updateThumbnail")
   public ResponseEntity<String> updateThumbnailBySkuId(
      @PathVariable Long skuId,
@@ -83,4 +120,73 @@ public class ImageController {
   ){
     return ResponseEntity.ok( imageService.removeImageFromColorVariant(imageId));
   }
+
+  // ===== 이어받기 업로드 (큰 파일을 여러 요청으로 나눠 보냄) =====
+  // 1. POST /uploads 로 세션 생성 → uploadId
+  // 2. PATCH /uploads/{uploadId} (헤더 Upload-Offset, 본문 application/octet-stream) 를 offset == totalSize 가 될 때까지 반복
+  //    끊기면 GET /uploads/{uploadId} 로 offset을 확인하고 그 위치부터 다시 보낸다
+  // 3. POST /uploads/{uploadId}/complete 로 스토리지 업로드 후 이미지 등록
+
+  @PostMapping("/uploads")
+  public ResponseEntity<?> createUpload(@Valid @RequestBody RequestCreateUpload request) throws IOException {
+    try {
+      ResponseUploadStatus status = resumableUploadService.create(request.getFilename(), request.getContentType(),
+                                                                  request.getTotalSize());
+      return ResponseEntity.status(HttpStatus.CREATED).body(status);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    }
+  }
+
+  @GetMapping("/uploads/{uploadId}")
+  public ResponseEntity<ResponseUploadStatus> getUpload(@PathVariable String uploadId) {
+    return ResponseEntity.of(resumableUploadService.status(uploadId));
+  }
+
+  // 요청 본문을 byte[]로 받지 않고 InputStream에서 바로 파일에 쓴다
+  @PatchMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<?> appendUpload(
+      @PathVariable String uploadId,
+      @RequestHeader("Upload-Offset") long offset,
+      HttpServletRequest request
+  ) throws IOException {
+    try {
+      return ResponseEntity.of(resumableUploadService.append(uploadId, offset, request.getInputStream()));
+    } catch (UploadOffsetMismatchException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT)
+                           .header("Upload-Offset", String.valueOf(e.getCurrentOffset()))
+                           .body(e.getMessage());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  @PostMapping("/uploads/{uploadId}/complete")
+  public ResponseEntity<?> completeUpload(
+      @PathVariable String uploadId,
+      @RequestParam Long skuId,
+      @RequestParam(defaultValue = "false") boolean isThumbnail,
+      @RequestParam(defaultValue = "0") int displayOrder
+  ) throws IOException {
+    try {
+      return resumableUploadService
+          .complete(uploadId, (file, originalFilename, contentType) ->
+              imageUploadService.uploadImage(skuId, file, originalFilename, isThumbnail, displayOrder))
+          .<ResponseEntity<?>>map(image -> ResponseEntity.status(HttpStatus.CREATED).body(image))
+          .orElseGet(() -> ResponseEntity.notFound().build());
+    } catch (EntityNotFoundException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+  }
+
+  @DeleteMapping("/uploads/{uploadId}")
+  public ResponseEntity<Void> cancelUpload(@PathVariable String uploadId) {
+    return resumableUploadService.discard(uploadId)
+        ? ResponseEntity.noContent().build()
+        : ResponseEntity.notFound().build();
+  }
 }
@@ -0,0 +1,21 @@
+package teo.springjwt.product.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 조건부 GET(ETag / Last-Modified)에 쓰는 카탈로그 응답의 버전.
+ * product_summary의 revision / 수정 시각만으로 계산하므로 엔티티를 읽지 않습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogVersion {
+  private final String etag;                 // 따옴표를 포함한 strong ETag
+  private final LocalDateTime lastModified;  // null일 수 있음
+
+  public long getLastModifiedMillis() {
+    return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+  }
+}
@@ -0,0 +1,18 @@
+package teo.springjwt.product.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 커서(keyset) 기반 페이지 응답.
+ * 다음 페이지는 nextCursor를 그대로 다시 넘겨서 조회합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+  private List<T> content;
+  private String nextCursor; // 다음 페이지가 없으면 null
+  private boolean hasNext;
+  private Long totalElements; // withTotal=false 이면 null (count 쿼리 생략)
+}
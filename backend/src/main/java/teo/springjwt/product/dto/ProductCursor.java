@@ -0,0 +1,95 @@
+package teo.springjwt.product.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+/**
+ * 관리자 상품 목록의 커서.
+ * (정렬 키 값, 상품 id)를 클라이언트가 해석하지 않는 Base64 문자열로 감싸서 주고받습니다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductCursor {
+
+  public enum SortKey {
+    CREATED_DATE("createdDate"),
+    NAME("name");
+
+    private final String property;
+
+    SortKey(String property) {
+      this.property = property;
+    }
+
+    public static SortKey from(String property) {
+      if (!StringUtils.hasText(property)) {
+        return CREATED_DATE;
+      }
+      for (SortKey key : values()) {
+        if (key.property.equals(property)) {
+          return key;
+        }
+      }
+      throw new IllegalArgumentException("Unsupported sort property: " + property);
+    }
+  }
+
+  private static final String SEPARATOR = "|";
+
+  private final SortKey sortKey;
+  private final Long id;
+  private final String value;
+
+  public static ProductCursor from(SortKey sortKey, ResponseProductEntity last) {
+    String value = switch (sortKey) {
+      case CREATED_DATE -> String.valueOf(last.getCreatedDate());
+      case NAME -> last.getName();
+    };
+    return new ProductCursor(sortKey, last.getId(), value);
+  }
+
+  public String encode() {
+    String raw = sortKey.name() + SEPARATOR + id + SEPARATOR + value;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param cursor   클라이언트가 보낸 커서 (첫 페이지는 null)
+   * @param expected 현재 요청의 정렬 키. 다른 정렬로 만든 커서는 거부합니다.
+   */
+  public static ProductCursor decode(String cursor, SortKey expected) {
+    if (!StringUtils.hasText(cursor)) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      // 이름에 구분자가 들어갈 수 있으므로 값은 항상 마지막 토큰
+      String[] parts = raw.split("\\" + SEPARATOR, 3);
+      SortKey sortKey = SortKey.valueOf(parts[0]);
+      if (sortKey != expected) {
+        throw new IllegalArgumentException("Cursor was issued for a different sort: " + sortKey);
+      }
+      ProductCursor decoded = new ProductCursor(sortKey, Long.parseLong(parts[1]), parts[2]);
+      if (sortKey == SortKey.CREATED_DATE) {
+        decoded.getCreatedDate(); // 형식 검증
+      }
+      return decoded;
+    } catch (ArrayIndexOutOfBoundsException | DateTimeParseException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+  }
+
+  public LocalDateTime getCreatedDate() {
+    return LocalDateTime.parse(value);
+  }
+
+  public String getName() {
+    return value;
+  }
+}
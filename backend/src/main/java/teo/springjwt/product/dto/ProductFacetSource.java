@@ -0,0 +1,36 @@
+package teo.springjwt.product.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 패싯 색인에 넣을 상품 한 건의 속성 (카테고리, 최저가, 색상, 옵션 값).
+ */
+@Getter
+public class ProductFacetSource {
+  private final Long productId;
+  private final Long categoryId;
+  private final String categoryName;
+  private final BigDecimal minPrice;
+  private final List<String> colors = new ArrayList<>();
+  private final List<OptionValue> optionValues = new ArrayList<>();
+
+  public ProductFacetSource(Long productId, Long categoryId, String categoryName, BigDecimal minPrice) {
+    this.productId = productId;
+    this.categoryId = categoryId;
+    this.categoryName = categoryName;
+    this.minPrice = minPrice;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class OptionValue {
+    private final Long optionValueId;
+    private final String optionValueName;
+    private final Long optionGroupId;
+    private final String optionGroupName;
+  }
+}
@@ -0,0 +1,29 @@
+package teo.springjwt.product.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * 검색 색인에 넣을 상품 한 건의 텍스트 (상품명, 설명, 카테고리, SKU 코드, 색상/옵션 값 이름)와 정렬용 등록일.
+ */
+@Getter
+public class ProductSearchSource {
+  private final Long productId;
+  private final String name;
+  private final String description;
+  private final String categoryName;
+  private final LocalDateTime createdDate;
+  private final List<String> skuCodes = new ArrayList<>();
+  private final List<String> optionNames = new ArrayList<>();
+
+  public ProductSearchSource(Long productId, String name, String description, String categoryName,
+      LocalDateTime createdDate) {
+    this.productId = productId;
+    this.name = name;
+    this.description = description;
+    this.categoryName = categoryName;
+    this.createdDate = createdDate;
+  }
+}
@@ -0,0 +1,27 @@
+package teo.springjwt.product.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 카테고리 랜딩 페이지: 경로(breadcrumb) + 바로 아래 자식 카테고리별 상품 수 + 하위 트리 상품 한 페이지.
+ */
+@Getter
+@AllArgsConstructor
+public class ResponseCategoryProducts {
+  private Long categoryId;
+  private List<CategoryCount> path; // 최상위부터 현재 카테고리까지
+  private List<CategoryCount> children; // 자식 카테고리 (displayOrder 순), 개수는 자식의 하위 트리 기준
+  private long totalElements; // 현재 카테고리 하위 트리 전체 상품 수
+  private List<ResponseProductEntity> content;
+  private Long nextLastId; // 다음 페이지 요청 시 lastId로 넘길 값 (마지막 페이지면 null)
+
+  @Getter
+  @AllArgsConstructor
+  public static class CategoryCount {
+    private Long categoryId;
+    private String name;
+    private long productCount;
+  }
+}
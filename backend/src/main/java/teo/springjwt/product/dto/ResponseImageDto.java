@@ -28,14 +28,18 @@ public class ResponseImageDto {
   private LocalDateTime createdDate;
   private LocalDateTime lastModifiedDate;
 
+  // 크기별 파생본 URL (<img srcset>에 그대로 사용)
+  private String srcset;
+
   /**
    * ImageUrlEntity로부터 ResponseImageDto를 생성하는 팩토리 메서드.
    * ProductColorVariant 정보를 포함합니다.
    *
    * @param entity 변환할 ImageUrlEntity 객체
+   * @param srcset 크기별 파생본 srcset (ImageDerivativeUrls가 만든 값)
    * @return 생성된 ResponseImageDto 객체
    */
-  public static ResponseImageDto fromEntity(ImageUrlEntity entity) {
+  public static ResponseImageDto fromEntity(ImageUrlEntity entity, String srcset) {
     if (entity == null) {
       return null;
     }
@@ -54,6 +58,7 @@ public class ResponseImageDto {
                            .colorVariantId(colorVariantId) // ⭐ colorVariantId를 설정합니다.
                            .createdDate(entity.getCreatedDate())
                            .lastModifiedDate(entity.getLastModifiedDate())
+                           .srcset(srcset)
                            .build();
   }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package teo.springjwt.product.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 여러 이미지 동시 업로드 결과. 업로드에 성공한 파일만 등록되고, 실패한 파일은 error에 이유가 담긴다.
+ */
+@Getter
+@AllArgsConstructor
+public class ResponseMultiImageUpload {
+  private Long colorVariantId;
+  private int uploadedCount;
+  private int failedCount;
+  private long totalLatencyMs; // 요청 전체 (업로드 대기 + DB 저장)
+  private List<FileResult> files; // 요청한 파일 순서 그대로
+
+  @Getter
+  @AllArgsConstructor
+  public static class FileResult {
+    private String originalFileName;
+    private boolean uploaded;
+    private long latencyMs; // 스토리지 업로드에 걸린 시간 (대기열 대기 제외)
+    private ResponseImageDto image; // 실패하면 null
+    private String error; // 성공하면 null
+  }
+}
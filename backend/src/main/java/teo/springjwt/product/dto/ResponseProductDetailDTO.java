@@ -0,0 +1,44 @@
+package teo.springjwt.product.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 상세 화면용 응답. SKU를 색상별로 묶고, 이미지는 색상마다 한 번만 담습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class ResponseProductDetailDTO {
+  private Long id;
+  private String name;
+  private String description;
+  private Long categoryId;
+  private String categoryName;
+  private BigDecimal minPrice;
+  private BigDecimal maxPrice;
+  private List<Color> colors;
+
+  @Getter
+  @AllArgsConstructor
+  public static class Color {
+    private Long colorVariantId;
+    private String colorName;
+    private String thumbnailUrl;
+    private String thumbnailSrcset;
+    private List<ResponseImageDto> images;
+    private List<Sku> skus;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class Sku {
+    private Long id;
+    private String skuCode;
+    private String description;
+    private BigDecimal price;
+    private int stock;
+    private List<ResponseSkuOptionValueDTO> optionValues;
+  }
+}
@@ -9,7 +9,6 @@ import teo.springjwt.product.entity.ImageUrlEntity;
 import teo.springjwt.product.entity.ProductEntity;
 
 @Data
-@Builder
 public class ResponseProductEntity {
   private Long id;
   private String name;
@@ -21,9 +20,12 @@ public class ResponseProductEntity {
   private BigDecimal maxPrice;
   private LocalDateTime createdDate;
   private LocalDateTime lastModifiedDate;
+  // 목록 썸네일의 크기별 파생본 URL (원본 대신 작은 이미지를 받도록 <img srcset>에 사용)
+  private String thumbnailSrcset;
 
   // QueryDSL용 생성자
   @QueryProjection
+  @Builder
   public ResponseProductEntity(Long id, String name, String description, Long categoryId, String categoryName,
       String thumbnailUrl, BigDecimal minPrice, BigDecimal maxPrice, LocalDateTime createdDate,
       LocalDateTime lastModifiedDate) {
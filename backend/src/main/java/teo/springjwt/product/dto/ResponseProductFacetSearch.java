@@ -0,0 +1,47 @@
+package teo.springjwt.product.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 패싯 필터 결과: 상품 한 페이지 + 항목별 개수.
+ * 각 항목의 개수는 "그 항목의 선택만 빼고 나머지 필터를 적용했을 때" 기준이라 다중 선택 UI에 그대로 쓸 수 있습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class ResponseProductFacetSearch {
+  private List<ResponseProductEntity> content;
+  private Long nextLastId; // 다음 페이지 요청 시 lastId로 넘길 값 (마지막 페이지면 null)
+  private long totalElements;
+  private List<FacetCount> categories;
+  private List<FacetCount> colors;
+  private List<OptionGroupFacet> optionGroups;
+  private List<PriceBucketFacet> priceBuckets;
+
+  @Getter
+  @AllArgsConstructor
+  public static class FacetCount {
+    private String value; // 카테고리/옵션 값은 ID, 색상은 색상명
+    private String label;
+    private long count;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class OptionGroupFacet {
+    private Long optionGroupId;
+    private String optionGroupName;
+    private List<FacetCount> values;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class PriceBucketFacet {
+    private int bucket;
+    private BigDecimal from;
+    private BigDecimal to; // 마지막 구간은 null
+    private long count;
+  }
+}
@@ -0,0 +1,40 @@
+package teo.springjwt.product.dto;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import teo.springjwt.product.service.ProductImportJob;
+
+@Getter
+@AllArgsConstructor
+public class ResponseProductImportJob {
+  private String jobId;
+  private String fileName;
+  private String format;
+  private String status;
+  private long readCount;      // 파일에서 읽은 레코드 수
+  private long importedCount;  // 등록에 성공한 상품 수
+  private long failedCount;    // 건너뛴 레코드 수
+  private double throughputPerSecond;
+  private Instant startedAt;
+  private Instant finishedAt;
+  private String message;
+  private List<String> errors;
+
+  public static ResponseProductImportJob from(ProductImportJob job) {
+    return new ResponseProductImportJob(
+        job.getId(),
+        job.getFileName(),
+        job.getFormat().name(),
+        job.getStatus().name(),
+        job.getReadCount().get(),
+        job.getImportedCount().get(),
+        job.getFailedCount().get(),
+        job.getThroughputPerSecond(),
+        job.getStartedAt(),
+        job.getFinishedAt(),
+        job.getMessage(),
+        job.getErrors());
+  }
+}
@@ -0,0 +1,15 @@
+package teo.springjwt.product.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 사용자 상품 목록 한 페이지 (keyset).
+ */
+@Getter
+@AllArgsConstructor
+public class ResponseProductPage {
+  private List<ResponseProductEntity> content;
+  private Long nextLastId; // 다음 페이지 요청 시 lastId로 넘길 값 (마지막 페이지면 null)
+}
@@ -3,6 +3,7 @@ package teo.springjwt.product.dto;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Data;
@@ -23,8 +24,8 @@ public class ResponseSkuDTO {
   private List<ResponseImageDto> images; // 모든 이미지 URL 목록 (ResponseImageDto로 변경)
   private List<ResponseSkuOptionValueDTO> optionValues;
 
-  // Entity에서 DTO로 변환
-  public static ResponseSkuDTO fromEntity(SkuEntity skuEntity) {
+  // Entity에서 DTO로 변환 (이미지는 imageMapper로 변환해서 srcset까지 채운다)
+  public static ResponseSkuDTO fromEntity(SkuEntity skuEntity, Function<ImageUrlEntity, ResponseImageDto> imageMapper) {
 
     ProductColorVariantEntity colorVariant = skuEntity.getColorVariant();
 
@@ -35,7 +36,7 @@ public class ResponseSkuDTO {
       // ProductColorVariantEntity의 이미지 목록을 DTO로 변환
       if (colorVariant.getImages() != null) { // getImages()는 List<ImageUrlEntity>를 반환한다고 가정
         images = colorVariant.getImages().stream()
-                             .map(ResponseImageDto::fromEntity)
+                             .map(imageMapper)
                              .collect(Collectors.toList());
       }
 
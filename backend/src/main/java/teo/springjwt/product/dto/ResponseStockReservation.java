@@ -0,0 +1,24 @@
+package teo.springjwt.product.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 장바구니 결제용 재고 예약 결과. expiresAt 전에 확정하지 않으면 예약이 풀리고 재고가 돌아간다.
+ */
+@Getter
+@AllArgsConstructor
+public class ResponseStockReservation {
+  private Long cartId;
+  private LocalDateTime expiresAt;
+  private List<Line> lines;
+
+  @Getter
+  @AllArgsConstructor
+  public static class Line {
+    private Long skuId;
+    private int quantity;
+  }
+}
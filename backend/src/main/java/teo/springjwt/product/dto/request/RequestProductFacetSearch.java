@@ -0,0 +1,28 @@
+package teo.springjwt.product.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 패싯 필터 조회 조건. 같은 항목 안에서는 OR, 항목끼리는 AND 입니다.
+ * (옵션 값은 옵션 그룹별로 한 항목 - 예: 사이즈 S 또는 M 이면서 소재가 면)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RequestProductFacetSearch {
+  private List<Long> categoryIds;
+  private List<String> colors;
+  private List<Long> optionValueIds;
+  private List<Integer> priceBuckets; // 응답의 priceBuckets[].bucket 값
+
+  private Long lastId; // 이전 페이지의 마지막 상품 ID (첫 페이지는 비움)
+
+  @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+  @Max(value = 100, message = "페이지 크기는 100 이하여야 합니다.")
+  private int size = 20;
+}
@@ -0,0 +1,27 @@
+package teo.springjwt.product.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RequestProductScroll {
+  private String name; // 상품명 검색어 (선택)
+  private String skuCode; // SKU 코드 검색어 (선택)
+
+  private String sort = "createdDate"; // createdDate 또는 name
+  private boolean ascending = false; // 기본은 최신순
+
+  private String cursor; // 이전 응답의 nextCursor (첫 페이지는 비움)
+
+  @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다.")
+  @Max(value = 100, message = "페이지 크기는 100 이하여야 합니다.")
+  private int size = 20;
+
+  // 총 개수가 필요 없으면 false로 넘겨 count 쿼리를 생략
+  private boolean withTotal = true;
+}
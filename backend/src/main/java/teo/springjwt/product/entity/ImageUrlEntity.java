@@ -2,12 +2,15 @@ package teo.springjwt.product.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.util.Objects;
 import lombok.AccessLevel;
@@ -16,6 +19,8 @@ import lombok.NoArgsConstructor;
 import teo.springjwt.common.entity.BaseTimeEntity;
 
 @Entity
+@Table(indexes = @Index(name = "idx_image_url_storage_key", columnList = "storage_key"))
+@EntityListeners(ProductChangeListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ImageUrlEntity extends BaseTimeEntity {
@@ -29,6 +34,11 @@ public class ImageUrlEntity extends BaseTimeEntity {
   @Column(name = "image_url", nullable = false, length = 1024) // URL 길이에 맞춰 length 늘림
   private String imageUrl;
 
+  // 스토리지 객체 키 (FileStorageService.objectKey: 로컬은 내용 해시, Cloudinary는 public_id).
+  // 파일을 지우기 전에 참조 여부를 이 값의 일치로 확인한다. 우리 스토리지 URL이 아니면 null.
+  @Column(name = "storage_key", length = 255)
+  private String storageKey;
+
   @NotNull(message = "이미지 이름은 필수입니다.")
   @Column(length = 255)
   private String originalFileName;
@@ -59,8 +69,10 @@ public class ImageUrlEntity extends BaseTimeEntity {
 
 
   // Constructor for mandatory fields
-  public ImageUrlEntity(String imageUrl, String originalFileName, int displayOrder, boolean isThumbnail, ProductColorVariantEntity colorVariant) {
+  public ImageUrlEntity(String imageUrl, String storageKey, String originalFileName, int displayOrder,
+      boolean isThumbnail, ProductColorVariantEntity colorVariant) {
     this.imageUrl = imageUrl;
+    this.storageKey = storageKey;
     this.originalFileName = originalFileName;
     this.displayOrder = displayOrder;
     this.isThumbnail = isThumbnail;
@@ -68,12 +80,14 @@ public class ImageUrlEntity extends BaseTimeEntity {
   }
 
   // Business methods
-  public void updateImageUrl(String newImageUrl) {
+  public void updateImageUrl(String newImageUrl, String newStorageKey) {
     if (newImageUrl != null && !newImageUrl.trim().isEmpty()) {
       this.imageUrl = newImageUrl;
+      this.storageKey = newStorageKey;
     }
   }
 
+
   public void updateDisplayOrder(int newOrder) {
     if (newOrder >= 0) {
       this.displayOrder = newOrder;
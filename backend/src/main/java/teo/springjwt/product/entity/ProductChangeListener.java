@@ -0,0 +1,51 @@
+package teo.springjwt.product.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import teo.springjwt.product.service.ProductChangeTracker;
+
+/**
+ * 상품 / SKU / 이미지 엔티티 변경을 감지해서 해당 상품 ID를 ProductChangeTracker에 알립니다.
+ * Hibernate가 스프링 빈으로 생성하므로 EntityManagerFactory 초기화 순환을 피하려고 ObjectProvider로 지연 조회합니다.
+ */
+@Component
+public class ProductChangeListener {
+
+  private final ObjectProvider<ProductChangeTracker> trackerProvider;
+
+  public ProductChangeListener(ObjectProvider<ProductChangeTracker> trackerProvider) {
+    this.trackerProvider = trackerProvider;
+  }
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void onChange(Object entity) {
+    ProductChangeTracker tracker = trackerProvider.getIfAvailable();
+    if (tracker == null) {
+      return;
+    }
+    Long productId = resolveProductId(entity);
+    if (productId != null) {
+      tracker.markChanged(productId);
+    }
+  }
+
+  // 연관관계의 getId()는 프록시를 초기화하지 않는다.
+  private Long resolveProductId(Object entity) {
+    if (entity instanceof ProductEntity product) {
+      return product.getId();
+    }
+    if (entity instanceof SkuEntity sku) {
+      return sku.getProduct() != null ? sku.getProduct().getId() : null;
+    }
+    if (entity instanceof ImageUrlEntity image) {
+      ProductColorVariantEntity colorVariant = image.getColorVariant();
+      return colorVariant != null && colorVariant.getProduct() != null ? colorVariant.getProduct().getId() : null;
+    }
+    return null;
+  }
+}
@@ -6,6 +6,7 @@ import static jakarta.persistence.FetchType.LAZY;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -24,6 +25,7 @@ import teo.springjwt.common.entity.BaseTimeEntity;
 import teo.springjwt.review.ReviewEntity;
 
 @Entity
+@EntityListeners(ProductChangeListener.class)
 @Getter
 @NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
 public class ProductEntity extends BaseTimeEntity {
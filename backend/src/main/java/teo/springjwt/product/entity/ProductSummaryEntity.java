@@ -0,0 +1,59 @@
+package teo.springjwt.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import teo.springjwt.common.entity.BaseTimeEntity;
+
+/**
+ * 상품 목록용 비정규화 요약 테이블.
+ * SKU / 이미지가 바뀔 때마다 ProductChangeTracker가 커밋 직전에 다시 계산합니다.
+ * 목록 쿼리는 SKU를 group by 하지 않고 이 테이블만 읽습니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "product_summary")
+public class ProductSummaryEntity extends BaseTimeEntity {
+
+  @Id
+  @Column(name = "product_id")
+  private Long productId; // ProductEntity의 ID를 그대로 PK로 사용
+
+  @Column(name = "min_price", precision = 10, scale = 2)
+  private BigDecimal minPrice;
+
+  @Column(name = "max_price", precision = 10, scale = 2)
+  private BigDecimal maxPrice;
+
+  @Column(name = "sku_count", nullable = false)
+  private long skuCount;
+
+  @Column(name = "total_stock", nullable = false)
+  private long totalStock;
+
+  @Column(name = "thumbnail_url", length = 1024)
+  private String thumbnailUrl;
+
+  // 다시 계산될 때마다 1씩 증가 (캐시/ETag 버전으로 사용)
+  @Column(name = "revision", nullable = false)
+  private long revision;
+
+  public ProductSummaryEntity(Long productId) {
+    this.productId = productId;
+  }
+
+  public void refresh(BigDecimal minPrice, BigDecimal maxPrice, long skuCount, long totalStock, String thumbnailUrl) {
+    this.minPrice = minPrice;
+    this.maxPrice = maxPrice;
+    this.skuCount = skuCount;
+    this.totalStock = totalStock;
+    this.thumbnailUrl = thumbnailUrl;
+    this.revision++;
+  }
+}
@@ -5,6 +5,7 @@ import static jakarta.persistence.FetchType.LAZY;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -26,6 +27,7 @@ import lombok.NoArgsConstructor;
 import teo.springjwt.common.entity.BaseTimeEntity;
 
 @Entity
+@EntityListeners(ProductChangeListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class SkuEntity extends BaseTimeEntity {
@@ -106,6 +108,7 @@ public class SkuEntity extends BaseTimeEntity {
     }
   }
 
+  // 관리 화면 등 단건 수정용. 읽고-고치고-쓰기라 동시에 부르면 초과 판매되므로 주문/결제 재고 차감은 InventoryService(조건부 UPDATE)를 쓴다.
   public void deductStock(int quantity) {
     if (quantity > 0 && this.stock >= quantity) {
       this.stock -= quantity;
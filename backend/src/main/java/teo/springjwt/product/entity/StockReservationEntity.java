@@ -0,0 +1,60 @@
+package teo.springjwt.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import teo.springjwt.cart.CartEntity;
+import teo.springjwt.common.entity.BaseTimeEntity;
+
+/**
+ * 결제 진행 중인 장바구니가 잡아 둔 재고 (SKU당 한 행).
+ * 예약할 때 sku.stock에서 이미 뺐으므로 행이 있는 동안은 다른 주문이 가져갈 수 없다.
+ * - 확정(confirm): 행만 지운다 (재고는 판매된 것으로 끝)
+ * - 해제/만료: 행을 지우고 수량을 sku.stock에 돌려놓는다
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stock_reservation", indexes = {
+    @Index(name = "idx_stock_reservation_cart", columnList = "cart_id"),
+    @Index(name = "idx_stock_reservation_expires_at", columnList = "expires_at")
+})
+public class StockReservationEntity extends BaseTimeEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "stock_reservation_id")
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "cart_id", nullable = false)
+  private CartEntity cart;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "sku_id", nullable = false)
+  private SkuEntity sku;
+
+  @Column(name = "quantity", nullable = false)
+  private int quantity;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  public StockReservationEntity(CartEntity cart, SkuEntity sku, int quantity, LocalDateTime expiresAt) {
+    this.cart = cart;
+    this.sku = sku;
+    this.quantity = quantity;
+    this.expiresAt = expiresAt;
+  }
+}
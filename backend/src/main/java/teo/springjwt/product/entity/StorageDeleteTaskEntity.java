@@ -0,0 +1,85 @@
+package teo.springjwt.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import teo.springjwt.common.entity.BaseTimeEntity;
+import teo.springjwt.product.enumerated.StorageDeleteStatus;
+
+/**
+ * 스토리지 파일 삭제 outbox 행.
+ * 이미지 행을 지우는 트랜잭션 안에서 같이 저장하고, 실제 삭제는 StorageDeleteWorker가 커밋 후에 한다.
+ * 롤백되면 이 행도 없어지므로 쓰고 있는 파일을 지우는 일이 없다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "storage_delete_task", indexes = {
+    @Index(name = "idx_storage_delete_task_due", columnList = "status, next_attempt_at")
+})
+public class StorageDeleteTaskEntity extends BaseTimeEntity {
+
+  private static final int MAX_ERROR_LENGTH = 500;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "storage_delete_task_id")
+  private Long id;
+
+  @Column(name = "file_url", nullable = false, length = 1024)
+  private String fileUrl;
+
+  // 삭제 사유 (image-removed, upload-rollback, orphan)
+  @Column(name = "reason", nullable = false, length = 32)
+  private String reason;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 16)
+  private StorageDeleteStatus status;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+  private String lastError;
+
+  public StorageDeleteTaskEntity(String fileUrl, String reason, LocalDateTime nextAttemptAt) {
+    this.fileUrl = fileUrl;
+    this.reason = reason;
+    this.status = StorageDeleteStatus.PENDING;
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  /**
+   * 시도 횟수를 늘리지 않고 다음 시도 시각만 미룬다 (파일이 최근에 다시 쓰인 경우).
+   */
+  public void postpone(LocalDateTime nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  /**
+   * 삭제 실패를 기록한다. nextAttemptAt이 null이면 더 시도하지 않는다(FAILED).
+   */
+  public void recordFailure(String error, LocalDateTime nextAttemptAt) {
+    this.attempts++;
+    this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    if (nextAttemptAt == null) {
+      this.status = StorageDeleteStatus.FAILED;
+    } else {
+      this.nextAttemptAt = nextAttemptAt;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package teo.springjwt.product.enumerated;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// 원본에서 만들어 내는 이미지 크기. width는 최대 가로 픽셀(원본이 더 작으면 원본 크기), quality는 0~1 압축 품질
+public enum ImageDerivative {
+  THUMB("thumb", 200, 0.80f),  // 목록/장바구니 썸네일
+  CARD("card", 480, 0.82f),    // 상품 카드
+  ZOOM("zoom", 1600, 0.88f);   // 상세 확대
+
+  private final String key;
+  private final int width;
+  private final float quality;
+
+  ImageDerivative(String key, int width, float quality) {
+    this.key = key;
+    this.width = width;
+    this.quality = quality;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public int width() {
+    return width;
+  }
+
+  public float quality() {
+    return quality;
+  }
+
+  public static Optional<ImageDerivative> fromKey(String key) {
+    return Arrays.stream(values()).filter(derivative -> derivative.key.equals(key)).findFirst();
+  }
+}
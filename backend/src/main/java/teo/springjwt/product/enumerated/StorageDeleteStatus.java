@@ -0,0 +1,7 @@
+package teo.springjwt.product.enumerated;
+
+// 스토리지 파일 삭제 작업 상태 (성공한 작업은 행을 지우므로 상태가 없다)
+public enum StorageDeleteStatus {
+  PENDING, // 삭제 대기 또는 재시도 대기
+  FAILED   // 재시도 횟수를 다 써서 포기함 (수동 확인용으로 남겨 둠)
+}
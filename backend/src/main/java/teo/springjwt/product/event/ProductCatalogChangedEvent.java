@@ -0,0 +1,17 @@
+package teo.springjwt.product.event;
+
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * 상품 데이터(상품, SKU 가격/재고, 이미지)가 바뀐 트랜잭션이 커밋된 뒤 발행됩니다.
+ */
+@Getter
+public class ProductCatalogChangedEvent {
+
+  private final Set<Long> productIds;
+
+  public ProductCatalogChangedEvent(Set<Long> productIds) {
+    this.productIds = Set.copyOf(productIds);
+  }
+}
@@ -0,0 +1,18 @@
+package teo.springjwt.product.event;
+
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * 결제 예약/해제로 SKU 재고만 바뀐 트랜잭션이 커밋된 뒤 발행됩니다.
+ * 상품 요약은 그대로이므로 SKU 재고가 들어 있는 캐시만 지우면 됩니다.
+ */
+@Getter
+public class ProductStockChangedEvent {
+
+  private final Set<Long> productIds;
+
+  public ProductStockChangedEvent(Set<Long> productIds) {
+    this.productIds = Set.copyOf(productIds);
+  }
+}
@@ -0,0 +1,6 @@
+package teo.springjwt.product.repository.image;
+
+// 이미지 행의 id와 URL만 읽는 프로젝션
+public record ImageUrlRef(Long id, String imageUrl) {
+
+}
@@ -1,8 +1,33 @@
 package teo.springjwt.product.repository.image;
 
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import teo.springjwt.product.entity.ImageUrlEntity;
 
 public interface ImageUrlRepository extends JpaRepository<ImageUrlEntity, Long> {
 
+  // 로컬 저장소는 같은 내용이면 URL을 공유하므로, 파일을 지우기 전에 다른 행이 참조하는지 확인
+  boolean existsByImageUrl(String imageUrl);
+
+  // 같은 스토리지 객체를 가리키는 행이 있는지 (storage_key 인덱스로 일치 비교).
+  // 로컬 저장소는 확장자만 다른 URL({해시}.jpg / {해시}.png)도 같은 키가 된다.
+  boolean existsByStorageKey(String storageKey);
+
+  // 정합성 점검용: 이미지 URL을 id 순으로 조금씩 읽는다 (afterId보다 큰 것부터)
+  @Query("SELECT new teo.springjwt.product.repository.image.ImageUrlRef(i.id, i.imageUrl) FROM ImageUrlEntity i "
+      + "WHERE i.id > :afterId ORDER BY i.id ASC")
+  List<ImageUrlRef> findRefsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+  // storage_key 도입 이전 행 채우기용: 키가 비어 있는 행을 id 순으로 조금씩 읽는다
+  @Query("SELECT new teo.springjwt.product.repository.image.ImageUrlRef(i.id, i.imageUrl) FROM ImageUrlEntity i "
+      + "WHERE i.storageKey IS NULL AND i.id > :afterId ORDER BY i.id ASC")
+  List<ImageUrlRef> findRefsWithoutStorageKeyAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+  @Modifying
+  @Query("UPDATE ImageUrlEntity i SET i.storageKey = :storageKey WHERE i.id = :id AND i.storageKey IS NULL")
+  int assignStorageKey(@Param("id") Long id, @Param("storageKey") String storageKey);
 }
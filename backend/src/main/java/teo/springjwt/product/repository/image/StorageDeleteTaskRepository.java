@@ -0,0 +1,29 @@
+package teo.springjwt.product.repository.image;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import teo.springjwt.product.entity.StorageDeleteTaskEntity;
+import teo.springjwt.product.enumerated.StorageDeleteStatus;
+
+public interface StorageDeleteTaskRepository extends JpaRepository<StorageDeleteTaskEntity, Long> {
+
+  // 시도할 때가 된 작업을 오래 기다린 순서로 (idx_storage_delete_task_due 사용)
+  @Query("SELECT t FROM StorageDeleteTaskEntity t WHERE t.status = :status AND t.nextAttemptAt <= :now "
+      + "ORDER BY t.nextAttemptAt ASC, t.id ASC")
+  List<StorageDeleteTaskEntity> findDue(@Param("status") StorageDeleteStatus status, @Param("now") LocalDateTime now,
+      Pageable pageable);
+
+  @Modifying
+  @Query("DELETE FROM StorageDeleteTaskEntity t WHERE t.id IN :ids")
+  int deleteByIds(@Param("ids") Collection<Long> ids);
+
+  // 정합성 점검에서 이미 삭제 예정인 파일을 다시 넣지 않도록
+  @Query("SELECT t.fileUrl FROM StorageDeleteTaskEntity t")
+  List<String> findAllFileUrls();
+}
@@ -1,8 +1,14 @@
 package teo.springjwt.product.repository.product;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import teo.springjwt.product.entity.ProductColorVariantEntity;
 
 public interface ProductColorVariantEntityRepository extends JpaRepository<ProductColorVariantEntity, Long> {
 
+  // 상품의 색상 변형과 이미지를 한 번에 조회 (이미지는 @OrderBy로 displayOrder 순)
+  @Query("SELECT DISTINCT cv FROM ProductColorVariantEntity cv LEFT JOIN FETCH cv.images "
+      + "WHERE cv.product.id = :productId ORDER BY cv.id")
+  List<ProductColorVariantEntity> findAllWithImagesByProductId(Long productId);
 }
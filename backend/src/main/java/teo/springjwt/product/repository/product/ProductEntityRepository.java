@@ -1,8 +1,22 @@
 package teo.springjwt.product.repository.product;
 
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import teo.springjwt.product.entity.ProductEntity;
 
 public interface ProductEntityRepository extends JpaRepository<ProductEntity, Long>, ProductEntityRepositoryCustom {
 
+  @Query("SELECT p FROM ProductEntity p JOIN FETCH p.category WHERE p.id = :productId")
+  Optional<ProductEntity> findWithCategoryById(Long productId);
+
+  // 요약 행이 아직 없는 상품의 첫 INSERT를 한 트랜잭션만 하도록 상품 행을 잠근다 (ProductSummaryService.refresh)
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT p FROM ProductEntity p WHERE p.id IN :productIds ORDER BY p.id")
+  List<ProductEntity> findAllByIdForUpdate(@Param("productIds") Collection<Long> productIds);
 }
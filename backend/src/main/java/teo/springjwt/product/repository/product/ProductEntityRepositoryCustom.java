@@ -1,10 +1,63 @@
 package teo.springjwt.product.repository.product;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import teo.springjwt.product.dto.CursorPage;
+import teo.springjwt.product.dto.ProductCursor;
+import teo.springjwt.product.dto.ProductCursor.SortKey;
+import teo.springjwt.product.dto.ProductFacetSource;
+import teo.springjwt.product.dto.ProductSearchSource;
 import teo.springjwt.product.dto.ResponseProductEntity;
 
 public interface ProductEntityRepositoryCustom {
-  Page<ResponseProductEntity> findAllProductsWithMinPriceAndMaxPrice(String name, String skuCode, Pageable pageable);
+  /**
+   * 관리자 상품 목록 (offset 페이징). 이름 / SKU 코드 검색은 ProductSearchIndex에서 페이징합니다.
+   */
+  Page<ResponseProductEntity> findAllProductsWithMinPriceAndMaxPrice(Pageable pageable);
 
+  /**
+   * 관리자 상품 목록 (커서 페이징).
+   * (createdDate, id) 또는 (name, id) 기준으로 seek 하므로 페이지 깊이와 관계없이 비용이 같습니다.
+   * 이름 / SKU 코드 검색은 ProductSearchIndex에서 페이징합니다.
+   * 커서 해석은 호출하는 쪽에서 끝내고 넘깁니다 (잘못된 커서는 저장소 예외가 아니라 입력 오류로 다뤄야 하므로).
+   *
+   * @param cursor 이전 페이지의 커서 (첫 페이지는 null)
+   */
+  CursorPage<ResponseProductEntity> findAllProductsWithMinPriceAndMaxPriceByCursor(SortKey sortKey, boolean ascending,
+      ProductCursor cursor, int size, boolean withTotal);
+
+  /**
+   * 사용자 상품 목록 (keyset 페이징).
+   * id 내림차순으로 lastId 보다 작은 상품을 size 개 조회합니다.
+   * 상품별 최소/최대 가격과 썸네일은 product_summary에서 읽습니다.
+   *
+   * @param lastId 이전 페이지의 마지막 상품 ID (첫 페이지는 null)
+   * @param size   페이지 크기
+   */
+  List<ResponseProductEntity> findStorefrontProducts(Long lastId, int size);
+
+  /**
+   * 카테고리와 그 하위 카테고리에 속한 상품 (keyset 페이징, id 내림차순).
+   * 하위 카테고리는 category_closure에서 한 번의 인덱스 조회로 풀립니다.
+   */
+  List<ResponseProductEntity> findStorefrontProductsInCategory(Long categoryId, Long lastId, int size);
+
+  // 주어진 ID의 상품 목록 (순서는 보장하지 않음)
+  List<ResponseProductEntity> findStorefrontProductsByIds(Collection<Long> productIds);
+
+  // 검색 색인용 텍스트. 존재하지 않는 상품은 결과에서 빠진다.
+  List<ProductSearchSource> findSearchSources(Collection<Long> productIds);
+
+  // 패싯 색인용 속성. 존재하지 않는 상품은 결과에서 빠진다.
+  List<ProductFacetSource> findFacetSources(Collection<Long> productIds);
+
+  // 전체 색인 재구성을 위해 id 오름차순으로 limit 개씩 ID를 읽는다.
+  List<Long> findProductIdsAfter(Long afterId, int limit);
+
+  // 이름이 바뀐 카테고리 / 옵션 그룹 / 옵션 값을 쓰는 상품 (상세 DTO와 검색 색인에 이름이 들어간다)
+  Set<Long> findProductIdsReferencing(Collection<Long> categoryIds, Collection<Long> optionGroupIds,
+      Collection<Long> optionValueIds);
 }
@@ -1,25 +1,40 @@
 package teo.springjwt.product.repository.product;
 
+import static teo.springjwt.category.QCategoryClosureEntity.categoryClosureEntity;
 import static teo.springjwt.category.QCategoryEntity.categoryEntity;
-import static teo.springjwt.product.entity.QImageUrlEntity.imageUrlEntity;
+import static teo.springjwt.product.entity.QOptionGroupEntity.optionGroupEntity;
+import static teo.springjwt.product.entity.QOptionValueEntity.optionValueEntity;
 import static teo.springjwt.product.entity.QProductColorVariantEntity.productColorVariantEntity;
 import static teo.springjwt.product.entity.QProductEntity.productEntity;
+import static teo.springjwt.product.entity.QProductOptionGroupEntity.productOptionGroupEntity;
+import static teo.springjwt.product.entity.QProductOptionValueEntity.productOptionValueEntity;
+import static teo.springjwt.product.entity.QProductSummaryEntity.productSummaryEntity;
 import static teo.springjwt.product.entity.QSkuEntity.skuEntity;
 
 import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.Tuple;
-import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
-import org.springframework.util.StringUtils;
+import teo.springjwt.product.dto.CursorPage;
+import teo.springjwt.product.dto.ProductCursor;
+import teo.springjwt.product.dto.ProductCursor.SortKey;
+import teo.springjwt.product.dto.ProductFacetSource;
+import teo.springjwt.product.dto.ProductSearchSource;
 import teo.springjwt.product.dto.QResponseProductEntity;
 import teo.springjwt.product.dto.ResponseProductEntity;
 
@@ -31,117 +46,305 @@ public class ProductEntityRepositoryCustomImpl implements ProductEntityRepositor
   }
 
   @Override
-  public Page<ResponseProductEntity> findAllProductsWithMinPriceAndMaxPrice(String name, String skuCode,
-      Pageable pageable) {
+  public Page<ResponseProductEntity> findAllProductsWithMinPriceAndMaxPrice(Pageable pageable) {
     // 메인 쿼리: ResponseProductEntity로 프로젝션
-    JPAQuery<ResponseProductEntity> query = queryFactory
+    JPAQuery<ResponseProductEntity> query = selectProductsWithPriceRange();
+
+    // 페이징 적용
+    query.offset(pageable.getOffset());
+    query.limit(pageable.getPageSize());
+
+    // 정렬 적용
+    pageable.getSort().forEach(order -> {
+      Order direction = order.isAscending() ? Order.ASC : Order.DESC;
+      if ("createdDate".equals(order.getProperty())) {
+        query.orderBy(new OrderSpecifier<>(direction, productEntity.createdDate));
+      } else if ("name".equals(order.getProperty())) {
+        query.orderBy(new OrderSpecifier<>(direction, productEntity.name));
+      }
+      // 필요한 다른 정렬 필드 추가 가능
+    });
+
+    // 쿼리 실행
+    List<ResponseProductEntity> content = query.fetch();
+
+    // 총 카운트 쿼리 (페이징을 위해 필요)
+    // 목록 쿼리에 group by가 없으므로 상품 테이블만 센다.
+    JPAQuery<Long> countQuery = queryFactory
+        .select(productEntity.count())
+        .from(productEntity);
+
+    // PageableExecutionUtils를 사용하여 Page 객체 반환
+    return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+  }
+
+  @Override
+  public CursorPage<ResponseProductEntity> findAllProductsWithMinPriceAndMaxPriceByCursor(SortKey sortKey,
+      boolean ascending, ProductCursor cursor, int size, boolean withTotal) {
+    BooleanBuilder whereCondition = new BooleanBuilder();
+    if (cursor != null) {
+      whereCondition.and(seekCondition(cursor, ascending));
+    }
+
+    Order direction = ascending ? Order.ASC : Order.DESC;
+    OrderSpecifier<?> primaryOrder = switch (sortKey) {
+      case CREATED_DATE -> new OrderSpecifier<>(direction, productEntity.createdDate);
+      case NAME -> new OrderSpecifier<>(direction, productEntity.name);
+    };
+
+    // 다음 페이지 존재 여부를 알기 위해 size + 1 개를 가져온다.
+    List<ResponseProductEntity> rows = selectProductsWithPriceRange()
+        .where(whereCondition)
+        .orderBy(primaryOrder, new OrderSpecifier<>(direction, productEntity.id)) // id로 동률을 깨서 순서를 고정
+        .limit(size + 1L)
+        .fetch();
+
+    boolean hasNext = rows.size() > size;
+    List<ResponseProductEntity> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+
+    String nextCursor = null;
+    if (hasNext) {
+      nextCursor = ProductCursor.from(sortKey, content.get(content.size() - 1)).encode();
+    }
+
+    // 총 개수는 요청한 경우에만 센다.
+    Long totalElements = null;
+    if (withTotal) {
+      totalElements = queryFactory
+          .select(productEntity.count())
+          .from(productEntity)
+          .fetchOne();
+    }
+
+    return new CursorPage<>(content, nextCursor, hasNext, totalElements);
+  }
+
+  @Override
+  public List<ResponseProductEntity> findStorefrontProducts(Long lastId, int size) {
+    BooleanBuilder whereCondition = new BooleanBuilder();
+    if (lastId != null) {
+      // keyset 조건: offset 없이 인덱스(PK)로 바로 다음 페이지 시작점을 찾는다.
+      whereCondition.and(productEntity.id.lt(lastId));
+    }
+
+    return selectProductsWithPriceRange()
+        .where(whereCondition)
+        .orderBy(productEntity.id.desc())
+        .limit(size)
+        .fetch();
+  }
+
+  @Override
+  public List<ResponseProductEntity> findStorefrontProductsInCategory(Long categoryId, Long lastId, int size) {
+    BooleanBuilder whereCondition = new BooleanBuilder();
+    // closure 테이블에서 ancestor_id로 하위 카테고리를 한 번에 찾는다 (재귀 없음)
+    whereCondition.and(productEntity.category.id.in(
+        JPAExpressions.select(categoryClosureEntity.descendantId)
+                      .from(categoryClosureEntity)
+                      .where(categoryClosureEntity.ancestorId.eq(categoryId))));
+    if (lastId != null) {
+      whereCondition.and(productEntity.id.lt(lastId));
+    }
+
+    return selectProductsWithPriceRange()
+        .where(whereCondition)
+        .orderBy(productEntity.id.desc())
+        .limit(size)
+        .fetch();
+  }
+
+  // 상품 + 카테고리 + 요약 테이블(가격 범위, 썸네일) 프로젝션
+  // 요약은 상품당 한 행이라 SKU를 조인해서 group by 할 필요가 없다.
+  private JPAQuery<ResponseProductEntity> selectProductsWithPriceRange() {
+    return queryFactory
         .select(new QResponseProductEntity(
             productEntity.id,
             productEntity.name,
             productEntity.description,
             categoryEntity.id,
             categoryEntity.name,
-            // 썸네일 URL은 여기서 직접 가져오기 어렵기 때문에 null로 설정하고 나중에 채웁니다.
-            // 복잡한 쿼리를 방지하고 성능을 위해 보통 이렇게 분리합니다.
-            Expressions.nullExpression(String.class), // ⭐ nullExpression에 타입 지정 (String.class)
-            skuEntity.price.min(), // SKU 최소 가격 (Product에 속한 모든 SKU 중 최소)
-            skuEntity.price.max(), // SKU 최대 가격 (Product에 속한 모든 SKU 중 최대)
+            productSummaryEntity.thumbnailUrl.coalesce(""), // 썸네일이 없으면 빈 문자열
+            productSummaryEntity.minPrice,
+            productSummaryEntity.maxPrice,
             productEntity.createdDate,
             productEntity.lastModifiedDate
         ))
         .from(productEntity)
         .leftJoin(productEntity.category, categoryEntity)
-        .leftJoin(productEntity.skus, skuEntity) // SKU의 min/max price를 위해 SkuEntity 조인 유지
-        .groupBy(
-            productEntity.id,
-            productEntity.name,
-            productEntity.description,
-            categoryEntity.id,
-            categoryEntity.name,
-            productEntity.createdDate,
-            productEntity.lastModifiedDate
-        );
+        .leftJoin(productSummaryEntity).on(productSummaryEntity.productId.eq(productEntity.id));
+  }
 
-    // 검색 조건 동적으로 추가
-    BooleanBuilder whereCondition = new BooleanBuilder();
+  // (정렬 키, id) 튜플이 커서보다 뒤에 오는 행만 남기는 seek 조건
+  private BooleanExpression seekCondition(ProductCursor cursor, boolean ascending) {
+    Long lastId = cursor.getId();
+    BooleanExpression idAfter = ascending ? productEntity.id.gt(lastId) : productEntity.id.lt(lastId);
 
-    if (StringUtils.hasText(name)) {
-      whereCondition.and(productEntity.name.lower().like("%" + name.toLowerCase() + "%"));
+    return switch (cursor.getSortKey()) {
+      case CREATED_DATE -> {
+        LocalDateTime value = cursor.getCreatedDate();
+        BooleanExpression keyAfter = ascending ? productEntity.createdDate.gt(value) : productEntity.createdDate.lt(value);
+        yield keyAfter.or(productEntity.createdDate.eq(value).and(idAfter));
+      }
+      case NAME -> {
+        String value = cursor.getName();
+        BooleanExpression keyAfter = ascending ? productEntity.name.gt(value) : productEntity.name.lt(value);
+        yield keyAfter.or(productEntity.name.eq(value).and(idAfter));
+      }
+    };
+  }
+
+  @Override
+  public List<ResponseProductEntity> findStorefrontProductsByIds(Collection<Long> productIds) {
+    if (productIds.isEmpty()) {
+      return List.of();
     }
+    return selectProductsWithPriceRange()
+        .where(productEntity.id.in(productIds))
+        .fetch();
+  }
 
-    if (StringUtils.hasText(skuCode)) {
-      // SKU 코드 검색 조건: 해당 SKU 코드를 가진 SKU가 Product에 속하는지 확인
-      whereCondition.and(
-          JPAExpressions.selectOne()
-                        .from(skuEntity)
-                        .where(skuEntity.product.eq(productEntity) // 해당 productEntity에 속하는 SKU만
-                                                .and(skuEntity.name.lower().like("%" + skuCode.toLowerCase() + "%"))) // SKU 이름으로 검색
-                        .exists()
-      );
+  @Override
+  public List<ProductSearchSource> findSearchSources(Collection<Long> productIds) {
+    if (productIds.isEmpty()) {
+      return List.of();
+    }
+    // 1. 상품 + 카테고리
+    Map<Long, ProductSearchSource> sources = new LinkedHashMap<>();
+    queryFactory
+        .select(productEntity.id, productEntity.name, productEntity.description, categoryEntity.name,
+                productEntity.createdDate)
+        .from(productEntity)
+        .leftJoin(productEntity.category, categoryEntity)
+        .where(productEntity.id.in(productIds))
+        .fetch()
+        .forEach(tuple -> sources.put(tuple.get(productEntity.id), new ProductSearchSource(
+            tuple.get(productEntity.id),
+            tuple.get(productEntity.name),
+            tuple.get(productEntity.description),
+            tuple.get(categoryEntity.name),
+            tuple.get(productEntity.createdDate))));
+    if (sources.isEmpty()) {
+      return List.of();
     }
 
-    // 검색 조건 적용
-    query.where(whereCondition);
+    // 2. SKU 코드
+    queryFactory
+        .select(skuEntity.product.id, skuEntity.name)
+        .from(skuEntity)
+        .where(skuEntity.product.id.in(sources.keySet()))
+        .fetch()
+        .forEach(tuple -> sources.get(tuple.get(skuEntity.product.id)).getSkuCodes().add(tuple.get(skuEntity.name)));
 
-    // 페이징 적용
-    query.offset(pageable.getOffset());
-    query.limit(pageable.getPageSize());
+    // 3. 색상 / 옵션 값 이름
+    queryFactory
+        .select(productColorVariantEntity.product.id, productColorVariantEntity.colorName)
+        .from(productColorVariantEntity)
+        .where(productColorVariantEntity.product.id.in(sources.keySet()))
+        .fetch()
+        .forEach(tuple -> sources.get(tuple.get(productColorVariantEntity.product.id)).getOptionNames()
+                                 .add(tuple.get(productColorVariantEntity.colorName)));
+    queryFactory
+        .select(productOptionGroupEntity.product.id, optionValueEntity.name)
+        .from(productOptionValueEntity)
+        .join(productOptionValueEntity.productOptionGroup, productOptionGroupEntity)
+        .join(productOptionValueEntity.optionValue, optionValueEntity)
+        .where(productOptionGroupEntity.product.id.in(sources.keySet()))
+        .fetch()
+        .forEach(tuple -> sources.get(tuple.get(productOptionGroupEntity.product.id)).getOptionNames()
+                                 .add(tuple.get(optionValueEntity.name)));
 
-    // 정렬 적용
-    pageable.getSort().forEach(order -> {
-      com.querydsl.core.types.Order direction = order.isAscending() ?
-                                                com.querydsl.core.types.Order.ASC : com.querydsl.core.types.Order.DESC;
-      if ("createdDate".equals(order.getProperty())) {
-        query.orderBy(new com.querydsl.core.types.OrderSpecifier<>(direction, productEntity.createdDate));
-      } else if ("name".equals(order.getProperty())) {
-        query.orderBy(new com.querydsl.core.types.OrderSpecifier<>(direction, productEntity.name));
-      }
-      // 필요한 다른 정렬 필드 추가 가능
-    });
+    return new ArrayList<>(sources.values());
+  }
 
-    // 쿼리 실행
-    List<ResponseProductEntity> content = query.fetch();
+  @Override
+  public List<ProductFacetSource> findFacetSources(Collection<Long> productIds) {
+    if (productIds.isEmpty()) {
+      return List.of();
+    }
+    // 1. 상품 + 카테고리 + 최저가(요약)
+    Map<Long, ProductFacetSource> sources = new LinkedHashMap<>();
+    queryFactory
+        .select(productEntity.id, categoryEntity.id, categoryEntity.name, productSummaryEntity.minPrice)
+        .from(productEntity)
+        .leftJoin(productEntity.category, categoryEntity)
+        .leftJoin(productSummaryEntity).on(productSummaryEntity.productId.eq(productEntity.id))
+        .where(productEntity.id.in(productIds))
+        .fetch()
+        .forEach(tuple -> sources.put(tuple.get(productEntity.id), new ProductFacetSource(
+            tuple.get(productEntity.id),
+            tuple.get(categoryEntity.id),
+            tuple.get(categoryEntity.name),
+            tuple.get(productSummaryEntity.minPrice))));
+    if (sources.isEmpty()) {
+      return List.of();
+    }
 
-    // productId 리스트로 얻어오기 (현재 페이지의 상품 ID들)
-    List<Long> productIdsOnPage = content.stream().map(ResponseProductEntity::getId).toList();
+    // 2. 색상
+    queryFactory
+        .select(productColorVariantEntity.product.id, productColorVariantEntity.colorName)
+        .from(productColorVariantEntity)
+        .where(productColorVariantEntity.product.id.in(sources.keySet()))
+        .fetch()
+        .forEach(tuple -> sources.get(tuple.get(productColorVariantEntity.product.id)).getColors()
+                                 .add(tuple.get(productColorVariantEntity.colorName)));
 
-    // 썸네일 이미지가 있는 경우에만 조회 (ProductColorVariantEntity를 통해 접근)
-    if (!productIdsOnPage.isEmpty()) {
-      // 상품 ID와 썸네일 이미지 URL을 Map으로 변환
-      List<Tuple> productIdToThumbnailList = queryFactory
-          .select(productEntity.id, imageUrlEntity.imageUrl) // ⭐ Product ID와 Image URL 선택
-          .from(productEntity)
-          .leftJoin(productEntity.colorVariants, productColorVariantEntity) // ⭐ Product -> ColorVariant 조인
-          .leftJoin(productColorVariantEntity.images, imageUrlEntity) // ⭐ ColorVariant -> ImageUrl 조인
-          .where(productEntity.id.in(productIdsOnPage) // 현재 페이지의 상품 ID만 필터링
-                                 .and(imageUrlEntity.isThumbnail.eq(true))) // 썸네일 이미지인 경우만 선택
-          .fetch();
-
-      // Tuple 리스트를 Map으로 변환
-      Map<Long, String> productIdToThumbnailMap = productIdToThumbnailList.stream()
-                                                                          .collect(Collectors.toMap(
-                                                                              tuple -> tuple.get(productEntity.id), // ⭐ Product ID를 키로 사용
-                                                                              tuple -> tuple.get(imageUrlEntity.imageUrl), // ⭐ Image URL을 값으로 사용
-                                                                              (existing, replacement) -> existing // 중복된 키가 있을 경우 기존 값 유지 (여러 썸네일이 있을 경우 첫 번째)
-                                                                          ));
-
-      // 각 상품에 썸네일 URL 설정
-      content.forEach(product -> {
-        String thumbnailUrl = productIdToThumbnailMap.get(product.getId());
-        product.setThumbnailUrl(thumbnailUrl != null ? thumbnailUrl : ""); // null인 경우 빈 문자열로 설정
-      });
-    }
+    // 3. 옵션 값 (마스터 옵션 값 / 옵션 그룹 기준)
+    queryFactory
+        .select(productOptionGroupEntity.product.id, optionValueEntity.id, optionValueEntity.name,
+                optionGroupEntity.id, optionGroupEntity.name)
+        .from(productOptionValueEntity)
+        .join(productOptionValueEntity.productOptionGroup, productOptionGroupEntity)
+        .join(productOptionValueEntity.optionValue, optionValueEntity)
+        .join(productOptionGroupEntity.optionGroup, optionGroupEntity)
+        .where(productOptionGroupEntity.product.id.in(sources.keySet()))
+        .fetch()
+        .forEach(tuple -> sources.get(tuple.get(productOptionGroupEntity.product.id)).getOptionValues()
+                                 .add(new ProductFacetSource.OptionValue(
+                                     tuple.get(optionValueEntity.id),
+                                     tuple.get(optionValueEntity.name),
+                                     tuple.get(optionGroupEntity.id),
+                                     tuple.get(optionGroupEntity.name))));
 
-    // 총 카운트 쿼리 (페이징을 위해 필요)
-    // countDistinct()는 group by 쿼리의 결과 수를 정확히 세기 위해 필요
-    JPAQuery<Long> countQuery = queryFactory
-        .select(productEntity.countDistinct()) // productEntity의 고유 개수만 세기
+    return new ArrayList<>(sources.values());
+  }
+
+  @Override
+  public List<Long> findProductIdsAfter(Long afterId, int limit) {
+    return queryFactory
+        .select(productEntity.id)
         .from(productEntity)
-        .leftJoin(productEntity.category, categoryEntity)
-        .leftJoin(productEntity.skus, skuEntity) // SKU 조인 유지 (skuCode 검색 조건 및 전체 product count에 영향 줄 수 있음)
-        .where(whereCondition);
+        .where(afterId != null ? productEntity.id.gt(afterId) : null)
+        .orderBy(productEntity.id.asc())
+        .limit(limit)
+        .fetch();
+  }
 
-    // PageableExecutionUtils를 사용하여 Page 객체 반환
-    return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+  @Override
+  public Set<Long> findProductIdsReferencing(Collection<Long> categoryIds, Collection<Long> optionGroupIds,
+      Collection<Long> optionValueIds) {
+    Set<Long> productIds = new HashSet<>();
+    if (!categoryIds.isEmpty()) {
+      productIds.addAll(queryFactory
+          .select(productEntity.id)
+          .from(productEntity)
+          .where(productEntity.category.id.in(categoryIds))
+          .fetch());
+    }
+    if (!optionGroupIds.isEmpty()) {
+      productIds.addAll(queryFactory
+          .select(productOptionGroupEntity.product.id)
+          .from(productOptionGroupEntity)
+          .where(productOptionGroupEntity.optionGroup.id.in(optionGroupIds))
+          .fetch());
+    }
+    if (!optionValueIds.isEmpty()) {
+      productIds.addAll(queryFactory
+          .select(productOptionGroupEntity.product.id)
+          .from(productOptionValueEntity)
+          .join(productOptionValueEntity.productOptionGroup, productOptionGroupEntity)
+          .where(productOptionValueEntity.optionValue.id.in(optionValueIds))
+          .fetch());
+    }
+    return productIds;
   }
-}
\ No newline at end of file
+}
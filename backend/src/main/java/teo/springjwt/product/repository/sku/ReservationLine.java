@@ -0,0 +1,6 @@
+package teo.springjwt.product.repository.sku;
+
+// 재고 예약 한 줄 (예약 해제 시 SKU별 재고 복구에 필요한 값만)
+public record ReservationLine(Long reservationId, Long skuId, int quantity) {
+
+}
@@ -0,0 +1,89 @@
+package teo.springjwt.product.repository.sku;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * SKU / SkuOptionValue를 JDBC batch insert로 저장합니다.
+ * 두 엔티티 모두 IDENTITY 전략이라 JPA save()로는 Hibernate 배치가 꺼지고 행마다 왕복이 생기기 때문에
+ * 대량 생성 경로에서는 JPA를 우회합니다. (엔티티 리스너/Auditing도 거치지 않으므로 시간 컬럼은 직접 채웁니다)
+ */
+@Repository
+@RequiredArgsConstructor
+public class SkuBatchWriter {
+
+  private static final int BATCH_SIZE = 500;
+
+  private static final String INSERT_SKU =
+      "INSERT INTO sku_entity (product_id, color_variant_id, stock, sku_code, description, price, created_date, last_modified_date) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String SELECT_SKU_IDS =
+      "SELECT sku_id, sku_code FROM sku_entity WHERE product_id IN (%s)";
+
+  private static final String INSERT_SKU_OPTION_VALUE =
+      "INSERT INTO sku_option_value (sku_id, product_option_value_id, created_date, last_modified_date) "
+          + "VALUES (?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * SKU들을 저장합니다. 여러 상품의 SKU를 한 번에 넘겨도 됩니다.
+   * 호출 전에 상품/색상/옵션 값 엔티티가 flush 되어 있어야 합니다.
+   *
+   * @return 저장된 SKU 수
+   */
+  public int insertAll(List<SkuInsertRow> rows) {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+    // 1. SKU 저장
+    jdbcTemplate.batchUpdate(INSERT_SKU, rows, BATCH_SIZE, (ps, row) -> {
+      ps.setLong(1, row.getProductId());
+      ps.setLong(2, row.getColorVariantId());
+      ps.setInt(3, row.getStock());
+      ps.setString(4, row.getSkuCode());
+      ps.setString(5, row.getDescription());
+      ps.setBigDecimal(6, row.getPrice());
+      ps.setTimestamp(7, now);
+      ps.setTimestamp(8, now);
+    });
+
+    // 2. 생성된 SKU ID 조회 (sku_code는 unique)
+    Object[] productIds = rows.stream().map(SkuInsertRow::getProductId).distinct().toArray();
+    String placeholders = String.join(", ", Collections.nCopies(productIds.length, "?"));
+    Map<String, Long> skuIdsByCode = new HashMap<>();
+    jdbcTemplate.query(SELECT_SKU_IDS.formatted(placeholders),
+                       rs -> {
+                         skuIdsByCode.put(rs.getString("sku_code"), rs.getLong("sku_id"));
+                       },
+                       productIds);
+
+    // 3. SKU - ProductOptionValue 연결 저장
+    List<long[]> links = new ArrayList<>();
+    for (SkuInsertRow row : rows) {
+      Long skuId = skuIdsByCode.get(row.getSkuCode());
+      for (Long productOptionValueId : row.getProductOptionValueIds()) {
+        links.add(new long[]{skuId, productOptionValueId});
+      }
+    }
+    jdbcTemplate.batchUpdate(INSERT_SKU_OPTION_VALUE, links, BATCH_SIZE, (ps, link) -> {
+      ps.setLong(1, link[0]);
+      ps.setLong(2, link[1]);
+      ps.setTimestamp(3, now);
+      ps.setTimestamp(4, now);
+    });
+
+    return rows.size();
+  }
+}
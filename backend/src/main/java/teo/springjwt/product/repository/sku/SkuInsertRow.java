@@ -0,0 +1,21 @@
+package teo.springjwt.product.repository.sku;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * JDBC 배치로 저장할 SKU 한 행과, 그 SKU에 연결될 ProductOptionValue ID 목록.
+ */
+@Getter
+@AllArgsConstructor
+public class SkuInsertRow {
+  private final Long productId;
+  private final Long colorVariantId;
+  private final BigDecimal price;
+  private final int stock;
+  private final String skuCode;
+  private final String description;
+  private final List<Long> productOptionValueIds;
+}
@@ -1,8 +1,11 @@
 package teo.springjwt.product.repository.sku;
 
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import teo.springjwt.product.entity.SkuEntity;
 
@@ -11,4 +14,30 @@ public interface SkuRepository extends JpaRepository<SkuEntity, Long> {
 
   @Query("SELECT s FROM SkuEntity s WHERE s.product.id = :id")
   List<SkuEntity> findBySkuWithProductId(Long id);
-}
\ No newline at end of file
+
+  // SKU와 옵션 값(상품 옵션 값 -> 옵션 그룹 / 마스터 옵션 값)까지 한 번에 조회
+  // 색상 변형은 같은 영속성 컨텍스트에서 미리 읽어 두면 추가 쿼리 없이 연결된다.
+  @Query("SELECT DISTINCT s FROM SkuEntity s "
+      + "LEFT JOIN FETCH s.skuOptionValues sov "
+      + "LEFT JOIN FETCH sov.productOptionValue pov "
+      + "LEFT JOIN FETCH pov.productOptionGroup pog "
+      + "LEFT JOIN FETCH pog.optionGroup "
+      + "LEFT JOIN FETCH pov.optionValue "
+      + "WHERE s.product.id = :productId ORDER BY s.id")
+  List<SkuEntity> findAllWithOptionValuesByProductId(Long productId);
+
+  // 재고가 충분할 때만 차감 (조건부 UPDATE 한 번). 1이면 차감, 0이면 재고 부족 또는 없는 SKU.
+  // 읽고-고치고-쓰기가 아니라 DB가 행 잠금 안에서 조건을 다시 확인하므로 동시에 주문해도 음수가 되지 않는다.
+  @Modifying
+  @Query("UPDATE SkuEntity s SET s.stock = s.stock - :quantity WHERE s.id = :skuId AND s.stock >= :quantity")
+  int decrementStockIfAvailable(@Param("skuId") Long skuId, @Param("quantity") int quantity);
+
+  @Modifying
+  @Query("UPDATE SkuEntity s SET s.stock = s.stock + :quantity WHERE s.id = :skuId")
+  int incrementStock(@Param("skuId") Long skuId, @Param("quantity") int quantity);
+
+  // 영속성 컨텍스트를 거치지 않고 현재 재고를 읽는다 (위 UPDATE 직후 값 확인용)
+  @Query("SELECT new teo.springjwt.product.repository.sku.SkuStock(s.id, s.product.id, s.stock) "
+      + "FROM SkuEntity s WHERE s.id = :skuId")
+  Optional<SkuStock> findStock(@Param("skuId") Long skuId);
+}
@@ -0,0 +1,6 @@
+package teo.springjwt.product.repository.sku;
+
+// SKU의 현재 재고와 상품 ID만 읽는 프로젝션
+public record SkuStock(Long skuId, Long productId, int stock) {
+
+}
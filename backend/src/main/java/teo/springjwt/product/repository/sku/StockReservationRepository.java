@@ -0,0 +1,38 @@
+package teo.springjwt.product.repository.sku;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import teo.springjwt.product.entity.StockReservationEntity;
+
+public interface StockReservationRepository extends JpaRepository<StockReservationEntity, Long> {
+
+  // 해제할 예약은 행을 잠근 뒤 지운다. 같은 예약을 확정(confirm)하는 요청과 동시에 처리해도 재고는 한 번만 돌아간다.
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM StockReservationEntity r WHERE r.cart.id = :cartId ORDER BY r.id")
+  List<StockReservationEntity> findByCartIdForUpdate(@Param("cartId") Long cartId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM StockReservationEntity r WHERE r.expiresAt <= :now ORDER BY r.expiresAt, r.id")
+  List<StockReservationEntity> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+  @Modifying
+  @Query("DELETE FROM StockReservationEntity r WHERE r.id IN :ids")
+  int deleteByIds(@Param("ids") Collection<Long> ids);
+
+  // 만료되지 않은 예약만 지운다 (확정). 0이면 이미 만료되어 해제됐거나 없는 예약.
+  @Modifying
+  @Query("DELETE FROM StockReservationEntity r WHERE r.id = :id AND r.expiresAt > :now")
+  int deleteActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+  @Query("SELECT new teo.springjwt.product.repository.sku.ReservationLine(r.id, r.sku.id, r.quantity) "
+      + "FROM StockReservationEntity r WHERE r.cart.id = :cartId ORDER BY r.id")
+  List<ReservationLine> findLinesByCartId(@Param("cartId") Long cartId);
+}
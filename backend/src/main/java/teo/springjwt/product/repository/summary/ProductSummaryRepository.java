@@ -0,0 +1,22 @@
+package teo.springjwt.product.repository.summary;
+
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import teo.springjwt.product.entity.ProductSummaryEntity;
+
+public interface ProductSummaryRepository extends JpaRepository<ProductSummaryEntity, Long>,
+    ProductSummaryRepositoryCustom {
+
+  @Query("SELECT s.productId FROM ProductSummaryEntity s WHERE s.productId IN :productIds")
+  List<Long> findExistingIds(@Param("productIds") Collection<Long> productIds);
+
+  // 같은 상품의 요약을 두 트랜잭션이 동시에 다시 계산하지 않도록 잠근다. 항상 id 순으로 잠가 교착을 피한다.
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM ProductSummaryEntity s WHERE s.productId IN :productIds ORDER BY s.productId")
+  List<ProductSummaryEntity> findAllByIdForUpdate(@Param("productIds") Collection<Long> productIds);
+}
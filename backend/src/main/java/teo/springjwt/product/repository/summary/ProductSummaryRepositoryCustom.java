@@ -0,0 +1,32 @@
+package teo.springjwt.product.repository.summary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import teo.springjwt.product.dto.CatalogVersion;
+
+public interface ProductSummaryRepositoryCustom {
+
+  /**
+   * 주어진 상품들의 요약 값(가격 범위, SKU 수, 재고 합, 썸네일)을 SKU/이미지 테이블에서 계산합니다.
+   * 존재하지 않는(삭제된) 상품은 결과에 포함되지 않습니다.
+   */
+  Map<Long, ProductSummaryValues> calculate(Collection<Long> productIds);
+
+  /**
+   * 요약 행이 아직 없는 상품 ID를 id 오름차순으로 최대 limit 개 조회합니다. (기존 데이터 백필용)
+   */
+  List<Long> findProductIdsWithoutSummary(Long afterId, int limit);
+
+  /**
+   * 상품 하나의 요약 버전(revision + SKU 재고, 수정 시각). 요약 행이 없으면 empty.
+   */
+  Optional<CatalogVersion> findProductVersion(Long productId);
+
+  /**
+   * keyset 목록 한 페이지(lastId보다 작은 id 내림차순 size개)의 버전.
+   * 페이지에 들어갈 상품 ID와 revision 목록으로 ETag를 만듭니다.
+   */
+  CatalogVersion findStorefrontPageVersion(Long lastId, int size);
+}
@@ -0,0 +1,151 @@
+package teo.springjwt.product.repository.summary;
+
+import static teo.springjwt.product.entity.QImageUrlEntity.imageUrlEntity;
+import static teo.springjwt.product.entity.QProductColorVariantEntity.productColorVariantEntity;
+import static teo.springjwt.product.entity.QProductEntity.productEntity;
+import static teo.springjwt.product.entity.QProductSummaryEntity.productSummaryEntity;
+import static teo.springjwt.product.entity.QSkuEntity.skuEntity;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.util.DigestUtils;
+import teo.springjwt.product.dto.CatalogVersion;
+
+public class ProductSummaryRepositoryCustomImpl implements ProductSummaryRepositoryCustom {
+  private final JPAQueryFactory queryFactory;
+
+  public ProductSummaryRepositoryCustomImpl(EntityManager entityManager) {
+    this.queryFactory = new JPAQueryFactory(entityManager);
+  }
+
+  @Override
+  public Map<Long, ProductSummaryValues> calculate(Collection<Long> productIds) {
+    Map<Long, ProductSummaryValues> result = new LinkedHashMap<>();
+    if (productIds.isEmpty()) {
+      return result;
+    }
+
+    // 1. 실제로 존재하는 상품
+    List<Long> existingIds = queryFactory
+        .select(productEntity.id)
+        .from(productEntity)
+        .where(productEntity.id.in(productIds))
+        .fetch();
+    if (existingIds.isEmpty()) {
+      return result;
+    }
+
+    // 2. 상품별 SKU 집계
+    Map<Long, Tuple> skuAggregates = new HashMap<>();
+    queryFactory
+        .select(skuEntity.product.id, skuEntity.price.min(), skuEntity.price.max(), skuEntity.count(),
+                skuEntity.stock.sum())
+        .from(skuEntity)
+        .where(skuEntity.product.id.in(existingIds))
+        .groupBy(skuEntity.product.id)
+        .fetch()
+        .forEach(tuple -> skuAggregates.put(tuple.get(skuEntity.product.id), tuple));
+
+    // 3. 상품별 썸네일 (여러 색상에 썸네일이 있으면 첫 번째 색상 기준)
+    Map<Long, String> thumbnails = new HashMap<>();
+    queryFactory
+        .select(productColorVariantEntity.product.id, imageUrlEntity.imageUrl)
+        .from(imageUrlEntity)
+        .join(imageUrlEntity.colorVariant, productColorVariantEntity)
+        .where(productColorVariantEntity.product.id.in(existingIds)
+                                                   .and(imageUrlEntity.isThumbnail.eq(true)))
+        .orderBy(productColorVariantEntity.id.asc())
+        .fetch()
+        .forEach(tuple -> thumbnails.putIfAbsent(tuple.get(productColorVariantEntity.product.id),
+                                                 tuple.get(imageUrlEntity.imageUrl)));
+
+    for (Long productId : existingIds) {
+      Tuple aggregate = skuAggregates.get(productId);
+      BigDecimal minPrice = aggregate != null ? aggregate.get(skuEntity.price.min()) : null;
+      BigDecimal maxPrice = aggregate != null ? aggregate.get(skuEntity.price.max()) : null;
+      Long skuCount = aggregate != null ? aggregate.get(skuEntity.count()) : null;
+      Integer totalStock = aggregate != null ? aggregate.get(skuEntity.stock.sum()) : null;
+      result.put(productId, new ProductSummaryValues(
+          productId,
+          minPrice,
+          maxPrice,
+          skuCount != null ? skuCount : 0L,
+          totalStock != null ? totalStock : 0L,
+          thumbnails.get(productId)));
+    }
+    return result;
+  }
+
+  @Override
+  public List<Long> findProductIdsWithoutSummary(Long afterId, int limit) {
+    return queryFactory
+        .select(productEntity.id)
+        .from(productEntity)
+        .leftJoin(productSummaryEntity).on(productSummaryEntity.productId.eq(productEntity.id))
+        .where(productSummaryEntity.productId.isNull()
+                                             .and(afterId != null ? productEntity.id.gt(afterId) : null))
+        .orderBy(productEntity.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
+  @Override
+  public Optional<CatalogVersion> findProductVersion(Long productId) {
+    Tuple version = queryFactory
+        .select(productSummaryEntity.revision, productSummaryEntity.lastModifiedDate)
+        .from(productSummaryEntity)
+        .where(productSummaryEntity.productId.eq(productId))
+        .fetchOne();
+    if (version == null) {
+      return Optional.empty();
+    }
+    // 예약/해제로 바뀌는 SKU 재고는 요약 revision을 올리지 않으므로 SKU별 재고를 따로 섞는다 (상품 하나의 SKU 수십 건)
+    StringBuilder stockKey = new StringBuilder();
+    queryFactory
+        .select(skuEntity.id, skuEntity.stock)
+        .from(skuEntity)
+        .where(skuEntity.product.id.eq(productId))
+        .orderBy(skuEntity.id.asc())
+        .fetch()
+        .forEach(sku -> stockKey.append(sku.get(skuEntity.id)).append('=').append(sku.get(skuEntity.stock)).append(','));
+    String stockVersion = DigestUtils.md5DigestAsHex(stockKey.toString().getBytes(StandardCharsets.UTF_8))
+                                     .substring(0, 12);
+    String etag = "\"p" + productId + "-" + version.get(productSummaryEntity.revision) + "-" + stockVersion + "\"";
+    return Optional.of(new CatalogVersion(etag, version.get(productSummaryEntity.lastModifiedDate)));
+  }
+
+  @Override
+  public CatalogVersion findStorefrontPageVersion(Long lastId, int size) {
+    // 목록 쿼리와 같은 범위를 요약 테이블 PK만으로 훑는다.
+    List<Tuple> rows = queryFactory
+        .select(productSummaryEntity.productId, productSummaryEntity.revision, productSummaryEntity.lastModifiedDate)
+        .from(productSummaryEntity)
+        .where(lastId != null ? productSummaryEntity.productId.lt(lastId) : null)
+        .orderBy(productSummaryEntity.productId.desc())
+        .limit(size)
+        .fetch();
+
+    StringBuilder versionKey = new StringBuilder().append(lastId).append(':').append(size);
+    LocalDateTime lastModified = null;
+    for (Tuple row : rows) {
+      versionKey.append(',').append(row.get(productSummaryEntity.productId))
+                .append('@').append(row.get(productSummaryEntity.revision));
+      LocalDateTime modified = row.get(productSummaryEntity.lastModifiedDate);
+      if (modified != null && (lastModified == null || modified.isAfter(lastModified))) {
+        lastModified = modified;
+      }
+    }
+    String etag = "\"l" + DigestUtils.md5DigestAsHex(versionKey.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    return new CatalogVersion(etag, lastModified);
+  }
+}
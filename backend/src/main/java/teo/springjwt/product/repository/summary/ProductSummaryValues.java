@@ -0,0 +1,16 @@
+package teo.springjwt.product.repository.summary;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductSummaryValues {
+  private final Long productId;
+  private final BigDecimal minPrice;
+  private final BigDecimal maxPrice;
+  private final long skuCount;
+  private final long totalStock;
+  private final String thumbnailUrl;
+}
@@ -0,0 +1,61 @@
+package teo.springjwt.product.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import teo.springjwt.category.service.CategoryTreeCache;
+import teo.springjwt.category.service.CategoryTreeSnapshot;
+import teo.springjwt.product.dto.ResponseCategoryProducts;
+import teo.springjwt.product.dto.ResponseCategoryProducts.CategoryCount;
+import teo.springjwt.product.dto.ResponseProductEntity;
+import teo.springjwt.product.repository.product.ProductEntityRepository;
+
+/**
+ * 카테고리 하위 트리 단위의 상품 목록.
+ * - 경로 / 하위 카테고리: 메모리의 카테고리 트리 스냅샷 (DB 조회 없음)
+ * - 카테고리별 상품 수: 패싯 색인의 카테고리 비트맵 (상품 변경 이벤트마다 증분 갱신)
+ * - 상품 한 페이지: category_closure를 쓰는 keyset 쿼리 한 번
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryProductBrowseService {
+
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private final CategoryTreeCache categoryTreeCache;
+  private final ProductFacetIndex productFacetIndex;
+  private final ProductEntityRepository productRepository;
+  private final ImageDerivativeUrls imageDerivativeUrls;
+
+  public ResponseCategoryProducts browse(Long categoryId, Long lastId, int size) {
+    CategoryTreeSnapshot tree = categoryTreeCache.current();
+    if (!tree.contains(categoryId)) {
+      throw new EntityNotFoundException("Category not found with ID: " + categoryId);
+    }
+
+    List<CategoryCount> path = tree.getAncestorPath(categoryId).stream()
+                                   .map(id -> countOf(tree, id))
+                                   .toList();
+    List<CategoryCount> children = tree.getChildIds(categoryId).stream()
+                                       .map(id -> countOf(tree, id))
+                                       .toList();
+    long total = path.get(path.size() - 1).getProductCount();
+
+    int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    List<ResponseProductEntity> content = imageDerivativeUrls.withThumbnailSrcset(
+        productRepository.findStorefrontProductsInCategory(categoryId, lastId, pageSize));
+    Long nextLastId = content.size() < pageSize ? null : content.get(content.size() - 1).getId();
+
+    return new ResponseCategoryProducts(categoryId, path, children, total, content, nextLastId);
+  }
+
+  // 카테고리 하위 트리 전체의 상품 수
+  private CategoryCount countOf(CategoryTreeSnapshot tree, Long categoryId) {
+    Set<Long> subtree = tree.getDescendantIds(categoryId);
+    return new CategoryCount(categoryId, tree.getName(categoryId), productFacetIndex.countInCategories(subtree));
+  }
+}
@@ -3,6 +3,7 @@ package teo.springjwt.product.service;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import teo.springjwt.product.dto.CreateGroupDTO;
 import teo.springjwt.product.dto.ResponseGroupDTO;
@@ -11,7 +12,7 @@ import teo.springjwt.product.entity.OptionGroupEntity;
 import teo.springjwt.product.repository.group.OptionGroupEntityRepository;
 
 @Service
-@Transactional
+@Transactional(isolation = Isolation.READ_COMMITTED)
 @RequiredArgsConstructor
 public class GroupService {
 
@@ -0,0 +1,374 @@
+package teo.springjwt.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import teo.springjwt.common.utils.DiskLruCache;
+import teo.springjwt.common.utils.FileStorageService;
+import teo.springjwt.product.enumerated.ImageDerivative;
+import teo.springjwt.product.repository.image.ImageUrlRepository;
+
+/**
+ * 원본 이미지에서 크기별 파생본(thumb / card / zoom)을 처음 요청될 때 만들어 디스크 LRU 캐시에 둔다.
+ * - 같은 파생본을 동시에 요청하면 한 요청만 만들고 나머지는 그 결과를 기다린다 (single-flight).
+ * - 생성은 동시에 max-concurrent 개까지만 돈다 (디코딩한 이미지가 힙을 크게 쓰므로).
+ * - 큰 원본은 디코딩 단계에서 서브샘플링해서 필요한 크기의 2~4배 정도만 메모리에 올린다.
+ * - 브라우저가 WebP를 받고 ImageIO에 WebP writer가 있으면 WebP, 아니면 JPEG.
+ * - 캐시 키는 원본의 스토리지 객체 키 해시 + 파생본 + 형식. 원본 URL은 바뀌지 않으므로 캐시는 무효화할 필요가 없다.
+ * - src는 이미지 행(image_url)에 그대로 저장된 URL만 받는다. 쿼리 문자열이나 경로만 바꾼 변형으로 캐시를 부풀릴 수 없다.
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+  private static final String JPEG = "jpeg";
+  private static final String WEBP = "webp";
+  private static final int SOURCE_KEY_CACHE_SIZE = 10_000;
+  private static final Duration SOURCE_KEY_TTL = Duration.ofMinutes(10);
+
+  private final FileStorageService fileStorageService;
+  private final DiskLruCache cache;
+  private final Semaphore generationPermits;
+  private final Duration waitTimeout;
+  private final long maxSourcePixels;
+  private final boolean webpSupported;
+  private final ConcurrentHashMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+  private final ImageUrlRepository imageUrlRepository;
+  // src -> 객체 키 (이미지 행이 없거나 이 저장소 URL이 아니면 빈 문자열). 같은 src마다 DB를 다시 보지 않는다.
+  private final Cache<String, String> sourceKeys;
+
+  // 파생본 x 형식별 생성 시간 타이머 (조합이 몇 개 안 되므로 기동 시 모두 등록)
+  private final Map<String, Timer> generateTimers;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter joined;
+
+  public ImageDerivativeService(FileStorageService fileStorageService, ImageUrlRepository imageUrlRepository,
+      MeterRegistry meterRegistry,
+      @Value("${image.derivatives.cache-dir:${java.io.tmpdir}/hc-derivatives}") Path cacheDir,
+      @Value("${image.derivatives.max-disk-size:1GB}") DataSize maxDiskSize,
+      @Value("${image.derivatives.max-concurrent:0}") int maxConcurrent,
+      @Value("${image.derivatives.wait-timeout:PT10S}") Duration waitTimeout,
+      @Value("${image.derivatives.max-source-pixels:50000000}") long maxSourcePixels) throws IOException {
+    this.fileStorageService = fileStorageService;
+    this.imageUrlRepository = imageUrlRepository;
+    this.sourceKeys = Caffeine.newBuilder()
+                              .maximumSize(SOURCE_KEY_CACHE_SIZE)
+                              .expireAfterWrite(SOURCE_KEY_TTL)
+                              .build();
+    this.cache = new DiskLruCache(cacheDir, maxDiskSize.toBytes());
+    this.generationPermits = new Semaphore(
+        maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors());
+    this.waitTimeout = waitTimeout;
+    this.maxSourcePixels = maxSourcePixels;
+    this.webpSupported = ImageIO.getImageWritersByFormatName(WEBP).hasNext();
+
+    this.generateTimers = generateTimers(meterRegistry);
+    this.hits = requestCounter(meterRegistry, "hit");
+    this.misses = requestCounter(meterRegistry, "miss");
+    this.joined = requestCounter(meterRegistry, "joined");
+    meterRegistry.gauge("image.derivative.cache.bytes", cache, DiskLruCache::totalBytes);
+    meterRegistry.gauge("image.derivative.cache.files", cache, DiskLruCache::size);
+    log.info("Image derivatives: webp={}, cache={} (max {})", webpSupported, cache.directory(), maxDiskSize);
+  }
+
+  private static Map<String, Timer> generateTimers(MeterRegistry meterRegistry) {
+    Map<String, Timer> timers = new HashMap<>();
+    for (ImageDerivative derivative : ImageDerivative.values()) {
+      for (String format : List.of(JPEG, WEBP)) {
+        timers.put(derivative.key() + '/' + format, Timer.builder("image.derivative.generate")
+                                                         .tag("derivative", derivative.key())
+                                                         .tag("format", format)
+                                                         .register(meterRegistry));
+      }
+    }
+    return Map.copyOf(timers);
+  }
+
+  private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("image.derivative.requests")
+                  .description("Derivative requests by cache result (joined = waited for another request's generation)")
+                  .tag("result", result)
+                  .register(meterRegistry);
+  }
+
+  /**
+   * 응답에 쓸 형식 (ETag/캐시 키 계산용). acceptWebp는 요청 Accept 헤더에 image/webp가 있는지.
+   */
+  public MediaType mediaType(boolean acceptWebp) {
+    return WEBP.equals(format(acceptWebp)) ? MediaType.parseMediaType("image/webp") : MediaType.IMAGE_JPEG;
+  }
+
+  /**
+   * @throws IllegalArgumentException 이미지 행이 참조하지 않는 URL인 경우
+   */
+  public String cacheKey(String sourceUrl, ImageDerivative derivative, boolean acceptWebp) {
+    String format = format(acceptWebp);
+    return sha256(sourceKey(sourceUrl)) + "-" + derivative.key() + "." + (JPEG.equals(format) ? "jpg" : format);
+  }
+
+  // 이미지 행에 저장된 URL이면 스토리지 객체 키. 로컬 저장소의 {해시}.jpg / {해시}.png 처럼 같은 파일이면 키도 같다.
+  private String sourceKey(String sourceUrl) {
+    String key = sourceKeys.get(sourceUrl, url -> {
+      String objectKey = fileStorageService.objectKey(url);
+      return objectKey != null && imageUrlRepository.existsByImageUrl(url) ? objectKey : "";
+    });
+    if (key.isEmpty()) {
+      throw new IllegalArgumentException("Unknown image source: " + sourceUrl);
+    }
+    return key;
+  }
+
+  /**
+   * 파생본 파일을 열어서 돌려준다 (없으면 만든다). 호출한 쪽이 채널을 닫아야 한다.
+   * @throws IllegalArgumentException 이미지 행이 참조하지 않는 URL이거나 이미지가 아니거나 너무 큰 경우
+   * @throws ImageDerivativeBusyException 생성 대기가 wait-timeout을 넘은 경우
+   * @throws IOException 원본을 읽을 수 없는 경우 (없으면 NoSuchFileException / FileNotFoundException)
+   */
+  public DerivativeFile open(String sourceUrl, ImageDerivative derivative, boolean acceptWebp) throws IOException {
+    String key = cacheKey(sourceUrl, derivative, acceptWebp);
+    // 캐시에서 꺼낸 직후 다른 요청이 LRU로 지울 수 있으므로, 열기에 실패하면 한 번 더 만든다
+    for (int attempt = 0; ; attempt++) {
+      Path path = resolve(key, sourceUrl, derivative, format(acceptWebp));
+      try {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new DerivativeFile(key, channel, channel.size(), mediaType(acceptWebp));
+      } catch (NoSuchFileException e) {
+        if (attempt > 0) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * 원본 파일이 스토리지에서 지워졌을 때 그 원본으로 만든 파생본을 모두 지운다.
+   */
+  public void evict(String sourceUrl) {
+    sourceKeys.invalidate(sourceUrl);
+    String objectKey = fileStorageService.objectKey(sourceUrl);
+    if (objectKey == null) {
+      return;
+    }
+    String prefix = sha256(objectKey) + "-";
+    cache.removeIf(key -> key.startsWith(prefix));
+  }
+
+  private Path resolve(String key, String sourceUrl, ImageDerivative derivative, String format) throws IOException {
+    Optional<Path> cached = cache.get(key);
+    if (cached.isPresent()) {
+      hits.increment();
+      return cached.get();
+    }
+    CompletableFuture<Path> mine = new CompletableFuture<>();
+    CompletableFuture<Path> existing = inFlight.putIfAbsent(key, mine);
+    if (existing != null) {
+      joined.increment();
+      return await(existing);
+    }
+    try {
+      // 앞선 생성이 putIfAbsent 직전에 끝났을 수 있다
+      Path path = cache.get(key).orElse(null);
+      if (path == null) {
+        misses.increment();
+        path = generate(key, sourceUrl, derivative, format);
+      }
+      mine.complete(path);
+      return path;
+    } catch (IOException | RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  private Path await(CompletableFuture<Path> future) throws IOException {
+    try {
+      return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      throw new ImageDerivativeBusyException("Timed out waiting for image derivative");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for image derivative");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  private Path generate(String key, String sourceUrl, ImageDerivative derivative, String format) throws IOException {
+    try {
+      if (!generationPermits.tryAcquire(waitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new ImageDerivativeBusyException("Too many image derivatives being generated");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a generation slot");
+    }
+    long start = System.nanoTime();
+    Path temp = null;
+    try {
+      temp = cache.createTempFile();
+      BufferedImage source = decode(sourceUrl, derivative.width());
+      BufferedImage resized = resize(source, derivative.width());
+      encode(resized, format, derivative.quality(), temp);
+      return cache.put(key, temp);
+    } finally {
+      generationPermits.release();
+      if (temp != null) {
+        Files.deleteIfExists(temp);
+      }
+      generateTimers.get(derivative.key() + '/' + format).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // 목표 폭의 2배 이상이면 서브샘플링으로 읽어서 디코딩 메모리를 줄인다
+  private BufferedImage decode(String sourceUrl, int targetWidth) throws IOException {
+    try (InputStream in = fileStorageService.openFile(sourceUrl);
+        ImageInputStream input = ImageIO.createImageInputStream(in)) {
+      Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+      if (readers == null || !readers.hasNext()) {
+        throw new IllegalArgumentException("Unsupported image: " + sourceUrl);
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > maxSourcePixels) {
+          throw new IllegalArgumentException("Image too large: " + width + "x" + height);
+        }
+        ImageReadParam param = reader.getDefaultReadParam();
+        int subsampling = Math.max(1, width / (targetWidth * 2));
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  // 절반씩 줄이다가 마지막에 목표 크기로 (한 번에 크게 줄이면 계단 현상이 생김). 투명 영역은 흰색으로 채운다.
+  private static BufferedImage resize(BufferedImage source, int maxWidth) {
+    int targetWidth = Math.min(maxWidth, source.getWidth());
+    int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+    BufferedImage current = source;
+    int width = source.getWidth();
+    int height = source.getHeight();
+    do {
+      width = Math.max(targetWidth, width / 2);
+      height = Math.max(targetHeight, height / 2);
+      BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Graphics2D g = next.createGraphics();
+      try {
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(current, 0, 0, width, height, null);
+      } finally {
+        g.dispose();
+      }
+      current = next;
+    } while (width != targetWidth || height != targetHeight);
+    return current;
+  }
+
+  private static void encode(BufferedImage image, String format, float quality, Path target) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+    try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+      writer.setOutput(output);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      if (param.canWriteCompressed()) {
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        if (param.getCompressionType() == null && param.getCompressionTypes() != null) {
+          param.setCompressionType(param.getCompressionTypes()[0]);
+        }
+        param.setCompressionQuality(quality);
+      }
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+  }
+
+  private String format(boolean acceptWebp) {
+    return acceptWebp && webpSupported ? WEBP : JPEG;
+  }
+
+  private static String sha256(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  // 열린 파생본 파일. 응답을 다 보낸 뒤 channel을 닫아야 한다.
+  public record DerivativeFile(String key, FileChannel channel, long size, MediaType mediaType) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+
+  public static class ImageDerivativeBusyException extends RuntimeException {
+
+    public ImageDerivativeBusyException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package teo.springjwt.product.service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import teo.springjwt.product.dto.ResponseImageDto;
+import teo.springjwt.product.dto.ResponseProductEntity;
+import teo.springjwt.product.entity.ImageUrlEntity;
+import teo.springjwt.product.enumerated.ImageDerivative;
+
+/**
+ * 원본 이미지 URL로 파생 이미지 URL / srcset 을 만들어 응답 DTO에 채웁니다.
+ * 주소 앞부분은 image.derivatives.public-base-url 입니다.
+ */
+@Component
+public class ImageDerivativeUrls {
+
+  private final String baseUrl;
+
+  public ImageDerivativeUrls(
+      @Value("${image.derivatives.public-base-url:http://localhost:8080/api/images}") String publicBaseUrl) {
+    this.baseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+  }
+
+  public String url(String sourceUrl, ImageDerivative derivative) {
+    if (sourceUrl == null || sourceUrl.isBlank()) {
+      return null;
+    }
+    return baseUrl + "/" + derivative.key() + "?src=" + URLEncoder.encode(sourceUrl, StandardCharsets.UTF_8);
+  }
+
+  // <img srcset> 값. 예: ".../thumb?src=... 200w, .../card?src=... 480w, .../zoom?src=... 1600w"
+  public String srcset(String sourceUrl) {
+    if (sourceUrl == null || sourceUrl.isBlank()) {
+      return null;
+    }
+    return Arrays.stream(ImageDerivative.values())
+                 .map(derivative -> url(sourceUrl, derivative) + " " + derivative.width() + "w")
+                 .collect(Collectors.joining(", "));
+  }
+
+  public ResponseImageDto toImageDto(ImageUrlEntity entity) {
+    return entity == null ? null : ResponseImageDto.fromEntity(entity, srcset(entity.getImageUrl()));
+  }
+
+  // 목록 썸네일 srcset을 채우고 같은 리스트를 돌려준다
+  public List<ResponseProductEntity> withThumbnailSrcset(List<ResponseProductEntity> products) {
+    products.forEach(product -> product.setThumbnailSrcset(srcset(product.getThumbnailUrl())));
+    return products;
+  }
+}
@@ -1,14 +1,13 @@
 package teo.springjwt.product.service;
 
 import jakarta.persistence.EntityNotFoundException;
-import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
-import teo.springjwt.common.utils.CloudinaryStorageService;
+import teo.springjwt.common.utils.FileStorageService;
 import teo.springjwt.product.dto.ResponseImageDto;
 import teo.springjwt.product.entity.ImageUrlEntity;
 import teo.springjwt.product.entity.ProductColorVariantEntity;
@@ -16,58 +15,53 @@ import teo.springjwt.product.repository.image.ImageUrlRepository;
 import teo.springjwt.product.repository.product.ProductColorVariantEntityRepository;
 
 @Service
-@Transactional
+@Transactional(isolation = Isolation.READ_COMMITTED)
 @RequiredArgsConstructor
 public class ImageService {
 
   private final ImageUrlRepository imageUrlRepository;
   private final ProductColorVariantEntityRepository colorVariantEntityRepository; // ⭐ ProductColorVariantRepository 주입
-  private final CloudinaryStorageService fileStorageService;
+  private final ProductChangeTracker productChangeTracker;
+  private final StorageDeleteOutbox storageDeleteOutbox;
+  private final ImageDerivativeUrls imageDerivativeUrls;
+  private final FileStorageService fileStorageService;
 
 
   /**
-   * 이미지를 특정 색상 변형(ProductColorVariant)에 추가합니다.
+   * 스토리지에 이미 올라간 이미지들을 특정 색상 변형(ProductColorVariant)에 한 번에 등록합니다.
+   * 원격 업로드는 ImageUploadService가 트랜잭션 밖에서 끝내고, 여기서는 DB 작업만 짧게 합니다.
    *
    * @param colorVariantId 이미지를 추가할 ProductColorVariant의 ID
-   * @param imageFile      업로드할 이미지 파일
-   * @param isThumbnail    이 이미지를 썸네일로 설정할지 여부
-   * @param displayOrder   이미지 표시 순서
-   * @return 추가된 이미지의 DTO
-   * @throws IOException            파일 업로드 중 발생할 수 있는 예외
+   * @param images         업로드된 이미지 목록 (썸네일은 최대 하나)
+   * @return 추가된 이미지들의 DTO (images 순서)
    * @throws EntityNotFoundException ProductColorVariant를 찾을 수 없는 경우
    */
-  public ResponseImageDto addImageToColorVariant(Long colorVariantId, MultipartFile imageFile, boolean isThumbnail, int displayOrder)
-      throws IOException {
-
-    // 1. 원본 파일명 가져오기
-    String originalFileName = imageFile.getOriginalFilename();
-
-    // 2. 이미지 파일을 클라우드 스토리지에 업로드하고 URL 반환
-    String imageUrl = fileStorageService.saveFile(imageFile, originalFileName);
-
-    // 3. ProductColorVariantEntity 조회
+  public List<ResponseImageDto> attachImages(Long colorVariantId, List<StoredImage> images) {
+    // 1. ProductColorVariantEntity 조회
     ProductColorVariantEntity colorVariant = colorVariantEntityRepository.findById(colorVariantId)
                                                                           .orElseThrow(() -> new EntityNotFoundException("ProductColorVariant not found with ID: " + colorVariantId));
 
-    // 4. 썸네일로 설정하는 경우, 해당 ColorVariant의 기존 썸네일 해제
-    if (isThumbnail) {
+    // 2. 썸네일이 포함된 경우, 해당 ColorVariant의 기존 썸네일 해제
+    if (images.stream().anyMatch(StoredImage::thumbnail)) {
       colorVariant.getImages().forEach(image -> image.setAsThumbnail(false)); // ColorVariant의 이미지 목록에서 썸네일 해제
     }
 
-    // 5. ImageUrlEntity 생성 및 ProductColorVariant에 연결
-    // ImageUrlEntity의 생성자가 (imageUrl, originalFileName, displayOrder, isThumbnail, ProductColorVariantEntity colorVariant)를 받도록 수정 필요
-    ImageUrlEntity imageEntity = new ImageUrlEntity(imageUrl, originalFileName, displayOrder, isThumbnail, colorVariant);
-
-    // 6. ProductColorVariant에 ImageUrlEntity 추가 (양방향 관계 편의 메서드 호출)
-    colorVariant.addImage(imageEntity); // ProductColorVariantEntity에 addImage 메서드가 있다고 가정
-
-    // 7. ImageUrlEntity 저장
-    ImageUrlEntity savedImage = imageUrlRepository.save(imageEntity);
+    // 3. ImageUrlEntity 생성 및 ProductColorVariant에 연결 (양방향 관계 편의 메서드 호출)
+    List<ImageUrlEntity> entities = images.stream()
+                                          .map(image -> new ImageUrlEntity(image.imageUrl(),
+                                                                           fileStorageService.objectKey(image.imageUrl()),
+                                                                           image.originalFileName(), image.displayOrder(),
+                                                                           image.thumbnail(), colorVariant))
+                                          .toList();
+    entities.forEach(colorVariant::addImage);
+
+    // 4. ImageUrlEntity 저장 (IDENTITY 키라 INSERT는 건별이지만 한 트랜잭션/커넥션 안에서 끝난다)
+    return imageUrlRepository.saveAll(entities).stream().map(imageDerivativeUrls::toImageDto).toList();
+  }
 
-    // (Optional) ProductColorVariant Entity 저장 (cascade 설정에 따라 불필요할 수 있으나, 명시적으로 저장하여 변경 감지)
-    // productColorVariantRepository.save(colorVariant);
+  // 스토리지 업로드가 끝난 이미지 한 장
+  public record StoredImage(String imageUrl, String originalFileName, int displayOrder, boolean thumbnail) {
 
-    return ResponseImageDto.fromEntity(savedImage);
   }
 
   /**
@@ -90,11 +84,13 @@ public class ImageService {
     // 2. ColorVariant의 이미지 목록에서 해당 이미지를 제거합니다. (양방향 관계 편의 메서드 호출)
     colorVariant.removeImage(image); // ProductColorVariantEntity에 removeImage 메서드가 있다고 가정
 
-    // 3. 클라우드 스토리지에서 실제 이미지 파일 삭제 (선택 사항, 필요시 구현)
-    // fileStorageService.deleteFile(image.getImageUrl()); // 이 메서드는 직접 구현해야 합니다.
+    // 3. 클라우드 스토리지 파일 삭제 예약 (같은 트랜잭션의 outbox 행, 커밋 후 StorageDeleteWorker가 지움)
+    storageDeleteOutbox.enqueue(image.getImageUrl(), StorageDeleteOutbox.REASON_IMAGE_REMOVED);
 
     // 4. ImageUrlEntity 삭제
     imageUrlRepository.delete(image);
+    // 삭제 시점엔 image.colorVariant가 끊겨 있어서 리스너가 상품을 찾지 못하므로 직접 알린다.
+    productChangeTracker.markChanged(colorVariant.getProduct().getId());
 
     // 5. 삭제된 이미지가 썸네일이었을 경우, 새로운 썸네일 지정 로직
     String currentThumbnailUrl = colorVariant.getImages().stream()
@@ -116,7 +112,7 @@ public class ImageService {
 
 
     // 남은 이미지들의 DTO 리스트 반환
-    return colorVariant.getImages().stream().map(ResponseImageDto::fromEntity).toList();
+    return colorVariant.getImages().stream().map(imageDerivativeUrls::toImageDto).toList();
   }
 
   /**
@@ -0,0 +1,67 @@
+package teo.springjwt.product.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import teo.springjwt.common.utils.FileStorageService;
+import teo.springjwt.product.repository.image.ImageUrlRef;
+import teo.springjwt.product.repository.image.ImageUrlRepository;
+
+/**
+ * storage_key 컬럼이 생기기 전에 저장된 이미지 행의 키를 채웁니다.
+ * 새 행은 ImageService가 저장할 때 키를 넣으므로, 시작할 때 한 번 id 순으로 훑으면 된다.
+ * 우리 스토리지 URL이 아닌 행은 키가 null로 남는다 (StorageDeleteWorker는 그런 URL을 그대로 비교한다).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageStorageKeyBackfill {
+
+  private static final int CHUNK_SIZE = 500;
+
+  private final ImageUrlRepository imageUrlRepository;
+  private final FileStorageService fileStorageService;
+  private final TransactionTemplate transactionTemplate;
+
+  private final AtomicBoolean done = new AtomicBoolean(false);
+
+  // 모든 행을 한 번 훑었는지. 그 전에는 키로 참조를 확인하면 빠지는 행이 있다.
+  public boolean isDone() {
+    return done.get();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillMissingKeys() {
+    Long afterId = 0L;
+    int total = 0;
+    while (true) {
+      List<ImageUrlRef> refs = imageUrlRepository.findRefsWithoutStorageKeyAfter(afterId, PageRequest.of(0, CHUNK_SIZE));
+      if (refs.isEmpty()) {
+        break;
+      }
+      total += transactionTemplate.execute(status -> assignKeys(refs));
+      afterId = refs.get(refs.size() - 1).id();
+    }
+    if (total > 0) {
+      log.info("Backfilled storage keys for {} images", total);
+    }
+    done.set(true);
+  }
+
+  private int assignKeys(List<ImageUrlRef> refs) {
+    int assigned = 0;
+    for (ImageUrlRef ref : refs) {
+      String key = fileStorageService.objectKey(ref.imageUrl());
+      if (key != null) {
+        assigned += imageUrlRepository.assignStorageKey(ref.id(), key);
+      }
+    }
+    return assigned;
+  }
+}
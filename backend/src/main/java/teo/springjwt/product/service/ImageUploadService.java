@@ -0,0 +1,220 @@
+package teo.springjwt.product.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import teo.springjwt.common.utils.FileStorageService;
+import teo.springjwt.product.dto.ResponseImageDto;
+import teo.springjwt.product.dto.ResponseMultiImageUpload;
+import teo.springjwt.product.dto.ResponseMultiImageUpload.FileResult;
+import teo.springjwt.product.repository.product.ProductColorVariantEntityRepository;
+import teo.springjwt.product.service.ImageService.StoredImage;
+
+/**
+ * 이미지 업로드 흐름. 트랜잭션을 열지 않는다.
+ * 1. 색상 변형이 있는지 먼저 확인 (없으면 업로드하지 않음)
+ * 2. 스토리지 업로드는 트랜잭션 밖에서 (여러 장이면 imageUploadExecutor에서 동시에)
+ * 3. 성공한 이미지만 ImageService.attachImages 한 번으로 등록 (짧은 트랜잭션 하나)
+ * 4. 등록이 실패하면 올린 파일을 삭제 outbox에 넣어서 스토리지에 고아 파일이 남지 않게 한다
+ */
+@Slf4j
+@Service
+public class ImageUploadService {
+
+  private final ImageService imageService;
+  private final ProductColorVariantEntityRepository colorVariantEntityRepository;
+  private final StorageDeleteOutbox storageDeleteOutbox;
+  private final FileStorageService fileStorageService;
+  private final ThreadPoolTaskExecutor imageUploadExecutor;
+  private final Timer uploadSucceeded;
+  private final Timer uploadFailed;
+  private final int maxFilesPerRequest;
+
+  public ImageUploadService(ImageService imageService,
+      ProductColorVariantEntityRepository colorVariantEntityRepository,
+      StorageDeleteOutbox storageDeleteOutbox,
+      FileStorageService fileStorageService,
+      @Qualifier("imageUploadExecutor") ThreadPoolTaskExecutor imageUploadExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${storage.upload.max-files-per-request:20}") int maxFilesPerRequest) {
+    this.imageService = imageService;
+    this.colorVariantEntityRepository = colorVariantEntityRepository;
+    this.storageDeleteOutbox = storageDeleteOutbox;
+    this.fileStorageService = fileStorageService;
+    this.imageUploadExecutor = imageUploadExecutor;
+    this.uploadSucceeded = uploadTimer(meterRegistry, "success");
+    this.uploadFailed = uploadTimer(meterRegistry, "error");
+    this.maxFilesPerRequest = maxFilesPerRequest;
+  }
+
+  private static Timer uploadTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder("image.upload.latency")
+                .description("Remote storage upload latency per image")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+  }
+
+  /**
+   * 이미지 한 장을 업로드하고 색상 변형에 추가합니다.
+   *
+   * @throws IOException            파일 업로드 중 발생할 수 있는 예외
+   * @throws EntityNotFoundException ProductColorVariant를 찾을 수 없는 경우
+   */
+  public ResponseImageDto uploadImage(Long colorVariantId, MultipartFile imageFile, boolean isThumbnail,
+      int displayOrder) throws IOException {
+    requireColorVariant(colorVariantId);
+    String originalFileName = imageFile.getOriginalFilename();
+    String imageUrl = timedUpload(() -> fileStorageService.saveFile(imageFile, originalFileName));
+    return attach(colorVariantId, List.of(new StoredImage(imageUrl, originalFileName, displayOrder, isThumbnail)))
+        .get(0);
+  }
+
+  /**
+   * 디스크에 다 받아 둔 파일(이어받기 업로드)을 업로드하고 색상 변형에 추가합니다.
+   *
+   * @throws IOException            파일 업로드 중 발생할 수 있는 예외
+   * @throws EntityNotFoundException ProductColorVariant를 찾을 수 없는 경우
+   */
+  public ResponseImageDto uploadImage(Long colorVariantId, Path imageFile, String originalFileName,
+      boolean isThumbnail, int displayOrder) throws IOException {
+    requireColorVariant(colorVariantId);
+    String imageUrl = timedUpload(() -> fileStorageService.saveFile(imageFile, originalFileName));
+    return attach(colorVariantId, List.of(new StoredImage(imageUrl, originalFileName, displayOrder, isThumbnail)))
+        .get(0);
+  }
+
+  /**
+   * 여러 이미지를 동시에 업로드하고, 성공한 것만 한 트랜잭션으로 등록합니다.
+   * displayOrder는 startDisplayOrder부터 파일 순서대로 매겨집니다.
+   *
+   * @param thumbnailIndex 썸네일로 지정할 파일의 위치 (null이면 썸네일 변경 없음)
+   * @throws IllegalArgumentException 파일이 없거나 max-files-per-request 보다 많은 경우
+   * @throws EntityNotFoundException   ProductColorVariant를 찾을 수 없는 경우
+   */
+  public ResponseMultiImageUpload uploadImages(Long colorVariantId, List<MultipartFile> imageFiles,
+      Integer thumbnailIndex, int startDisplayOrder) {
+    if (imageFiles == null || imageFiles.isEmpty()) {
+      throw new IllegalArgumentException("업로드할 이미지 파일이 없습니다.");
+    }
+    if (imageFiles.size() > maxFilesPerRequest) {
+      throw new IllegalArgumentException("한 번에 업로드할 수 있는 이미지는 " + maxFilesPerRequest + "장까지입니다.");
+    }
+    long start = System.nanoTime();
+    requireColorVariant(colorVariantId);
+
+    // 1. 모두 제출한 뒤 기다린다 (동시 실행 수는 imageUploadExecutor 크기로 제한)
+    List<CompletableFuture<UploadOutcome>> futures = new ArrayList<>(imageFiles.size());
+    for (MultipartFile imageFile : imageFiles) {
+      futures.add(submitUpload(imageFile));
+    }
+    List<UploadOutcome> outcomes = futures.stream().map(CompletableFuture::join).toList();
+
+    // 2. 성공한 파일만 한 번에 등록
+    List<StoredImage> stored = new ArrayList<>();
+    for (int i = 0; i < outcomes.size(); i++) {
+      UploadOutcome outcome = outcomes.get(i);
+      if (outcome.imageUrl() != null) {
+        boolean thumbnail = thumbnailIndex != null && thumbnailIndex == i;
+        stored.add(new StoredImage(outcome.imageUrl(), outcome.originalFileName(), startDisplayOrder + i, thumbnail));
+      }
+    }
+    List<ResponseImageDto> saved = stored.isEmpty() ? List.of() : attach(colorVariantId, stored);
+
+    // 3. 요청 순서대로 파일별 결과 구성
+    List<FileResult> results = new ArrayList<>(outcomes.size());
+    int savedIndex = 0;
+    for (UploadOutcome outcome : outcomes) {
+      ResponseImageDto image = outcome.imageUrl() != null ? saved.get(savedIndex++) : null;
+      results.add(new FileResult(outcome.originalFileName(), image != null,
+                                 TimeUnit.NANOSECONDS.toMillis(outcome.latencyNanos()), image, outcome.error()));
+    }
+    long totalMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    return new ResponseMultiImageUpload(colorVariantId, saved.size(), outcomes.size() - saved.size(), totalMs, results);
+  }
+
+  private CompletableFuture<UploadOutcome> submitUpload(MultipartFile imageFile) {
+    String originalFileName = imageFile.getOriginalFilename();
+    if (imageFile.isEmpty()) {
+      return CompletableFuture.completedFuture(UploadOutcome.failed(originalFileName, 0, "빈 파일입니다."));
+    }
+    try {
+      return CompletableFuture.supplyAsync(() -> {
+        long start = System.nanoTime();
+        try {
+          String imageUrl = timedUpload(() -> fileStorageService.saveFile(imageFile, originalFileName));
+          return new UploadOutcome(originalFileName, imageUrl, System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException e) {
+          log.warn("Image upload failed: {}", originalFileName, e);
+          return UploadOutcome.failed(originalFileName, System.nanoTime() - start, "업로드에 실패했습니다.");
+        }
+      }, imageUploadExecutor);
+    } catch (TaskRejectedException e) {
+      return CompletableFuture.completedFuture(
+          UploadOutcome.failed(originalFileName, 0, "업로드 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+    }
+  }
+
+  private List<ResponseImageDto> attach(Long colorVariantId, List<StoredImage> images) {
+    try {
+      return imageService.attachImages(colorVariantId, images);
+    } catch (RuntimeException e) {
+      deleteQuietly(images);
+      throw e;
+    }
+  }
+
+  private void requireColorVariant(Long colorVariantId) {
+    if (colorVariantId == null || !colorVariantEntityRepository.existsById(colorVariantId)) {
+      throw new EntityNotFoundException("ProductColorVariant not found with ID: " + colorVariantId);
+    }
+  }
+
+  private String timedUpload(StorageUpload upload) throws IOException {
+    long start = System.nanoTime();
+    Timer timer = uploadFailed;
+    try {
+      String imageUrl = upload.run();
+      timer = uploadSucceeded;
+      return imageUrl;
+    } finally {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // 등록 트랜잭션은 이미 롤백됐으므로 outbox에 따로 넣는다. 같은 URL을 다른 행이 쓰고 있으면 워커가 지우지 않는다.
+  private void deleteQuietly(List<StoredImage> images) {
+    try {
+      storageDeleteOutbox.enqueueAll(images.stream().map(StoredImage::imageUrl).toList(),
+                                     StorageDeleteOutbox.REASON_UPLOAD_ROLLBACK);
+    } catch (RuntimeException e) {
+      // DB 장애 등으로 예약도 못 하면 StorageReconciler가 고아 파일로 찾는다
+      log.warn("Failed to schedule deletion of {} uploaded image(s) after failed save", images.size(), e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface StorageUpload {
+
+    String run() throws IOException;
+  }
+
+  private record UploadOutcome(String originalFileName, String imageUrl, long latencyNanos, String error) {
+
+    static UploadOutcome failed(String originalFileName, long latencyNanos, String error) {
+      return new UploadOutcome(originalFileName, null, latencyNanos, error);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package teo.springjwt.product.service;
+
+import lombok.Getter;
+
+// 예약하려는 수량보다 재고가 적을 때. 예약은 전부 되거나 전부 안 되므로 이미 뺀 다른 SKU 재고도 롤백된다.
+@Getter
+public class InsufficientStockException extends IllegalStateException {
+
+  private final Long skuId;
+  private final int requested;
+  private final int available;
+
+  public InsufficientStockException(Long skuId, int requested, int available) {
+    super("재고가 부족합니다. SKU " + skuId + ": 요청 " + requested + ", 현재 재고 " + available);
+    this.skuId = skuId;
+    this.requested = requested;
+    this.available = available;
+  }
+}
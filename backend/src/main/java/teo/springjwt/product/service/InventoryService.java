@@ -0,0 +1,252 @@
+package teo.springjwt.product.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import teo.springjwt.cart.CartEntity;
+import teo.springjwt.cart.CartRepository;
+import teo.springjwt.cartitem.CartItemRepository;
+import teo.springjwt.cartitem.CartSkuQuantity;
+import teo.springjwt.product.dto.ResponseStockReservation;
+import teo.springjwt.product.entity.SkuEntity;
+import teo.springjwt.product.entity.StockReservationEntity;
+import teo.springjwt.product.repository.sku.ReservationLine;
+import teo.springjwt.product.repository.sku.SkuRepository;
+import teo.springjwt.product.repository.sku.SkuStock;
+import teo.springjwt.product.repository.sku.StockReservationRepository;
+
+/**
+ * 결제용 재고 예약.
+ * - 재고 차감은 SKU마다 조건부 UPDATE 한 번 (stock >= 수량일 때만). 엔티티를 읽고 고쳐 쓰지 않으므로 동시에 주문해도 초과 판매가 없다.
+ * - 여러 SKU는 id 순서로 차감해서 두 주문이 서로의 행 잠금을 기다리는 교착을 피한다. 하나라도 부족하면 전체 롤백.
+ * - 예약은 ttl 동안 유지된다. 그 전에 confirm 하면 판매 확정, 아니면 StockReservationPurger가 배치로 풀어 재고를 돌려놓는다.
+ * - 상품 요약(product_summary)은 SKU가 품절되거나 다시 재고가 생길 때만 갱신한다.
+ *   주문마다 갱신하면 인기 상품의 요약 행이 모든 결제를 줄 세우게 되므로, 그 사이 total_stock은 늦게 반영될 수 있다.
+ *   SKU별 재고가 들어 있는 상세/SKU 캐시는 예약/해제마다 커밋 후 지우고, 상세 ETag에는 SKU 재고가 들어간다.
+ */
+@Service
+@Transactional(isolation = Isolation.READ_COMMITTED)
+public class InventoryService {
+
+  private final SkuRepository skuRepository;
+  private final StockReservationRepository stockReservationRepository;
+  private final CartRepository cartRepository;
+  private final CartItemRepository cartItemRepository;
+  private final ProductChangeTracker productChangeTracker;
+  private final Duration ttl;
+
+  private final Counter reserved;
+  private final Counter insufficient;
+  private final Counter confirmed;
+  private final Counter released;
+  private final Counter expired;
+
+  public InventoryService(SkuRepository skuRepository, StockReservationRepository stockReservationRepository,
+      CartRepository cartRepository, CartItemRepository cartItemRepository,
+      ProductChangeTracker productChangeTracker, MeterRegistry meterRegistry,
+      @Value("${inventory.reservation.ttl:PT15M}") Duration ttl) {
+    this.skuRepository = skuRepository;
+    this.stockReservationRepository = stockReservationRepository;
+    this.cartRepository = cartRepository;
+    this.cartItemRepository = cartItemRepository;
+    this.productChangeTracker = productChangeTracker;
+    this.ttl = ttl;
+    this.reserved = reservationCounter(meterRegistry, "reserved");
+    this.insufficient = reservationCounter(meterRegistry, "insufficient");
+    this.confirmed = reservationCounter(meterRegistry, "confirmed");
+    this.released = reservationCounter(meterRegistry, "released");
+    this.expired = reservationCounter(meterRegistry, "expired");
+  }
+
+  private static Counter reservationCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("inventory.reservations")
+                  .description("Checkout stock reservations by outcome")
+                  .tag("result", result)
+                  .register(meterRegistry);
+  }
+
+  /**
+   * 장바구니에 담긴 수량 그대로 재고를 예약합니다.
+   *
+   * @throws EntityNotFoundException    장바구니가 없는 경우
+   * @throws IllegalArgumentException   장바구니가 비어 있는 경우
+   * @throws InsufficientStockException 재고가 부족한 SKU가 있는 경우 (아무것도 예약되지 않음)
+   */
+  public ResponseStockReservation reserveCart(Long cartId) {
+    Map<Long, Integer> quantities = new TreeMap<>();
+    for (CartSkuQuantity item : cartItemRepository.sumQuantitiesBySku(cartId)) {
+      quantities.put(item.skuId(), Math.toIntExact(item.quantity()));
+    }
+    if (quantities.isEmpty()) {
+      requireCart(cartId);
+      throw new IllegalArgumentException("장바구니가 비어 있습니다.");
+    }
+    return reserve(cartId, quantities);
+  }
+
+  /**
+   * SKU별 수량만큼 재고를 예약합니다. 같은 장바구니의 이전 예약은 먼저 풀고 새로 잡습니다 (결제 재시도).
+   *
+   * @param quantities SKU ID -> 수량 (1 이상)
+   * @throws EntityNotFoundException    장바구니가 없는 경우
+   * @throws InsufficientStockException 재고가 부족한 SKU가 있는 경우 (아무것도 예약되지 않음)
+   */
+  public ResponseStockReservation reserve(Long cartId, Map<Long, Integer> quantities) {
+    return reserve(cartId, quantities, ttl);
+  }
+
+  ResponseStockReservation reserve(Long cartId, Map<Long, Integer> quantities, Duration holdFor) {
+    if (quantities.isEmpty() || quantities.values().stream().anyMatch(quantity -> quantity == null || quantity <= 0)) {
+      throw new IllegalArgumentException("예약 수량은 1 이상이어야 합니다.");
+    }
+    requireCart(cartId);
+
+    // 이전 예약과 새 수량의 차이만 SKU당 한 번, id 순서로 반영한다.
+    // (이전 예약을 먼저 모두 돌려놓고 다시 빼면 SKU 행을 두 바퀴 잠그게 되어, 겹치는 SKU를 가진 두 장바구니가 교착될 수 있다)
+    List<StockReservationEntity> previous = stockReservationRepository.findByCartIdForUpdate(cartId);
+    Map<Long, Integer> held = new TreeMap<>();
+    List<Long> previousIds = new ArrayList<>(previous.size());
+    for (StockReservationEntity reservation : previous) {
+      previousIds.add(reservation.getId());
+      held.merge(reservation.getSku().getId(), reservation.getQuantity(), Integer::sum);
+    }
+    Map<Long, Integer> deltas = new TreeMap<>(held);
+    deltas.replaceAll((skuId, quantity) -> -quantity);
+    quantities.forEach((skuId, quantity) -> deltas.merge(skuId, quantity, Integer::sum));
+
+    for (Map.Entry<Long, Integer> entry : deltas.entrySet()) { // SKU id 순서로 잠근다
+      Long skuId = entry.getKey();
+      int delta = entry.getValue();
+      if (delta > 0) {
+        if (skuRepository.decrementStockIfAvailable(skuId, delta) == 0) {
+          insufficient.increment();
+          int available = skuRepository.findStock(skuId).map(SkuStock::stock).orElse(0) + held.getOrDefault(skuId, 0);
+          throw new InsufficientStockException(skuId, quantities.get(skuId), available);
+        }
+      } else if (delta < 0) {
+        skuRepository.incrementStock(skuId, -delta);
+      }
+      if (delta != 0) {
+        stockChanged(skuId, delta);
+      }
+    }
+    if (!previousIds.isEmpty()) {
+      stockReservationRepository.deleteByIds(previousIds);
+    }
+
+    LocalDateTime expiresAt = LocalDateTime.now().plus(holdFor);
+    CartEntity cart = cartRepository.getReferenceById(cartId);
+    List<StockReservationEntity> reservations = new ArrayList<>(quantities.size());
+    List<ResponseStockReservation.Line> lines = new ArrayList<>(quantities.size());
+    for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+      SkuEntity sku = skuRepository.getReferenceById(entry.getKey());
+      reservations.add(new StockReservationEntity(cart, sku, entry.getValue(), expiresAt));
+      lines.add(new ResponseStockReservation.Line(entry.getKey(), entry.getValue()));
+    }
+    stockReservationRepository.saveAll(reservations);
+    reserved.increment();
+    return new ResponseStockReservation(cartId, expiresAt, lines);
+  }
+
+  /**
+   * 예약을 판매로 확정합니다 (결제 완료 시). 재고는 예약할 때 이미 빠졌으므로 예약 행만 지웁니다.
+   *
+   * @return 확정한 예약 줄 수
+   * @throws IllegalStateException 예약이 없거나 일부가 이미 만료되어 풀린 경우 (아무것도 확정되지 않음)
+   */
+  public int confirm(Long cartId) {
+    List<ReservationLine> lines = stockReservationRepository.findLinesByCartId(cartId);
+    if (lines.isEmpty()) {
+      throw new IllegalStateException("확정할 재고 예약이 없습니다. 예약이 만료되었을 수 있습니다.");
+    }
+    LocalDateTime now = LocalDateTime.now();
+    for (ReservationLine line : lines) {
+      // 만료 해제와 동시에 와도 행을 먼저 지운 쪽만 성공한다
+      if (stockReservationRepository.deleteActive(line.reservationId(), now) == 0) {
+        throw new IllegalStateException("재고 예약이 만료되었습니다. 다시 결제해주세요.");
+      }
+    }
+    confirmed.increment();
+    return lines.size();
+  }
+
+  /**
+   * 장바구니의 예약을 풀고 재고를 돌려놓습니다 (결제 취소).
+   *
+   * @return 푼 예약 줄 수
+   */
+  public int release(Long cartId) {
+    int count = releaseLocked(stockReservationRepository.findByCartIdForUpdate(cartId));
+    if (count > 0) {
+      released.increment();
+    }
+    return count;
+  }
+
+  /**
+   * 만료된 예약을 최대 limit 줄 풀고 재고를 돌려놓습니다. SKU별 수량을 합쳐 SKU당 UPDATE 한 번으로 복구합니다.
+   *
+   * @return 푼 예약 줄 수
+   */
+  public int releaseExpired(int limit) {
+    int count = releaseLocked(
+        stockReservationRepository.findExpiredForUpdate(LocalDateTime.now(), PageRequest.of(0, limit)));
+    expired.increment(count);
+    return count;
+  }
+
+  // 잠근 예약 행을 지우고 SKU별 합계를 id 순서로 돌려놓는다
+  private int releaseLocked(List<StockReservationEntity> reservations) {
+    if (reservations.isEmpty()) {
+      return 0;
+    }
+    Map<Long, Integer> restock = new TreeMap<>();
+    List<Long> ids = new ArrayList<>(reservations.size());
+    for (StockReservationEntity reservation : reservations) {
+      ids.add(reservation.getId());
+      restock.merge(reservation.getSku().getId(), reservation.getQuantity(), Integer::sum);
+    }
+    stockReservationRepository.deleteByIds(ids);
+    for (Map.Entry<Long, Integer> entry : restock.entrySet()) {
+      skuRepository.incrementStock(entry.getKey(), entry.getValue());
+      stockChanged(entry.getKey(), -entry.getValue());
+    }
+    return reservations.size();
+  }
+
+  /**
+   * 재고를 바꾼 SKU의 상품을 커밋 후 캐시/ETag 갱신 대상으로 표시한다.
+   * 품절되거나(차감 후 0) 다시 재고가 생긴(복구 후 복구량과 같음) 경우만 상품 요약까지 다시 계산한다.
+   * 이 트랜잭션이 행 잠금을 가진 상태라 방금 바꾼 값을 그대로 읽는다.
+   *
+   * @param delta 예약으로 뺀 수량 (돌려놓았으면 음수)
+   */
+  private void stockChanged(Long skuId, int delta) {
+    skuRepository.findStock(skuId).ifPresent(stock -> {
+      boolean soldOut = delta > 0 && stock.stock() == 0;
+      boolean backInStock = delta < 0 && stock.stock() == -delta;
+      if (soldOut || backInStock) {
+        productChangeTracker.markChanged(stock.productId());
+      } else {
+        productChangeTracker.markStockChanged(stock.productId());
+      }
+    });
+  }
+
+  private void requireCart(Long cartId) {
+    if (cartId == null || !cartRepository.existsById(cartId)) {
+      throw new EntityNotFoundException("Cart not found with ID: " + cartId);
+    }
+  }
+}
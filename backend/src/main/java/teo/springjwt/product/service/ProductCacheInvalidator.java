@@ -0,0 +1,93 @@
+package teo.springjwt.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import teo.springjwt.common.config.CacheConfig;
+import teo.springjwt.product.dto.ResponseProductEntity;
+import teo.springjwt.product.event.ProductCatalogChangedEvent;
+import teo.springjwt.product.event.ProductStockChangedEvent;
+
+/**
+ * 상품이 바뀌어 커밋되면 해당 상품의 상세 캐시와, 그 상품이 들어 있거나 들어갈 목록 페이지만 지웁니다.
+ * 재고만 바뀐 경우(ProductStockChangedEvent)는 상세/SKU 캐시만 지웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCacheInvalidator {
+
+  private final CacheManager cacheManager;
+
+  // 커밋 뒤에 불리므로 여기서 던지면 이미 커밋된 요청이 500이 되고 다른 리스너도 건너뛴다. 로그만 남긴다.
+  @EventListener
+  public void onCatalogChanged(ProductCatalogChangedEvent event) {
+    try {
+      evict(event.getProductIds());
+    } catch (RuntimeException e) {
+      log.warn("Failed to evict product caches for {}", event.getProductIds(), e);
+    }
+  }
+
+  // 재고만 바뀐 경우 목록(요약 기반)은 그대로, SKU별 재고가 들어 있는 상세/SKU 캐시만 지운다
+  @EventListener
+  public void onStockChanged(ProductStockChangedEvent event) {
+    try {
+      evictDetails(event.getProductIds());
+    } catch (RuntimeException e) {
+      log.warn("Failed to evict product caches for {}", event.getProductIds(), e);
+    }
+  }
+
+  private void evict(Set<Long> productIds) {
+    evictDetails(productIds);
+    evictListPages(productIds);
+  }
+
+  private void evictDetails(Set<Long> productIds) {
+    org.springframework.cache.Cache detail = cacheManager.getCache(CacheConfig.PRODUCT_DETAIL);
+    org.springframework.cache.Cache skus = cacheManager.getCache(CacheConfig.PRODUCT_SKUS);
+    for (Long productId : productIds) {
+      if (detail != null) {
+        detail.evict(productId);
+      }
+      if (skus != null) {
+        skus.evict(productId);
+      }
+    }
+  }
+
+  // 목록은 "lastId:size" 키의 keyset 페이지. 바뀐 상품 ID가 페이지가 덮는 id 구간에 들어가면 지운다.
+  @SuppressWarnings("unchecked")
+  private void evictListPages(Set<Long> productIds) {
+    if (!(cacheManager.getCache(CacheConfig.PRODUCT_LIST) instanceof CaffeineCache listCache)) {
+      return;
+    }
+    Cache<Object, Object> nativeCache = listCache.getNativeCache();
+    nativeCache.asMap().entrySet().removeIf(entry -> {
+      String[] key = entry.getKey().toString().split(":");
+      Long lastId = "null".equals(key[0]) ? null : Long.valueOf(key[0]);
+      int size = Integer.parseInt(key[1]);
+      List<ResponseProductEntity> page = (List<ResponseProductEntity>) entry.getValue();
+      return productIds.stream().anyMatch(id -> covers(lastId, size, page, id));
+    });
+  }
+
+  // 페이지는 lastId보다 작은 id를 내림차순으로 size개 담는다.
+  // 꽉 찬 페이지는 마지막 id 이상까지만, 덜 찬 페이지(마지막 페이지)는 그 아래 전부를 덮는다.
+  private boolean covers(Long lastId, int size, List<ResponseProductEntity> page, Long productId) {
+    if (lastId != null && productId >= lastId) {
+      return false;
+    }
+    if (page == null || page.size() < size) {
+      return true;
+    }
+    return productId >= page.get(page.size() - 1).getId();
+  }
+}
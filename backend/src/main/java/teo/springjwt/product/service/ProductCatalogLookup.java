@@ -0,0 +1,96 @@
+package teo.springjwt.product.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import teo.springjwt.category.CategoryEntity;
+import teo.springjwt.category.repository.CategoryRepository;
+import teo.springjwt.product.dto.request.RequestProductCreate;
+import teo.springjwt.product.dto.request.RequestProductCreate.ProductOptionGroupRequest;
+import teo.springjwt.product.dto.request.RequestProductCreate.ProductOptionValueRequest;
+import teo.springjwt.product.entity.OptionGroupEntity;
+import teo.springjwt.product.entity.OptionValueEntity;
+import teo.springjwt.product.repository.group.OptionGroupEntityRepository;
+import teo.springjwt.product.repository.value.OptionValueEntityRepository;
+
+/**
+ * 상품 생성에 필요한 카테고리 / 옵션 그룹 / 옵션 값을 미리 읽어 둔 맵.
+ * 옵션 하나마다 findById를 호출하지 않고 ID 목록당 쿼리 한 번으로 끝냅니다.
+ * 담긴 엔티티는 다른 트랜잭션에서 읽은 것일 수 있으므로 ID와 이미 로딩된 필드만 사용해야 합니다.
+ */
+public class ProductCatalogLookup {
+
+  private final Map<Long, CategoryEntity> categories;
+  private final Map<Long, OptionGroupEntity> optionGroups;
+  private final Map<Long, OptionValueEntity> optionValues;
+
+  private ProductCatalogLookup(List<CategoryEntity> categories, List<OptionGroupEntity> optionGroups,
+      List<OptionValueEntity> optionValues) {
+    this.categories = categories.stream().collect(Collectors.toMap(CategoryEntity::getId, Function.identity()));
+    this.optionGroups = optionGroups.stream().collect(Collectors.toMap(OptionGroupEntity::getId, Function.identity()));
+    this.optionValues = optionValues.stream().collect(Collectors.toMap(OptionValueEntity::getId, Function.identity()));
+  }
+
+  // 카테고리 / 옵션 마스터 전체를 읽는다. (대량 등록용 - 마스터 테이블은 작다)
+  public static ProductCatalogLookup loadAll(CategoryRepository categoryRepository,
+      OptionGroupEntityRepository groupRepository, OptionValueEntityRepository optionRepository) {
+    return new ProductCatalogLookup(
+        categoryRepository.findAll(),
+        groupRepository.findAll(),
+        optionRepository.findAll());
+  }
+
+  // 요청에 등장하는 ID만 골라서 읽는다.
+  public static ProductCatalogLookup forRequests(Collection<RequestProductCreate> requests,
+      CategoryRepository categoryRepository, OptionGroupEntityRepository groupRepository,
+      OptionValueEntityRepository optionRepository) {
+    Set<Long> categoryIds = new HashSet<>();
+    Set<Long> groupIds = new HashSet<>();
+    Set<Long> valueIds = new HashSet<>();
+    for (RequestProductCreate request : requests) {
+      categoryIds.add(request.getCategoryId());
+      if (request.getOptionGroups() == null) {
+        continue;
+      }
+      for (ProductOptionGroupRequest groupRequest : request.getOptionGroups()) {
+        groupIds.add(groupRequest.getId());
+        if (groupRequest.getOptionValues() != null) {
+          groupRequest.getOptionValues().stream().map(ProductOptionValueRequest::getId).forEach(valueIds::add);
+        }
+      }
+    }
+    return new ProductCatalogLookup(
+        categoryRepository.findAllById(categoryIds),
+        groupRepository.findAllById(groupIds),
+        optionRepository.findAllById(valueIds));
+  }
+
+  public CategoryEntity category(Long id) {
+    CategoryEntity category = categories.get(id);
+    if (category == null) {
+      throw new EntityNotFoundException("Category not found with ID: " + id);
+    }
+    return category;
+  }
+
+  public OptionGroupEntity optionGroup(Long id) {
+    OptionGroupEntity optionGroup = optionGroups.get(id);
+    if (optionGroup == null) {
+      throw new EntityNotFoundException("Option group not found with ID: " + id);
+    }
+    return optionGroup;
+  }
+
+  public OptionValueEntity optionValue(Long id) {
+    OptionValueEntity optionValue = optionValues.get(id);
+    if (optionValue == null) {
+      throw new EntityNotFoundException("Option not found with ID: " + id);
+    }
+    return optionValue;
+  }
+}
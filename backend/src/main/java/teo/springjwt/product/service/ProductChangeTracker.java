@@ -0,0 +1,145 @@
+package teo.springjwt.product.service;
+
+import jakarta.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import teo.springjwt.category.CategoryEntity;
+import teo.springjwt.product.entity.OptionGroupEntity;
+import teo.springjwt.product.entity.OptionValueEntity;
+import teo.springjwt.product.event.ProductCatalogChangedEvent;
+import teo.springjwt.product.event.ProductStockChangedEvent;
+import teo.springjwt.product.repository.product.ProductEntityRepository;
+
+/**
+ * 한 트랜잭션 안에서 변경된 상품 ID를 모아 두었다가
+ * - 커밋 직전: 상품 요약(product_summary)을 같은 트랜잭션에서 다시 계산하고
+ * - 커밋 직후: ProductCatalogChangedEvent를 발행합니다.
+ * 재고만 바뀌어 요약은 그대로 두는 상품(markStockChanged)은 커밋 후 ProductStockChangedEvent만 발행합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductChangeTracker {
+
+  private static final Object RESOURCE_KEY = ProductChangeTracker.class;
+
+  private final ProductSummaryService productSummaryService;
+  private final ProductEntityRepository productEntityRepository;
+  private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public void markChanged(Long productId) {
+    if (productId == null) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      log.warn("Product {} changed outside of a transaction; summary was not refreshed", productId);
+      return;
+    }
+    changes().catalog.add(productId);
+  }
+
+  // SKU 재고만 바뀐 상품. 요약은 다시 계산하지 않고 커밋 후 캐시만 지운다.
+  public void markStockChanged(Long productId) {
+    if (productId == null) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      log.warn("Product {} stock changed outside of a transaction; caches were not evicted", productId);
+      return;
+    }
+    changes().stock.add(productId);
+  }
+
+  /**
+   * 카테고리 / 옵션 그룹 / 옵션 값의 이름을 바꾼 경우. 커밋 직전에 이를 쓰는 상품을 찾아 markChanged와 같이 처리한다.
+   * (요약 revision이 올라가 ETag가 바뀌고, 커밋 후 캐시와 검색/패싯 색인이 갱신된다)
+   * 엔티티 리스너로 잡지 않고 이름을 바꾸는 서비스 메서드가 직접 부른다.
+   */
+  public void markReferenceChanged(CategoryEntity category) {
+    markReference(category.getId(), changes -> changes.categoryIds);
+  }
+
+  public void markReferenceChanged(OptionGroupEntity optionGroup) {
+    markReference(optionGroup.getId(), changes -> changes.optionGroupIds);
+  }
+
+  public void markReferenceChanged(OptionValueEntity optionValue) {
+    markReference(optionValue.getId(), changes -> changes.optionValueIds);
+  }
+
+  private void markReference(Long id, Function<Changes, Set<Long>> target) {
+    if (id == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    target.apply(changes()).add(id);
+  }
+
+  private Changes changes() {
+    Changes changes = (Changes) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+    if (changes == null) {
+      changes = new Changes();
+      TransactionSynchronizationManager.bindResource(RESOURCE_KEY, changes);
+      TransactionSynchronizationManager.registerSynchronization(new ChangeSynchronization(changes));
+    }
+    return changes;
+  }
+
+  private static class Changes {
+
+    private final Set<Long> catalog = new LinkedHashSet<>();
+    private final Set<Long> stock = new LinkedHashSet<>();
+    private final Set<Long> categoryIds = new HashSet<>();
+    private final Set<Long> optionGroupIds = new HashSet<>();
+    private final Set<Long> optionValueIds = new HashSet<>();
+  }
+
+  private class ChangeSynchronization implements TransactionSynchronization {
+
+    private final Changes changes;
+
+    ChangeSynchronization(Changes changes) {
+      this.changes = changes;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      if (readOnly) {
+        return;
+      }
+      // 아직 flush 되지 않은 SKU/이미지 변경도 리스너를 거쳐 ids에 모이도록 먼저 flush
+      entityManager.flush();
+      if (!changes.categoryIds.isEmpty() || !changes.optionGroupIds.isEmpty() || !changes.optionValueIds.isEmpty()) {
+        changes.catalog.addAll(productEntityRepository.findProductIdsReferencing(
+            changes.categoryIds, changes.optionGroupIds, changes.optionValueIds));
+      }
+      productSummaryService.refresh(Set.copyOf(changes.catalog));
+    }
+
+    @Override
+    public void afterCommit() {
+      if (!changes.catalog.isEmpty()) {
+        eventPublisher.publishEvent(new ProductCatalogChangedEvent(changes.catalog));
+      }
+      // 카탈로그 변경 이벤트가 이미 같은 캐시를 지운다
+      Set<Long> stockOnly = new LinkedHashSet<>(changes.stock);
+      stockOnly.removeAll(changes.catalog);
+      if (!stockOnly.isEmpty()) {
+        eventPublisher.publishEvent(new ProductStockChangedEvent(stockOnly));
+      }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+    }
+  }
+}
@@ -0,0 +1,352 @@
+package teo.springjwt.product.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import teo.springjwt.product.dto.ProductFacetSource;
+import teo.springjwt.product.dto.ResponseProductFacetSearch.FacetCount;
+import teo.springjwt.product.dto.ResponseProductFacetSearch.OptionGroupFacet;
+import teo.springjwt.product.dto.ResponseProductFacetSearch.PriceBucketFacet;
+import teo.springjwt.product.dto.request.RequestProductFacetSearch;
+import teo.springjwt.product.event.ProductCatalogChangedEvent;
+import teo.springjwt.product.repository.product.ProductEntityRepository;
+
+/**
+ * 카테고리 / 색상 / 옵션 값 / 가격대별 상품 ID 비트맵(RoaringBitmap) 색인.
+ * 필터 결과와 항목별 개수를 비트맵 AND/OR 연산만으로 계산하므로 상품 수가 늘어도 DB를 읽지 않습니다.
+ * 기동 시 전체를 만들고, 이후에는 ProductCatalogChangedEvent로 바뀐 상품만 다시 반영합니다.
+ * (상품 ID를 int 비트로 쓰므로 ID가 int 범위 안이라고 가정합니다)
+ */
+@Slf4j
+@Component
+public class ProductFacetIndex {
+
+  // 가격대 경계 (상품 최저가 기준). 마지막 구간은 상한 없음
+  private static final BigDecimal[] PRICE_EDGES = {
+      BigDecimal.ZERO, new BigDecimal("10000"), new BigDecimal("30000"), new BigDecimal("50000"),
+      new BigDecimal("100000"), new BigDecimal("200000")};
+
+  private static final int REBUILD_CHUNK_SIZE = 1_000;
+
+  private final ProductEntityRepository productRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final RoaringBitmap all = new RoaringBitmap();
+  private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+  private final Map<String, RoaringBitmap> byColor = new HashMap<>();
+  private final Map<Long, RoaringBitmap> byOptionValue = new HashMap<>();
+  private final RoaringBitmap[] byPriceBucket = new RoaringBitmap[PRICE_EDGES.length];
+
+  // 응답 라벨 및 옵션 값 -> 옵션 그룹
+  private final Map<Long, String> categoryNames = new HashMap<>();
+  private final Map<String, String> colorLabels = new HashMap<>();
+  private final Map<Long, String> optionValueNames = new HashMap<>();
+  private final Map<Long, Long> optionValueGroups = new HashMap<>();
+  private final Map<Long, String> optionGroupNames = new HashMap<>();
+
+  // 상품을 다시 색인할 때 이전 소속 비트맵에서 빼기 위해 보관
+  private final Map<Long, ProductFacetSource> indexed = new HashMap<>();
+
+  public ProductFacetIndex(ProductEntityRepository productRepository, TransactionTemplate transactionTemplate) {
+    this.productRepository = productRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.readOnlyTransaction.setReadOnly(true);
+    // 커밋 후 이벤트에서 불리면 이미 커밋된 트랜잭션이 아직 묶여 있으므로, 참여하지 않고 새 트랜잭션에서 읽는다
+    this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    for (int i = 0; i < byPriceBucket.length; i++) {
+      byPriceBucket[i] = new RoaringBitmap();
+    }
+  }
+
+  /**
+   * 필터링된 상품 ID 한 페이지(id 내림차순)와 항목별 개수를 계산합니다.
+   */
+  public FacetResult search(RequestProductFacetSearch request) {
+    lock.readLock().lock();
+    try {
+      // 항목별 필터 (선택이 없는 항목은 null)
+      RoaringBitmap categoryFilter = union(request.getCategoryIds(), byCategory::get);
+      RoaringBitmap colorFilter = union(normalizeColors(request.getColors()), byColor::get);
+      RoaringBitmap priceFilter = union(request.getPriceBuckets(), this::priceBucket);
+      Map<Long, RoaringBitmap> optionFilters = new LinkedHashMap<>();
+      if (request.getOptionValueIds() != null) {
+        Map<Long, List<Long>> valuesByGroup = new LinkedHashMap<>();
+        for (Long optionValueId : request.getOptionValueIds()) {
+          Long groupId = optionValueGroups.getOrDefault(optionValueId, -optionValueId); // 모르는 값은 단독 항목
+          valuesByGroup.computeIfAbsent(groupId, key -> new ArrayList<>()).add(optionValueId);
+        }
+        valuesByGroup.forEach((groupId, valueIds) -> optionFilters.put(groupId, union(valueIds, byOptionValue::get)));
+      }
+
+      List<RoaringBitmap> allFilters = new ArrayList<>();
+      allFilters.add(categoryFilter);
+      allFilters.add(colorFilter);
+      allFilters.add(priceFilter);
+      allFilters.addAll(optionFilters.values());
+      RoaringBitmap matched = intersect(allFilters, null);
+
+      // 페이지: lastId보다 작은 ID를 내림차순으로
+      List<Long> pageIds = new ArrayList<>(request.getSize());
+      Long nextLastId = null;
+      IntIterator iterator = matched.getReverseIntIterator();
+      while (iterator.hasNext()) {
+        long productId = Integer.toUnsignedLong(iterator.next());
+        if (request.getLastId() != null && productId >= request.getLastId()) {
+          continue;
+        }
+        if (pageIds.size() == request.getSize()) {
+          nextLastId = pageIds.get(pageIds.size() - 1);
+          break;
+        }
+        pageIds.add(productId);
+      }
+
+      // 항목별 개수: 자기 항목의 선택만 빼고 나머지 필터를 적용한 집합 기준
+      List<FacetCount> categories = count(byCategory, intersect(allFilters, categoryFilter),
+                                          id -> categoryNames.get(id));
+      List<FacetCount> colors = count(byColor, intersect(allFilters, colorFilter), colorLabels::get);
+
+      RoaringBitmap priceBase = intersect(allFilters, priceFilter);
+      List<PriceBucketFacet> priceBuckets = new ArrayList<>();
+      for (int i = 0; i < byPriceBucket.length; i++) {
+        priceBuckets.add(new PriceBucketFacet(
+            i, PRICE_EDGES[i], i + 1 < PRICE_EDGES.length ? PRICE_EDGES[i + 1] : null,
+            RoaringBitmap.andCardinality(priceBase, byPriceBucket[i])));
+      }
+
+      Map<Long, Map<Long, RoaringBitmap>> optionValuesByGroup = new LinkedHashMap<>();
+      byOptionValue.forEach((valueId, bitmap) -> optionValuesByGroup
+          .computeIfAbsent(optionValueGroups.get(valueId), key -> new HashMap<>())
+          .put(valueId, bitmap));
+      List<OptionGroupFacet> optionGroups = new ArrayList<>();
+      optionValuesByGroup.forEach((groupId, values) -> {
+        RoaringBitmap base = intersect(allFilters, optionFilters.get(groupId));
+        List<FacetCount> counts = count(values, base, optionValueNames::get);
+        if (!counts.isEmpty()) {
+          optionGroups.add(new OptionGroupFacet(groupId, optionGroupNames.get(groupId), counts));
+        }
+      });
+      optionGroups.sort(Comparator.comparing(OptionGroupFacet::getOptionGroupId));
+
+      return new FacetResult(pageIds, nextLastId, matched.getLongCardinality(), categories, colors, optionGroups,
+                             priceBuckets);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 주어진 카테고리들에 직접 속한 상품 수의 합.
+   * 상품은 카테고리 하나에만 속하므로 하위 트리의 ID를 넘기면 하위 트리 전체 상품 수가 됩니다.
+   */
+  public long countInCategories(Collection<Long> categoryIds) {
+    lock.readLock().lock();
+    try {
+      long count = 0;
+      for (Long categoryId : categoryIds) {
+        RoaringBitmap bitmap = byCategory.get(categoryId);
+        if (bitmap != null) {
+          count += bitmap.getLongCardinality();
+        }
+      }
+      return count;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @EventListener
+  public void onCatalogChanged(ProductCatalogChangedEvent event) {
+    // 커밋 뒤 이벤트라 예외를 던져도 되돌릴 것이 없다. 다음 변경이나 재기동 때 다시 색인된다.
+    try {
+      reindex(event.getProductIds());
+    } catch (RuntimeException e) {
+      log.warn("Failed to update product facet index for {}", event.getProductIds(), e);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    long start = System.nanoTime();
+    int total = 0;
+    Long afterId = null;
+    while (true) {
+      Long from = afterId;
+      List<Long> ids = readOnlyTransaction.execute(status -> productRepository.findProductIdsAfter(from, REBUILD_CHUNK_SIZE));
+      if (ids == null || ids.isEmpty()) {
+        break;
+      }
+      reindex(ids);
+      afterId = ids.get(ids.size() - 1);
+      total += ids.size();
+    }
+    log.info("Product facet index built: {} products in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private void reindex(Collection<Long> productIds) {
+    List<ProductFacetSource> sources = readOnlyTransaction.execute(
+        status -> productRepository.findFacetSources(productIds));
+    lock.writeLock().lock();
+    try {
+      Set<Long> missing = new HashSet<>(productIds);
+      for (ProductFacetSource source : sources) {
+        remove(source.getProductId());
+        add(source);
+        missing.remove(source.getProductId());
+      }
+      missing.forEach(this::remove);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void add(ProductFacetSource source) {
+    int bit = source.getProductId().intValue();
+    all.add(bit);
+    if (source.getCategoryId() != null) {
+      byCategory.computeIfAbsent(source.getCategoryId(), key -> new RoaringBitmap()).add(bit);
+      categoryNames.put(source.getCategoryId(), source.getCategoryName());
+    }
+    for (String color : source.getColors()) {
+      String key = normalizeColor(color);
+      byColor.computeIfAbsent(key, k -> new RoaringBitmap()).add(bit);
+      colorLabels.putIfAbsent(key, color.trim());
+    }
+    for (ProductFacetSource.OptionValue value : source.getOptionValues()) {
+      byOptionValue.computeIfAbsent(value.getOptionValueId(), key -> new RoaringBitmap()).add(bit);
+      optionValueNames.put(value.getOptionValueId(), value.getOptionValueName());
+      optionValueGroups.put(value.getOptionValueId(), value.getOptionGroupId());
+      optionGroupNames.put(value.getOptionGroupId(), value.getOptionGroupName());
+    }
+    int bucket = priceBucketOf(source.getMinPrice());
+    if (bucket >= 0) {
+      byPriceBucket[bucket].add(bit);
+    }
+    indexed.put(source.getProductId(), source);
+  }
+
+  private void remove(Long productId) {
+    ProductFacetSource previous = indexed.remove(productId);
+    if (previous == null) {
+      return;
+    }
+    int bit = productId.intValue();
+    all.remove(bit);
+    if (previous.getCategoryId() != null) {
+      removeBit(byCategory, previous.getCategoryId(), bit);
+    }
+    previous.getColors().forEach(color -> removeBit(byColor, normalizeColor(color), bit));
+    previous.getOptionValues().forEach(value -> removeBit(byOptionValue, value.getOptionValueId(), bit));
+    for (RoaringBitmap bucket : byPriceBucket) {
+      bucket.remove(bit);
+    }
+  }
+
+  // 비트맵이 비면 항목 자체를 지워서 더 이상 개수에 나오지 않게 한다.
+  private static <K> void removeBit(Map<K, RoaringBitmap> bitmaps, K key, int bit) {
+    RoaringBitmap bitmap = bitmaps.get(key);
+    if (bitmap != null) {
+      bitmap.remove(bit);
+      if (bitmap.isEmpty()) {
+        bitmaps.remove(key);
+      }
+    }
+  }
+
+  private static int priceBucketOf(BigDecimal price) {
+    if (price == null) {
+      return -1;
+    }
+    for (int i = PRICE_EDGES.length - 1; i >= 0; i--) {
+      if (price.compareTo(PRICE_EDGES[i]) >= 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private RoaringBitmap priceBucket(Integer bucket) {
+    return bucket != null && bucket >= 0 && bucket < byPriceBucket.length ? byPriceBucket[bucket] : null;
+  }
+
+  // 선택 값들의 합집합. 선택이 없으면 null (필터 없음)
+  private static <K> RoaringBitmap union(Collection<K> keys, Function<K, RoaringBitmap> lookup) {
+    if (keys == null || keys.isEmpty()) {
+      return null;
+    }
+    RoaringBitmap result = new RoaringBitmap();
+    for (K key : keys) {
+      RoaringBitmap bitmap = lookup.apply(key);
+      if (bitmap != null) {
+        result.or(bitmap);
+      }
+    }
+    return result;
+  }
+
+  // 전체 상품에 filters를 AND. excluded(자기 항목의 필터)는 건너뛴다.
+  private RoaringBitmap intersect(List<RoaringBitmap> filters, RoaringBitmap excluded) {
+    RoaringBitmap result = all.clone();
+    for (RoaringBitmap filter : filters) {
+      if (filter != null && filter != excluded) {
+        result.and(filter);
+      }
+    }
+    return result;
+  }
+
+  private static <K> List<FacetCount> count(Map<K, RoaringBitmap> bitmaps, RoaringBitmap base,
+      Function<K, String> label) {
+    List<FacetCount> counts = new ArrayList<>();
+    bitmaps.forEach((key, bitmap) -> {
+      long count = RoaringBitmap.andCardinality(base, bitmap);
+      if (count > 0) {
+        counts.add(new FacetCount(String.valueOf(key), label.apply(key), count));
+      }
+    });
+    counts.sort(Comparator.comparingLong(FacetCount::getCount).reversed().thenComparing(FacetCount::getLabel,
+        Comparator.nullsLast(Comparator.naturalOrder())));
+    return counts;
+  }
+
+  private static List<String> normalizeColors(List<String> colors) {
+    return colors == null ? null : colors.stream().map(ProductFacetIndex::normalizeColor).toList();
+  }
+
+  private static String normalizeColor(String color) {
+    return color.trim().toLowerCase(Locale.ROOT);
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class FacetResult {
+    private final List<Long> productIds;
+    private final Long nextLastId;
+    private final long totalElements;
+    private final List<FacetCount> categories;
+    private final List<FacetCount> colors;
+    private final List<OptionGroupFacet> optionGroups;
+    private final List<PriceBucketFacet> priceBuckets;
+  }
+}
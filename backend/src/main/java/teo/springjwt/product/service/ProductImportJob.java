@@ -0,0 +1,93 @@
+package teo.springjwt.product.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+
+/**
+ * 상품 대량 등록 작업 하나의 진행 상태. 워커 스레드가 갱신하고 상태 조회 API가 읽습니다.
+ */
+@Getter
+public class ProductImportJob {
+
+  // 상태 조회 응답이 너무 커지지 않도록 실패 사유는 앞에서부터 이만큼만 보관
+  private static final int MAX_ERRORS = 100;
+
+  public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+  private final String id;
+  private final String fileName;
+  private final ProductImportReader.Format format;
+  private final Instant createdAt = Instant.now();
+  private final AtomicLong readCount = new AtomicLong();
+  private final AtomicLong importedCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+  private final List<String> errors = new ArrayList<>();
+
+  private volatile Status status = Status.QUEUED;
+  private volatile Instant startedAt;
+  private volatile Instant finishedAt;
+  private volatile String message;
+
+  public ProductImportJob(String id, String fileName, ProductImportReader.Format format) {
+    this.id = id;
+    this.fileName = fileName;
+    this.format = format;
+  }
+
+  public void start() {
+    this.startedAt = Instant.now();
+    this.status = Status.RUNNING;
+  }
+
+  public void complete() {
+    this.finishedAt = Instant.now();
+    this.status = Status.COMPLETED;
+  }
+
+  public void abort(String message) {
+    this.finishedAt = Instant.now();
+    this.message = message;
+    this.status = Status.FAILED;
+  }
+
+  public void recordRead() {
+    readCount.incrementAndGet();
+  }
+
+  public void recordImported(int count) {
+    importedCount.addAndGet(count);
+  }
+
+  public void recordFailure(long lineNumber, String reason) {
+    failedCount.incrementAndGet();
+    synchronized (errors) {
+      if (errors.size() < MAX_ERRORS) {
+        errors.add("line " + lineNumber + ": " + reason);
+      }
+    }
+  }
+
+  public List<String> getErrors() {
+    synchronized (errors) {
+      return List.copyOf(errors);
+    }
+  }
+
+  public boolean isFinished() {
+    return status == Status.COMPLETED || status == Status.FAILED;
+  }
+
+  // 초당 등록된 상품 수
+  public double getThroughputPerSecond() {
+    if (startedAt == null) {
+      return 0;
+    }
+    Instant end = finishedAt != null ? finishedAt : Instant.now();
+    long millis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+    return importedCount.get() * 1000.0 / millis;
+  }
+}
@@ -0,0 +1,215 @@
+package teo.springjwt.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+import teo.springjwt.product.dto.request.RequestProductCreate;
+import teo.springjwt.product.dto.request.RequestProductCreate.ProductOptionGroupRequest;
+import teo.springjwt.product.dto.request.RequestProductCreate.ProductOptionValueRequest;
+
+/**
+ * 대량 등록 파일을 한 줄씩 읽어 RequestProductCreate로 바꿉니다. 파일 전체를 메모리에 올리지 않습니다.
+ *
+ * <ul>
+ *   <li>JSONL: 한 줄에 RequestProductCreate JSON 하나</li>
+ *   <li>CSV: 헤더 {@code name,price,description,categoryId,colors,options}.
+ *       colors는 {@code Black|White}, options는 {@code 그룹ID:값ID|값ID;그룹ID:값ID} 형식</li>
+ * </ul>
+ */
+public class ProductImportReader implements Closeable {
+
+  public enum Format {
+    CSV, JSONL;
+
+    public static Format from(String format, String fileName) {
+      String value = StringUtils.hasText(format) ? format : StringUtils.getFilenameExtension(fileName);
+      if (value == null) {
+        throw new IllegalArgumentException("파일 형식을 알 수 없습니다. format 파라미터(csv, jsonl)를 지정해주세요.");
+      }
+      return switch (value.toLowerCase(Locale.ROOT)) {
+        case "csv" -> CSV;
+        case "jsonl", "ndjson" -> JSONL;
+        default -> throw new IllegalArgumentException("지원하지 않는 파일 형식입니다: " + value);
+      };
+    }
+  }
+
+  /**
+   * 읽은 레코드 하나. 파싱에 실패하면 request 대신 error가 채워집니다.
+   */
+  @Getter
+  @AllArgsConstructor
+  public static class Record {
+    private final long lineNumber;
+    private final RequestProductCreate request;
+    private final String error;
+  }
+
+  private static final List<String> CSV_COLUMNS = List.of("name", "price", "description", "categoryId", "colors", "options");
+
+  private final BufferedReader reader;
+  private final Format format;
+  private final ObjectMapper objectMapper;
+  private Map<String, Integer> csvHeader;
+  private long lineNumber;
+
+  public ProductImportReader(Path file, Format format, ObjectMapper objectMapper) throws IOException {
+    this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    this.format = format;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * 다음 레코드를 읽습니다. 빈 줄은 건너뜁니다.
+   *
+   * @return 파일 끝이면 null
+   */
+  public Record next() throws IOException {
+    if (format == Format.CSV && csvHeader == null) {
+      readCsvHeader();
+    }
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        RequestProductCreate request = format == Format.CSV ? parseCsv(line) : parseJson(line);
+        return new Record(lineNumber, request, null);
+      } catch (IllegalArgumentException | JsonProcessingException e) {
+        return new Record(lineNumber, null, e.getMessage());
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private RequestProductCreate parseJson(String line) throws JsonProcessingException {
+    return objectMapper.readValue(line, RequestProductCreate.class);
+  }
+
+  private void readCsvHeader() throws IOException {
+    String header = reader.readLine();
+    lineNumber++;
+    if (header == null) {
+      throw new IOException("CSV 헤더가 없습니다.");
+    }
+    csvHeader = new HashMap<>();
+    List<String> columns = splitCsv(header.replace("\uFEFF", "")); // 엑셀이 붙이는 BOM 제거
+    for (int i = 0; i < columns.size(); i++) {
+      csvHeader.put(columns.get(i).trim(), i);
+    }
+    for (String column : CSV_COLUMNS) {
+      if (!csvHeader.containsKey(column)) {
+        throw new IOException("CSV 헤더에 " + column + " 컬럼이 없습니다.");
+      }
+    }
+  }
+
+  private RequestProductCreate parseCsv(String line) {
+    List<String> fields = splitCsv(line);
+    RequestProductCreate request = new RequestProductCreate();
+    request.setName(field(fields, "name"));
+    request.setDescription(field(fields, "description"));
+    request.setPrice(parseDecimal(field(fields, "price"), "price"));
+    request.setCategoryId(parseId(field(fields, "categoryId"), "categoryId"));
+
+    String colors = field(fields, "colors");
+    request.setColors(StringUtils.hasText(colors)
+                          ? Arrays.stream(colors.split("\\|")).map(String::trim).filter(StringUtils::hasText).toList()
+                          : null);
+
+    String options = field(fields, "options");
+    if (StringUtils.hasText(options)) {
+      List<ProductOptionGroupRequest> groups = new ArrayList<>();
+      for (String groupToken : options.split(";")) {
+        String[] parts = groupToken.split(":", 2);
+        if (parts.length != 2) {
+          throw new IllegalArgumentException("옵션 형식이 올바르지 않습니다: " + groupToken);
+        }
+        ProductOptionGroupRequest group = new ProductOptionGroupRequest();
+        group.setId(parseId(parts[0], "option group id"));
+        List<ProductOptionValueRequest> values = new ArrayList<>();
+        for (String valueToken : parts[1].split("\\|")) {
+          ProductOptionValueRequest value = new ProductOptionValueRequest();
+          value.setId(parseId(valueToken, "option value id"));
+          values.add(value);
+        }
+        group.setOptionValues(values);
+        groups.add(group);
+      }
+      request.setOptionGroups(groups);
+    }
+    return request;
+  }
+
+  private String field(List<String> fields, String column) {
+    int index = csvHeader.get(column);
+    return index < fields.size() ? fields.get(index).trim() : "";
+  }
+
+  private static BigDecimal parseDecimal(String value, String column) {
+    try {
+      return StringUtils.hasText(value) ? new BigDecimal(value.trim()) : null;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " 값이 숫자가 아닙니다: " + value);
+    }
+  }
+
+  private static Long parseId(String value, String column) {
+    try {
+      return StringUtils.hasText(value) ? Long.valueOf(value.trim()) : null;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " 값이 숫자가 아닙니다: " + value);
+    }
+  }
+
+  // 큰따옴표로 감싼 필드("a,b")와 이스케이프된 따옴표("")를 지원하는 한 줄 CSV 분리
+  private static List<String> splitCsv(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          current.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    fields.add(current.toString());
+    return fields;
+  }
+}
@@ -0,0 +1,65 @@
+package teo.springjwt.product.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 상품 대량 등록 작업을 접수하고 진행 상태를 보관합니다.
+ * 작업 상태는 메모리에만 두므로 서버가 재시작되면 사라집니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+  // 끝난 작업의 상태를 조회할 수 있게 남겨두는 기간
+  private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(24);
+
+  private final ProductImportWorker productImportWorker;
+  private final Map<String, ProductImportJob> jobs = new ConcurrentHashMap<>();
+
+  /**
+   * 업로드 파일을 임시 파일로 옮긴 뒤 비동기 등록 작업을 시작합니다.
+   * (요청이 끝나면 multipart 임시 파일이 지워지므로 먼저 복사해 둔다)
+   */
+  public ProductImportJob submit(MultipartFile file, String format) throws IOException {
+    if (file.isEmpty()) {
+      throw new IllegalArgumentException("업로드할 파일을 선택해주세요.");
+    }
+    ProductImportReader.Format importFormat = ProductImportReader.Format.from(format, file.getOriginalFilename());
+    purgeFinishedJobs();
+
+    Path spool = Files.createTempFile("product-import-", "." + importFormat.name().toLowerCase());
+    file.transferTo(spool);
+
+    ProductImportJob job = new ProductImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), importFormat);
+    jobs.put(job.getId(), job);
+    try {
+      productImportWorker.run(job, spool);
+    } catch (RejectedExecutionException e) { // TaskRejectedException 포함
+      jobs.remove(job.getId());
+      Files.deleteIfExists(spool);
+      throw new IllegalStateException("대기 중인 등록 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+    }
+    return job;
+  }
+
+  public Optional<ProductImportJob> getJob(String jobId) {
+    return Optional.ofNullable(jobs.get(jobId));
+  }
+
+  private void purgeFinishedJobs() {
+    Instant threshold = Instant.now().minus(FINISHED_JOB_RETENTION);
+    jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+  }
+}
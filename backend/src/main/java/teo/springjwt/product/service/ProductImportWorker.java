@@ -0,0 +1,132 @@
+package teo.springjwt.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import teo.springjwt.category.repository.CategoryRepository;
+import teo.springjwt.product.dto.request.RequestProductCreate;
+import teo.springjwt.product.repository.group.OptionGroupEntityRepository;
+import teo.springjwt.product.repository.value.OptionValueEntityRepository;
+import teo.springjwt.product.service.ProductImportReader.Record;
+
+/**
+ * 업로드된 파일을 읽어 청크 단위 트랜잭션으로 상품을 등록합니다.
+ * 청크가 실패하면 그 청크만 한 건씩 다시 시도해서 문제가 있는 레코드만 건너뜁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductImportWorker {
+
+  private final ProductService productService;
+  private final CategoryRepository categoryRepository;
+  private final OptionGroupEntityRepository groupRepository;
+  private final OptionValueEntityRepository optionRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+
+  @Value("${product.import.chunk-size:200}")
+  private int chunkSize;
+
+  @Async("productImportExecutor")
+  public void run(ProductImportJob job, Path file) {
+    job.start();
+    try (ProductImportReader reader = new ProductImportReader(file, job.getFormat(), objectMapper)) {
+      // 카테고리 / 옵션 마스터는 작업 시작 시 한 번만 읽는다.
+      ProductCatalogLookup lookup = transactionTemplate.execute(
+          status -> ProductCatalogLookup.loadAll(categoryRepository, groupRepository, optionRepository));
+
+      List<Record> chunk = new ArrayList<>(chunkSize);
+      Record record;
+      while ((record = reader.next()) != null) {
+        job.recordRead();
+        String error = record.getError() != null ? record.getError() : validate(record.getRequest());
+        if (error != null) {
+          job.recordFailure(record.getLineNumber(), error);
+          continue;
+        }
+        chunk.add(record);
+        if (chunk.size() == chunkSize) {
+          writeChunk(job, chunk, lookup);
+          chunk.clear();
+        }
+      }
+      writeChunk(job, chunk, lookup);
+      job.complete();
+      log.info("Product import {} finished: imported={}, failed={}, {}/s", job.getId(),
+               job.getImportedCount().get(), job.getFailedCount().get(),
+               String.format("%.1f", job.getThroughputPerSecond()));
+    } catch (Exception e) {
+      log.error("Product import {} aborted", job.getId(), e);
+      job.abort(e.getMessage());
+    } finally {
+      deleteQuietly(file);
+    }
+  }
+
+  private void writeChunk(ProductImportJob job, List<Record> chunk, ProductCatalogLookup lookup) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    List<RequestProductCreate> requests = chunk.stream().map(Record::getRequest).toList();
+    // 상품 요약을 다시 계산하는 쓰기 트랜잭션이므로 ProductService와 같이 READ COMMITTED
+    TransactionTemplate writeTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    writeTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    try {
+      writeTransaction.executeWithoutResult(status -> productService.createProducts(requests, lookup));
+      job.recordImported(requests.size());
+    } catch (RuntimeException chunkFailure) {
+      // 어떤 레코드 때문에 실패했는지 모르므로 한 건씩 다시 등록해 본다.
+      for (Record record : chunk) {
+        try {
+          writeTransaction.executeWithoutResult(
+              status -> productService.createProducts(List.of(record.getRequest()), lookup));
+          job.recordImported(1);
+        } catch (RuntimeException e) {
+          job.recordFailure(record.getLineNumber(), rootMessage(e));
+        }
+      }
+    }
+  }
+
+  private String validate(RequestProductCreate request) {
+    Set<ConstraintViolation<RequestProductCreate>> violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+                     .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                     .collect(Collectors.joining(", "));
+  }
+
+  private static String rootMessage(Throwable e) {
+    Throwable root = e;
+    while (root.getCause() != null && root.getCause() != root) {
+      root = root.getCause();
+    }
+    return root.getMessage();
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Failed to delete import spool file {}", file, e);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package teo.springjwt.product.service;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import teo.springjwt.common.config.CacheConfig;
+import teo.springjwt.product.dto.ResponseProductDetailDTO;
+import teo.springjwt.product.dto.ResponseProductEntity;
+import teo.springjwt.product.dto.ResponseSkuDTO;
+import teo.springjwt.product.dto.ResponseSkuOptionValueDTO;
+import teo.springjwt.product.entity.ImageUrlEntity;
+import teo.springjwt.product.entity.ProductColorVariantEntity;
+import teo.springjwt.product.entity.ProductEntity;
+import teo.springjwt.product.entity.SkuEntity;
+import teo.springjwt.product.repository.product.ProductColorVariantEntityRepository;
+import teo.springjwt.product.repository.product.ProductEntityRepository;
+import teo.springjwt.product.repository.sku.SkuRepository;
+
+/**
+ * 사용자 화면용 상품 조회. 결과 DTO는 로컬 캐시에 저장되고,
+ * 상품이 바뀌면 ProductCacheInvalidator가 커밋 후에 해당 항목만 지웁니다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ProductQueryService {
+
+  private final ProductEntityRepository productRepository;
+  private final ProductColorVariantEntityRepository colorVariantRepository;
+  private final SkuRepository skuRepository;
+  private final ImageDerivativeUrls imageDerivativeUrls;
+
+  // 가격 범위와 썸네일은 product_summary에서 읽으므로 페이지당 쿼리 1회로 끝납니다.
+  @Cacheable(cacheNames = CacheConfig.PRODUCT_LIST, key = "#lastId + ':' + #size")
+  public List<ResponseProductEntity> getStorefrontPage(Long lastId, int size) {
+    return imageDerivativeUrls.withThumbnailSrcset(productRepository.findStorefrontProducts(lastId, size));
+  }
+
+  @Cacheable(cacheNames = CacheConfig.PRODUCT_SKUS)
+  public List<ResponseSkuDTO> getProductSkus(Long productId) {
+    // 색상/이미지를 먼저 영속성 컨텍스트에 올려 두면 SKU 변환 중에 지연 로딩이 일어나지 않는다.
+    colorVariantRepository.findAllWithImagesByProductId(productId);
+    return skuRepository
+        .findAllWithOptionValuesByProductId(productId)
+        .stream()
+        .map(sku -> ResponseSkuDTO.fromEntity(sku, imageDerivativeUrls::toImageDto))
+        .toList();
+  }
+
+  /**
+   * 상품 상세 (색상별 SKU + 이미지). 상품 / 색상+이미지 / SKU+옵션 값 고정 3회 쿼리로 조회합니다.
+   */
+  @Cacheable(cacheNames = CacheConfig.PRODUCT_DETAIL)
+  public Optional<ResponseProductDetailDTO> getProductDetail(Long productId) {
+    Optional<ProductEntity> found = productRepository.findWithCategoryById(productId);
+    if (found.isEmpty()) {
+      return Optional.empty();
+    }
+    ProductEntity product = found.get();
+    List<ProductColorVariantEntity> colorVariants = colorVariantRepository.findAllWithImagesByProductId(productId);
+    Map<Long, List<SkuEntity>> skusByColor = skuRepository
+        .findAllWithOptionValuesByProductId(productId)
+        .stream()
+        .collect(Collectors.groupingBy(sku -> sku.getColorVariant().getId()));
+
+    List<ResponseProductDetailDTO.Color> colors = colorVariants
+        .stream()
+        .map(colorVariant -> toColor(colorVariant, skusByColor.getOrDefault(colorVariant.getId(), List.of())))
+        .toList();
+
+    List<BigDecimal> prices = skusByColor.values().stream().flatMap(List::stream).map(SkuEntity::getPrice).toList();
+    return Optional.of(new ResponseProductDetailDTO(
+        product.getId(),
+        product.getName(),
+        product.getDescription(),
+        product.getCategory().getId(),
+        product.getCategory().getName(),
+        prices.stream().min(Comparator.naturalOrder()).orElse(null),
+        prices.stream().max(Comparator.naturalOrder()).orElse(null),
+        colors));
+  }
+
+  private ResponseProductDetailDTO.Color toColor(ProductColorVariantEntity colorVariant, List<SkuEntity> skus) {
+    String thumbnailUrl = colorVariant.getImages().stream()
+                                      .filter(ImageUrlEntity::isThumbnail)
+                                      .map(ImageUrlEntity::getImageUrl)
+                                      .findFirst()
+                                      .orElse(null);
+    return new ResponseProductDetailDTO.Color(
+        colorVariant.getId(),
+        colorVariant.getColorName(),
+        thumbnailUrl,
+        imageDerivativeUrls.srcset(thumbnailUrl),
+        colorVariant.getImages().stream().map(imageDerivativeUrls::toImageDto).toList(),
+        skus.stream()
+            .map(sku -> new ResponseProductDetailDTO.Sku(
+                sku.getId(),
+                sku.getName(),
+                sku.getDescription(),
+                sku.getPrice(),
+                sku.getStock(),
+                sku.getSkuOptionValues().stream().map(ResponseSkuOptionValueDTO::fromEntity).toList()))
+            .toList());
+  }
+}
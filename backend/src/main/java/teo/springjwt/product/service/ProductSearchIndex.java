@@ -0,0 +1,396 @@
+package teo.springjwt.product.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import teo.springjwt.product.dto.ProductCursor;
+import teo.springjwt.product.dto.ProductCursor.SortKey;
+import teo.springjwt.product.dto.ProductSearchSource;
+import teo.springjwt.product.event.ProductCatalogChangedEvent;
+import teo.springjwt.product.repository.product.ProductEntityRepository;
+
+/**
+ * 상품 검색용 인메모리 Lucene 색인.
+ * 기동 시 전체를 색인하고, 이후에는 ProductCatalogChangedEvent(커밋 후)로 바뀐 상품만 다시 색인합니다.
+ * 검색어는 토큰 단위로 일치(term) 또는 접두어(prefix) 매칭하고 BM25 점수로 정렬합니다.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+  private static final String ID = "id";
+  private static final String NAME = "name";
+  private static final String DESCRIPTION = "description";
+  private static final String CATEGORY = "category";
+  private static final String SKU = "sku";
+  private static final String OPTION = "option";
+  private static final String NAME_STORED = "nameStored";
+  // 관리자 목록의 부분 문자열 검색용 (1~2글자 n-gram)
+  private static final String NAME_GRAM = "nameGram";
+  private static final String SKU_GRAM = "skuGram";
+  // 관리자 목록 정렬용 doc values
+  private static final String ID_SORT = "idSort";
+  private static final String CREATED_SORT = "createdSort";
+  private static final String NAME_SORT = "nameSort";
+
+  // 검색 필드별 가중치 (상품명 일치가 가장 중요)
+  private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+      NAME, 3.0f, CATEGORY, 1.5f, OPTION, 1.2f, SKU, 1.0f, DESCRIPTION, 0.5f);
+
+  private static final int REBUILD_CHUNK_SIZE = 1_000;
+
+  private final ProductEntityRepository productRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final Analyzer analyzer = new StandardAnalyzer();
+  private final IndexWriter writer;
+  private final SearcherManager searcherManager;
+
+  public ProductSearchIndex(ProductEntityRepository productRepository, TransactionTemplate transactionTemplate)
+      throws IOException {
+    this.productRepository = productRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.readOnlyTransaction.setReadOnly(true);
+    // 커밋 후 이벤트에서 불리면 이미 커밋된 트랜잭션이 아직 묶여 있으므로, 참여하지 않고 새 트랜잭션에서 읽는다
+    this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    Analyzer gramAnalyzer = new GramAnalyzer();
+    Analyzer indexAnalyzer = new PerFieldAnalyzerWrapper(analyzer, Map.of(NAME_GRAM, gramAnalyzer, SKU_GRAM, gramAnalyzer));
+    this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(indexAnalyzer));
+    this.searcherManager = new SearcherManager(writer, null);
+  }
+
+  /**
+   * 상품 검색. 결과는 점수 내림차순 상품 ID.
+   */
+  public List<Long> search(String text, int limit) {
+    List<String> tokens = tokenize(text);
+    if (tokens.isEmpty()) {
+      return List.of();
+    }
+    BooleanQuery.Builder query = new BooleanQuery.Builder();
+    for (int i = 0; i < tokens.size(); i++) {
+      // 입력 중인 마지막 토큰은 접두어로도 매칭 (자동완성처럼 동작)
+      query.add(anyField(tokens.get(i), i == tokens.size() - 1), Occur.MUST);
+    }
+    return topIds(query.build(), limit);
+  }
+
+  /**
+   * 관리자 목록의 이름 / SKU 코드 필터가 있는지.
+   */
+  public boolean hasAdminFilter(String name, String skuCode) {
+    return StringUtils.hasText(name) || StringUtils.hasText(skuCode);
+  }
+
+  /**
+   * 관리자 목록의 이름 / SKU 코드 검색 한 페이지. 예전 LIKE '%검색어%'와 같이 대소문자 구분 없는 부분 문자열로 찾는다.
+   * 정렬과 페이징을 색인에서 끝내므로 일치하는 상품이 아무리 많아도 DB에는 한 페이지 분의 ID만 넘어간다.
+   * (sortKey, id) 순으로 정렬하고, after가 있으면 그 다음부터(searchAfter), 없으면 offset 부터 limit 건.
+   * 이름 정렬은 색인 바이트 순서(대소문자 구분)라 DB 정렬 규칙과 다를 수 있다.
+   *
+   * @param withTotal true면 일치하는 전체 상품 수를 센다
+   */
+  public AdminMatches findAdminPage(String name, String skuCode, SortKey sortKey, boolean ascending,
+      ProductCursor after, long offset, int limit, boolean withTotal) {
+    BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    addSubstring(builder, NAME_GRAM, name);
+    addSubstring(builder, SKU_GRAM, skuCode);
+    Query query = builder.build();
+    Sort sort = new Sort(switch (sortKey) {
+      case CREATED_DATE -> new SortField(CREATED_SORT, SortField.Type.LONG, !ascending);
+      case NAME -> new SortField(NAME_SORT, SortField.Type.STRING, !ascending);
+    }, new SortField(ID_SORT, SortField.Type.LONG, !ascending)); // id로 동률을 깨서 순서를 고정
+
+    List<Long> ids = new ArrayList<>();
+    long[] total = {-1};
+    withSearcher(searcher -> {
+      TopDocs topDocs;
+      if (after != null) {
+        Object value = switch (sortKey) {
+          case CREATED_DATE -> sortValue(after.getCreatedDate());
+          case NAME -> new BytesRef(after.getName());
+        };
+        // 정렬 값이 모두 같으면 doc 번호로 비교하므로, 커서 상품 자신은 다시 나오지 않게 마지막 doc 번호로 둔다
+        int lastDoc = Math.max(searcher.getIndexReader().maxDoc() - 1, 0);
+        FieldDoc afterDoc = new FieldDoc(lastDoc, Float.NaN, new Object[]{value, after.getId()});
+        topDocs = searcher.searchAfter(afterDoc, query, limit, sort);
+      } else {
+        int maxDoc = Math.max(searcher.getIndexReader().maxDoc(), 1);
+        int numHits = (int) Math.min(offset + limit, maxDoc);
+        topDocs = offset < numHits ? searcher.search(query, numHits, sort) : null;
+      }
+      if (topDocs != null) {
+        ScoreDoc[] hits = topDocs.scoreDocs;
+        for (int i = after != null ? 0 : (int) offset; i < hits.length; i++) {
+          ids.add(Long.valueOf(searcher.storedFields().document(hits[i].doc).get(ID)));
+        }
+      }
+      if (withTotal) {
+        total[0] = searcher.count(query);
+      }
+    });
+    return new AdminMatches(ids, withTotal ? total[0] : null);
+  }
+
+  /**
+   * 상품명 자동완성. 앞의 토큰은 그대로, 마지막 토큰은 접두어로 매칭한 상품명을 돌려준다.
+   */
+  public List<String> suggest(String prefix, int limit) {
+    List<String> tokens = tokenize(prefix);
+    if (tokens.isEmpty()) {
+      return List.of();
+    }
+    BooleanQuery.Builder query = new BooleanQuery.Builder();
+    for (int i = 0; i < tokens.size(); i++) {
+      String token = tokens.get(i);
+      query.add(i == tokens.size() - 1 ? new PrefixQuery(new Term(NAME, token)) : new TermQuery(new Term(NAME, token)),
+                Occur.MUST);
+    }
+    Set<String> names = new LinkedHashSet<>();
+    withSearcher(searcher -> {
+      for (ScoreDoc scoreDoc : searcher.search(query.build(), limit * 2).scoreDocs) {
+        names.add(searcher.storedFields().document(scoreDoc.doc).get(NAME_STORED));
+        if (names.size() == limit) {
+          break;
+        }
+      }
+    });
+    return new ArrayList<>(names);
+  }
+
+  // 바뀐 상품만 다시 색인 (삭제된 상품은 색인에서 제거)
+  @EventListener
+  public void onCatalogChanged(ProductCatalogChangedEvent event) {
+    // 커밋 뒤 이벤트라 예외를 던져도 되돌릴 것이 없다. 다음 변경이나 재기동 때 다시 색인된다.
+    try {
+      reindex(event.getProductIds());
+    } catch (RuntimeException e) {
+      log.warn("Failed to update product search index for {}", event.getProductIds(), e);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    long start = System.nanoTime();
+    int total = 0;
+    Long afterId = null;
+    try {
+      writer.deleteAll();
+      while (true) {
+        Long from = afterId;
+        List<Long> ids = readOnlyTransaction.execute(status -> productRepository.findProductIdsAfter(from, REBUILD_CHUNK_SIZE));
+        if (ids == null || ids.isEmpty()) {
+          break;
+        }
+        reindex(ids);
+        afterId = ids.get(ids.size() - 1);
+        total += ids.size();
+      }
+      searcherManager.maybeRefresh();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    log.info("Product search index built: {} products in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private void reindex(Collection<Long> productIds) {
+    List<ProductSearchSource> sources = readOnlyTransaction.execute(
+        status -> productRepository.findSearchSources(productIds));
+    Set<Long> missing = new HashSet<>(productIds);
+    try {
+      for (ProductSearchSource source : sources) {
+        writer.updateDocument(new Term(ID, source.getProductId().toString()), toDocument(source));
+        missing.remove(source.getProductId());
+      }
+      for (Long productId : missing) {
+        writer.deleteDocuments(new Term(ID, productId.toString()));
+      }
+      searcherManager.maybeRefresh();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Document toDocument(ProductSearchSource source) {
+    Document document = new Document();
+    document.add(new StringField(ID, source.getProductId().toString(), Field.Store.YES));
+    document.add(new TextField(NAME, source.getName(), Field.Store.NO));
+    document.add(new StoredField(NAME_STORED, source.getName()));
+    document.add(new TextField(NAME_GRAM, source.getName(), Field.Store.NO));
+    document.add(new NumericDocValuesField(ID_SORT, source.getProductId()));
+    document.add(new SortedDocValuesField(NAME_SORT, new BytesRef(source.getName())));
+    if (source.getCreatedDate() != null) {
+      document.add(new NumericDocValuesField(CREATED_SORT, sortValue(source.getCreatedDate())));
+    }
+    if (source.getDescription() != null) {
+      document.add(new TextField(DESCRIPTION, source.getDescription(), Field.Store.NO));
+    }
+    if (source.getCategoryName() != null) {
+      document.add(new TextField(CATEGORY, source.getCategoryName(), Field.Store.NO));
+    }
+    source.getSkuCodes().forEach(code -> {
+      document.add(new TextField(SKU, code, Field.Store.NO));
+      document.add(new TextField(SKU_GRAM, code, Field.Store.NO));
+    });
+    source.getOptionNames().forEach(option -> document.add(new TextField(OPTION, option, Field.Store.NO)));
+    return document;
+  }
+
+  // 토큰 하나가 어느 필드에든 일치하면 된다. 필드별 가중치 적용
+  private Query anyField(String token, boolean prefix) {
+    BooleanQuery.Builder fields = new BooleanQuery.Builder();
+    FIELD_BOOSTS.forEach((field, boost) -> {
+      fields.add(new BoostQuery(new TermQuery(new Term(field, token)), boost), Occur.SHOULD);
+      if (prefix) {
+        // 접두어 매칭은 완전 일치보다 낮은 점수
+        fields.add(new BoostQuery(new PrefixQuery(new Term(field, token)), boost * 0.5f), Occur.SHOULD);
+      }
+    });
+    return fields.build();
+  }
+
+  /**
+   * text가 필드 값 어딘가에 그대로 들어 있는 문서만 남긴다.
+   * 색인은 글자마다 1-gram, 2-gram 순으로 위치를 하나씩 받으므로 i번째 글자에서 시작하는 2-gram은 위치 2i+1에 있다.
+   * 검색어의 2-gram을 그 간격(2)으로 붙인 구문 검색이 곧 부분 문자열 일치가 된다. 한 글자면 1-gram 하나로 찾는다.
+   */
+  private void addSubstring(BooleanQuery.Builder query, String field, String text) {
+    if (!StringUtils.hasText(text)) {
+      return;
+    }
+    int[] chars = text.trim().toLowerCase(Locale.ROOT).codePoints().toArray();
+    if (chars.length == 1) {
+      query.add(new TermQuery(new Term(field, new String(chars, 0, 1))), Occur.MUST);
+      return;
+    }
+    PhraseQuery.Builder phrase = new PhraseQuery.Builder();
+    for (int i = 0; i + 1 < chars.length; i++) {
+      phrase.add(new Term(field, new String(chars, i, 2)), i * 2);
+    }
+    query.add(phrase.build(), Occur.MUST);
+  }
+
+  // 나노초 단위 epoch (커서의 LocalDateTime 정밀도를 그대로 유지)
+  private static long sortValue(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+  }
+
+  private List<Long> topIds(Query query, int limit) {
+    List<Long> ids = new ArrayList<>();
+    withSearcher(searcher -> {
+      for (ScoreDoc scoreDoc : searcher.search(query, limit).scoreDocs) {
+        ids.add(Long.valueOf(searcher.storedFields().document(scoreDoc.doc).get(ID)));
+      }
+    });
+    return ids;
+  }
+
+  private List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (!StringUtils.hasText(text)) {
+      return tokens;
+    }
+    try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+      CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+      stream.reset();
+      while (stream.incrementToken()) {
+        tokens.add(term.toString());
+      }
+      stream.end();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return tokens;
+  }
+
+  private void withSearcher(SearcherCallback callback) {
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        callback.run(searcher);
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface SearcherCallback {
+    void run(IndexSearcher searcher) throws IOException;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class AdminMatches {
+    private final List<Long> productIds; // 정렬된 한 페이지 분
+    private final Long totalElements; // withTotal=false 이면 null
+  }
+
+  // 글자 단위 1~2-gram, 소문자. SKU 코드처럼 값이 여러 개면 값 경계를 넘어 구문이 이어지지 않도록 위치를 띄운다.
+  private static class GramAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+      Tokenizer tokenizer = new NGramTokenizer(1, 2);
+      return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+    }
+
+    @Override
+    public int getPositionIncrementGap(String fieldName) {
+      return 100;
+    }
+  }
+}
@@ -1,77 +1,254 @@
 package teo.springjwt.product.service;
 
-import jakarta.persistence.EntityNotFoundException;
-import java.math.BigDecimal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Order;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import teo.springjwt.category.CategoryEntity;
 import teo.springjwt.category.repository.CategoryRepository;
+import teo.springjwt.product.dto.CatalogVersion;
+import teo.springjwt.product.dto.CursorPage;
+import teo.springjwt.product.dto.ProductCursor;
+import teo.springjwt.product.dto.ProductCursor.SortKey;
+import teo.springjwt.product.dto.ResponseProductDetailDTO;
 import teo.springjwt.product.dto.ResponseProductEntity;
+import teo.springjwt.product.dto.ResponseProductFacetSearch;
+import teo.springjwt.product.dto.ResponseProductPage;
 import teo.springjwt.product.dto.ResponseSkuDTO;
 import teo.springjwt.product.dto.request.RequestProductCreate;
 import teo.springjwt.product.dto.request.RequestProductCreate.ProductOptionGroupRequest;
 import teo.springjwt.product.dto.request.RequestProductCreate.ProductOptionValueRequest;
+import teo.springjwt.product.dto.request.RequestProductFacetSearch;
+import teo.springjwt.product.dto.request.RequestProductScroll;
 import teo.springjwt.product.entity.OptionGroupEntity;
 import teo.springjwt.product.entity.OptionValueEntity;
 import teo.springjwt.product.entity.ProductColorVariantEntity;
 import teo.springjwt.product.entity.ProductEntity;
 import teo.springjwt.product.entity.ProductOptionGroupEntity;
 import teo.springjwt.product.entity.ProductOptionValueEntity;
-import teo.springjwt.product.entity.SkuEntity;
-import teo.springjwt.product.entity.SkuOptionValueEntity;
 import teo.springjwt.product.repository.group.OptionGroupEntityRepository;
 import teo.springjwt.product.repository.product.ProductColorVariantEntityRepository;
 import teo.springjwt.product.repository.product.ProductEntityRepository;
-import teo.springjwt.product.repository.sku.SkuOptionValueRepository;
-import teo.springjwt.product.repository.sku.SkuRepository;
+import teo.springjwt.product.repository.sku.SkuBatchWriter;
+import teo.springjwt.product.repository.sku.SkuInsertRow;
+import teo.springjwt.product.repository.summary.ProductSummaryRepository;
 import teo.springjwt.product.repository.value.OptionValueEntityRepository;
+import teo.springjwt.product.service.ProductSearchIndex.AdminMatches;
 
 @Service
-@Transactional
-@RequiredArgsConstructor
+@Transactional(isolation = Isolation.READ_COMMITTED)
 public class ProductService {
 
   private final ProductEntityRepository productRepository;
   private final CategoryRepository categoryRepository;
   private final OptionGroupEntityRepository groupRepository;
   private final OptionValueEntityRepository optionRepository;
-  private final SkuRepository skuRepository;
-  private final SkuOptionValueRepository skuOptionValueRepository;
   private final ProductColorVariantEntityRepository colorVariantRepository;
+  private final SkuCombinationGenerator skuCombinationGenerator;
+  private final SkuBatchWriter skuBatchWriter;
+  private final ProductChangeTracker productChangeTracker;
+  private final Timer skuGenerationTimer;
 
-  public ResponseEntity<List<ResponseProductEntity>> getAllProducts() {
-    List<ProductEntity> all = productRepository.findAll();
+  private final ProductQueryService productQueryService;
+  private final ProductSummaryRepository productSummaryRepository;
+  private final ProductSearchIndex productSearchIndex;
+  private final ProductFacetIndex productFacetIndex;
+  private final ImageDerivativeUrls imageDerivativeUrls;
 
-    BigDecimal minPrice = all.stream().flatMap(product -> product.getSkus() != null ? product.getSkus().stream() : null)
-                             .map(SkuEntity::getPrice).min(BigDecimal::compareTo).orElse(BigDecimal.ZERO);
+  // 사용자 상품 목록 한 페이지의 최대 크기
+  private static final int MAX_STOREFRONT_PAGE_SIZE = 100;
+  private static final int MAX_SUGGESTIONS = 20;
 
+  public ProductService(ProductEntityRepository productRepository, CategoryRepository categoryRepository,
+      OptionGroupEntityRepository groupRepository, OptionValueEntityRepository optionRepository,
+      ProductColorVariantEntityRepository colorVariantRepository, SkuCombinationGenerator skuCombinationGenerator,
+      SkuBatchWriter skuBatchWriter, ProductChangeTracker productChangeTracker, MeterRegistry meterRegistry,
+      ProductQueryService productQueryService, ProductSummaryRepository productSummaryRepository,
+      ProductSearchIndex productSearchIndex, ProductFacetIndex productFacetIndex,
+      ImageDerivativeUrls imageDerivativeUrls) {
+    this.productRepository = productRepository;
+    this.categoryRepository = categoryRepository;
+    this.groupRepository = groupRepository;
+    this.optionRepository = optionRepository;
+    this.colorVariantRepository = colorVariantRepository;
+    this.skuCombinationGenerator = skuCombinationGenerator;
+    this.skuBatchWriter = skuBatchWriter;
+    this.productChangeTracker = productChangeTracker;
+    this.productQueryService = productQueryService;
+    this.productSummaryRepository = productSummaryRepository;
+    this.productSearchIndex = productSearchIndex;
+    this.productFacetIndex = productFacetIndex;
+    this.imageDerivativeUrls = imageDerivativeUrls;
+    this.skuGenerationTimer = Timer.builder("product.sku.generation")
+                                   .description("상품 생성 시 SKU 조합 생성 + 배치 저장 시간")
+                                   .register(meterRegistry);
+  }
+
+  /**
+   * 사용자 상품 목록을 keyset 방식으로 조회합니다.
+   *
+   * @param lastId 이전 페이지의 마지막 상품 ID (첫 페이지는 null)
+   * @param size   페이지 크기 (최대 100)
+   */
+  public ResponseEntity<ResponseProductPage> getAllProducts(Long lastId, int size) {
+    int pageSize = storefrontPageSize(size);
+    List<ResponseProductEntity> content = productQueryService.getStorefrontPage(lastId, pageSize);
+    Long nextLastId = content.size() < pageSize ? null : content.get(content.size() - 1).getId();
+    return ResponseEntity.ok(new ResponseProductPage(content, nextLastId));
+  }
+
+  // 조건부 GET용 목록 페이지 버전 (요약 테이블 PK 범위만 읽음)
+  @Transactional(readOnly = true)
+  public CatalogVersion getStorefrontPageVersion(Long lastId, int size) {
+    return productSummaryRepository.findStorefrontPageVersion(lastId, storefrontPageSize(size));
+  }
+
+  // 조건부 GET용 상품 버전. 요약 행이 없으면 null
+  @Transactional(readOnly = true)
+  public CatalogVersion getProductVersion(Long productId) {
+    return productSummaryRepository.findProductVersion(productId).orElse(null);
+  }
 
-    List<ResponseProductEntity> list = productRepository.findAll().stream()
-                                                        .map(ResponseProductEntity::from)
-                                                        .peek(product -> product.setMinPrice(minPrice))
-                                                        .toList();
-    return ResponseEntity.ok(list);
+  private int storefrontPageSize(int size) {
+    return Math.min(Math.max(size, 1), MAX_STOREFRONT_PAGE_SIZE);
   }
 
   public Page<ResponseProductEntity> getAllProductsWithMinPriceAndMaxPrice(String name, String skuCode,
       Pageable pageable) {
-    return productRepository.findAllProductsWithMinPriceAndMaxPrice(name, skuCode, pageable);
+    if (!productSearchIndex.hasAdminFilter(name, skuCode)) {
+      Page<ResponseProductEntity> page = productRepository.findAllProductsWithMinPriceAndMaxPrice(pageable);
+      imageDerivativeUrls.withThumbnailSrcset(page.getContent());
+      return page;
+    }
+    // 이름 / SKU 코드 검색은 LIKE 대신 검색 색인에서 정렬, 페이징, 전체 개수까지 끝내고 한 페이지 분만 DB에서 읽는다.
+    Order order = pageable.getSort().stream()
+                          .filter(o -> "createdDate".equals(o.getProperty()) || "name".equals(o.getProperty()))
+                          .findFirst()
+                          .orElse(Order.desc("createdDate"));
+    AdminMatches matches = productSearchIndex.findAdminPage(
+        name, skuCode, SortKey.from(order.getProperty()), order.isAscending(), null,
+        pageable.getOffset(), pageable.getPageSize(), true);
+    return new PageImpl<>(loadInOrder(matches.getProductIds()), pageable, matches.getTotalElements());
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPage<ResponseProductEntity> getAllProductsWithMinPriceAndMaxPriceByCursor(RequestProductScroll request) {
+    SortKey sortKey = SortKey.from(request.getSort());
+    ProductCursor cursor = ProductCursor.decode(request.getCursor(), sortKey);
+    if (!productSearchIndex.hasAdminFilter(request.getName(), request.getSkuCode())) {
+      CursorPage<ResponseProductEntity> page = productRepository.findAllProductsWithMinPriceAndMaxPriceByCursor(
+          sortKey, request.isAscending(), cursor, request.getSize(), request.isWithTotal());
+      imageDerivativeUrls.withThumbnailSrcset(page.getContent());
+      return page;
+    }
+    // 다음 페이지 존재 여부를 알기 위해 size + 1 개를 찾는다.
+    AdminMatches matches = productSearchIndex.findAdminPage(
+        request.getName(), request.getSkuCode(), sortKey, request.isAscending(), cursor,
+        0, request.getSize() + 1, request.isWithTotal());
+    List<Long> productIds = matches.getProductIds();
+    boolean hasNext = productIds.size() > request.getSize();
+    List<ResponseProductEntity> content = loadInOrder(hasNext ? productIds.subList(0, request.getSize()) : productIds);
+
+    String nextCursor = null;
+    if (hasNext && !content.isEmpty()) {
+      nextCursor = ProductCursor.from(sortKey, content.get(content.size() - 1)).encode();
+    }
+    return new CursorPage<>(content, nextCursor, hasNext, matches.getTotalElements());
+  }
+
+  // 색인 순서대로 상품 정보를 채운다 (그 사이 삭제된 상품은 빠진다)
+  private List<ResponseProductEntity> loadInOrder(List<Long> productIds) {
+    Map<Long, ResponseProductEntity> products = productRepository
+        .findStorefrontProductsByIds(productIds)
+        .stream()
+        .collect(Collectors.toMap(ResponseProductEntity::getId, Function.identity()));
+    return imageDerivativeUrls.withThumbnailSrcset(
+        productIds.stream().map(products::get).filter(Objects::nonNull).toList());
+  }
+
+  /**
+   * 상품 검색 (상품명, 설명, 카테고리, SKU 코드, 색상/옵션 값). 관련도 순으로 정렬합니다.
+   */
+  @Transactional(readOnly = true)
+  public ResponseEntity<List<ResponseProductEntity>> searchProducts(String query, int size) {
+    List<Long> rankedIds = productSearchIndex.search(query, storefrontPageSize(size));
+    return ResponseEntity.ok(loadInOrder(rankedIds));
+  }
+
+  /**
+   * 패싯 필터 조회. 필터링과 항목별 개수는 비트맵 색인에서, 상품 정보는 한 페이지 분만 DB에서 읽습니다.
+   */
+  @Transactional(readOnly = true)
+  public ResponseProductFacetSearch searchByFacets(RequestProductFacetSearch request) {
+    ProductFacetIndex.FacetResult result = productFacetIndex.search(request);
+    return new ResponseProductFacetSearch(
+        loadInOrder(result.getProductIds()),
+        result.getNextLastId(),
+        result.getTotalElements(),
+        result.getCategories(),
+        result.getColors(),
+        result.getOptionGroups(),
+        result.getPriceBuckets());
+  }
+
+  public ResponseEntity<List<String>> suggestProductNames(String prefix, int size) {
+    return ResponseEntity.ok(productSearchIndex.suggest(prefix, Math.min(Math.max(size, 1), MAX_SUGGESTIONS)));
   }
 
 
   public ProductEntity createProduct(RequestProductCreate request) {
+    ProductCatalogLookup lookup = ProductCatalogLookup.forRequests(
+        List.of(request), categoryRepository, groupRepository, optionRepository);
+    return createProducts(List.of(request), lookup).getFirst();
+  }
+
+  /**
+   * 여러 상품을 현재 트랜잭션에서 한 번에 생성합니다. (대량 등록 시 청크 단위로 호출)
+   * 상품/색상/옵션은 JPA로, SKU는 모든 상품 분을 모아 JDBC 배치로 저장합니다.
+   */
+  public List<ProductEntity> createProducts(List<RequestProductCreate> requests, ProductCatalogLookup lookup) {
+    List<ProductEntity> products = new ArrayList<>(requests.size());
+    List<List<ProductOptionGroupEntity>> optionGroupsByProduct = new ArrayList<>(requests.size());
+    for (RequestProductCreate request : requests) {
+      List<ProductOptionGroupEntity> optionGroups = new ArrayList<>();
+      products.add(saveProduct(request, lookup, optionGroups));
+      optionGroupsByProduct.add(optionGroups);
+    }
+    productRepository.flush(); // JDBC로 SKU를 넣기 전에 상품/색상/옵션 값 행이 DB에 있어야 함
+
+    // SKU 조합 생성 및 배치 저장
+    skuGenerationTimer.record(() -> {
+      List<SkuInsertRow> skuRows = new ArrayList<>();
+      for (int i = 0; i < products.size(); i++) {
+        ProductEntity product = products.get(i);
+        skuRows.addAll(skuCombinationGenerator.generate(
+            product, requests.get(i).getPrice(), optionGroupsByProduct.get(i), product.getColorVariants()));
+      }
+      skuBatchWriter.insertAll(skuRows);
+    });
+
+    // JDBC 저장은 엔티티 리스너를 거치지 않으므로 요약 갱신 대상에 직접 올린다.
+    products.forEach(product -> productChangeTracker.markChanged(product.getId()));
+    return products;
+  }
 
+  // 상품, 색상 변형, 옵션 그룹/값을 저장한다. 생성된 옵션 그룹은 savedOptionGroups에 담아 돌려준다.
+  private ProductEntity saveProduct(RequestProductCreate request, ProductCatalogLookup lookup,
+      List<ProductOptionGroupEntity> savedOptionGroups) {
     // 1. CategoryEntity 조회
-    CategoryEntity category = categoryRepository
-        .findById(request.getCategoryId())
-        .orElseThrow(() -> new EntityNotFoundException("Category not found with ID: " + request.getCategoryId()));
+    CategoryEntity category = lookup.category(request.getCategoryId());
     // 2. ProductEntity 생성 및 저장
     ProductEntity product = new ProductEntity(request.getName(), request.getDescription(), category);
     productRepository.save(product); // 먼저 저장하여 ID를 할당받음
@@ -86,13 +263,11 @@ public class ProductService {
 
     colorVariantRepository.saveAll(colorVariants);
     product.setColorVariants(colorVariants); // ProductEntity의 colorVariants 리스트도 업데이트 (양방향 관계)
-    productRepository.save(product); // Product 업데이트 (colorVariants 반영)
 
     // 3. ProductOptionGroupEntity 및 ProductOptionValueEntity 처리
-    List<ProductOptionGroupEntity> savedOptionGroups = new ArrayList<>();
     if (request.getOptionGroups() != null) {
       for (ProductOptionGroupRequest groupRequest : request.getOptionGroups()) {
-        OptionGroupEntity groupEntity = groupRepository.getOptionGroupEntityById(groupRequest.getId());
+        OptionGroupEntity groupEntity = lookup.optionGroup(groupRequest.getId());
         ProductOptionGroupEntity optionGroup = new ProductOptionGroupEntity(
             product,
             groupEntity,
@@ -100,9 +275,7 @@ public class ProductService {
 
         if (groupRequest.getOptionValues() != null) {
           for (ProductOptionValueRequest valueRequest : groupRequest.getOptionValues()) {
-            OptionValueEntity ov = optionRepository
-                .findById(valueRequest.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Option not found with ID: " + valueRequest.getId()));
+            OptionValueEntity ov = lookup.optionValue(valueRequest.getId());
 
             ProductOptionValueEntity optionValue = new ProductOptionValueEntity(
                 optionGroup,
@@ -117,104 +290,16 @@ public class ProductService {
         savedOptionGroups.add(optionGroup);
       }
     }
-    productRepository.flush();
-    // 4. SKU 조합 생성 및 저장
-    generateAndSaveSkus(product, request.getPrice(), savedOptionGroups, new ArrayList<>(), 0, colorVariants);
-
     return product;
   }
 
-  /**
-   * 상품의 모든 옵션 조합에 대한 SKU를 생성하고 저장하는 재귀 메서드.
-   *
-   * @param product             생성 중인 상품 엔티티
-   * @param basePrice           상품의 기본 가격
-   * @param productOptionGroups 상품에 연결된 ProductOptionGroupEntity 리스트
-   * @param currentCombination  현재까지 선택된 ProductOptionValueEntity 조합 (재귀 호출 시 누적)
-   * @param groupIndex          현재 처리 중인 ProductOptionGroup의 인덱스
-   * @param colorVariants       상품이 가지고 있는 색상 리스트
-   */
-  private void generateAndSaveSkus(ProductEntity product, BigDecimal basePrice,
-      List<ProductOptionGroupEntity> productOptionGroups, List<ProductOptionValueEntity> currentCombination,
-      int groupIndex, List<ProductColorVariantEntity> colorVariants) {
-    // 모든 옵션 그룹에 대한 조합이 완료되면 SKU 생성
-    if (groupIndex == productOptionGroups.size()) {
-      for (ProductColorVariantEntity colorVariant : colorVariants) {
-        BigDecimal finalPrice = basePrice;
-        StringBuilder skuNameBuilder = new StringBuilder(product.getName()); // SKU 이름의 기본값은 상품명
-        StringBuilder skuDescriptionBuilder = new StringBuilder(); // SKU 설명 (옵션 값들의 조합으로 만듦)
-
-        // SKU에 포함될 ProductOptionValueEntity 리스트 (SKU와 OptionValue 간의 다대다 관계를 위해 필요)
-        List<ProductOptionValueEntity> skuRelatedOptionValues = new ArrayList<>();
-
-        for (ProductOptionValueEntity value : currentCombination) {
-          finalPrice = finalPrice.add(value.getExtraPrice());
-          skuNameBuilder.append(" - ").append(value.getOptionValue().getName()); // 마스터 옵션 값 이름 사용
-
-          if (!skuDescriptionBuilder.isEmpty()) {
-            skuDescriptionBuilder.append(", ");
-          }
-          // '그룹명: 값명' 형태로 설명 생성
-          skuDescriptionBuilder.append(value.getProductOptionGroup().getOptionGroup().getName()).append(": ").append(
-              value.getOptionValue().getName());
-
-          skuRelatedOptionValues.add(value);
-        }
-
-        // ⭐ 색상 정보 추가
-        skuNameBuilder.append(" - ").append(colorVariant.getColorName());
-        if (!skuDescriptionBuilder.isEmpty()) {
-          skuDescriptionBuilder.append(", ");
-        }
-        skuDescriptionBuilder.append(colorVariant.getColorName());
-
-        // ⭐ SKU 엔티티 생성
-        SkuEntity sku = SkuEntity.builder()
-                                 .product(product)
-                                 .colorVariant(colorVariant) // ⭐ ProductColorVariantEntity 연결
-                                 .price(finalPrice)
-                                 .stock(100) // 기본 재고 100으로 설정
-                                 .name(skuNameBuilder.toString().trim()) // skuCode 필드 사용
-                                 .description(skuDescriptionBuilder
-                                                  .toString()
-                                                  .trim()).build();
-        skuRepository.save(sku); // SKU 저장
-
-        // ⭐ SKU와 ProductOptionValue 간의 관계 (SkuOptionValueEntity) 저장
-        for (ProductOptionValueEntity productOptionValue : skuRelatedOptionValues) {
-          SkuOptionValueEntity skuOptionValue = SkuOptionValueEntity.builder().sku(sku).productOptionValue(
-              productOptionValue).build();
-          skuOptionValueRepository.save(skuOptionValue);
-          sku.addSkuOptionValue(skuOptionValue); // 양방향 관계 설정 (SkuEntity에도 addSkuOptionValue 필요)
-        }
-
-        // ProductEntity에도 SKU 추가 (양방향 관계 설정)
-        product.addSku(sku);
-
-      }
-      return; // 재귀 종료 (모든 색상 변형에 대해 SKU 생성 완료)
-    }
-
-    // 현재 옵션 그룹의 모든 옵션 값들을 순회하며 재귀 호출
-    ProductOptionGroupEntity currentGroup = productOptionGroups.get(groupIndex);
-    for (ProductOptionValueEntity productOptionValue : currentGroup.getProductOptionValues()) { // getProductOptionValues() 사용
-      currentCombination.add(productOptionValue); // 현재 조합에 추가
-      generateAndSaveSkus(
-          product,
-          basePrice,
-          productOptionGroups,
-          currentCombination,
-          groupIndex + 1,
-          colorVariants); // 다음 그룹으로 재귀 호출
-      currentCombination.removeLast(); // 백트래킹: 다음 조합을 위해 마지막 추가된 값 제거 (removeLast() 대신 인덱스로 제거)
-    }
+  public ResponseEntity<List<ResponseSkuDTO>> getProductById(Long productId) {
+    return ResponseEntity.ok(productQueryService.getProductSkus(productId));
   }
 
-  public ResponseEntity<List<ResponseSkuDTO>> getProductById(Long productId) {
-    return ResponseEntity.ok(skuRepository
-                                 .findBySkuWithProductId(productId)
-                                 .stream()
-                                 .map(ResponseSkuDTO::fromEntity)
-                                 .toList());
+  public ResponseEntity<ResponseProductDetailDTO> getProductDetail(Long productId) {
+    return productQueryService.getProductDetail(productId)
+                              .map(ResponseEntity::ok)
+                              .orElseGet(() -> ResponseEntity.notFound().build());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package teo.springjwt.product.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import teo.springjwt.product.entity.ProductSummaryEntity;
+import teo.springjwt.product.repository.product.ProductEntityRepository;
+import teo.springjwt.product.repository.summary.ProductSummaryRepository;
+import teo.springjwt.product.repository.summary.ProductSummaryValues;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSummaryService {
+
+  private static final int CHUNK_SIZE = 500;
+
+  private final ProductSummaryRepository productSummaryRepository;
+  private final ProductEntityRepository productEntityRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * 주어진 상품들의 요약 행을 현재 SKU/이미지 상태로 다시 계산합니다.
+   * 호출한 쪽의 트랜잭션 안에서 실행되므로 SKU 변경과 요약 갱신은 함께 커밋/롤백됩니다.
+   * 요약 행을 먼저 잠그고 계산하므로, 같은 상품을 바꾼 트랜잭션들은 차례로 계산하고 revision도 하나씩 올라갑니다.
+   * 잠근 뒤의 집계가 먼저 커밋된 변경을 보려면 바깥 쓰기 트랜잭션이 READ COMMITTED여야 한다
+   * (MySQL 기본 REPEATABLE READ는 처음 읽은 시점의 스냅샷을 계속 본다). 상품을 바꾸는 서비스가 그렇게 선언한다.
+   * 집계를 잠금 읽기로 하면 SKU를 바꾼 다른 트랜잭션과 서로 기다리는 교착이 생길 수 있어 쓰지 않는다.
+   */
+  @Transactional
+  public void refresh(Collection<Long> productIds) {
+    if (productIds.isEmpty()) {
+      return;
+    }
+    // 카테고리 이름 변경처럼 상품이 많이 걸리는 경우에도 IN 목록이 커지지 않도록 id 순으로 나눠 처리한다
+    List<Long> sorted = productIds.stream().distinct().sorted().toList();
+    for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+      refreshChunk(sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size())));
+    }
+  }
+
+  private void refreshChunk(List<Long> ids) {
+    // 요약 행이 없는 상품(새 상품, 백필 전 상품)은 상품 행을 잠가 두 트랜잭션이 같은 PK로 INSERT하지 않게 한다
+    Set<Long> missing = new HashSet<>(ids);
+    productSummaryRepository.findExistingIds(ids).forEach(missing::remove);
+    if (!missing.isEmpty()) {
+      productEntityRepository.findAllByIdForUpdate(missing);
+    }
+
+    Map<Long, ProductSummaryEntity> summaries = productSummaryRepository.findAllByIdForUpdate(ids).stream()
+        .collect(Collectors.toMap(ProductSummaryEntity::getProductId, Function.identity()));
+    Map<Long, ProductSummaryValues> values = productSummaryRepository.calculate(ids);
+
+    // 삭제된 상품의 요약 행 정리
+    Set<Long> removed = new HashSet<>(summaries.keySet());
+    removed.removeAll(values.keySet());
+    if (!removed.isEmpty()) {
+      productSummaryRepository.deleteAllByIdInBatch(removed);
+    }
+
+    for (ProductSummaryValues value : values.values()) {
+      ProductSummaryEntity summary = summaries.get(value.getProductId());
+      if (summary == null) {
+        summary = productSummaryRepository.save(new ProductSummaryEntity(value.getProductId()));
+      }
+      summary.refresh(value.getMinPrice(), value.getMaxPrice(), value.getSkuCount(), value.getTotalStock(),
+                      value.getThumbnailUrl());
+    }
+  }
+
+  // 요약 테이블 도입 이전에 만들어진 상품들을 기동 시 한 번 채워 넣는다.
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillMissingSummaries() {
+    TransactionTemplate writeTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    writeTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    Long afterId = null;
+    int total = 0;
+    while (true) {
+      List<Long> productIds = productSummaryRepository.findProductIdsWithoutSummary(afterId, CHUNK_SIZE);
+      if (productIds.isEmpty()) {
+        break;
+      }
+      writeTransaction.executeWithoutResult(status -> refresh(productIds));
+      afterId = productIds.get(productIds.size() - 1);
+      total += productIds.size();
+    }
+    if (total > 0) {
+      log.info("Backfilled product summaries for {} products", total);
+    }
+  }
+}
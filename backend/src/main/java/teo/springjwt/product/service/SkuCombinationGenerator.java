@@ -0,0 +1,117 @@
+package teo.springjwt.product.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import teo.springjwt.product.entity.ProductColorVariantEntity;
+import teo.springjwt.product.entity.ProductEntity;
+import teo.springjwt.product.entity.ProductOptionGroupEntity;
+import teo.springjwt.product.entity.ProductOptionValueEntity;
+import teo.springjwt.product.repository.sku.SkuInsertRow;
+
+/**
+ * 옵션 그룹들의 카테시안 곱 x 색상 조합으로 SKU 행을 메모리에서 만듭니다.
+ * 재귀 대신 그룹별 인덱스 배열을 자동차 주행거리계처럼 올려 가며 조합을 순회합니다.
+ */
+@Component
+public class SkuCombinationGenerator {
+
+  // 새 SKU의 기본 재고
+  private static final int DEFAULT_STOCK = 100;
+
+  private final long maxCombinations;
+
+  public SkuCombinationGenerator(@Value("${product.sku.max-combinations:10000}") long maxCombinations) {
+    this.maxCombinations = maxCombinations;
+  }
+
+  public List<SkuInsertRow> generate(ProductEntity product, BigDecimal basePrice,
+      List<ProductOptionGroupEntity> optionGroups, List<ProductColorVariantEntity> colorVariants) {
+    List<List<ProductOptionValueEntity>> valuesByGroup = optionGroups.stream()
+                                                                     .map(ProductOptionGroupEntity::getProductOptionValues)
+                                                                     .toList();
+
+    long combinations = countCombinations(valuesByGroup, colorVariants.size());
+    if (combinations > maxCombinations) {
+      throw new IllegalArgumentException(
+          "SKU 조합 수(" + combinations + ")가 허용된 최대값(" + maxCombinations + ")을 초과합니다.");
+    }
+
+    List<SkuInsertRow> rows = new ArrayList<>((int) combinations);
+    if (combinations == 0) {
+      return rows;
+    }
+
+    int[] indexes = new int[valuesByGroup.size()];
+    List<ProductOptionValueEntity> combination = new ArrayList<>(valuesByGroup.size());
+    while (true) {
+      combination.clear();
+      for (int g = 0; g < indexes.length; g++) {
+        combination.add(valuesByGroup.get(g).get(indexes[g]));
+      }
+      for (ProductColorVariantEntity colorVariant : colorVariants) {
+        rows.add(toRow(product, basePrice, combination, colorVariant));
+      }
+
+      // 마지막 그룹부터 인덱스를 하나 올리고, 넘치면 0으로 돌리며 앞 그룹으로 올림
+      int g = indexes.length - 1;
+      while (g >= 0 && ++indexes[g] == valuesByGroup.get(g).size()) {
+        indexes[g] = 0;
+        g--;
+      }
+      if (g < 0) {
+        break;
+      }
+    }
+    return rows;
+  }
+
+  private long countCombinations(List<List<ProductOptionValueEntity>> valuesByGroup, int colorCount) {
+    long count = colorCount;
+    for (List<ProductOptionValueEntity> values : valuesByGroup) {
+      // 값이 없는 그룹이 하나라도 있으면 조합이 만들어지지 않는다.
+      count = Math.multiplyExact(count, values.size());
+    }
+    return count;
+  }
+
+  private SkuInsertRow toRow(ProductEntity product, BigDecimal basePrice,
+      List<ProductOptionValueEntity> combination, ProductColorVariantEntity colorVariant) {
+    BigDecimal finalPrice = basePrice;
+    StringBuilder skuNameBuilder = new StringBuilder(product.getName()); // SKU 이름의 기본값은 상품명
+    StringBuilder skuDescriptionBuilder = new StringBuilder(); // SKU 설명 (옵션 값들의 조합으로 만듦)
+    List<Long> productOptionValueIds = new ArrayList<>(combination.size());
+
+    for (ProductOptionValueEntity value : combination) {
+      finalPrice = finalPrice.add(value.getExtraPrice());
+      skuNameBuilder.append(" - ").append(value.getOptionValue().getName()); // 마스터 옵션 값 이름 사용
+
+      if (!skuDescriptionBuilder.isEmpty()) {
+        skuDescriptionBuilder.append(", ");
+      }
+      // '그룹명: 값명' 형태로 설명 생성
+      skuDescriptionBuilder.append(value.getProductOptionGroup().getOptionGroup().getName()).append(": ").append(
+          value.getOptionValue().getName());
+
+      productOptionValueIds.add(value.getId());
+    }
+
+    // 색상 정보 추가
+    skuNameBuilder.append(" - ").append(colorVariant.getColorName());
+    if (!skuDescriptionBuilder.isEmpty()) {
+      skuDescriptionBuilder.append(", ");
+    }
+    skuDescriptionBuilder.append(colorVariant.getColorName());
+
+    return new SkuInsertRow(
+        product.getId(),
+        colorVariant.getId(),
+        finalPrice,
+        DEFAULT_STOCK,
+        skuNameBuilder.toString().trim(),
+        skuDescriptionBuilder.toString().trim(),
+        productOptionValueIds);
+  }
+}
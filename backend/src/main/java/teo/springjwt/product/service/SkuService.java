@@ -4,6 +4,7 @@ import java.util.Comparator;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import teo.springjwt.product.dto.ResponseSkuDTO;
 import teo.springjwt.product.entity.SkuEntity;
@@ -11,19 +12,20 @@ import teo.springjwt.product.repository.sku.SkuOptionValueRepository;
 import teo.springjwt.product.repository.sku.SkuRepository;
 
 @Service
-@Transactional
+@Transactional(isolation = Isolation.READ_COMMITTED)
 @RequiredArgsConstructor
 public class SkuService {
 
   private final SkuRepository skuRepository;
   private final SkuOptionValueRepository skuValueRepository;
+  private final ImageDerivativeUrls imageDerivativeUrls;
 
   public List<ResponseSkuDTO> getAllOptionValueWithProductId(Long id) {
     List<SkuEntity> skuWithProductId = skuRepository.findBySkuWithProductId(id);
 
     return skuWithProductId
         .stream()
-        .map(ResponseSkuDTO::fromEntity)
+        .map(sku -> ResponseSkuDTO.fromEntity(sku, imageDerivativeUrls::toImageDto))
         .sorted(Comparator.comparing(ResponseSkuDTO::getColor))
         .toList();
   }
@@ -31,6 +33,6 @@ public class SkuService {
   public ResponseSkuDTO getSkuById(Long skuId) {
     SkuEntity skuEntity = skuRepository.findById(skuId)
                                          .orElseThrow(() -> new IllegalArgumentException("sku not found with ID: " + skuId));
-    return ResponseSkuDTO.fromEntity(skuEntity);
+    return ResponseSkuDTO.fromEntity(skuEntity, imageDerivativeUrls::toImageDto);
   }
 }
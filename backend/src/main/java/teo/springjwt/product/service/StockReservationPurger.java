@@ -0,0 +1,62 @@
+package teo.springjwt.product.service;
+
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import teo.springjwt.common.scheduling.SchedulerLock;
+
+/**
+ * 만료된 재고 예약을 주기적으로 풀어 재고를 돌려놓습니다.
+ * - 한 배치(batch-size 줄)가 트랜잭션 하나. SKU별로 합쳐서 SKU당 UPDATE 한 번으로 복구합니다.
+ * - 한 번의 실행은 max-batches 배치까지만 돌고 나머지는 다음 주기로 넘깁니다.
+ * - 여러 인스턴스가 떠 있어도 scheduler_lock 임대를 가진 한 곳에서만 실행합니다.
+ */
+@Slf4j
+@Component
+public class StockReservationPurger {
+
+  private static final String LOCK_NAME = "stock-reservation-purge";
+
+  private final InventoryService inventoryService;
+  private final SchedulerLock schedulerLock;
+  private final int batchSize;
+  private final int maxBatches;
+  private final Duration lease;
+
+  public StockReservationPurger(InventoryService inventoryService, SchedulerLock schedulerLock,
+      @Value("${inventory.reservation.purge.batch-size:500}") int batchSize,
+      @Value("${inventory.reservation.purge.max-batches:20}") int maxBatches,
+      @Value("${inventory.reservation.purge.lease:PT1M}") Duration lease) {
+    this.inventoryService = inventoryService;
+    this.schedulerLock = schedulerLock;
+    this.batchSize = batchSize;
+    this.maxBatches = maxBatches;
+    this.lease = lease;
+  }
+
+  @Scheduled(fixedDelayString = "${inventory.reservation.purge.interval:PT30S}",
+      initialDelayString = "${inventory.reservation.purge.initial-delay:PT30S}")
+  public void purge() {
+    if (!schedulerLock.tryAcquire(LOCK_NAME, lease)) {
+      log.debug("Stock reservation purge skipped: another instance holds the lock");
+      return;
+    }
+    try {
+      int total = 0;
+      for (int i = 0; i < maxBatches; i++) {
+        int releasedCount = inventoryService.releaseExpired(batchSize);
+        total += releasedCount;
+        if (releasedCount < batchSize) {
+          break;
+        }
+      }
+      if (total > 0) {
+        log.info("Released {} expired stock reservation line(s)", total);
+      }
+    } finally {
+      schedulerLock.release(LOCK_NAME);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package teo.springjwt.product.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import teo.springjwt.product.entity.StorageDeleteTaskEntity;
+import teo.springjwt.product.enumerated.StorageDeleteStatus;
+import teo.springjwt.product.repository.image.StorageDeleteTaskRepository;
+
+/**
+ * 스토리지 파일 삭제 outbox.
+ * - enqueue는 호출한 쪽 트랜잭션에 참여한다. 이미지 행 삭제와 같이 커밋되거나 같이 롤백된다.
+ * - 실제 삭제는 StorageDeleteWorker가 커밋 후 배치로 한다. 요청 처리 중에는 원격 스토리지를 부르지 않는다.
+ * - 실패하면 지수 백오프(+지터)로 다시 시도하고, max-attempts 를 넘으면 FAILED로 남긴다.
+ */
+@Service
+@Transactional
+public class StorageDeleteOutbox {
+
+  public static final String REASON_IMAGE_REMOVED = "image-removed";
+  public static final String REASON_UPLOAD_ROLLBACK = "upload-rollback";
+  public static final String REASON_ORPHAN = "orphan";
+
+  private final StorageDeleteTaskRepository storageDeleteTaskRepository;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+
+  public StorageDeleteOutbox(StorageDeleteTaskRepository storageDeleteTaskRepository,
+      @Value("${storage.delete.max-attempts:8}") int maxAttempts,
+      @Value("${storage.delete.initial-backoff:PT30S}") Duration initialBackoff,
+      @Value("${storage.delete.max-backoff:PT6H}") Duration maxBackoff) {
+    this.storageDeleteTaskRepository = storageDeleteTaskRepository;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  public void enqueue(String fileUrl, String reason) {
+    enqueueAll(List.of(fileUrl), reason);
+  }
+
+  public void enqueueAll(Collection<String> fileUrls, String reason) {
+    LocalDateTime now = LocalDateTime.now();
+    storageDeleteTaskRepository.saveAll(fileUrls.stream()
+                                                .map(fileUrl -> new StorageDeleteTaskEntity(fileUrl, reason, now))
+                                                .toList());
+  }
+
+  // 시도할 때가 된 작업을 최대 limit 건
+  @Transactional(readOnly = true)
+  public List<StorageDeleteTaskEntity> findDue(int limit) {
+    return storageDeleteTaskRepository.findDue(StorageDeleteStatus.PENDING, LocalDateTime.now(),
+                                               PageRequest.of(0, limit));
+  }
+
+  // 끝난 작업(삭제했거나 지울 필요가 없어진 작업)은 행을 지운다
+  public void complete(Collection<Long> taskIds) {
+    if (!taskIds.isEmpty()) {
+      storageDeleteTaskRepository.deleteByIds(taskIds);
+    }
+  }
+
+  // 파일이 최근에 다시 쓰여서 지금 지우지 않은 작업. 실패가 아니므로 시도 횟수는 그대로 둔다
+  public void postpone(Collection<Long> taskIds, LocalDateTime nextAttemptAt) {
+    if (!taskIds.isEmpty()) {
+      storageDeleteTaskRepository.findAllById(taskIds).forEach(task -> task.postpone(nextAttemptAt));
+    }
+  }
+
+  /**
+   * 실패한 작업에 다음 시도 시각을 정한다.
+   * @param errors 작업 id -> 오류 메시지
+   * @return 이번에 포기(FAILED)한 작업 수
+   */
+  public int recordFailures(Map<Long, String> errors) {
+    if (errors.isEmpty()) {
+      return 0;
+    }
+    int gaveUp = 0;
+    LocalDateTime now = LocalDateTime.now();
+    for (StorageDeleteTaskEntity task : storageDeleteTaskRepository.findAllById(errors.keySet())) {
+      boolean giveUp = task.getAttempts() + 1 >= maxAttempts;
+      task.recordFailure(errors.get(task.getId()), giveUp ? null : now.plus(backoff(task.getAttempts() + 1)));
+      if (giveUp) {
+        gaveUp++;
+      }
+    }
+    return gaveUp;
+  }
+
+  // initial * 2^(n-1), 최대 maxBackoff. 같은 장애로 실패한 작업들이 한꺼번에 다시 몰리지 않도록 0.5~1.0배 지터.
+  private Duration backoff(int attempt) {
+    long base = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+    long capped = Math.min(base, maxBackoff.toMillis());
+    return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+  }
+}
@@ -0,0 +1,190 @@
+package teo.springjwt.product.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import teo.springjwt.common.scheduling.SchedulerLock;
+import teo.springjwt.common.utils.FileStorageService;
+import teo.springjwt.product.entity.StorageDeleteTaskEntity;
+import teo.springjwt.product.repository.image.ImageUrlRepository;
+
+/**
+ * storage_delete_task(outbox)를 비우는 작업.
+ * - batch-size 건씩 꺼내서 storageDeleteExecutor로 동시에 지우고, 결과는 배치 단위로 한 번에 반영한다.
+ * - 지우기 직전에 같은 파일을 참조하는 이미지 행이 다시 생겼는지 확인한다 (로컬 저장소는 같은 내용이면 URL을 공유).
+ *   참조 확인은 image_url.storage_key(인덱스) 일치로 하므로, 키를 채우는 ImageStorageKeyBackfill이 끝나기 전에는 돌지 않는다.
+ *   확인한 뒤에 같은 내용이 다시 올라와 아직 커밋 전일 수 있으므로, reference-grace 안에 다시 쓰인 파일은 지우지 않고 미룬다.
+ *   (저장소가 수정 시각 확인과 삭제를 저장과 같은 잠금 안에서 한다)
+ * - 지운 원본으로 만든 이미지 파생본 캐시도 같이 비운다.
+ * - 여러 인스턴스가 떠 있어도 scheduler_lock 임대를 가진 한 곳에서만 실행한다.
+ */
+@Slf4j
+@Component
+public class StorageDeleteWorker {
+
+  private static final String LOCK_NAME = "storage-delete-outbox";
+  private static final String METRIC_PREFIX = "storage.delete";
+
+  private final StorageDeleteOutbox storageDeleteOutbox;
+  private final FileStorageService fileStorageService;
+  private final ImageUrlRepository imageUrlRepository;
+  private final ImageDerivativeService imageDerivativeService;
+  private final ImageStorageKeyBackfill imageStorageKeyBackfill;
+  private final ThreadPoolTaskExecutor storageDeleteExecutor;
+  private final SchedulerLock schedulerLock;
+  private final int batchSize;
+  private final int maxBatches;
+  private final Duration lease;
+  private final Duration referenceGrace;
+
+  private final Counter deleted;
+  private final Counter skipped;
+  private final Counter deferred;
+  private final Counter retried;
+  private final Counter failed;
+  private final Timer deleteLatency;
+
+  public StorageDeleteWorker(StorageDeleteOutbox storageDeleteOutbox, FileStorageService fileStorageService,
+      ImageUrlRepository imageUrlRepository, ImageDerivativeService imageDerivativeService,
+      ImageStorageKeyBackfill imageStorageKeyBackfill,
+      @Qualifier("storageDeleteExecutor") ThreadPoolTaskExecutor storageDeleteExecutor,
+      SchedulerLock schedulerLock, MeterRegistry meterRegistry,
+      @Value("${storage.delete.batch-size:100}") int batchSize,
+      @Value("${storage.delete.max-batches:20}") int maxBatches,
+      @Value("${storage.delete.lease:PT5M}") Duration lease,
+      @Value("${storage.delete.reference-grace:PT10M}") Duration referenceGrace) {
+    this.storageDeleteOutbox = storageDeleteOutbox;
+    this.fileStorageService = fileStorageService;
+    this.imageUrlRepository = imageUrlRepository;
+    this.imageDerivativeService = imageDerivativeService;
+    this.imageStorageKeyBackfill = imageStorageKeyBackfill;
+    this.storageDeleteExecutor = storageDeleteExecutor;
+    this.schedulerLock = schedulerLock;
+    this.batchSize = batchSize;
+    this.maxBatches = maxBatches;
+    this.lease = lease;
+    this.referenceGrace = referenceGrace;
+    this.deleted = tasksCounter(meterRegistry, "deleted");
+    this.skipped = tasksCounter(meterRegistry, "skipped");
+    this.deferred = tasksCounter(meterRegistry, "deferred");
+    this.retried = tasksCounter(meterRegistry, "retry");
+    this.failed = tasksCounter(meterRegistry, "failed");
+    this.deleteLatency = Timer.builder(METRIC_PREFIX + ".latency")
+                              .description("Remote storage delete latency per file")
+                              .register(meterRegistry);
+  }
+
+  private static Counter tasksCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder(METRIC_PREFIX + ".tasks")
+                  .description("Storage delete tasks processed (skipped = file is referenced again, "
+                               + "deferred = file was written again within the reference grace)")
+                  .tag("result", result)
+                  .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${storage.delete.interval:PT30S}",
+      initialDelayString = "${storage.delete.initial-delay:PT30S}")
+  public void drain() {
+    if (!imageStorageKeyBackfill.isDone()) {
+      // 키가 비어 있는 행은 참조 확인에서 빠지므로, 다 채우기 전에 지우면 아직 쓰는 파일을 지울 수 있다
+      log.debug("Storage delete skipped: image storage keys are still being backfilled");
+      return;
+    }
+    if (!schedulerLock.tryAcquire(LOCK_NAME, lease)) {
+      log.debug("Storage delete skipped: another instance holds the lock");
+      return;
+    }
+    try {
+      for (int i = 0; i < maxBatches; i++) {
+        List<StorageDeleteTaskEntity> tasks = storageDeleteOutbox.findDue(batchSize);
+        if (tasks.isEmpty()) {
+          break;
+        }
+        processBatch(tasks);
+        if (tasks.size() < batchSize) {
+          break;
+        }
+      }
+    } finally {
+      schedulerLock.release(LOCK_NAME);
+    }
+  }
+
+  private void processBatch(List<StorageDeleteTaskEntity> tasks) {
+    List<CompletableFuture<DeleteResult>> futures = new ArrayList<>(tasks.size());
+    for (StorageDeleteTaskEntity task : tasks) {
+      futures.add(CompletableFuture.supplyAsync(() -> deleteOne(task.getFileUrl()), storageDeleteExecutor));
+    }
+
+    List<Long> done = new ArrayList<>();
+    List<Long> postponed = new ArrayList<>();
+    Map<Long, String> errors = new HashMap<>();
+    for (int i = 0; i < tasks.size(); i++) {
+      DeleteResult result = futures.get(i).join();
+      if (result.error() != null) {
+        errors.put(tasks.get(i).getId(), result.error());
+      } else if (result.deferred()) {
+        postponed.add(tasks.get(i).getId());
+      } else {
+        done.add(tasks.get(i).getId());
+      }
+    }
+    storageDeleteOutbox.complete(done);
+    storageDeleteOutbox.postpone(postponed, LocalDateTime.now().plus(referenceGrace));
+    int gaveUp = storageDeleteOutbox.recordFailures(errors);
+    retried.increment(errors.size() - gaveUp);
+    failed.increment(gaveUp);
+    if (gaveUp > 0) {
+      log.error("Gave up deleting {} storage file(s); see storage_delete_task rows with status FAILED", gaveUp);
+    }
+  }
+
+  private DeleteResult deleteOne(String fileUrl) {
+    try {
+      // 참조 확인보다 먼저 정해 두면, 확인 뒤에 같은 내용을 다시 올린 업로드는 항상 이 시각 뒤에 파일을 건드린다
+      Instant since = Instant.now().minus(referenceGrace);
+      if (isReferenced(fileUrl)) {
+        skipped.increment();
+        return DeleteResult.DONE;
+      }
+      Boolean removed = deleteLatency.recordCallable(() -> fileStorageService.deleteFileIfUnmodifiedSince(fileUrl, since));
+      if (!Boolean.TRUE.equals(removed)) {
+        deferred.increment();
+        return DeleteResult.DEFERRED;
+      }
+      imageDerivativeService.evict(fileUrl);
+      deleted.increment();
+      return DeleteResult.DONE;
+    } catch (Exception e) {
+      log.warn("Failed to delete storage file {}: {}", fileUrl, e.getMessage());
+      return new DeleteResult(false, e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+  }
+
+  // 같은 스토리지 객체를 가리키는 이미지 행이 있는지. 우리 스토리지 URL이 아니면 키가 없으므로 URL 그대로 비교한다.
+  private boolean isReferenced(String fileUrl) {
+    String key = fileStorageService.objectKey(fileUrl);
+    return key != null ? imageUrlRepository.existsByStorageKey(key) : imageUrlRepository.existsByImageUrl(fileUrl);
+  }
+
+  // error가 있으면 실패, deferred면 다음 시도로 미룸, 둘 다 아니면 끝난 작업
+  private record DeleteResult(boolean deferred, String error) {
+
+    static final DeleteResult DONE = new DeleteResult(false, null);
+    static final DeleteResult DEFERRED = new DeleteResult(true, null);
+  }
+}
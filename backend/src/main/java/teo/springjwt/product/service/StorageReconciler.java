@@ -0,0 +1,158 @@
+package teo.springjwt.product.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import teo.springjwt.common.scheduling.SchedulerLock;
+import teo.springjwt.common.utils.FileStorageService;
+import teo.springjwt.common.utils.FileStorageService.StoredFile;
+import teo.springjwt.common.utils.FileStorageService.StoredFilePage;
+import teo.springjwt.product.repository.image.ImageUrlRef;
+import teo.springjwt.product.repository.image.ImageUrlRepository;
+import teo.springjwt.product.repository.image.StorageDeleteTaskRepository;
+
+/**
+ * 스토리지와 DB를 비교해서 어떤 이미지 행도 참조하지 않는 고아 파일을 찾는다.
+ * (outbox 도입 전에 지운 이미지, 업로드 후 등록 전에 서버가 죽은 경우 등)
+ * 1. 이미지 행과 outbox에 있는 URL을 객체 키 집합으로 만든다 (id 순으로 page-size 건씩)
+ * 2. 스토리지 목록을 page-size 건씩 훑으며 집합에 없는 파일을 고른다
+ * 3. grace-period 보다 최근 파일은 아직 등록 중일 수 있으므로 건너뛴다
+ * delete-orphans가 true일 때만 outbox에 넣어 StorageDeleteWorker가 지우게 하고, 아니면 개수만 기록한다.
+ */
+@Slf4j
+@Component
+public class StorageReconciler {
+
+  private static final String LOCK_NAME = "storage-reconcile";
+
+  private final FileStorageService fileStorageService;
+  private final ImageUrlRepository imageUrlRepository;
+  private final StorageDeleteTaskRepository storageDeleteTaskRepository;
+  private final StorageDeleteOutbox storageDeleteOutbox;
+  private final SchedulerLock schedulerLock;
+  private final boolean enabled;
+  private final boolean deleteOrphans;
+  private final Duration gracePeriod;
+  private final int pageSize;
+  private final Duration lease;
+
+  private final Counter scanned;
+  private final Counter orphans;
+
+  public StorageReconciler(FileStorageService fileStorageService, ImageUrlRepository imageUrlRepository,
+      StorageDeleteTaskRepository storageDeleteTaskRepository, StorageDeleteOutbox storageDeleteOutbox,
+      SchedulerLock schedulerLock, MeterRegistry meterRegistry,
+      @Value("${storage.reconcile.enabled:true}") boolean enabled,
+      @Value("${storage.reconcile.delete-orphans:false}") boolean deleteOrphans,
+      @Value("${storage.reconcile.grace-period:PT24H}") Duration gracePeriod,
+      @Value("${storage.reconcile.page-size:500}") int pageSize,
+      @Value("${storage.reconcile.lease:PT1H}") Duration lease) {
+    this.fileStorageService = fileStorageService;
+    this.imageUrlRepository = imageUrlRepository;
+    this.storageDeleteTaskRepository = storageDeleteTaskRepository;
+    this.storageDeleteOutbox = storageDeleteOutbox;
+    this.schedulerLock = schedulerLock;
+    this.enabled = enabled;
+    this.deleteOrphans = deleteOrphans;
+    this.gracePeriod = gracePeriod;
+    this.pageSize = pageSize;
+    this.lease = lease;
+    this.scanned = Counter.builder("storage.reconcile.scanned")
+                          .description("Storage objects checked against image rows")
+                          .register(meterRegistry);
+    this.orphans = Counter.builder("storage.reconcile.orphans")
+                          .description("Storage objects with no image row, older than the grace period")
+                          .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${storage.reconcile.interval:P1D}",
+      initialDelayString = "${storage.reconcile.initial-delay:PT10M}")
+  public void reconcile() {
+    if (!enabled) {
+      return;
+    }
+    if (!schedulerLock.tryAcquire(LOCK_NAME, lease)) {
+      log.debug("Storage reconcile skipped: another instance holds the lock");
+      return;
+    }
+    try {
+      long start = System.nanoTime();
+      Result result = run();
+      log.info("Storage reconcile: scanned {} objects, {} orphan(s) {} in {} ms", result.scanned(), result.orphans(),
+               deleteOrphans ? "queued for deletion" : "found (delete-orphans=false)",
+               (System.nanoTime() - start) / 1_000_000);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Storage reconcile failed", e);
+    } finally {
+      schedulerLock.release(LOCK_NAME);
+    }
+  }
+
+  Result run() throws IOException {
+    // 목록 조회 전에 '이 시각 이전에 만든 파일만 본다'를 정해 두면, 참조 집합을 만든 뒤에 올라온 파일은 고아로 보지 않는다
+    Instant cutoff = Instant.now().minus(gracePeriod);
+    Set<String> referenced = referencedKeys();
+
+    long scannedCount = 0;
+    long orphanCount = 0;
+    String cursor = null;
+    do {
+      StoredFilePage page = fileStorageService.listFiles(cursor, pageSize);
+      List<String> orphanUrls = new ArrayList<>();
+      for (StoredFile file : page.files()) {
+        if (!referenced.contains(file.key()) && file.createdAt().isBefore(cutoff)) {
+          orphanUrls.add(file.url());
+        }
+      }
+      scannedCount += page.files().size();
+      orphanCount += orphanUrls.size();
+      scanned.increment(page.files().size());
+      orphans.increment(orphanUrls.size());
+      if (deleteOrphans && !orphanUrls.isEmpty()) {
+        storageDeleteOutbox.enqueueAll(orphanUrls, StorageDeleteOutbox.REASON_ORPHAN);
+      }
+      cursor = page.nextCursor();
+    } while (cursor != null);
+    return new Result(scannedCount, orphanCount);
+  }
+
+  private Set<String> referencedKeys() {
+    Set<String> keys = new HashSet<>();
+    Long afterId = 0L;
+    List<ImageUrlRef> refs;
+    do {
+      refs = imageUrlRepository.findRefsAfter(afterId, PageRequest.of(0, pageSize));
+      for (ImageUrlRef ref : refs) {
+        addKey(keys, ref.imageUrl());
+      }
+      if (!refs.isEmpty()) {
+        afterId = refs.get(refs.size() - 1).id();
+      }
+    } while (refs.size() == pageSize);
+    // 이미 삭제 예정(또는 삭제 실패)인 파일은 다시 넣지 않는다
+    storageDeleteTaskRepository.findAllFileUrls().forEach(url -> addKey(keys, url));
+    return keys;
+  }
+
+  private void addKey(Set<String> keys, String url) {
+    String key = fileStorageService.objectKey(url);
+    if (key != null) {
+      keys.add(key);
+    }
+  }
+
+  record Result(long scanned, long orphans) {
+
+  }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import teo.springjwt.product.dto.CreateValueDTO;
 import teo.springjwt.product.dto.ResponseValueDTO;
@@ -13,7 +14,7 @@ import teo.springjwt.product.repository.group.OptionGroupEntityRepository;
 import teo.springjwt.product.repository.value.OptionValueEntityRepository;
 
 @Service
-@Transactional
+@Transactional(isolation = Isolation.READ_COMMITTED)
 @RequiredArgsConstructor
 public class ValueService {
 
@@ -5,6 +5,7 @@ import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +13,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import teo.springjwt.common.security.PasswordHashingRejectedException;
 import teo.springjwt.user.dto.CustomUserDetails;
 import teo.springjwt.user.dto.RequestRegisterDTO;
 import teo.springjwt.user.dto.UserDto;
+import teo.springjwt.user.dto.UserSnapshot;
 import teo.springjwt.user.entity.UserEntity;
+import teo.springjwt.user.service.UserProfileCache;
 import teo.springjwt.user.service.UserService;
 
 @RestController
@@ -23,28 +27,31 @@ import teo.springjwt.user.service.UserService;
 public class UserController {
 
  private final UserService userService;
+ private final UserProfileCache userProfileCache;
 
   @PostMapping("/user")
-  public String signUp(@Valid @RequestBody RequestRegisterDTO requestRegisterDTO) {
-    userService.signUpProcess(requestRegisterDTO);
-    return "ok";
+  public ResponseEntity<String> signUp(@Valid @RequestBody RequestRegisterDTO requestRegisterDTO) {
+    try {
+      userService.signUpProcess(requestRegisterDTO);
+    } catch (PasswordHashingRejectedException e) {
+      // 비밀번호 해싱 대기열이 가득 참. 로그인과 같이 429로 재시도를 유도한다
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    }
+    return ResponseEntity.ok("ok");
   }
 
   @GetMapping("/user")
   public ResponseEntity<Object> user(Principal principal) {
-    System.out.println(principal);
     CustomUserDetails userDetails = (CustomUserDetails) ((Authentication) principal).getPrincipal();
 
-    UserEntity user = userService.findUserByEmail(userDetails.getUser().getEmail());
+    // 사용자 캐시에서 조회 (캐시에 있으면 DB를 읽지 않는다)
+    UserSnapshot user = userProfileCache.findByEmail(userDetails.getUser().getEmail()).orElse(null);
+    if (user == null) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not found"));
+    }
 
     // DTO 변환
-    UserDto userDto = UserDto.builder()
-                             .id(user.getId())
-                             .email(user.getEmail())
-                             .username(user.getUsername())
-                             .phoneNumber(user.getPhoneNumber())
-                             .role(user.getRole().name())
-                             .build();
+    UserDto userDto = user.toUserDto();
 
     Map<String, Object> responseBody = new HashMap<>();
     responseBody.put("success", true);
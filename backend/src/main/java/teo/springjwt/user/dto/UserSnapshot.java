@@ -0,0 +1,26 @@
+package teo.springjwt.user.dto;
+
+import teo.springjwt.user.entity.UserEntity;
+import teo.springjwt.user.enumerated.UserRole;
+
+/**
+ * 캐시에 보관하는 사용자 프로필의 불변 스냅샷 (UserProfileCache).
+ * 화면 표시용이므로 비밀번호 해시는 담지 않습니다.
+ */
+public record UserSnapshot(Long id, String email, String username, String phoneNumber, UserRole role) {
+
+  public static UserSnapshot from(UserEntity user) {
+    return new UserSnapshot(user.getId(), user.getEmail(), user.getUsername(), user.getPhoneNumber(), user.getRole());
+  }
+
+  public UserDto toUserDto() {
+    return UserDto.builder()
+                  .id(id)
+                  .email(email)
+                  .username(username)
+                  .phoneNumber(phoneNumber)
+                  .role(role.name())
+                  .build();
+  }
+
+}
@@ -0,0 +1,30 @@
+package teo.springjwt.user.entity;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import teo.springjwt.user.service.UserProfileCache;
+
+/**
+ * 사용자 이름 / 전화번호 / 비밀번호 / 역할 변경이나 삭제를 감지해서 UserProfileCache에서 해당 사용자를 지웁니다.
+ * Hibernate가 스프링 빈으로 생성하므로 EntityManagerFactory 초기화 순환을 피하려고 ObjectProvider로 지연 조회합니다.
+ */
+@Component
+public class UserChangeListener {
+
+  private final ObjectProvider<UserProfileCache> cacheProvider;
+
+  public UserChangeListener(ObjectProvider<UserProfileCache> cacheProvider) {
+    this.cacheProvider = cacheProvider;
+  }
+
+  @PostUpdate
+  @PostRemove
+  public void onChange(UserEntity user) {
+    UserProfileCache cache = cacheProvider.getIfAvailable();
+    if (cache != null) {
+      cache.evict(user.getId());
+    }
+  }
+}
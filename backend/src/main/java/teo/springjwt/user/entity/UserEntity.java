@@ -6,6 +6,7 @@ import static jakarta.persistence.FetchType.LAZY;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -28,6 +29,7 @@ import teo.springjwt.user.enumerated.UserRole;
 import teo.springjwt.wishlist.WishlistEntity;
 
 @Entity
+@EntityListeners(UserChangeListener.class)
 @Setter
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -1,15 +1,17 @@
 package teo.springjwt.user.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import teo.springjwt.user.dto.CustomUserDetails;
 import teo.springjwt.user.entity.UserEntity;
 import teo.springjwt.user.repository.UserRepository;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepository userRepository;
 
@@ -17,6 +19,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     this.userRepository = userRepository;
   }
 
+  // 비밀번호 해시와 계정 상태는 노드 로컬 캐시가 아니라 항상 DB에서 읽는다 (다른 노드에서 바꾼 비밀번호가 바로 반영되도록)
   @Override
   public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
     UserEntity user = userRepository.findByEmail(email);
@@ -26,4 +29,18 @@ public class CustomUserDetailsService implements UserDetailsService {
     }
     return new CustomUserDetails(user);
   }
+
+  /**
+   * 로그인에 성공했는데 저장된 해시가 현재 설정(알고리즘/비용)과 다르면 DaoAuthenticationProvider가 호출합니다.
+   * 새 해시로 바꿔 저장하므로 다음 로그인부터는 현재 설정으로 검증됩니다.
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    Long userId = ((CustomUserDetails) user).getUser().getId();
+    UserEntity entity = userRepository.findById(userId)
+                                      .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    entity.changePassword(newPassword);
+    return new CustomUserDetails(entity);
+  }
 }
@@ -0,0 +1,91 @@
+package teo.springjwt.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import teo.springjwt.user.dto.UserSnapshot;
+import teo.springjwt.user.entity.UserEntity;
+import teo.springjwt.user.repository.UserRepository;
+
+/**
+ * 사용자 프로필 캐시. GET /user 같은 화면 표시용 조회가 DB 대신 여기서 읽습니다.
+ * - 노드마다 따로 있는 캐시라 다른 노드의 변경은 만료 전까지 보이지 않을 수 있습니다.
+ *   그래서 로그인(비밀번호 해시)과 토큰 재발급(역할, 계정 존재 여부)은 항상 DB에서 읽습니다.
+ * - id -> 스냅샷, email -> id 두 단계로 두어 무효화는 id 하나로 끝납니다.
+ * - UserEntity가 수정/삭제되면 UserChangeListener가 evict를 호출합니다 (즉시 + 커밋 후 한 번 더).
+ * - 이벤트를 놓치는 경우(벌크 업데이트 등)에 대비해 일정 시간이 지나면 만료됩니다.
+ */
+@Component
+public class UserProfileCache {
+
+  private static final long MAX_SIZE = 10_000;
+  private static final Duration TTL = Duration.ofMinutes(10);
+
+  private final UserRepository userRepository;
+  private final Cache<Long, UserSnapshot> byId;
+  private final Cache<String, Long> idByEmail;
+
+  public UserProfileCache(UserRepository userRepository, MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.byId = Caffeine.newBuilder().maximumSize(MAX_SIZE).expireAfterWrite(TTL).recordStats().build();
+    this.idByEmail = Caffeine.newBuilder().maximumSize(MAX_SIZE).expireAfterWrite(TTL).build();
+    CaffeineCacheMetrics.monitor(meterRegistry, byId, "userProfile");
+  }
+
+  public Optional<UserSnapshot> findByEmail(String email) {
+    if (email == null) {
+      return Optional.empty();
+    }
+    Long id = idByEmail.getIfPresent(email);
+    UserSnapshot cached = id == null ? null : byId.getIfPresent(id);
+    // 이메일이 바뀐 뒤 남아 있는 매핑이면 다시 읽는다
+    if (cached != null && email.equals(cached.email())) {
+      return Optional.of(cached);
+    }
+    return Optional.ofNullable(userRepository.findByEmail(email)).map(this::put);
+  }
+
+  private UserSnapshot put(UserEntity user) {
+    UserSnapshot snapshot = UserSnapshot.from(user);
+    // 아직 커밋되지 않은 변경을 캐시에 올리지 않도록, 쓰기 트랜잭션 안에서 읽은 값은 보관하지 않는다
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return snapshot;
+    }
+    byId.put(snapshot.id(), snapshot);
+    idByEmail.put(snapshot.email(), snapshot.id());
+    return snapshot;
+  }
+
+  /**
+   * 사용자 캐시를 비웁니다. 트랜잭션 안이면 커밋 후에 한 번 더 비워서,
+   * 커밋 전에 다른 요청이 옛 값을 다시 캐시에 올린 경우도 지웁니다.
+   */
+  public void evict(Long id) {
+    if (id == null) {
+      return;
+    }
+    evictNow(id);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          evictNow(id);
+        }
+      });
+    }
+  }
+
+  private void evictNow(Long id) {
+    UserSnapshot removed = byId.asMap().remove(id);
+    if (removed != null) {
+      idByEmail.asMap().remove(removed.email(), id);
+    }
+  }
+}
@@ -1,7 +1,7 @@
 package teo.springjwt.user.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import teo.springjwt.user.dto.RequestRegisterDTO;
 import teo.springjwt.user.entity.UserEntity;
@@ -13,7 +13,7 @@ import teo.springjwt.user.repository.UserRepository;
 public class UserService {
 
   private final UserRepository userRepository;
-  private final BCryptPasswordEncoder encoder;
+  private final PasswordEncoder encoder;
 
   public void signUpProcess(RequestRegisterDTO dto) {
     Boolean isExist = userRepository.existsByEmail(dto.getEmail());
@@ -0,0 +1,71 @@
+package teo.springjwt.product.controller.admin;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import teo.springjwt.product.dto.request.RequestProductCreate;
+import teo.springjwt.product.entity.ProductColorVariantEntity;
+import teo.springjwt.product.entity.ProductEntity;
+import teo.springjwt.product.service.ProductImportService;
+import teo.springjwt.product.service.ProductService;
+import teo.springjwt.product.service.SkuCombinationGenerator;
+
+/**
+ * SKU 조합 수 상한을 넘는 상품 등록은 500이 아니라 400과 사유 메시지로 응답하는지 확인합니다.
+ */
+class AdminProductCreateTest {
+
+  private static final long MAX_COMBINATIONS = 4;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    SkuCombinationGenerator generator = new SkuCombinationGenerator(MAX_COMBINATIONS);
+    ProductService productService = mock(ProductService.class);
+    // 실제 생성처럼 요청의 색상으로 조합을 만든다 (옵션 그룹 없음 -> 조합 수 = 색상 수)
+    when(productService.createProduct(any())).thenAnswer(invocation -> {
+      RequestProductCreate request = invocation.getArgument(0);
+      ProductEntity product = new ProductEntity(request.getName(), request.getDescription(), null);
+      List<ProductColorVariantEntity> colors = request.getColors().stream()
+                                                      .map(color -> new ProductColorVariantEntity(product, color))
+                                                      .toList();
+      generator.generate(product, request.getPrice(), List.of(), colors);
+      return product;
+    });
+    mockMvc = MockMvcBuilders.standaloneSetup(
+        new AdminProductController(productService, mock(ProductImportService.class))).build();
+  }
+
+  @Test
+  void tooManyCombinationsIsBadRequest() throws Exception {
+    mockMvc.perform(post("/admin/product")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("\"RED\",\"BLUE\",\"GREEN\",\"BLACK\",\"WHITE\"")))
+           .andExpect(status().isBadRequest())
+           .andExpect(content().string(containsString("(5)")));
+  }
+
+  @Test
+  void combinationsWithinLimitAreCreated() throws Exception {
+    mockMvc.perform(post("/admin/product")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("\"RED\",\"BLUE\"")))
+           .andExpect(status().isOk());
+  }
+
+  private static String body(String colors) {
+    return "{\"name\":\"반팔티\",\"price\":10000,\"categoryId\":1,\"colors\":[" + colors + "]}";
+  }
+}
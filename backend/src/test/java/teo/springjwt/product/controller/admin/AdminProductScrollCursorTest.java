@@ -0,0 +1,161 @@
+package teo.springjwt.product.controller.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import teo.springjwt.category.CategoryEntity;
+import teo.springjwt.product.dto.CursorPage;
+import teo.springjwt.product.dto.ResponseProductEntity;
+import teo.springjwt.product.dto.request.RequestProductScroll;
+import teo.springjwt.product.entity.ProductEntity;
+import teo.springjwt.product.service.ProductImportService;
+import teo.springjwt.product.service.ProductService;
+import teo.springjwt.product.service.ProductServiceTestConfig;
+
+/**
+ * 관리자 커서 목록을 H2에서 끝까지 넘겨 보며 (정렬 키, id) 순서, 동률 처리, hasNext를 확인합니다.
+ * 정렬 키가 같은 상품이 페이지 경계에 걸쳐도 빠지거나 두 번 나오면 안 됩니다.
+ */
+@DataJpaTest
+@Import(ProductServiceTestConfig.class)
+class AdminProductScrollCursorTest {
+
+  private static final LocalDateTime DAY_1 = LocalDateTime.of(2024, 1, 1, 9, 0);
+  private static final LocalDateTime DAY_2 = LocalDateTime.of(2024, 1, 2, 9, 0);
+  private static final LocalDateTime DAY_3 = LocalDateTime.of(2024, 1, 3, 9, 0);
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private List<Seeded> seeded;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    CategoryEntity category = new CategoryEntity("상의", 1);
+    entityManager.persist(category);
+
+    // 생성일과 이름 모두 동률이 여러 개 있도록 만든다
+    seeded = new ArrayList<>();
+    seed(category, "셔츠", DAY_2);
+    seed(category, "바지", DAY_1);
+    seed(category, "셔츠", DAY_1);
+    seed(category, "모자", DAY_3);
+    seed(category, "바지", DAY_2);
+    seed(category, "셔츠", DAY_2);
+    seed(category, "모자", DAY_1);
+    entityManager.flush();
+    entityManager.clear();
+
+    mockMvc = MockMvcBuilders.standaloneSetup(
+        new AdminProductController(productService, mock(ProductImportService.class))).build();
+  }
+
+  @Test
+  void createdDateScrollVisitsEveryRowOnceInKeysetOrder() {
+    Comparator<Seeded> byCreatedDate = Comparator.comparing(Seeded::createdDate).thenComparing(Seeded::id);
+    assertScrollOrder("createdDate", false, 2, byCreatedDate.reversed());
+    assertScrollOrder("createdDate", true, 3, byCreatedDate);
+  }
+
+  @Test
+  void nameScrollVisitsEveryRowOnceInKeysetOrder() {
+    Comparator<Seeded> byName = Comparator.comparing(Seeded::name).thenComparing(Seeded::id);
+    assertScrollOrder("name", true, 2, byName);
+    assertScrollOrder("name", false, 1, byName.reversed());
+  }
+
+  @Test
+  void exactlyFullLastPageHasNoNext() {
+    CursorPage<ResponseProductEntity> page = scroll("createdDate", false, seeded.size(), null);
+
+    assertThat(page.getContent()).hasSize(seeded.size());
+    assertThat(page.isHasNext()).isFalse();
+    assertThat(page.getNextCursor()).isNull();
+    assertThat(page.getTotalElements()).isEqualTo(seeded.size());
+  }
+
+  @Test
+  void malformedOrForeignCursorIsBadRequest() throws Exception {
+    String nameCursor = scroll("name", true, 2, null).getNextCursor();
+
+    mockMvc.perform(get("/admin/product/scroll").param("cursor", "%%%not-base64"))
+           .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/admin/product/scroll").param("cursor", encode("CREATED_DATE|abc|2024-01-01T00:00")))
+           .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/admin/product/scroll").param("cursor", encode("CREATED_DATE|1|not-a-date")))
+           .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/admin/product/scroll").param("sort", "createdDate").param("cursor", nameCursor))
+           .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/admin/product/scroll").param("sort", "name").param("cursor", nameCursor))
+           .andExpect(status().isOk());
+  }
+
+  // 첫 페이지부터 nextCursor를 따라 끝까지 넘기고, 본 순서가 (정렬 키, id) 순서와 같은지 확인한다
+  private void assertScrollOrder(String sort, boolean ascending, int size, Comparator<Seeded> expectedOrder) {
+    List<Long> expected = seeded.stream().sorted(expectedOrder).map(Seeded::id).toList();
+    List<Long> visited = new ArrayList<>();
+    String cursor = null;
+    for (int pages = 0; pages <= seeded.size(); pages++) {
+      CursorPage<ResponseProductEntity> page = scroll(sort, ascending, size, cursor);
+      page.getContent().forEach(product -> visited.add(product.getId()));
+      if (!page.isHasNext()) {
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getContent()).hasSizeLessThanOrEqualTo(size);
+        assertThat(visited).containsExactlyElementsOf(expected);
+        return;
+      }
+      assertThat(page.getContent()).hasSize(size);
+      assertThat(page.getNextCursor()).isNotNull();
+      cursor = page.getNextCursor();
+    }
+    throw new AssertionError("scroll did not reach the last page: " + visited);
+  }
+
+  private CursorPage<ResponseProductEntity> scroll(String sort, boolean ascending, int size, String cursor) {
+    RequestProductScroll request = new RequestProductScroll();
+    request.setSort(sort);
+    request.setAscending(ascending);
+    request.setSize(size);
+    request.setCursor(cursor);
+    return productService.getAllProductsWithMinPriceAndMaxPriceByCursor(request);
+  }
+
+  private void seed(CategoryEntity category, String name, LocalDateTime createdDate) {
+    ProductEntity product = new ProductEntity(name, name + " 설명", category);
+    entityManager.persist(product);
+    entityManager.flush();
+    // 생성일은 auditing이 넣으므로 저장 후 원하는 값으로 덮어쓴다
+    entityManager.createQuery("UPDATE ProductEntity p SET p.createdDate = :createdDate WHERE p.id = :id")
+                 .setParameter("createdDate", createdDate)
+                 .setParameter("id", product.getId())
+                 .executeUpdate();
+    seeded.add(new Seeded(product.getId(), name, createdDate));
+  }
+
+  private static String encode(String raw) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private record Seeded(Long id, String name, LocalDateTime createdDate) {
+  }
+}
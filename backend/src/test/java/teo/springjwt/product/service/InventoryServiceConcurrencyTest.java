@@ -0,0 +1,295 @@
+package teo.springjwt.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static teo.springjwt.product.service.ProductTestFixtures.optionGroup;
+
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import teo.springjwt.cart.CartEntity;
+import teo.springjwt.category.CategoryEntity;
+import teo.springjwt.product.dto.request.RequestProductCreate;
+import teo.springjwt.product.entity.ProductEntity;
+import teo.springjwt.user.entity.UserEntity;
+import teo.springjwt.user.enumerated.UserRole;
+
+/**
+ * 인기 SKU 하나에 예약이 몰려도 재고가 음수가 되거나 재고보다 많이 예약되지 않는지 확인합니다.
+ * 요청마다 실제로 커밋되어야 하므로 테스트 트랜잭션을 쓰지 않고, 행 잠금 대기가 길어질 수 있어 H2 LOCK_TIMEOUT을 늘립니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductServiceTestConfig.class, InventoryService.class})
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:inventory-stress;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.hikari.maximum-pool-size=16",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class InventoryServiceConcurrencyTest {
+
+  private static final int THREADS = 32;
+  private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+  @Autowired
+  private InventoryService inventoryService;
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Long skuId;
+
+  @BeforeEach
+  void setUp() {
+    skuId = createSku();
+  }
+
+  private Long createSku() {
+    int n = SEQUENCE.incrementAndGet();
+    return transactionTemplate.execute(status -> {
+      CategoryEntity category = new CategoryEntity("재고테스트" + n, 1);
+      entityManager.persist(category);
+
+      RequestProductCreate request = new RequestProductCreate();
+      request.setName("한정판" + n);
+      request.setDescription("재고 경합 테스트");
+      request.setPrice(new BigDecimal("10000"));
+      request.setCategoryId(category.getId());
+      request.setColors(List.of("Black"));
+      request.setOptionGroups(List.of(optionGroup(entityManager, "사이즈" + n, "FREE")));
+      ProductEntity product = productService.createProduct(request);
+      return entityManager.createQuery("SELECT s.id FROM SkuEntity s WHERE s.product.id = :productId", Long.class)
+                          .setParameter("productId", product.getId())
+                          .getSingleResult();
+    });
+  }
+
+  @Test
+  void concurrentReservationsNeverOversellHotSku() throws Exception {
+    int initialStock = 50;
+    int requests = 400;
+    setStock(initialStock);
+    List<Long> carts = createCarts(requests);
+
+    AtomicInteger reservedCount = new AtomicInteger();
+    AtomicInteger rejectedCount = new AtomicInteger();
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (Long cartId : carts) {
+      tasks.add(() -> {
+        try {
+          inventoryService.reserve(cartId, Map.of(skuId, 1));
+          reservedCount.incrementAndGet();
+        } catch (InsufficientStockException e) {
+          rejectedCount.incrementAndGet();
+        }
+        return null;
+      });
+    }
+    runConcurrently(tasks);
+
+    assertThat(reservedCount.get()).isEqualTo(initialStock);
+    assertThat(rejectedCount.get()).isEqualTo(requests - initialStock);
+    assertThat(stock()).isZero();
+    assertThat(heldQuantity()).isEqualTo(initialStock);
+  }
+
+  @Test
+  void stockIsConservedUnderMixedReserveConfirmReleaseAndExpiry() throws Exception {
+    int initialStock = 60;
+    int requests = 300;
+    setStock(initialStock);
+    List<Long> carts = createCarts(requests);
+
+    AtomicInteger sold = new AtomicInteger();
+    AtomicBoolean running = new AtomicBoolean(true);
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (Long cartId : carts) {
+      tasks.add(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int quantity = random.nextInt(1, 4);
+        // 일부는 이미 만료된 예약으로 만들어 정리 작업과 확정이 같은 행을 두고 경합하게 한다
+        Duration holdFor = random.nextInt(4) == 0 ? Duration.ofSeconds(-1) : Duration.ofMinutes(15);
+        try {
+          inventoryService.reserve(cartId, Map.of(skuId, quantity), holdFor);
+        } catch (InsufficientStockException e) {
+          return null;
+        }
+        int action = random.nextInt(3);
+        if (action == 0) {
+          try {
+            inventoryService.confirm(cartId);
+            sold.addAndGet(quantity);
+          } catch (IllegalStateException e) {
+            // 만료되어 정리 작업이 먼저 풀었다
+          }
+        } else if (action == 1) {
+          inventoryService.release(cartId);
+        }
+        return null;
+      });
+    }
+    // 요청과 동시에 만료 예약 정리
+    ExecutorService sweeper = Executors.newSingleThreadExecutor();
+    Future<?> sweeping = sweeper.submit(() -> {
+      while (running.get()) {
+        inventoryService.releaseExpired(20);
+      }
+    });
+    try {
+      runConcurrently(tasks);
+    } finally {
+      running.set(false);
+      sweeping.get(30, TimeUnit.SECONDS);
+      sweeper.shutdown();
+    }
+    while (inventoryService.releaseExpired(100) > 0) {
+      // 남은 만료 예약 정리
+    }
+
+    int stock = stock();
+    assertThat(stock).isGreaterThanOrEqualTo(0);
+    assertThat(stock + heldQuantity() + sold.get()).isEqualTo(initialStock);
+  }
+
+  @Test
+  void expiredReservationCannotBeConfirmedAndReturnsStockWhenReleased() {
+    setStock(5);
+    Long cartId = createCarts(1).get(0);
+
+    inventoryService.reserve(cartId, Map.of(skuId, 3), Duration.ofSeconds(-1));
+    assertThat(stock()).isEqualTo(2);
+
+    assertThatThrownBy(() -> inventoryService.confirm(cartId)).isInstanceOf(IllegalStateException.class);
+    assertThat(inventoryService.releaseExpired(100)).isEqualTo(1);
+    assertThat(stock()).isEqualTo(5);
+    assertThat(heldQuantity()).isZero();
+  }
+
+  @Test
+  void rereservingCartsThatSwapSkusDoNotDeadlock() throws Exception {
+    int initialStock = 1_000;
+    Long otherSkuId = createSku();
+    setStock(initialStock);
+    setStock(otherSkuId, initialStock);
+    List<Long> carts = createCarts(THREADS);
+
+    // 절반은 A→B, 나머지는 B→A 순서로 예약을 바꾼다. 이전 예약을 먼저 돌려놓고 다시 빼면 잠금 순서가 엇갈린다.
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 0; i < carts.size(); i++) {
+      Long cartId = carts.get(i);
+      Long first = i % 2 == 0 ? skuId : otherSkuId;
+      Long second = i % 2 == 0 ? otherSkuId : skuId;
+      tasks.add(() -> {
+        for (int round = 0; round < 10; round++) {
+          inventoryService.reserve(cartId, Map.of(round % 2 == 0 ? first : second, 2));
+        }
+        inventoryService.reserve(cartId, Map.of(skuId, 1, otherSkuId, 1));
+        return null;
+      });
+    }
+    runConcurrently(tasks);
+
+    assertThat(stock()).isEqualTo(initialStock - THREADS);
+    assertThat(stock(otherSkuId)).isEqualTo(initialStock - THREADS);
+    carts.forEach(inventoryService::release);
+    assertThat(stock()).isEqualTo(initialStock);
+    assertThat(stock(otherSkuId)).isEqualTo(initialStock);
+  }
+
+  private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Void>> futures = new ArrayList<>(tasks.size());
+      for (Callable<Void> task : tasks) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return task.call();
+        }));
+      }
+      start.countDown();
+      for (Future<Void> future : futures) {
+        future.get(60, TimeUnit.SECONDS); // 예상하지 못한 예외(교착, 잠금 대기 초과 등)는 여기서 실패
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void setStock(int stock) {
+    setStock(skuId, stock);
+  }
+
+  private void setStock(Long skuId, int stock) {
+    transactionTemplate.executeWithoutResult(status -> entityManager
+        .createQuery("UPDATE SkuEntity s SET s.stock = :stock WHERE s.id = :skuId")
+        .setParameter("stock", stock)
+        .setParameter("skuId", skuId)
+        .executeUpdate());
+  }
+
+  private int stock() {
+    return stock(skuId);
+  }
+
+  private int stock(Long skuId) {
+    return entityManager.createQuery("SELECT s.stock FROM SkuEntity s WHERE s.id = :skuId", Integer.class)
+                        .setParameter("skuId", skuId)
+                        .getSingleResult();
+  }
+
+  private long heldQuantity() {
+    Long held = entityManager.createQuery(
+                                 "SELECT SUM(r.quantity) FROM StockReservationEntity r WHERE r.sku.id = :skuId", Long.class)
+                             .setParameter("skuId", skuId)
+                             .getSingleResult();
+    return held != null ? held : 0;
+  }
+
+  private List<Long> createCarts(int count) {
+    int n = SEQUENCE.incrementAndGet();
+    return transactionTemplate.execute(status -> {
+      List<Long> ids = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        UserEntity user = new UserEntity("buyer" + n + "-" + i + "@test.com", "password", UserRole.ROLE_USER);
+        entityManager.persist(user);
+        CartEntity cart = CartEntity.builder().user(user).build();
+        entityManager.persist(cart);
+        ids.add(cart.getId());
+      }
+      return ids;
+    });
+  }
+}
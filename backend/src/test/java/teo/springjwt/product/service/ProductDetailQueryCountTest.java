@@ -0,0 +1,104 @@
+package teo.springjwt.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static teo.springjwt.product.service.ProductTestFixtures.optionGroup;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import teo.springjwt.category.CategoryEntity;
+import teo.springjwt.product.dto.ResponseProductDetailDTO;
+import teo.springjwt.product.dto.ResponseSkuDTO;
+import teo.springjwt.product.dto.request.RequestProductCreate;
+import teo.springjwt.product.entity.ImageUrlEntity;
+import teo.springjwt.product.entity.ProductColorVariantEntity;
+import teo.springjwt.product.entity.ProductEntity;
+
+/**
+ * 상품 상세 조회가 SKU / 색상 / 이미지 수와 관계없이 고정된 횟수의 쿼리로 끝나는지 확인합니다.
+ */
+@DataJpaTest
+@Import(ProductServiceTestConfig.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductDetailQueryCountTest {
+
+  @Autowired
+  private ProductService productService;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Long productId;
+
+  @BeforeEach
+  void setUp() {
+    CategoryEntity category = new CategoryEntity("상의", 1);
+    entityManager.persist(category);
+
+    RequestProductCreate request = new RequestProductCreate();
+    request.setName("티셔츠");
+    request.setDescription("기본 티셔츠");
+    request.setPrice(new BigDecimal("10000"));
+    request.setCategoryId(category.getId());
+    request.setColors(List.of("Black", "White", "Navy"));
+    request.setOptionGroups(List.of(
+        optionGroup(entityManager, "사이즈", "S", "M", "L"),
+        optionGroup(entityManager, "소재", "면", "린넨")));
+
+    ProductEntity product = productService.createProduct(request);
+    productId = product.getId();
+
+    for (ProductColorVariantEntity colorVariant : product.getColorVariants()) {
+      for (int i = 0; i < 3; i++) {
+        entityManager.persist(new ImageUrlEntity(
+            "https://img.test/" + colorVariant.getColorName() + "/" + i, null, "image" + i + ".jpg", i, i == 0, colorVariant));
+      }
+    }
+
+    entityManager.flush();
+    entityManager.clear();
+    statistics().clear();
+  }
+
+  @Test
+  void productDetailUsesFixedNumberOfQueries() {
+    ResponseProductDetailDTO detail = productService.getProductDetail(productId).getBody();
+
+    assertThat(statistics().getPrepareStatementCount()).isEqualTo(3);
+    assertThat(detail).isNotNull();
+    assertThat(detail.getColors()).hasSize(3);
+    assertThat(detail.getColors()).allSatisfy(color -> {
+      assertThat(color.getImages()).hasSize(3);
+      assertThat(color.getSkus()).hasSize(6);
+      assertThat(color.getSkus()).allSatisfy(sku -> assertThat(sku.getOptionValues()).hasSize(2));
+    });
+  }
+
+  @Test
+  void productSkuListDoesNotLoadAssociationsPerSku() {
+    List<ResponseSkuDTO> skus = productService.getProductById(productId).getBody();
+
+    assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+    assertThat(skus).hasSize(18);
+    assertThat(skus).allSatisfy(sku -> {
+      assertThat(sku.getImages()).hasSize(3);
+      assertThat(sku.getOptionValues()).hasSize(2);
+    });
+  }
+
+  private Statistics statistics() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+}
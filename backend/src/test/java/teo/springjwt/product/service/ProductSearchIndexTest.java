@@ -0,0 +1,93 @@
+package teo.springjwt.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import teo.springjwt.product.dto.ProductCursor.SortKey;
+import teo.springjwt.product.dto.ProductSearchSource;
+import teo.springjwt.product.event.ProductCatalogChangedEvent;
+import teo.springjwt.product.repository.product.ProductEntityRepository;
+
+/**
+ * 관리자 목록의 이름 / SKU 코드 검색이 예전 LIKE '%검색어%'처럼 부분 문자열로 일치하는지 확인합니다.
+ */
+class ProductSearchIndexTest {
+
+  private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  // 상품 id -> (상품명, SKU 코드들)
+  private static final Map<Long, List<String>> PRODUCTS = Map.of(
+      1L, List.of("남성반팔티셔츠", "TS-RED-XL-001", "TS-BLUE-M-002"),
+      2L, List.of("여성 린넨 셔츠", "LN-WHT-S-010"),
+      3L, List.of("Slim Fit Jeans", "DN-BLK-32-100"));
+
+  private ProductSearchIndex index;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    ProductEntityRepository productRepository = mock(ProductEntityRepository.class);
+    when(productRepository.findSearchSources(any())).thenAnswer(invocation -> {
+      Collection<Long> ids = invocation.getArgument(0);
+      List<ProductSearchSource> sources = new ArrayList<>();
+      for (Long id : ids) {
+        List<String> values = PRODUCTS.get(id);
+        ProductSearchSource source = new ProductSearchSource(id, values.get(0), null, null, CREATED.plusDays(id));
+        source.getSkuCodes().addAll(values.subList(1, values.size()));
+        sources.add(source);
+      }
+      return sources;
+    });
+    index = new ProductSearchIndex(productRepository,
+                                   new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    index.onCatalogChanged(new ProductCatalogChangedEvent(Set.of(1L, 2L, 3L)));
+  }
+
+  @Test
+  void koreanNameMatchesInfix() {
+    assertThat(findByName("반팔")).containsExactly(1L);
+    assertThat(findByName("티셔츠")).containsExactly(1L);
+    assertThat(findByName("셔츠")).containsExactlyInAnyOrder(1L, 2L);
+    assertThat(findByName("팔반")).isEmpty();
+  }
+
+  @Test
+  void nameMatchIsCaseInsensitiveAndKeepsSpaces() {
+    assertThat(findByName("im fit")).containsExactly(3L);
+    assertThat(findByName("t j")).containsExactly(3L);
+    assertThat(findByName("fitj")).isEmpty();
+  }
+
+  @Test
+  void skuCodeMatchesInfix() {
+    assertThat(findBySku("RED-XL")).containsExactly(1L);
+    assertThat(findBySku("blue-m")).containsExactly(1L);
+    assertThat(findBySku("-S-01")).containsExactly(2L);
+    assertThat(findBySku("1")).containsExactlyInAnyOrder(1L, 2L, 3L);
+  }
+
+  @Test
+  void skuMatchDoesNotSpanTwoCodes() {
+    // "…-001" 다음 값이 "TS-BLUE…"지만 두 값을 이어 붙인 문자열로는 찾지 않는다
+    assertThat(findBySku("001TS")).isEmpty();
+  }
+
+  private List<Long> findByName(String name) {
+    return index.findAdminPage(name, null, SortKey.CREATED_DATE, true, null, 0, 10, false).getProductIds();
+  }
+
+  private List<Long> findBySku(String skuCode) {
+    return index.findAdminPage(null, skuCode, SortKey.CREATED_DATE, true, null, 0, 10, false).getProductIds();
+  }
+}
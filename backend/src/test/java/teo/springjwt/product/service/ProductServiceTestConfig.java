@@ -0,0 +1,23 @@
+package teo.springjwt.product.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import teo.springjwt.product.repository.sku.SkuBatchWriter;
+
+/**
+ * @DataJpaTest에서 ProductService로 상품을 실제로 만들고 읽는 데 필요한 빈 묶음.
+ */
+@TestConfiguration
+@Import({ProductService.class, ProductQueryService.class, ProductSearchIndex.class, ProductFacetIndex.class,
+    SkuCombinationGenerator.class, SkuBatchWriter.class, ProductChangeTracker.class, ProductSummaryService.class,
+    ImageDerivativeUrls.class})
+public class ProductServiceTestConfig {
+
+  @Bean
+  MeterRegistry meterRegistry() {
+    return new SimpleMeterRegistry();
+  }
+}
@@ -0,0 +1,39 @@
+package teo.springjwt.product.service;
+
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import teo.springjwt.product.dto.request.RequestProductCreate.ProductOptionGroupRequest;
+import teo.springjwt.product.dto.request.RequestProductCreate.ProductOptionValueRequest;
+import teo.springjwt.product.entity.OptionGroupEntity;
+import teo.springjwt.product.entity.OptionValueEntity;
+
+/**
+ * 상품 생성 요청에 넣을 옵션 그룹 / 값 테스트 데이터.
+ */
+public final class ProductTestFixtures {
+
+  private ProductTestFixtures() {
+  }
+
+  // 마스터 옵션 그룹과 값들을 저장하고, 그 ID로 상품 생성 요청의 옵션 그룹을 만든다 (추가 가격 0)
+  public static ProductOptionGroupRequest optionGroup(EntityManager entityManager, String groupName,
+      String... valueNames) {
+    OptionGroupEntity group = new OptionGroupEntity(groupName, 1);
+    entityManager.persist(group);
+
+    ProductOptionGroupRequest groupRequest = new ProductOptionGroupRequest();
+    groupRequest.setId(group.getId());
+    groupRequest.setName(groupName);
+    groupRequest.setOptionValues(Arrays.stream(valueNames).map(valueName -> {
+      OptionValueEntity value = new OptionValueEntity(valueName, BigDecimal.ZERO, group, 1);
+      entityManager.persist(value);
+      ProductOptionValueRequest valueRequest = new ProductOptionValueRequest();
+      valueRequest.setId(value.getId());
+      valueRequest.setName(valueName);
+      valueRequest.setExtraPrice(0);
+      return valueRequest;
+    }).toList());
+    return groupRequest;
+  }
+}
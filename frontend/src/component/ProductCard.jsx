@@ -10,8 +10,8 @@ const ProductCard = ({product}) => {
   };
   return (
       <div className="product-card">
-        <img src={product.thumbnailUrl} alt={product.name} className="product-image"
-             onClick={showDetail}/>
+        <img src={product.thumbnailUrl} srcSet={product.thumbnailSrcset} sizes="(max-width: 640px) 50vw, 240px"
+             alt={product.name} className="product-image" loading="lazy" onClick={showDetail}/>
         {/* alt 속성을 추가하는 것이 좋습니다. */}
         <div>{product?.new == true ? 'Designer Recommended' : ''}</div>
         <div>{product.name}</div>
@@ -1,13 +1,17 @@
-import { useQuery } from '@tanstack/react-query';
+import { useInfiniteQuery, useQuery } from '@tanstack/react-query';
 import productService from '../../services/product/productService.js'; // productService 경로 확인
 
+const PRODUCT_PAGE_SIZE = 20;
+
 /**
- * 모든 상품 목록을 가져오는 훅
+ * 모든 상품 목록을 페이지 단위로 가져오는 훅 (fetchNextPage로 다음 페이지를 이어서 불러옴)
  */
 export const useAllProducts = () => {
-  return useQuery({
+  return useInfiniteQuery({
     queryKey: ['products', 'all'], // 모든 상품 목록을 위한 쿼리 키
-    queryFn: productService.getProducts,
+    queryFn: ({ pageParam }) => productService.getProducts({ lastId: pageParam, size: PRODUCT_PAGE_SIZE }),
+    initialPageParam: undefined,
+    getNextPageParam: (lastPage) => lastPage.nextLastId ?? undefined, // undefined면 다음 페이지 없음
     staleTime: 5 * 60 * 1000,
   });
 };
@@ -6,7 +6,8 @@ import ProductCard from '../../component/ProductCard.jsx';
 import {useAllProducts} from '../../hooks/products/useProducts.jsx'; // useProducts.jsx -> useProducts.jsx로 변경
 
 const HomePage = () => {
-  const { data: productList, isLoading, isError, error } = useAllProducts();
+  const { data, isLoading, isError, error, hasNextPage, fetchNextPage, isFetchingNextPage } = useAllProducts();
+  const productList = data?.pages.flatMap((page) => page.content);
   // 로딩 상태 처리
   if (isLoading) {
     return (
@@ -49,6 +50,18 @@ const HomePage = () => {
               </div>
           ))}
         </div>
+        {hasNextPage && (
+            <div className="flex justify-center mt-4">
+              <button
+                  type="button"
+                  onClick={() => fetchNextPage()}
+                  disabled={isFetchingNextPage}
+                  className="px-6 py-2 border border-gray-300 rounded text-gray-700 hover:bg-gray-100 disabled:opacity-50"
+              >
+                {isFetchingNextPage ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+        )}
       </div>
   );
 };
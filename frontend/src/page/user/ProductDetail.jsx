@@ -110,6 +110,8 @@ function ProductDetailPage() {
                 <div key={image.id || index} className="w-full mb-4 flex justify-center items-center rounded-lg shadow-md">
                   <img
                       src={image.imageUrl || 'https://via.placeholder.com/600/bbbbbb'}
+                      srcSet={image.srcset}
+                      sizes="(min-width: 768px) 50vw, 100vw"
                       alt={`${selectedSku.skuCode} - ${index + 1}`}
                       className="max-w-full h-auto object-contain"
                   />
@@ -51,9 +51,10 @@ const productService = {
     }
   },
 
-  getProducts: async () => {
+  // 한 페이지씩 조회. 응답은 { content, nextLastId } (nextLastId가 null이면 마지막 페이지)
+  getProducts: async ({ lastId, size } = {}) => {
     try {
-      const response = await apiClient.get('/product');
+      const response = await apiClient.get('/product', { params: { lastId, size } });
       return response.data;
     } catch (error) {
       console.error("Error fetching products:", error);